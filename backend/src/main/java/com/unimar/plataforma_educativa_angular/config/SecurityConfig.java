@@ -1,11 +1,21 @@
 package com.unimar.plataforma_educativa_angular.config;
 
 import com.unimar.plataforma_educativa_angular.token.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -20,6 +30,42 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Value("${metrics.scrape.username:prometheus}")
+    private String scrapeUsername;
+
+    @Value("${metrics.scrape.password:}")
+    private String scrapePassword;
+
+    /**
+     * Métricas ({@code /actuator/prometheus} y {@code /actuator/metrics}): solo el
+     * usuario de scrape por HTTP Basic, con rol METRICS. Un JWT de la aplicación no
+     * da acceso, y sin {@code metrics.scrape.password} los endpoints quedan cerrados.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsFilterChain(HttpSecurity http) throws Exception {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        InMemoryUserDetailsManager scrapeUsers = new InMemoryUserDetailsManager();
+        if (!scrapePassword.isBlank()) {
+            UserDetails scraper = User.withUsername(scrapeUsername)
+                    .password(passwordEncoder.encode(scrapePassword))
+                    .roles("METRICS")
+                    .build();
+            scrapeUsers.createUser(scraper);
+        }
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(scrapeUsers);
+        provider.setPasswordEncoder(passwordEncoder);
+
+        http
+                .securityMatcher("/actuator/prometheus", "/actuator/metrics", "/actuator/metrics/**")
+                .authenticationManager(new ProviderManager(provider))
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .httpBasic(Customizer.withDefaults())
+                .authorizeHttpRequests(auth -> auth.anyRequest().hasRole("METRICS"));
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -29,10 +75,17 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // ========================================
+                        // Despacho asíncrono de respuestas en streaming (ZIP):
+                        // la petición original ya pasó la autorización
+                        // ========================================
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // ========================================
                         // Endpoints públicos (sin autenticación)
                         // ========================================
                         .requestMatchers("/api/auth/login", "/api/auth/register").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
 
                         // ========================================
                         // Endpoints de cursos (autenticados)
@@ -85,7 +138,8 @@ public class SecurityConfig {
         config.setAllowedHeaders(List.of("*"));
 
         // ✅ Headers expuestos al cliente
-        config.setExposedHeaders(List.of("Authorization", "Content-Type"));
+        config.setExposedHeaders(List.of("Authorization", "Content-Type", "Content-Disposition",
+                "ETag", "Accept-Ranges", "Content-Range"));
 
         // ✅ Permitir credenciales (cookies, authorization headers)
         config.setAllowCredentials(true);
@@ -0,0 +1,44 @@
+package com.unimar.plataforma_educativa_angular.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Ajustes propios para {@code spring.threads.virtual.enabled=true} (Java 21+).
+ *
+ * Spring Boot ya mueve a hilos virtuales las peticiones de Tomcat, el
+ * {@code applicationTaskExecutor} (exportaciones ZIP en streaming) y las tareas
+ * programadas (recolección de archivos). Lo que falta es el límite que antes ponían
+ * los 200 hilos de Tomcat frente al pool de conexiones: {@link PermitLimitedDataSource}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    @Bean
+    static BeanPostProcessor connectionPermitsPostProcessor(
+            @Value("${threads.jdbc-permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${spring.datasource.hikari.connection-timeout:30000}") long timeoutMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof PermitLimitedDataSource)) {
+                    logger.info("Hilos virtuales: a lo más {} conexiones simultáneas a '{}'", permits, beanName);
+                    return new PermitLimitedDataSource(dataSource, permits, Duration.ofMillis(timeoutMillis));
+                }
+                return bean;
+            }
+        };
+    }
+}
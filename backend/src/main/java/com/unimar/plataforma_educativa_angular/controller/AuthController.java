@@ -2,6 +2,7 @@ package com.unimar.plataforma_educativa_angular.controller;
 
 import com.unimar.plataforma_educativa_angular.entities.User;
 import com.unimar.plataforma_educativa_angular.service.UserService;
+import com.unimar.plataforma_educativa_angular.token.AuthenticatedUser;
 import com.unimar.plataforma_educativa_angular.token.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -25,10 +26,7 @@ public class AuthController {
     public Map<String, String> login(@RequestBody User loginRequest) throws Exception {
         User user = userService.loginUser(loginRequest.getEmail(), loginRequest.getPassword());
 
-        System.out.println("Usuario autenticado: " + user.getEmail());
-
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name());
-        System.out.println("Token generado correctamente");
+        String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole().name());
 
         Map<String, String> response = new HashMap<>();
         response.put("token", token);
@@ -53,19 +51,15 @@ public class AuthController {
 
     @GetMapping("/me")
     public ResponseEntity<?> me(Authentication authentication) {
-        if (authentication == null || authentication.getName() == null) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
             return ResponseEntity.status(401).body(Map.of("message", "No autenticado"));
         }
-        String email = authentication.getName();
-        return userService.findByEmail(email)
-                .map(user -> {
-                    Map<String, Object> resp = new HashMap<>();
-                    resp.put("email", user.getEmail());
-                    resp.put("name", user.getNombre());
-                    resp.put("role", user.getRole());
-                    return ResponseEntity.ok(resp);
-                })
-                .orElseGet(() -> ResponseEntity.status(404).body(Map.of("message", "Usuario no encontrado")));
+        // Datos del principal armado por el filtro: sin consulta a la base de datos
+        Map<String, Object> resp = new HashMap<>();
+        resp.put("email", user.getEmail());
+        resp.put("name", user.getNombre());
+        resp.put("role", user.getRole());
+        return ResponseEntity.ok(resp);
     }
 
     // ========================================
@@ -3,11 +3,14 @@ package com.unimar.plataforma_educativa_angular.controller;
 import com.unimar.plataforma_educativa_angular.dto.ChallengeDTO;
 import com.unimar.plataforma_educativa_angular.entities.Challenge;
 import com.unimar.plataforma_educativa_angular.service.ChallengeService;
+import com.unimar.plataforma_educativa_angular.token.AuthenticatedUser;
+import com.unimar.plataforma_educativa_angular.token.CurrentUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
+import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -20,6 +23,8 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "http://localhost:4200")
 public class ChallengeController {
 
+    private static final Logger logger = LoggerFactory.getLogger(ChallengeController.class);
+
     @Autowired
     private ChallengeService challengeService;
 
@@ -33,20 +38,8 @@ public class ChallengeController {
             @RequestParam(value = "deadline", required = false) String deadline,
             @RequestParam(value = "file", required = false) MultipartFile file,
             @RequestParam(value = "externalUrl", required = false) String externalUrl, // ✅ NUEVO
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            System.out.println("\n========================================");
-            System.out.println("🏆 CREANDO RETO");
-            System.out.println("========================================");
-            System.out.println("   • Título: " + title);
-            System.out.println("   • Dificultad: " + difficulty);
-            System.out.println("   • Bonificación máxima: " + maxBonusPoints + " XP");
-            System.out.println("   • Curso ID: " + courseId);
-            System.out.println("   • Archivo: " + (file != null ? file.getOriginalFilename() : "No"));
-            System.out.println(
-                    "   • URL externa: " + (externalUrl != null && !externalUrl.isEmpty() ? externalUrl : "No"));
-            System.out.println("========================================\n");
-
             Challenge challenge = new Challenge();
             challenge.setTitle(title);
             challenge.setDescription(description);
@@ -60,14 +53,14 @@ public class ChallengeController {
             Challenge created = challengeService.createChallenge(
                     challenge,
                     courseId,
-                    auth.getName(),
+                    user.getId(),
                     file,
                     externalUrl // ✅ NUEVO parámetro
             );
 
             return ResponseEntity.ok(new ChallengeDTO(created));
         } catch (RuntimeException e) {
-            System.err.println("❌ Error al crear reto: " + e.getMessage());
+            logger.warn("Error al crear reto: {}", e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
@@ -75,9 +68,9 @@ public class ChallengeController {
     @GetMapping("/course/{courseId}")
     public ResponseEntity<?> getChallengesByCourse(
             @PathVariable Long courseId,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            List<Challenge> challenges = challengeService.getActiveChallengesByCourse(courseId, auth.getName());
+            List<Challenge> challenges = challengeService.getActiveChallengesByCourse(courseId, user.getId());
 
             List<ChallengeDTO> challengeDTOs = challenges.stream()
                     .map(ChallengeDTO::new)
@@ -92,9 +85,9 @@ public class ChallengeController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getChallengeById(
             @PathVariable Long id,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            Challenge challenge = challengeService.getChallengeById(id, auth.getName());
+            Challenge challenge = challengeService.getChallengeById(id, user.getId());
             return ResponseEntity.ok(new ChallengeDTO(challenge));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -112,17 +105,8 @@ public class ChallengeController {
             @RequestParam(value = "active", required = false) Boolean active,
             @RequestParam(value = "file", required = false) MultipartFile file,
             @RequestParam(value = "externalUrl", required = false) String externalUrl, // ✅ NUEVO
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            System.out.println("\n========================================");
-            System.out.println("✏️ ACTUALIZANDO RETO");
-            System.out.println("========================================");
-            System.out.println("   • ID: " + id);
-            System.out.println("   • Título: " + title);
-            System.out.println("   • Archivo: " + (file != null ? file.getOriginalFilename() : "No"));
-            System.out.println("   • URL externa: " + (externalUrl != null ? externalUrl : "No especificada"));
-            System.out.println("========================================\n");
-
             Challenge challenge = new Challenge();
             challenge.setTitle(title);
             challenge.setDescription(description);
@@ -137,13 +121,13 @@ public class ChallengeController {
             Challenge updated = challengeService.updateChallenge(
                     id,
                     challenge,
-                    auth.getName(),
+                    user.getId(),
                     file,
                     externalUrl);
 
             return ResponseEntity.ok(new ChallengeDTO(updated));
         } catch (RuntimeException e) {
-            System.err.println("❌ Error al actualizar reto: " + e.getMessage());
+            logger.warn("Error al actualizar reto: {}", e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
@@ -151,9 +135,9 @@ public class ChallengeController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteChallenge(
             @PathVariable Long id,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            challengeService.deleteChallenge(id, auth.getName());
+            challengeService.deleteChallenge(id, user.getId());
             return ResponseEntity.ok(Map.of("message", "Reto eliminado exitosamente"));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -161,20 +145,11 @@ public class ChallengeController {
     }
 
     @GetMapping("/{id}/download")
-    public ResponseEntity<byte[]> downloadChallenge(
+    public ResponseEntity<Resource> downloadChallenge(
             @PathVariable Long id,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            Challenge challenge = challengeService.getChallengeById(id, auth.getName());
-            byte[] fileData = challengeService.getChallengeFile(id, auth.getName());
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType(challenge.getFileType()));
-            headers.setContentDispositionFormData("attachment", challenge.getFileName());
-
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(fileData);
+            return FileDownloads.toResponse(challengeService.getChallengeDownload(id, user.getId()));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -1,28 +1,44 @@
 package com.unimar.plataforma_educativa_angular.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unimar.plataforma_educativa_angular.dto.ArchiveEntryDTO;
 import com.unimar.plataforma_educativa_angular.dto.ChallengeSubmissionDTO;
 import com.unimar.plataforma_educativa_angular.entities.ChallengeSubmission;
 import com.unimar.plataforma_educativa_angular.service.ChallengeSubmissionService;
+import com.unimar.plataforma_educativa_angular.service.SubmissionArchiveService;
+import com.unimar.plataforma_educativa_angular.token.AuthenticatedUser;
+import com.unimar.plataforma_educativa_angular.token.CurrentUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/challenge-submissions")
 @CrossOrigin(origins = "http://localhost:4200")
 public class ChallengeSubmissionController {
 
+    private static final Logger logger = LoggerFactory.getLogger(ChallengeSubmissionController.class);
+
     @Autowired
     private ChallengeSubmissionService submissionService;
 
+    @Autowired
+    private SubmissionArchiveService archiveService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Subir solución de reto (Estudiante)
      */
@@ -30,21 +46,15 @@ public class ChallengeSubmissionController {
     public ResponseEntity<?> submitChallenge(
             @RequestParam("challengeId") Long challengeId,
             @RequestParam("file") MultipartFile file,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            System.out.println("📤 Subiendo solución de reto: " + challengeId);
-            System.out.println("   Usuario: " + auth.getName());
-            System.out.println("   Archivo: " + file.getOriginalFilename());
-
-            ChallengeSubmission submission = submissionService.submitChallenge(challengeId, auth.getName(), file);
-
-            System.out.println("   ✅ Solución enviada exitosamente");
+            ChallengeSubmission submission = submissionService.submitChallenge(challengeId, user.getId(), file);
 
             return ResponseEntity.ok(Map.of(
                     "message", "Solución enviada exitosamente. El profesor la revisará pronto.",
                     "submission", new ChallengeSubmissionDTO(submission)));
         } catch (RuntimeException e) {
-            System.err.println("   ❌ Error al enviar solución: " + e.getMessage());
+            logger.warn("Error al enviar solución: {}", e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
@@ -56,20 +66,15 @@ public class ChallengeSubmissionController {
     public ResponseEntity<?> updateSubmission(
             @PathVariable Long id,
             @RequestParam("file") MultipartFile file,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            System.out.println("✏️ Editando solución: " + id);
-            System.out.println("   Usuario: " + auth.getName());
-
-            ChallengeSubmission submission = submissionService.updateSubmission(id, auth.getName(), file);
-
-            System.out.println("   ✅ Solución actualizada exitosamente");
+            ChallengeSubmission submission = submissionService.updateSubmission(id, user.getId(), file);
 
             return ResponseEntity.ok(Map.of(
                     "message", "Solución actualizada exitosamente",
                     "submission", new ChallengeSubmissionDTO(submission)));
         } catch (RuntimeException e) {
-            System.err.println("   ❌ Error al editar solución: " + e.getMessage());
+            logger.warn("Error al editar solución: {}", e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
@@ -80,14 +85,17 @@ public class ChallengeSubmissionController {
     @GetMapping("/challenge/{challengeId}")
     public ResponseEntity<?> getSubmissionsByChallenge(
             @PathVariable Long challengeId,
-            Authentication auth) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @CurrentUser AuthenticatedUser user) {
         try {
-            List<ChallengeSubmission> submissions = submissionService.getSubmissionsByChallenge(challengeId,
-                    auth.getName());
+            if (cursor != null || size != null) {
+                return ResponseEntity.ok(submissionService.getSubmissionSummariesByChallenge(
+                        challengeId, user.getId(), cursor, size));
+            }
 
-            List<ChallengeSubmissionDTO> submissionDTOs = submissions.stream()
-                    .map(ChallengeSubmissionDTO::new)
-                    .collect(Collectors.toList());
+            List<ChallengeSubmissionDTO> submissionDTOs = submissionService.getSubmissionSummariesByChallenge(
+                    challengeId, user.getId());
 
             return ResponseEntity.ok(submissionDTOs);
         } catch (RuntimeException e) {
@@ -95,17 +103,50 @@ public class ChallengeSubmissionController {
         }
     }
 
+    /**
+     * Descargar todas las soluciones de un reto en un ZIP con manifiesto CSV (Profesor)
+     */
+    @GetMapping("/challenge/{challengeId}/archive")
+    public ResponseEntity<StreamingResponseBody> downloadArchive(
+            @PathVariable Long challengeId,
+            @CurrentUser AuthenticatedUser user) {
+        try {
+            // La autorización y la consulta se hacen antes de empezar a escribir la respuesta
+            List<ArchiveEntryDTO> entries = submissionService.getArchiveEntries(challengeId, user.getId());
+
+            StreamingResponseBody body = out -> archiveService.writeArchive(entries, "bonificacion", out);
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/zip"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                            .filename("soluciones-reto-" + challengeId + ".zip")
+                            .build()
+                            .toString())
+                    .body(body);
+        } catch (RuntimeException e) {
+            // Con ResponseEntity<?> Spring no reconoce el cuerpo en streaming; el error
+            // viaja por el mismo tipo, escrito como JSON
+            String message = e.getMessage();
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, Map.of("error", message)));
+        }
+    }
+
     /**
      * Obtener mis soluciones (Estudiante)
      */
     @GetMapping("/my-submissions")
-    public ResponseEntity<?> getMySubmissions(Authentication auth) {
+    public ResponseEntity<?> getMySubmissions(
+            @CurrentUser AuthenticatedUser user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<ChallengeSubmission> submissions = submissionService.getMySubmissions(auth.getName());
+            if (cursor != null || size != null) {
+                return ResponseEntity.ok(submissionService.getMySubmissionSummaries(user.getId(), cursor, size));
+            }
 
-            List<ChallengeSubmissionDTO> submissionDTOs = submissions.stream()
-                    .map(ChallengeSubmissionDTO::new)
-                    .collect(Collectors.toList());
+            List<ChallengeSubmissionDTO> submissionDTOs = submissionService.getMySubmissionSummaries(user.getId());
 
             return ResponseEntity.ok(submissionDTOs);
         } catch (RuntimeException e) {
@@ -119,9 +160,9 @@ public class ChallengeSubmissionController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getSubmissionById(
             @PathVariable Long id,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            ChallengeSubmission submission = submissionService.getSubmissionById(id, auth.getName());
+            ChallengeSubmission submission = submissionService.getSubmissionById(id, user.getId());
             return ResponseEntity.ok(new ChallengeSubmissionDTO(submission));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -139,12 +180,8 @@ public class ChallengeSubmissionController {
     public ResponseEntity<?> reviewSubmission(
             @PathVariable Long id,
             @RequestBody Map<String, Object> reviewData,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            System.out.println("🔍 Revisando solución de reto: " + id);
-            System.out.println("   Profesor: " + auth.getName());
-            System.out.println("   Datos: " + reviewData);
-
             Integer bonusPoints = ((Number) reviewData.get("bonusPoints")).intValue();
             String feedback = (String) reviewData.get("feedback");
 
@@ -152,16 +189,13 @@ public class ChallengeSubmissionController {
                     id,
                     bonusPoints,
                     feedback,
-                    auth.getName());
-
-            System.out.println("   ✅ Solución revisada exitosamente");
+                    user.getId());
 
             return ResponseEntity.ok(Map.of(
                     "message", "Solución revisada exitosamente",
                     "submission", new ChallengeSubmissionDTO(submission)));
         } catch (RuntimeException e) {
-            System.err.println("   ❌ Error al revisar solución: " + e.getMessage());
-            e.printStackTrace(); // Para debug
+            logger.warn("Error al revisar solución: {}", e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
@@ -170,24 +204,14 @@ public class ChallengeSubmissionController {
      * Descargar archivo de solución
      */
     @GetMapping("/{id}/download")
-    public ResponseEntity<byte[]> downloadSubmission(
+    public ResponseEntity<Resource> downloadSubmission(
             @PathVariable Long id,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            ChallengeSubmission submission = submissionService.getSubmissionById(id, auth.getName());
-            byte[] fileData = submissionService.getSubmissionFile(id, auth.getName());
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType(submission.getFileType()));
-            headers.setContentDispositionFormData("attachment", submission.getFileName());
-            headers.setContentLength(fileData.length);
-
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(fileData);
+            return FileDownloads.toResponse(submissionService.getSubmissionDownload(id, user.getId()));
 
         } catch (RuntimeException e) {
-            System.err.println("❌ Error al descargar solución: " + e.getMessage());
+            logger.warn("Error al descargar solución: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
         }
     }
@@ -198,9 +222,9 @@ public class ChallengeSubmissionController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteSubmission(
             @PathVariable Long id,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            submissionService.deleteSubmission(id, auth.getName());
+            submissionService.deleteSubmission(id, user.getId());
             return ResponseEntity.ok(Map.of("message", "Solución eliminada exitosamente"));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -1,6 +1,7 @@
 package com.unimar.plataforma_educativa_angular.controller;
 
 import com.unimar.plataforma_educativa_angular.dto.CourseDTO;
+import com.unimar.plataforma_educativa_angular.dto.CursorPageDTO;
 import com.unimar.plataforma_educativa_angular.entities.Course;
 import com.unimar.plataforma_educativa_angular.entities.User;
 import com.unimar.plataforma_educativa_angular.service.CourseService;
@@ -8,7 +9,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import com.unimar.plataforma_educativa_angular.repositories.UserRepository;
-import org.springframework.security.core.Authentication;
+import com.unimar.plataforma_educativa_angular.token.AuthenticatedUser;
+import com.unimar.plataforma_educativa_angular.token.CurrentUser;
 
 import java.util.List;
 import java.util.Map;
@@ -29,34 +31,52 @@ public class CourseController {
     }
 
     // Para profesores - Obtener sus cursos
+    /**
+     * Cursos del profesor. Sin {@code cursor} ni {@code size} devuelve la lista
+     * (hasta {@link CursorPageDTO#UNPAGED_MAX_SIZE} cursos); con alguno de ellos
+     * devuelve una página con {@code nextCursor}.
+     */
     @GetMapping
-    public ResponseEntity<List<CourseDTO>> getMyCourses(Authentication auth) {
-        String teacherEmail = auth.getName();
-        List<Course> courses = courseService.getCoursesByTeacher(teacherEmail);
-
-        List<CourseDTO> courseDTOs = courses.stream()
-                .map(CourseDTO::new)
-                .collect(Collectors.toList());
+    public ResponseEntity<?> getMyCourses(
+            @CurrentUser AuthenticatedUser user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        if (cursor != null || size != null) {
+            try {
+                return ResponseEntity.ok(courseService.getCourseSummariesByTeacher(user.getId(), cursor, size));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        }
 
-        return ResponseEntity.ok(courseDTOs);
+        return ResponseEntity.ok(courseService.getCourseSummariesByTeacher(user.getId()));
     }
 
     // Para estudiantes - Obtener cursos inscritos
+    /**
+     * Cursos del estudiante. Sin {@code cursor} ni {@code size} devuelve la lista
+     * (hasta {@link CursorPageDTO#UNPAGED_MAX_SIZE} cursos); con alguno de ellos
+     * devuelve una página con {@code nextCursor}.
+     */
     @GetMapping("/enrolled")
-    public ResponseEntity<List<CourseDTO>> getEnrolledCourses(Authentication auth) {
-        String studentEmail = auth.getName();
-        List<Course> courses = courseService.getEnrolledCourses(studentEmail);
-
-        List<CourseDTO> courseDTOs = courses.stream()
-                .map(CourseDTO::new)
-                .collect(Collectors.toList());
+    public ResponseEntity<?> getEnrolledCourses(
+            @CurrentUser AuthenticatedUser user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        if (cursor != null || size != null) {
+            try {
+                return ResponseEntity.ok(courseService.getEnrolledCourseSummaries(user.getId(), cursor, size));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        }
 
-        return ResponseEntity.ok(courseDTOs);
+        return ResponseEntity.ok(courseService.getEnrolledCourseSummaries(user.getId()));
     }
 
     @PostMapping
-    public ResponseEntity<CourseDTO> createCourse(@RequestBody Course course, Authentication auth) {
-        User teacher = userRepository.findByEmail(auth.getName())
+    public ResponseEntity<CourseDTO> createCourse(@RequestBody Course course, @CurrentUser AuthenticatedUser user) {
+        User teacher = userRepository.findById(user.getId())
                 .orElseThrow(() -> new RuntimeException("Profesor no encontrado"));
 
         course.setTeacher(teacher);
@@ -69,9 +89,9 @@ public class CourseController {
     public ResponseEntity<?> updateCourse(
             @PathVariable Long id,
             @RequestBody Course course,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            Course updatedCourse = courseService.updateCourse(id, course, auth.getName());
+            Course updatedCourse = courseService.updateCourse(id, course, user.getId());
             return ResponseEntity.ok(new CourseDTO(updatedCourse));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -79,9 +99,9 @@ public class CourseController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteCourse(@PathVariable Long id, Authentication auth) {
+    public ResponseEntity<?> deleteCourse(@PathVariable Long id, @CurrentUser AuthenticatedUser user) {
         try {
-            courseService.deleteCourse(id, auth.getName());
+            courseService.deleteCourse(id, user.getId());
             return ResponseEntity.ok(Map.of("message", "Curso eliminado exitosamente"));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -91,12 +111,10 @@ public class CourseController {
     @PostMapping("/join")
     public ResponseEntity<?> joinCourse(
             @RequestBody Map<String, String> request,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
             String inviteCode = request.get("inviteCode");
-            Course course = courseService.joinCourse(inviteCode, auth.getName());
-
-            CourseDTO courseDTO = new CourseDTO(course);
+            CourseDTO courseDTO = courseService.joinCourse(inviteCode, user.getId());
 
             return ResponseEntity.ok(Map.of(
                     "message", "Te has unido al curso exitosamente",
@@ -109,9 +127,9 @@ public class CourseController {
     @DeleteMapping("/{id}/leave")
     public ResponseEntity<?> leaveCourse(
             @PathVariable Long id,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            courseService.leaveCourse(id, auth.getName());
+            courseService.leaveCourse(id, user.getId());
             return ResponseEntity.ok(Map.of(
                     "message", "Has abandonado el curso exitosamente"));
         } catch (RuntimeException e) {
@@ -125,19 +143,20 @@ public class CourseController {
     @GetMapping("/{id}/students")
     public ResponseEntity<?> getStudentsByCourse(
             @PathVariable Long id,
-            Authentication auth) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @CurrentUser AuthenticatedUser user) {
         try {
-            List<User> students = courseService.getStudentsByCourse(id, auth.getName());
+            if (cursor != null || size != null) {
+                return ResponseEntity.ok(courseService.getStudentsByCourse(id, user.getId(), cursor, size)
+                        .map(CourseController::toStudentDTO));
+            }
+
+            List<User> students = courseService.getStudentsByCourse(id, user.getId());
 
             // Mapear a un DTO sin información sensible
             List<Map<String, Object>> studentDTOs = students.stream()
-                    .map(student -> {
-                        Map<String, Object> dto = new java.util.HashMap<>();
-                        dto.put("id", student.getId());
-                        dto.put("nombre", student.getNombre());
-                        dto.put("email", student.getEmail());
-                        return dto;
-                    })
+                    .map(CourseController::toStudentDTO)
                     .collect(Collectors.toList());
 
             return ResponseEntity.ok(studentDTOs);
@@ -153,9 +172,9 @@ public class CourseController {
     public ResponseEntity<?> removeStudentFromCourse(
             @PathVariable Long courseId,
             @PathVariable Long studentId,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            courseService.removeStudentFromCourse(courseId, studentId, auth.getName());
+            courseService.removeStudentFromCourse(courseId, studentId, user.getId());
             return ResponseEntity.ok(Map.of(
                     "message", "Estudiante eliminado del curso exitosamente"));
         } catch (RuntimeException e) {
@@ -180,7 +199,7 @@ public class CourseController {
     public ResponseEntity<?> setWhatsappLink(
             @PathVariable Long id,
             @RequestBody Map<String, String> request,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
             String whatsappLink = request.get("whatsappLink");
 
@@ -189,7 +208,7 @@ public class CourseController {
                         .body(Map.of("error", "El enlace de WhatsApp es requerido"));
             }
 
-            Course course = courseService.setWhatsappLink(id, whatsappLink, auth.getName());
+            Course course = courseService.setWhatsappLink(id, whatsappLink, user.getId());
 
             return ResponseEntity.ok(Map.of(
                     "message", "Enlace de WhatsApp configurado exitosamente",
@@ -206,9 +225,9 @@ public class CourseController {
     @DeleteMapping("/{id}/whatsapp")
     public ResponseEntity<?> removeWhatsappLink(
             @PathVariable Long id,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            Course course = courseService.removeWhatsappLink(id, auth.getName());
+            Course course = courseService.removeWhatsappLink(id, user.getId());
 
             return ResponseEntity.ok(Map.of(
                     "message", "Enlace de WhatsApp eliminado exitosamente",
@@ -225,9 +244,9 @@ public class CourseController {
     @GetMapping("/{id}/whatsapp")
     public ResponseEntity<?> getWhatsappLink(
             @PathVariable Long id,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            String whatsappLink = courseService.getWhatsappLink(id, auth.getName());
+            String whatsappLink = courseService.getWhatsappLink(id, user.getId());
 
             if (whatsappLink == null) {
                 return ResponseEntity.ok(Map.of(
@@ -242,4 +261,13 @@ public class CourseController {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    // Datos del estudiante sin información sensible
+    private static Map<String, Object> toStudentDTO(User student) {
+        Map<String, Object> dto = new java.util.HashMap<>();
+        dto.put("id", student.getId());
+        dto.put("nombre", student.getNombre());
+        dto.put("email", student.getEmail());
+        return dto;
+    }
+}
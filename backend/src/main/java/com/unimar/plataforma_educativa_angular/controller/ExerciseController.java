@@ -3,11 +3,14 @@ package com.unimar.plataforma_educativa_angular.controller;
 import com.unimar.plataforma_educativa_angular.dto.ExerciseDTO;
 import com.unimar.plataforma_educativa_angular.entities.Exercise;
 import com.unimar.plataforma_educativa_angular.service.ExerciseService;
+import com.unimar.plataforma_educativa_angular.token.AuthenticatedUser;
+import com.unimar.plataforma_educativa_angular.token.CurrentUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
+import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -20,6 +23,8 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "http://localhost:4200")
 public class ExerciseController {
 
+    private static final Logger logger = LoggerFactory.getLogger(ExerciseController.class);
+
     @Autowired
     private ExerciseService exerciseService;
 
@@ -32,19 +37,8 @@ public class ExerciseController {
             @RequestParam(value = "deadline", required = false) String deadline,
             @RequestParam(value = "file", required = false) MultipartFile file,
             @RequestParam(value = "externalUrl", required = false) String externalUrl, // ✅ NUEVO
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            System.out.println("\n========================================");
-            System.out.println("📝 CREANDO EJERCICIO");
-            System.out.println("========================================");
-            System.out.println("   • Título: " + title);
-            System.out.println("   • Dificultad: " + difficulty);
-            System.out.println("   • Curso ID: " + courseId);
-            System.out.println("   • Archivo: " + (file != null ? file.getOriginalFilename() : "No"));
-            System.out.println(
-                    "   • URL externa: " + (externalUrl != null && !externalUrl.isEmpty() ? externalUrl : "No"));
-            System.out.println("========================================\n");
-
             Exercise exercise = new Exercise();
             exercise.setTitle(title);
             exercise.setDescription(description);
@@ -57,13 +51,13 @@ public class ExerciseController {
             Exercise created = exerciseService.createExercise(
                     exercise,
                     courseId,
-                    auth.getName(),
+                    user.getId(),
                     file,
                     externalUrl);
 
             return ResponseEntity.ok(new ExerciseDTO(created));
         } catch (RuntimeException e) {
-            System.err.println("❌ Error al crear ejercicio: " + e.getMessage());
+            logger.warn("Error al crear ejercicio: {}", e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
@@ -71,9 +65,16 @@ public class ExerciseController {
     @GetMapping("/course/{courseId}")
     public ResponseEntity<?> getExercisesByCourse(
             @PathVariable Long courseId,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<Exercise> exercises = exerciseService.getExercisesByCourse(courseId, auth.getName());
+            if (cursor != null || size != null) {
+                return ResponseEntity.ok(exerciseService.getExercisesByCourse(courseId, user.getId(), cursor, size)
+                        .map(ExerciseDTO::new));
+            }
+
+            List<Exercise> exercises = exerciseService.getExercisesByCourse(courseId, user.getId());
 
             List<ExerciseDTO> exerciseDTOs = exercises.stream()
                     .map(ExerciseDTO::new)
@@ -88,9 +89,9 @@ public class ExerciseController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getExerciseById(
             @PathVariable Long id,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            Exercise exercise = exerciseService.getExerciseById(id, auth.getName());
+            Exercise exercise = exerciseService.getExerciseById(id, user.getId());
             return ResponseEntity.ok(new ExerciseDTO(exercise));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -106,17 +107,8 @@ public class ExerciseController {
             @RequestParam(value = "deadline", required = false) String deadline,
             @RequestParam(value = "file", required = false) MultipartFile file,
             @RequestParam(value = "externalUrl", required = false) String externalUrl, // ✅ NUEVO
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            System.out.println("\n========================================");
-            System.out.println("✏️ ACTUALIZANDO EJERCICIO");
-            System.out.println("========================================");
-            System.out.println("   • ID: " + id);
-            System.out.println("   • Título: " + title);
-            System.out.println("   • Archivo: " + (file != null ? file.getOriginalFilename() : "No"));
-            System.out.println("   • URL externa: " + (externalUrl != null ? externalUrl : "No especificada"));
-            System.out.println("========================================\n");
-
             Exercise exercise = new Exercise();
             exercise.setTitle(title);
             exercise.setDescription(description);
@@ -129,14 +121,14 @@ public class ExerciseController {
             Exercise updated = exerciseService.updateExercise(
                     id,
                     exercise,
-                    auth.getName(),
+                    user.getId(),
                     file,
                     externalUrl // ✅ NUEVO parámetro
             );
 
             return ResponseEntity.ok(new ExerciseDTO(updated));
         } catch (RuntimeException e) {
-            System.err.println("❌ Error al actualizar ejercicio: " + e.getMessage());
+            logger.warn("Error al actualizar ejercicio: {}", e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
@@ -144,9 +136,9 @@ public class ExerciseController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteExercise(
             @PathVariable Long id,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            exerciseService.deleteExercise(id, auth.getName());
+            exerciseService.deleteExercise(id, user.getId());
             return ResponseEntity.ok(Map.of("message", "Ejercicio eliminado exitosamente"));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -154,20 +146,11 @@ public class ExerciseController {
     }
 
     @GetMapping("/{id}/download")
-    public ResponseEntity<byte[]> downloadExercise(
+    public ResponseEntity<Resource> downloadExercise(
             @PathVariable Long id,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            Exercise exercise = exerciseService.getExerciseById(id, auth.getName());
-            byte[] fileData = exerciseService.getExerciseFile(id, auth.getName());
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType(exercise.getFileType()));
-            headers.setContentDispositionFormData("attachment", exercise.getFileName());
-
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(fileData);
+            return FileDownloads.toResponse(exerciseService.getExerciseDownload(id, user.getId()));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
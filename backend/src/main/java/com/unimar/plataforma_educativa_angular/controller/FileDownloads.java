@@ -0,0 +1,52 @@
+package com.unimar.plataforma_educativa_angular.controller;
+
+import com.unimar.plataforma_educativa_angular.dto.FileDownloadDTO;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+
+/**
+ * Arma la respuesta de descarga común a ejercicios, retos y entregas.
+ *
+ * El cuerpo es un {@link Resource}, así que Spring MVC lo copia al socket por
+ * bloques y resuelve solo las cabeceras {@code Range} (206 con
+ * {@code ResourceRegion}). El ETag es el SHA-256 del contenido y, junto con
+ * {@code Last-Modified} (la fecha de la fila, no la del blob), permite que Spring
+ * conteste 304 a {@code If-None-Match} / {@code If-Modified-Since} sin leer el archivo.
+ */
+final class FileDownloads {
+
+    private FileDownloads() {
+    }
+
+    static ResponseEntity<Resource> toResponse(FileDownloadDTO file) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(file.getFileType() != null
+                ? MediaType.parseMediaType(file.getFileType())
+                : MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(file.getFileName(), StandardCharsets.UTF_8)
+                .build());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .headers(headers)
+                // El navegador guarda la copia pero siempre revalida con el ETag
+                .cacheControl(CacheControl.noCache().cachePrivate());
+
+        if (file.getChecksum() != null) {
+            builder.eTag(file.getChecksum());
+        }
+        if (file.getLastModified() != null) {
+            builder.lastModified(file.getLastModified().atZone(ZoneId.systemDefault()));
+        }
+
+        return builder.body(file.getResource());
+    }
+}
@@ -2,9 +2,10 @@ package com.unimar.plataforma_educativa_angular.controller;
 
 import com.unimar.plataforma_educativa_angular.entities.Hint;
 import com.unimar.plataforma_educativa_angular.service.HintService;
+import com.unimar.plataforma_educativa_angular.token.AuthenticatedUser;
+import com.unimar.plataforma_educativa_angular.token.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -25,9 +26,9 @@ public class HintController {
     public ResponseEntity<?> createHint(
             @RequestBody Hint hint,
             @RequestParam Long exerciseId,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            Hint createdHint = hintService.createHint(hint, exerciseId, auth.getName());
+            Hint createdHint = hintService.createHint(hint, exerciseId, user.getId());
             return ResponseEntity.ok(createdHint);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -40,9 +41,9 @@ public class HintController {
     @GetMapping("/exercise/{exerciseId}")
     public ResponseEntity<?> getHintsByExercise(
             @PathVariable Long exerciseId,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            List<Hint> hints = hintService.getHintsByExercise(exerciseId, auth.getName());
+            List<Hint> hints = hintService.getHintsByExercise(exerciseId, user.getId());
             return ResponseEntity.ok(hints);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -56,9 +57,9 @@ public class HintController {
     public ResponseEntity<?> updateHint(
             @PathVariable Long id,
             @RequestBody Hint hint,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            Hint updatedHint = hintService.updateHint(id, hint, auth.getName());
+            Hint updatedHint = hintService.updateHint(id, hint, user.getId());
             return ResponseEntity.ok(updatedHint);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -71,9 +72,9 @@ public class HintController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteHint(
             @PathVariable Long id,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            hintService.deleteHint(id, auth.getName());
+            hintService.deleteHint(id, user.getId());
             return ResponseEntity.ok(Map.of("message", "Pista eliminada exitosamente"));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -1,10 +1,12 @@
 package com.unimar.plataforma_educativa_angular.controller;
 
 import com.unimar.plataforma_educativa_angular.dto.PodiumDTO;
+import com.unimar.plataforma_educativa_angular.dto.StudentPositionDTO;
 import com.unimar.plataforma_educativa_angular.service.PodiumService;
+import com.unimar.plataforma_educativa_angular.token.AuthenticatedUser;
+import com.unimar.plataforma_educativa_angular.token.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -24,9 +26,9 @@ public class PodiumController {
     @GetMapping("/course/{courseId}")
     public ResponseEntity<?> getPodiumByCourse(
             @PathVariable Long courseId,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            List<PodiumDTO> podium = podiumService.getPodiumByCourse(courseId, auth.getName());
+            List<PodiumDTO> podium = podiumService.getPodiumByCourse(courseId, user.getId());
             return ResponseEntity.ok(podium);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -39,9 +41,9 @@ public class PodiumController {
     @GetMapping("/level/{level}")
     public ResponseEntity<?> getPodiumByLevel(
             @PathVariable String level,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            List<PodiumDTO> podium = podiumService.getPodiumByLevel(level, auth.getName());
+            List<PodiumDTO> podium = podiumService.getPodiumByLevel(level, user.getId());
             return ResponseEntity.ok(podium);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -54,9 +56,9 @@ public class PodiumController {
     @GetMapping("/my-position/{courseId}")
     public ResponseEntity<?> getMyPosition(
             @PathVariable Long courseId,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            PodiumDTO position = podiumService.getStudentPosition(courseId, auth.getName());
+            StudentPositionDTO position = podiumService.getStudentPosition(courseId, user.getId());
             return ResponseEntity.ok(position);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
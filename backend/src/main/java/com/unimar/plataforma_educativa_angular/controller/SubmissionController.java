@@ -1,19 +1,30 @@
 package com.unimar.plataforma_educativa_angular.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unimar.plataforma_educativa_angular.dto.ArchiveEntryDTO;
 import com.unimar.plataforma_educativa_angular.dto.SubmissionDTO;
 import com.unimar.plataforma_educativa_angular.entities.Submission;
 import com.unimar.plataforma_educativa_angular.service.SubmissionService;
+import com.unimar.plataforma_educativa_angular.service.SubmissionArchiveService;
+import com.unimar.plataforma_educativa_angular.service.SubmissionUploadService;
+import com.unimar.plataforma_educativa_angular.storage.UploadSpoolFullException;
+import com.unimar.plataforma_educativa_angular.token.AuthenticatedUser;
+import com.unimar.plataforma_educativa_angular.token.CurrentUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/submissions")
@@ -22,32 +33,43 @@ import java.util.stream.Collectors;
 }, allowedHeaders = "*", allowCredentials = "true")
 public class SubmissionController {
 
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionController.class);
+
     @Autowired
     private SubmissionService submissionService;
 
+    @Autowired
+    private SubmissionArchiveService archiveService;
+
+    @Autowired
+    private SubmissionUploadService uploadService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Subir entrega (Estudiante)
-     * La entrega queda inmediatamente visible para el profesor
+     * Responde 202 con la entrega en PENDING_UPLOAD; el archivo se guarda en segundo
+     * plano (consultar GET /{id}/status). 503 con Retry-After si el spool está lleno
      */
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> submitExercise(
             @RequestParam("exerciseId") Long exerciseId,
             @RequestParam("file") MultipartFile file,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            System.out.println("📤 Subiendo entrega para ejercicio: " + exerciseId);
-            System.out.println("   Usuario: " + auth.getName());
-            System.out.println("   Archivo: " + file.getOriginalFilename());
-
-            Submission submission = submissionService.submitExercise(exerciseId, auth.getName(), file);
-
-            System.out.println("   ✅ Entrega creada exitosamente");
+            Submission submission = uploadService.accept(exerciseId, user.getId(), file);
 
-            return ResponseEntity.ok(Map.of(
-                    "message", "Entrega subida exitosamente. El profesor ya puede verla y calificarla.",
+            return ResponseEntity.accepted().body(Map.of(
+                    "message", "Entrega recibida. Se está guardando y en unos segundos el profesor podrá verla.",
                     "submission", new SubmissionDTO(submission)));
+        } catch (UploadSpoolFullException e) {
+            logger.warn("Entrega rechazada, spool lleno");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
-            System.err.println("   ❌ Error al subir entrega: " + e.getMessage());
+            logger.warn("Error al subir entrega: {}", e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
@@ -59,20 +81,15 @@ public class SubmissionController {
     public ResponseEntity<?> updateSubmission(
             @PathVariable Long id,
             @RequestParam("file") MultipartFile file,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            System.out.println("✏️ Editando entrega: " + id);
-            System.out.println("   Usuario: " + auth.getName());
-
-            Submission submission = submissionService.updateSubmission(id, auth.getName(), file);
-
-            System.out.println("   ✅ Entrega actualizada exitosamente");
+            Submission submission = submissionService.updateSubmission(id, user.getId(), file);
 
             return ResponseEntity.ok(Map.of(
                     "message", "Entrega actualizada exitosamente",
                     "submission", new SubmissionDTO(submission)));
         } catch (RuntimeException e) {
-            System.err.println("   ❌ Error al editar entrega: " + e.getMessage());
+            logger.warn("Error al editar entrega: {}", e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
@@ -83,13 +100,17 @@ public class SubmissionController {
     @GetMapping("/exercise/{exerciseId}")
     public ResponseEntity<?> getSubmissionsByExercise(
             @PathVariable Long exerciseId,
-            Authentication auth) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @CurrentUser AuthenticatedUser user) {
         try {
-            List<Submission> submissions = submissionService.getSubmissionsByExercise(exerciseId, auth.getName());
+            if (cursor != null || size != null) {
+                return ResponseEntity.ok(submissionService.getSubmissionSummariesByExercise(
+                        exerciseId, user.getId(), cursor, size));
+            }
 
-            List<SubmissionDTO> submissionDTOs = submissions.stream()
-                    .map(SubmissionDTO::new)
-                    .collect(Collectors.toList());
+            List<SubmissionDTO> submissionDTOs = submissionService.getSubmissionSummariesByExercise(
+                    exerciseId, user.getId());
 
             return ResponseEntity.ok(submissionDTOs);
         } catch (RuntimeException e) {
@@ -97,17 +118,50 @@ public class SubmissionController {
         }
     }
 
+    /**
+     * Descargar todas las entregas de un ejercicio en un ZIP con manifiesto CSV (Profesor)
+     */
+    @GetMapping("/exercise/{exerciseId}/archive")
+    public ResponseEntity<StreamingResponseBody> downloadArchive(
+            @PathVariable Long exerciseId,
+            @CurrentUser AuthenticatedUser user) {
+        try {
+            // La autorización y la consulta se hacen antes de empezar a escribir la respuesta
+            List<ArchiveEntryDTO> entries = submissionService.getArchiveEntries(exerciseId, user.getId());
+
+            StreamingResponseBody body = out -> archiveService.writeArchive(entries, "calificacion", out);
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/zip"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                            .filename("entregas-ejercicio-" + exerciseId + ".zip")
+                            .build()
+                            .toString())
+                    .body(body);
+        } catch (RuntimeException e) {
+            // Con ResponseEntity<?> Spring no reconoce el cuerpo en streaming; el error
+            // viaja por el mismo tipo, escrito como JSON
+            String message = e.getMessage();
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, Map.of("error", message)));
+        }
+    }
+
     /**
      * Obtener mis entregas (Estudiante)
      */
     @GetMapping("/my-submissions")
-    public ResponseEntity<?> getMySubmissions(Authentication auth) {
+    public ResponseEntity<?> getMySubmissions(
+            @CurrentUser AuthenticatedUser user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<Submission> submissions = submissionService.getMySubmissions(auth.getName());
+            if (cursor != null || size != null) {
+                return ResponseEntity.ok(submissionService.getMySubmissionSummaries(user.getId(), cursor, size));
+            }
 
-            List<SubmissionDTO> submissionDTOs = submissions.stream()
-                    .map(SubmissionDTO::new)
-                    .collect(Collectors.toList());
+            List<SubmissionDTO> submissionDTOs = submissionService.getMySubmissionSummaries(user.getId());
 
             return ResponseEntity.ok(submissionDTOs);
         } catch (RuntimeException e) {
@@ -121,15 +175,30 @@ public class SubmissionController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getSubmissionById(
             @PathVariable Long id,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            Submission submission = submissionService.getSubmissionById(id, auth.getName());
+            Submission submission = submissionService.getSubmissionById(id, user.getId());
             return ResponseEntity.ok(new SubmissionDTO(submission));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    /**
+     * Estado de una entrega (PENDING_UPLOAD mientras su archivo se guarda)
+     */
+    @GetMapping("/{id}/status")
+    public ResponseEntity<?> getSubmissionStatus(
+            @PathVariable Long id,
+            @CurrentUser AuthenticatedUser user) {
+        try {
+            Submission.SubmissionStatus status = submissionService.getStatus(id, user.getId());
+            return ResponseEntity.ok(Map.of("id", id, "status", status));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Calificar entrega (Profesor)
      */
@@ -137,12 +206,12 @@ public class SubmissionController {
     public ResponseEntity<?> gradeSubmission(
             @PathVariable Long id,
             @RequestBody Map<String, Object> gradeData,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
             Double grade = ((Number) gradeData.get("grade")).doubleValue();
             String feedback = (String) gradeData.get("feedback");
 
-            Submission submission = submissionService.gradeSubmission(id, grade, feedback, auth.getName());
+            Submission submission = submissionService.gradeSubmission(id, grade, feedback, user.getId());
 
             return ResponseEntity.ok(Map.of(
                     "message", "Entrega calificada exitosamente",
@@ -156,24 +225,14 @@ public class SubmissionController {
      * Descargar archivo de entrega
      */
     @GetMapping("/{id}/download")
-    public ResponseEntity<byte[]> downloadSubmission(
+    public ResponseEntity<Resource> downloadSubmission(
             @PathVariable Long id,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            Submission submission = submissionService.getSubmissionById(id, auth.getName());
-            byte[] fileData = submissionService.getSubmissionFile(id, auth.getName());
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType(submission.getFileType()));
-            headers.setContentDispositionFormData("attachment", submission.getFileName());
-            headers.setContentLength(fileData.length);
-
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(fileData);
+            return FileDownloads.toResponse(submissionService.getSubmissionDownload(id, user.getId()));
 
         } catch (RuntimeException e) {
-            System.err.println("❌ Error al descargar entrega: " + e.getMessage());
+            logger.warn("Error al descargar entrega: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
         }
     }
@@ -184,9 +243,9 @@ public class SubmissionController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteSubmission(
             @PathVariable Long id,
-            Authentication auth) {
+            @CurrentUser AuthenticatedUser user) {
         try {
-            submissionService.deleteSubmission(id, auth.getName());
+            submissionService.deleteSubmission(id, user.getId());
             return ResponseEntity.ok(Map.of("message", "Entrega eliminada exitosamente"));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -0,0 +1,58 @@
+package com.unimar.plataforma_educativa_angular.dto;
+
+import com.unimar.plataforma_educativa_angular.entities.ChallengeSubmission;
+import com.unimar.plataforma_educativa_angular.entities.Submission;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila del ZIP de entregas: lo necesario para nombrar el archivo, leerlo del
+ * almacenamiento y escribir el manifiesto. Se llena directamente desde la
+ * consulta, sin cargar las entidades.
+ */
+@Getter
+public class ArchiveEntryDTO {
+    private final String studentName;
+    private final String studentEmail;
+    private final String fileName;
+    private final String fileBlobKey;
+    private final Long fileSize;
+    private final String status;
+    private final Number score;
+    private final LocalDateTime submittedAt;
+    private final String feedback;
+
+    // Entregas de ejercicios: score es la calificación
+    public ArchiveEntryDTO(String studentName, String studentEmail, String fileName, String fileBlobKey,
+            Long fileSize, Submission.SubmissionStatus status, Double grade,
+            LocalDateTime submittedAt, String feedback) {
+        this(studentName, studentEmail, fileName, fileBlobKey, fileSize,
+                status != null ? status.name() : null, grade, submittedAt, feedback);
+    }
+
+    // Soluciones de retos: score son los puntos de bonificación
+    public ArchiveEntryDTO(String studentName, String studentEmail, String fileName, String fileBlobKey,
+            Long fileSize, ChallengeSubmission.SubmissionStatus status, Integer bonusPoints,
+            LocalDateTime submittedAt, String feedback) {
+        this(studentName, studentEmail, fileName, fileBlobKey, fileSize,
+                status != null ? status.name() : null, bonusPoints, submittedAt, feedback);
+    }
+
+    private ArchiveEntryDTO(String studentName, String studentEmail, String fileName, String fileBlobKey,
+            Long fileSize, String status, Number score, LocalDateTime submittedAt, String feedback) {
+        this.studentName = studentName;
+        this.studentEmail = studentEmail;
+        this.fileName = fileName;
+        this.fileBlobKey = fileBlobKey;
+        this.fileSize = fileSize;
+        this.status = status;
+        this.score = score;
+        this.submittedAt = submittedAt;
+        this.feedback = feedback;
+    }
+
+    public boolean hasFile() {
+        return fileBlobKey != null;
+    }
+}
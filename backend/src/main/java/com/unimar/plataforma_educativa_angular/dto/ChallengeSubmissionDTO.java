@@ -17,6 +17,7 @@ public class ChallengeSubmissionDTO {
     private String studentEmail;
     private String fileName;
     private String fileType;
+    private Long fileSize;
     private LocalDateTime submittedAt;
     private String status;
     private Integer bonusPoints;
@@ -38,6 +39,7 @@ public class ChallengeSubmissionDTO {
         this.studentEmail = submission.getStudent() != null ? submission.getStudent().getEmail() : null;
         this.fileName = submission.getFileName();
         this.fileType = submission.getFileType();
+        this.fileSize = submission.getFileSize();
         this.submittedAt = submission.getSubmittedAt();
         this.status = submission.getStatus() != null ? submission.getStatus().name() : null;
         this.bonusPoints = submission.getBonusPoints();
@@ -50,4 +52,36 @@ public class ChallengeSubmissionDTO {
         this.daysUntilDeadline = submission.getDaysUntilDeadline();
         this.challengeDeadline = submission.getChallenge() != null ? submission.getChallenge().getDeadline() : null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Constructor usado por las consultas de listado
+     * ({@code SELECT new ...ChallengeSubmissionDTO(...)}): recibe solo
+     * columnas, sin cargar la entidad ni sus relaciones.
+     */
+    public ChallengeSubmissionDTO(Long id, Long challengeId, String challengeTitle, LocalDateTime challengeDeadline,
+            Long studentId, String studentName, String studentEmail,
+            String fileName, String fileType, Long fileSize, boolean hasFile,
+            LocalDateTime submittedAt, ChallengeSubmission.SubmissionStatus status, Integer bonusPoints,
+            String feedback, LocalDateTime reviewedAt, LocalDateTime lastModifiedAt, Integer editCount) {
+        this.id = id;
+        this.challengeId = challengeId;
+        this.challengeTitle = challengeTitle;
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.studentEmail = studentEmail;
+        this.fileName = fileName;
+        this.fileType = fileType;
+        this.fileSize = fileSize;
+        this.submittedAt = submittedAt;
+        this.status = status != null ? status.name() : null;
+        this.bonusPoints = bonusPoints;
+        this.feedback = feedback;
+        this.reviewedAt = reviewedAt;
+        this.hasFile = hasFile;
+        this.lastModifiedAt = lastModifiedAt;
+        this.editCount = editCount;
+        this.canBeEdited = ChallengeSubmission.canBeEdited(status, challengeDeadline);
+        this.daysUntilDeadline = ChallengeSubmission.daysUntilDeadline(challengeDeadline);
+        this.challengeDeadline = challengeDeadline;
+    }
+}
@@ -17,6 +17,24 @@ public class CourseDTO {
     public CourseDTO() {
     }
 
+    /**
+     * Constructor para las consultas de listado (CourseRepository.SUMMARY_SELECT):
+     * el total de estudiantes se cuenta en SQL en lugar de cargar Course.students
+     */
+    public CourseDTO(Long id, String title, String description, String level, String inviteCode,
+            String whatsappLink, String teacherName, String teacherEmail, Integer studentCount) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.level = level;
+        this.inviteCode = inviteCode;
+        this.whatsappLink = whatsappLink;
+        this.hasWhatsappLink = whatsappLink != null && !whatsappLink.trim().isEmpty();
+        this.teacherName = teacherName;
+        this.teacherEmail = teacherEmail;
+        this.studentCount = studentCount != null ? studentCount : 0;
+    }
+
     public CourseDTO(Course course) {
         this.id = course.getId();
         this.title = course.getTitle();
@@ -0,0 +1,55 @@
+package com.unimar.plataforma_educativa_angular.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de un listado con cursor (keyset). {@code nextCursor} es null en la última
+ * página; si no, se manda tal cual en {@code ?cursor=} para pedir la siguiente.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+    // Tope de filas de los listados pedidos sin cursor ni size, que devuelven una
+    // lista plana; para ver más allá hay que paginar
+    public static final int UNPAGED_MAX_SIZE = 500;
+
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+
+    /**
+     * Tamaño pedido acotado a [1, {@link #MAX_SIZE}]
+     */
+    public static int clampSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(Math.max(size, 1), MAX_SIZE);
+    }
+
+    /**
+     * @param rows     hasta {@code size + 1} filas: la fila extra solo indica que hay
+     *                 otra página y no se devuelve
+     * @param cursorOf cursor que apunta a una fila (la última de la página)
+     */
+    public static <T> CursorPageDTO<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPageDTO<>(rows, size, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPageDTO<>(List.copyOf(content), size, cursorOf.apply(content.get(size - 1)));
+    }
+
+    public <R> CursorPageDTO<R> map(Function<T, R> mapper) {
+        return new CursorPageDTO<>(content.stream().map(mapper).toList(), size, nextCursor);
+    }
+}
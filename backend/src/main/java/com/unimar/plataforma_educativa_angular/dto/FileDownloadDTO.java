@@ -0,0 +1,23 @@
+package com.unimar.plataforma_educativa_angular.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.core.io.Resource;
+
+import java.time.LocalDateTime;
+
+/**
+ * Archivo listo para descargar: el contenido como {@link Resource} (se lee
+ * del almacenamiento al enviarse) y los metadatos que ya están en la fila.
+ * {@code lastModified} es la fecha de la fila y no la del blob, que es compartido
+ * entre filas con el mismo contenido.
+ */
+@Getter
+@AllArgsConstructor
+public class FileDownloadDTO {
+    private final Resource resource;
+    private final String fileName;
+    private final String fileType;
+    private final String checksum;
+    private final LocalDateTime lastModified;
+}
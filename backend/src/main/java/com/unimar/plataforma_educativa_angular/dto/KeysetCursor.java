@@ -0,0 +1,59 @@
+package com.unimar.plataforma_educativa_angular.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición dentro de un listado ordenado por {@code (submittedAt, id)} o solo por
+ * {@code id}. Viaja al frontend como texto opaco ({@code nextCursor}) y vuelve en
+ * el parámetro {@code cursor}.
+ *
+ * {@link #START} está antes de cualquier fila, así la primera página usa la misma
+ * consulta que las siguientes.
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+
+    public static final KeysetCursor START = new KeysetCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    private final LocalDateTime at;
+    private final Long id;
+
+    public static String encode(LocalDateTime at, Long id) {
+        return encodeText(at + "|" + id);
+    }
+
+    public static String encode(Long id) {
+        return encodeText(String.valueOf(id));
+    }
+
+    /**
+     * @return {@link #START} si el cursor es nulo o vacío
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = text.indexOf('|');
+            if (separator < 0) {
+                return new KeysetCursor(START.at, Long.parseLong(text));
+            }
+            return new KeysetCursor(LocalDateTime.parse(text.substring(0, separator)),
+                    Long.parseLong(text.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("Cursor de paginación inválido");
+        }
+    }
+
+    private static String encodeText(String text) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
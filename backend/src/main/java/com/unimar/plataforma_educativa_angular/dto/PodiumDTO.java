@@ -1,6 +1,7 @@
 package com.unimar.plataforma_educativa_angular.dto;
 
 import com.unimar.plataforma_educativa_angular.entities.StudentScore;
+import com.unimar.plataforma_educativa_angular.leaderboard.LeaderboardEntry;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -22,4 +23,13 @@ public class PodiumDTO {
         this.challengesCompleted = score.getChallengesCompleted();
         this.position = position;
     }
-}
\ No newline at end of file
+
+    public PodiumDTO(LeaderboardEntry entry, Integer position) {
+        this.studentId = entry.getStudentId();
+        this.studentName = entry.getStudentName();
+        this.studentEmail = entry.getStudentEmail();
+        this.totalBonusPoints = entry.getTotalBonusPoints();
+        this.challengesCompleted = entry.getChallengesCompleted();
+        this.position = position;
+    }
+}
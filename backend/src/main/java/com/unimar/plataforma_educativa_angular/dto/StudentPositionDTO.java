@@ -0,0 +1,37 @@
+package com.unimar.plataforma_educativa_angular.dto;
+
+import com.unimar.plataforma_educativa_angular.leaderboard.LeaderboardPosition;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mi posición en el podio: los mismos campos de {@link PodiumDTO} más la
+ * distancia al puesto de arriba y los vecinos inmediatos.
+ */
+@Data
+@NoArgsConstructor
+public class StudentPositionDTO {
+    private Long studentId;
+    private String studentName;
+    private String studentEmail;
+    private Integer totalBonusPoints;
+    private Integer challengesCompleted;
+    private Integer position;
+    private Integer totalStudents;
+    private Integer pointsToNext;
+    private PodiumDTO above;
+    private PodiumDTO below;
+
+    public StudentPositionDTO(LeaderboardPosition ranking) {
+        this.studentId = ranking.getEntry().getStudentId();
+        this.studentName = ranking.getEntry().getStudentName();
+        this.studentEmail = ranking.getEntry().getStudentEmail();
+        this.totalBonusPoints = ranking.getEntry().getTotalBonusPoints();
+        this.challengesCompleted = ranking.getEntry().getChallengesCompleted();
+        this.position = ranking.getRank();
+        this.totalStudents = ranking.getTotalStudents();
+        this.pointsToNext = ranking.getPointsToNext();
+        this.above = ranking.getAbove() != null ? new PodiumDTO(ranking.getAbove(), ranking.getRank() - 1) : null;
+        this.below = ranking.getBelow() != null ? new PodiumDTO(ranking.getBelow(), ranking.getRank() + 1) : null;
+    }
+}
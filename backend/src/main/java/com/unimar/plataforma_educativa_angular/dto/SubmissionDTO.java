@@ -16,6 +16,7 @@ public class SubmissionDTO {
     private String studentEmail;
     private String fileName;
     private String fileType;
+    private Long fileSize;
     private LocalDateTime submittedAt;
     private String status;
     private Double grade;
@@ -36,6 +37,7 @@ public class SubmissionDTO {
         this.studentEmail = submission.getStudent() != null ? submission.getStudent().getEmail() : null;
         this.fileName = submission.getFileName();
         this.fileType = submission.getFileType();
+        this.fileSize = submission.getFileSize();
         this.submittedAt = submission.getSubmittedAt();
         this.status = submission.getStatus() != null ? submission.getStatus().name() : null;
         this.grade = submission.getGrade();
@@ -48,4 +50,35 @@ public class SubmissionDTO {
         this.daysUntilDeadline = submission.getDaysUntilDeadline();
         this.exerciseDeadline = submission.getExercise() != null ? submission.getExercise().getDeadline() : null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Constructor usado por las consultas de listado
+     * ({@code SELECT new ...SubmissionDTO(...)}): recibe solo columnas, sin
+     * cargar la entidad ni sus relaciones.
+     */
+    public SubmissionDTO(Long id, Long exerciseId, LocalDateTime exerciseDeadline,
+            Long studentId, String studentName, String studentEmail,
+            String fileName, String fileType, Long fileSize, boolean hasFile,
+            LocalDateTime submittedAt, Submission.SubmissionStatus status, Double grade,
+            String feedback, LocalDateTime gradedAt, LocalDateTime lastModifiedAt, Integer editCount) {
+        this.id = id;
+        this.exerciseId = exerciseId;
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.studentEmail = studentEmail;
+        this.fileName = fileName;
+        this.fileType = fileType;
+        this.fileSize = fileSize;
+        this.submittedAt = submittedAt;
+        this.status = status != null ? status.name() : null;
+        this.grade = grade;
+        this.feedback = feedback;
+        this.gradedAt = gradedAt;
+        this.hasFile = hasFile;
+        this.lastModifiedAt = lastModifiedAt;
+        this.editCount = editCount;
+        this.canBeEdited = Submission.canBeEdited(status, exerciseDeadline);
+        this.daysUntilDeadline = Submission.daysUntilDeadline(exerciseDeadline);
+        this.exerciseDeadline = exerciseDeadline;
+    }
+}
@@ -17,4 +17,15 @@ public class TeacherStatsDTO {
     private Integer totalChallenges;
     private Integer pendingSubmissions;
     private Integer pendingChallengeReviews;
+
+    // Usado por CourseRepository.getTeacherStats: los COUNT de JPQL devuelven Long
+    public TeacherStatsDTO(Long totalCourses, Long totalStudents, Long totalExercises,
+            Long totalChallenges, Long pendingSubmissions, Long pendingChallengeReviews) {
+        this.totalCourses = totalCourses.intValue();
+        this.totalStudents = totalStudents.intValue();
+        this.totalExercises = totalExercises.intValue();
+        this.totalChallenges = totalChallenges.intValue();
+        this.pendingSubmissions = pendingSubmissions.intValue();
+        this.pendingChallengeReviews = pendingChallengeReviews.intValue();
+    }
 }
@@ -0,0 +1,36 @@
+package com.unimar.plataforma_educativa_angular.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contador de referencias de un archivo del almacenamiento.
+ *
+ * Varias entregas o materiales con el mismo contenido comparten un único
+ * blob; {@code refCount} cuenta cuántas filas lo apuntan. Las filas se
+ * actualizan con SQL atómico desde {@code BlobReferenceCounter}, no a través
+ * de esta entidad, que existe para definir la tabla.
+ */
+@Entity
+@Table(name = "blob_references", indexes = {
+        @Index(name = "idx_blob_references_released", columnList = "ref_count, released_at") })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlobReference {
+
+    @Id
+    @Column(name = "blob_key", length = 64)
+    private String blobKey;
+
+    @Column(name = "ref_count", nullable = false)
+    private Long refCount;
+
+    // Momento en que el contador llegó a cero; el recolector espera un margen antes de borrar
+    @Column(name = "released_at")
+    private LocalDateTime releasedAt;
+}
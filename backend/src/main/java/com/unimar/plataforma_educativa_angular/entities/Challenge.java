@@ -1,7 +1,10 @@
 package com.unimar.plataforma_educativa_angular.entities;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.unimar.plataforma_educativa_angular.storage.BlobRef;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,7 +14,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "challenges")
+@Table(name = "challenges", indexes = {
+        @Index(name = "idx_challenges_course_active", columnList = "course_id, active"),
+        @Index(name = "idx_challenges_file_blob_key", columnList = "file_blob_key") })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "challenge")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,9 +43,15 @@ public class Challenge {
     @Column(name = "external_url", length = 500)
     private String externalUrl;
 
-    @Lob
-    @Column(name = "file_data", columnDefinition = "LONGBLOB")
-    private byte[] fileData;
+    // El contenido vive en el BlobStore; aquí solo se guarda su referencia
+    @Column(name = "file_blob_key", length = 64)
+    private String fileBlobKey;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "file_checksum", length = 64)
+    private String fileChecksum;
 
     @Column(name = "file_name")
     private String fileName;
@@ -46,6 +59,10 @@ public class Challenge {
     @Column(name = "file_type")
     private String fileType;
 
+    // Cuándo se adjuntó el archivo actual (Last-Modified de la descarga)
+    @Column(name = "file_updated_at")
+    private LocalDateTime fileUpdatedAt;
+
     private LocalDateTime deadline;
 
     @Column(nullable = false, updatable = false)
@@ -69,7 +86,16 @@ public class Challenge {
     }
 
     public boolean hasFile() {
-        return fileData != null && fileData.length > 0;
+        return fileBlobKey != null;
+    }
+
+    public void attachFile(BlobRef blob, String fileName, String fileType) {
+        this.fileBlobKey = blob.getKey();
+        this.fileSize = blob.getSize();
+        this.fileChecksum = blob.getChecksum();
+        this.fileName = fileName;
+        this.fileType = fileType;
+        this.fileUpdatedAt = LocalDateTime.now();
     }
 
     public boolean hasExternalUrl() {
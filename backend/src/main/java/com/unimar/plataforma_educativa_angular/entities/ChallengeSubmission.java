@@ -1,15 +1,24 @@
 package com.unimar.plataforma_educativa_angular.entities;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.unimar.plataforma_educativa_angular.storage.BlobRef;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "challenge_submissions")
+@Table(name = "challenge_submissions", indexes = {
+        @Index(name = "idx_challenge_submissions_challenge_submitted", columnList = "challenge_id, submitted_at, id"),
+        @Index(name = "idx_challenge_submissions_student_submitted", columnList = "student_id, submitted_at, id"),
+        @Index(name = "idx_challenge_submissions_student_status", columnList = "student_id, status"),
+        @Index(name = "idx_challenge_submissions_challenge_status", columnList = "challenge_id, status"),
+        @Index(name = "idx_challenge_submissions_file_blob_key", columnList = "file_blob_key") }, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_challenge_submissions_challenge_student", columnNames = { "challenge_id",
+                "student_id" }) })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,9 +38,15 @@ public class ChallengeSubmission {
     @JsonIgnoreProperties({ "password", "enrolledCourses", "hibernateLazyInitializer" })
     private User student;
 
-    @Lob
-    @Column(name = "file_data", columnDefinition = "LONGBLOB")
-    private byte[] fileData;
+    // El contenido vive en el BlobStore; aquí solo se guarda su referencia
+    @Column(name = "file_blob_key", length = 64)
+    private String fileBlobKey;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "file_checksum", length = 64)
+    private String fileChecksum;
 
     @Column(name = "file_name")
     private String fileName;
@@ -59,6 +74,12 @@ public class ChallengeSubmission {
     @Column(nullable = false)
     private Integer editCount = 0;
 
+    // Dos revisiones simultáneas de la misma solución: la segunda falla y se reintenta
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         submittedAt = LocalDateTime.now();
@@ -77,31 +98,48 @@ public class ChallengeSubmission {
     }
 
     public boolean hasFile() {
-        return fileData != null && fileData.length > 0;
+        return fileBlobKey != null;
+    }
+
+    public void attachFile(BlobRef blob, String fileName, String fileType) {
+        this.fileBlobKey = blob.getKey();
+        this.fileSize = blob.getSize();
+        this.fileChecksum = blob.getChecksum();
+        this.fileName = fileName;
+        this.fileType = fileType;
     }
 
     public boolean canBeEdited() {
+        return canBeEdited(status, challenge != null ? challenge.getDeadline() : null);
+    }
+
+    public Long getDaysUntilDeadline() {
+        return daysUntilDeadline(challenge != null ? challenge.getDeadline() : null);
+    }
+
+    // Versiones estáticas para las proyecciones que no cargan la entidad
+    public static boolean canBeEdited(SubmissionStatus status, LocalDateTime deadline) {
         if (status == SubmissionStatus.REVIEWED || status == SubmissionStatus.REJECTED) {
             return false;
         }
 
-        if (challenge != null && challenge.getDeadline() != null) {
-            return LocalDateTime.now().isBefore(challenge.getDeadline());
+        if (deadline != null) {
+            return LocalDateTime.now().isBefore(deadline);
         }
 
         return true;
     }
 
-    public Long getDaysUntilDeadline() {
-        if (challenge == null || challenge.getDeadline() == null) {
+    public static Long daysUntilDeadline(LocalDateTime deadline) {
+        if (deadline == null) {
             return null;
         }
 
         LocalDateTime now = LocalDateTime.now();
-        if (now.isAfter(challenge.getDeadline())) {
+        if (now.isAfter(deadline)) {
             return 0L;
         }
 
-        return java.time.Duration.between(now, challenge.getDeadline()).toDays();
+        return java.time.Duration.between(now, deadline).toDays();
     }
 }
\ No newline at end of file
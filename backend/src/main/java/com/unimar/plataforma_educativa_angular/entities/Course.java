@@ -2,11 +2,15 @@ package com.unimar.plataforma_educativa_angular.entities;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "courses")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "course")
 public class Course {
 
     @Id
@@ -32,7 +36,9 @@ public class Course {
     private User teacher;
 
     @ManyToMany
-    @JoinTable(name = "course_students", joinColumns = @JoinColumn(name = "course_id"), inverseJoinColumns = @JoinColumn(name = "student_id"))
+    @JoinTable(name = "course_students", joinColumns = @JoinColumn(name = "course_id"), inverseJoinColumns = @JoinColumn(name = "student_id"),
+            // La clave primaria empieza por course_id; este índice sirve las búsquedas por estudiante
+            indexes = @Index(name = "idx_course_students_student", columnList = "student_id, course_id"))
     @JsonIgnoreProperties({ "password", "enrolledCourses" })
     private Set<User> students = new HashSet<>();
 
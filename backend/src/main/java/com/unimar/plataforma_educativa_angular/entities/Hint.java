@@ -2,6 +2,8 @@ package com.unimar.plataforma_educativa_angular.entities;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,7 +11,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "hints")
+@Table(name = "hints", indexes = {
+        @Index(name = "idx_hints_exercise_order", columnList = "exercise_id, hint_order") })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hint")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
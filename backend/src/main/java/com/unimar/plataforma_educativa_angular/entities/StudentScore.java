@@ -5,10 +5,14 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "student_scores", uniqueConstraints = {
         @UniqueConstraint(columnNames = { "student_id", "course_id" })
+}, indexes = {
+        @Index(name = "idx_student_scores_course_ranking",
+                columnList = "course_id, total_bonus_points DESC, challenges_completed DESC")
 })
 @Data
 @NoArgsConstructor
@@ -35,6 +39,12 @@ public class StudentScore {
     @Column(nullable = false)
     private Integer challengesCompleted = 0; // Retos completados
 
+    // Lo incrementan también las actualizaciones atómicas de StudentScoreRepository
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     // Método para agregar bonificación
     public void addBonusPoints(Integer points) {
         if (points > 0) {
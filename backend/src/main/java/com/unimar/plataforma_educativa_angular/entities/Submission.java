@@ -1,6 +1,7 @@
 package com.unimar.plataforma_educativa_angular.entities;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.unimar.plataforma_educativa_angular.storage.BlobRef;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -9,7 +10,13 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "submissions")
+@Table(name = "submissions", indexes = {
+        @Index(name = "idx_submissions_exercise_submitted", columnList = "exercise_id, submitted_at, id"),
+        @Index(name = "idx_submissions_student_submitted", columnList = "student_id, submitted_at, id"),
+        @Index(name = "idx_submissions_student_status", columnList = "student_id, status"),
+        @Index(name = "idx_submissions_exercise_status", columnList = "exercise_id, status"),
+        @Index(name = "idx_submissions_file_blob_key", columnList = "file_blob_key") }, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_submissions_exercise_student", columnNames = { "exercise_id", "student_id" }) })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,9 +36,15 @@ public class Submission {
     @JsonIgnoreProperties({ "password", "enrolledCourses", "hibernateLazyInitializer" })
     private User student;
 
-    @Lob
-    @Column(name = "file_data", columnDefinition = "LONGBLOB")
-    private byte[] fileData;
+    // El contenido vive en el BlobStore; aquí solo se guarda su referencia
+    @Column(name = "file_blob_key", length = 64)
+    private String fileBlobKey;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "file_checksum", length = 64)
+    private String fileChecksum;
 
     @Column(name = "file_name")
     private String fileName;
@@ -72,42 +85,61 @@ public class Submission {
     }
 
     public enum SubmissionStatus {
+        PENDING_UPLOAD, // Recibida, el archivo aún se está guardando
+        UPLOAD_FAILED, // No se pudo guardar el archivo; el estudiante debe volver a subirlo
         PENDING, // Sin calificar (visible para el profesor)
         GRADED, // Calificado
         REJECTED // Rechazado (opcional)
     }
 
     public boolean hasFile() {
-        return fileData != null && fileData.length > 0;
+        return fileBlobKey != null;
+    }
+
+    public void attachFile(BlobRef blob, String fileName, String fileType) {
+        this.fileBlobKey = blob.getKey();
+        this.fileSize = blob.getSize();
+        this.fileChecksum = blob.getChecksum();
+        this.fileName = fileName;
+        this.fileType = fileType;
     }
 
     // Método para verificar si puede ser editado
     public boolean canBeEdited() {
+        return canBeEdited(status, exercise != null ? exercise.getDeadline() : null);
+    }
+
+    // Método para obtener días restantes
+    public Long getDaysUntilDeadline() {
+        return daysUntilDeadline(exercise != null ? exercise.getDeadline() : null);
+    }
+
+    // Versiones estáticas para las proyecciones que no cargan la entidad
+    public static boolean canBeEdited(SubmissionStatus status, LocalDateTime deadline) {
         // No puede ser editado si ya fue calificado
         if (status == SubmissionStatus.GRADED) {
             return false;
         }
 
         // Verificar si aún está dentro del plazo
-        if (exercise != null && exercise.getDeadline() != null) {
-            return LocalDateTime.now().isBefore(exercise.getDeadline());
+        if (deadline != null) {
+            return LocalDateTime.now().isBefore(deadline);
         }
 
         // Si no hay deadline, puede ser editado siempre que no esté calificado
         return true;
     }
 
-    // Método para obtener días restantes
-    public Long getDaysUntilDeadline() {
-        if (exercise == null || exercise.getDeadline() == null) {
+    public static Long daysUntilDeadline(LocalDateTime deadline) {
+        if (deadline == null) {
             return null;
         }
 
         LocalDateTime now = LocalDateTime.now();
-        if (now.isAfter(exercise.getDeadline())) {
+        if (now.isAfter(deadline)) {
             return 0L;
         }
 
-        return java.time.Duration.between(now, exercise.getDeadline()).toDays();
+        return java.time.Duration.between(now, deadline).toDays();
     }
 }
\ No newline at end of file
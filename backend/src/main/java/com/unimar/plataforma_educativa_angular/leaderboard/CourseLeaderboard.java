@@ -0,0 +1,248 @@
+package com.unimar.plataforma_educativa_angular.leaderboard;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ranking ordenado de un curso: puntos desc, retos completados desc y, en
+ * empate, id del estudiante asc.
+ *
+ * Es un treap con el tamaño de cada subárbol, así que insertar, quitar, la
+ * posición de un estudiante y el estudiante en una posición cuestan O(log n).
+ * Un mapa por id permite encontrar la fila actual de un estudiante para
+ * reemplazarla cuando cambian sus puntos.
+ */
+class CourseLeaderboard {
+
+    static final Comparator<LeaderboardEntry> ORDER = Comparator
+            .comparing(LeaderboardEntry::getTotalBonusPoints, Comparator.reverseOrder())
+            .thenComparing(LeaderboardEntry::getChallengesCompleted, Comparator.reverseOrder())
+            .thenComparing(LeaderboardEntry::getStudentId);
+
+    private final Map<Long, LeaderboardEntry> byStudent = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root;
+
+    CourseLeaderboard(List<LeaderboardEntry> entries) {
+        entries.forEach(this::insert);
+    }
+
+    /**
+     * Agrega al estudiante o reemplaza su fila anterior. Una fila con versión
+     * menor que la actual se descarta: dos revisiones que terminan casi a la
+     * vez pueden avisar en orden inverso al de sus commits.
+     */
+    void put(LeaderboardEntry entry) {
+        lock.writeLock().lock();
+        try {
+            insert(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    LeaderboardEntry get(Long studentId) {
+        lock.readLock().lock();
+        try {
+            return byStudent.get(studentId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Primeras {@code limit} filas en orden del ranking.
+     */
+    List<LeaderboardEntry> top(int limit) {
+        lock.readLock().lock();
+        try {
+            List<LeaderboardEntry> result = new ArrayList<>(Math.min(limit, size(root)));
+            Deque<Node> stack = new ArrayDeque<>();
+            Node node = root;
+            while ((node != null || !stack.isEmpty()) && result.size() < limit) {
+                while (node != null) {
+                    stack.push(node);
+                    node = node.left;
+                }
+                node = stack.pop();
+                result.add(node.entry);
+                node = node.right;
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Posición (desde 1) del estudiante, o 0 si no tiene fila en el ranking.
+     */
+    int rank(Long studentId) {
+        lock.readLock().lock();
+        try {
+            LeaderboardEntry entry = byStudent.get(studentId);
+            return entry == null ? 0 : countBefore(entry) + 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Posición del estudiante junto con sus vecinos inmediatos, leída bajo el
+     * mismo bloqueo para que los cuatro datos sean coherentes entre sí.
+     * Devuelve {@code null} si el estudiante no tiene fila en el ranking.
+     */
+    LeaderboardPosition position(Long studentId) {
+        lock.readLock().lock();
+        try {
+            LeaderboardEntry entry = byStudent.get(studentId);
+            if (entry == null) {
+                return null;
+            }
+            int rank = countBefore(entry) + 1;
+            int total = size(root);
+            LeaderboardEntry above = rank > 1 ? entryAt(rank - 2) : null;
+            LeaderboardEntry below = rank < total ? entryAt(rank) : null;
+            return new LeaderboardPosition(entry, rank, total, above, below);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(LeaderboardEntry entry) {
+        LeaderboardEntry previous = byStudent.get(entry.getStudentId());
+        if (previous != null) {
+            if (version(entry) < version(previous)) {
+                return;
+            }
+            root = remove(root, previous);
+        }
+        byStudent.put(entry.getStudentId(), entry);
+        Node[] parts = split(root, entry);
+        root = merge(merge(parts[0], new Node(entry)), parts[1]);
+    }
+
+    private int countBefore(LeaderboardEntry entry) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = ORDER.compare(entry, node.entry);
+            if (cmp == 0) {
+                return count + size(node.left);
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    // Fila en la posición index (desde 0), bajando por los tamaños de los subárboles
+    private LeaderboardEntry entryAt(int index) {
+        Node node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index == leftSize) {
+                return node.entry;
+            }
+            if (index < leftSize) {
+                node = node.left;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    // Separa en (< key) y (>= key)
+    private static Node[] split(Node node, LeaderboardEntry key) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (ORDER.compare(node.entry, key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            return new Node[] { node.update(), parts[1] };
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        return new Node[] { parts[0], node.update() };
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return left.update();
+        }
+        right.left = merge(left, right.left);
+        return right.update();
+    }
+
+    private static Node remove(Node node, LeaderboardEntry key) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = ORDER.compare(key, node.entry);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, key);
+        } else {
+            node.right = remove(node.right, key);
+        }
+        return node.update();
+    }
+
+    private static long version(LeaderboardEntry entry) {
+        return entry.getVersion() == null ? 0 : entry.getVersion();
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+        final LeaderboardEntry entry;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(LeaderboardEntry entry) {
+            this.entry = entry;
+        }
+
+        Node update() {
+            size = 1 + CourseLeaderboard.size(left) + CourseLeaderboard.size(right);
+            return this;
+        }
+    }
+}
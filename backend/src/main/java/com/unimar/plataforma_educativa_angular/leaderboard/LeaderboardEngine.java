@@ -0,0 +1,141 @@
+package com.unimar.plataforma_educativa_angular.leaderboard;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.unimar.plataforma_educativa_angular.entities.StudentScore;
+import com.unimar.plataforma_educativa_angular.repositories.StudentScoreRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Rankings de los cursos en memoria.
+ *
+ * Cada curso se carga desde {@code student_scores} la primera vez que se
+ * consulta y a partir de ahí se mantiene con los cambios de puntaje que
+ * informa {@link #scoreChanged}. Los cambios se aplican después del commit,
+ * así una revisión que falla nunca deja el ranking adelantado respecto a la
+ * base de datos.
+ *
+ * Se guardan hasta {@code leaderboard.max-courses} cursos y cada uno se vuelve a
+ * cargar a los {@code leaderboard.max-age} de haberse leído: un curso que nadie
+ * consulta no ocupa memoria y, con varias instancias, los cambios hechos en otra
+ * se ven a más tardar en ese plazo.
+ */
+@Component
+public class LeaderboardEngine implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardEngine.class);
+
+    private final StudentScoreRepository studentScoreRepository;
+    private final Cache<Long, CourseLeaderboard> boards;
+
+    public LeaderboardEngine(
+            StudentScoreRepository studentScoreRepository,
+            @Value("${leaderboard.max-courses:1000}") long maxCourses,
+            @Value("${leaderboard.max-age:10m}") Duration maxAge) {
+        this.studentScoreRepository = studentScoreRepository;
+        this.boards = Caffeine.newBuilder()
+                .maximumSize(maxCourses)
+                .expireAfterWrite(maxAge)
+                .recordStats()
+                .build();
+    }
+
+    public List<LeaderboardEntry> top(Long courseId, int limit) {
+        return board(courseId).top(limit);
+    }
+
+    /**
+     * Posición (desde 1) del estudiante en el curso, o 0 si no tiene puntaje.
+     */
+    public int rank(Long courseId, Long studentId) {
+        return board(courseId).rank(studentId);
+    }
+
+    /**
+     * Posición del estudiante con el estudiante de arriba y el de abajo, o
+     * {@code null} si no tiene puntaje en el curso.
+     */
+    public LeaderboardPosition position(Long courseId, Long studentId) {
+        return board(courseId).position(studentId);
+    }
+
+    /**
+     * Registra el puntaje actualizado de un estudiante. Si hay una transacción
+     * activa el ranking se actualiza al confirmarse.
+     */
+    public void scoreChanged(StudentScore score) {
+        Long courseId = score.getCourse().getId();
+        LeaderboardEntry entry = new LeaderboardEntry(
+                score.getStudent().getId(),
+                score.getStudent().getNombre(),
+                score.getStudent().getEmail(),
+                score.getTotalBonusPoints(),
+                score.getChallengesCompleted(),
+                score.getVersion());
+        // Sin compute: modificar el ranking no debe renovar su plazo de recarga
+        afterCommit(() -> {
+            CourseLeaderboard board = boards.getIfPresent(courseId);
+            if (board != null) {
+                board.put(entry);
+            }
+        });
+    }
+
+    /**
+     * Actualiza el nombre mostrado en los rankings ya cargados.
+     */
+    public void studentRenamed(Long studentId, String newName) {
+        afterCommit(() -> boards.asMap().values().forEach(board -> {
+            LeaderboardEntry entry = board.get(studentId);
+            if (entry != null) {
+                board.put(entry.withStudentName(newName));
+            }
+        }));
+    }
+
+    /**
+     * Olvida el ranking de un curso eliminado. Se borra ahora y otra vez al confirmar,
+     * por si una consulta concurrente lo carga entre ambos momentos.
+     */
+    public void courseDeleted(Long courseId) {
+        boards.invalidate(courseId);
+        afterCommit(() -> boards.invalidate(courseId));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, boards, "leaderboards");
+    }
+
+    private CourseLeaderboard board(Long courseId) {
+        return boards.get(courseId, id -> {
+            List<LeaderboardEntry> entries = studentScoreRepository.findLeaderboardEntriesByCourseId(id);
+            logger.debug("Ranking del curso {} cargado con {} estudiantes", id, entries.size());
+            return new CourseLeaderboard(entries);
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,24 @@
+package com.unimar.plataforma_educativa_angular.leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.With;
+
+/**
+ * Fila inmutable del ranking de un curso. Guarda nombre y email del estudiante
+ * para poder armar el podio sin volver a la base de datos.
+ */
+@Getter
+@With
+@AllArgsConstructor
+@ToString
+public class LeaderboardEntry {
+
+    private final Long studentId;
+    private final String studentName;
+    private final String studentEmail;
+    private final Integer totalBonusPoints;
+    private final Integer challengesCompleted;
+    private final Long version; // Versión de student_scores de la que salió la fila
+}
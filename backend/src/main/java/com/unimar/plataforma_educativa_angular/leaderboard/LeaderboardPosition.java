@@ -0,0 +1,28 @@
+package com.unimar.plataforma_educativa_angular.leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Posición de un estudiante en el ranking de un curso y sus vecinos.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class LeaderboardPosition {
+
+    private final LeaderboardEntry entry;
+    private final int rank; // Desde 1
+    private final int totalStudents;
+    private final LeaderboardEntry above; // null si es el primero
+    private final LeaderboardEntry below; // null si es el último
+
+    /**
+     * Puntos que le faltan para alcanzar al estudiante de arriba, o
+     * {@code null} si ya es el primero.
+     */
+    public Integer getPointsToNext() {
+        return above == null ? null : above.getTotalBonusPoints() - entry.getTotalBonusPoints();
+    }
+}
@@ -1,23 +1,37 @@
 package com.unimar.plataforma_educativa_angular.repositories;
 
+import com.unimar.plataforma_educativa_angular.dto.ArchiveEntryDTO;
+import com.unimar.plataforma_educativa_angular.dto.ChallengeSubmissionDTO;
 import com.unimar.plataforma_educativa_angular.entities.Challenge;
 import com.unimar.plataforma_educativa_angular.entities.ChallengeSubmission;
 import com.unimar.plataforma_educativa_angular.entities.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ChallengeSubmissionRepository extends JpaRepository<ChallengeSubmission, Long> {
 
+    // Igual que en SubmissionRepository: permisos y ChallengeSubmissionDTO en una consulta
+    @Override
+    @EntityGraph(attributePaths = { "student", "challenge", "challenge.course" })
+    Optional<ChallengeSubmission> findById(Long id);
+
     List<ChallengeSubmission> findByChallenge(Challenge challenge);
 
+    @EntityGraph(attributePaths = { "student", "challenge" })
     List<ChallengeSubmission> findByChallengeId(Long challengeId);
 
     List<ChallengeSubmission> findByStudent(User student);
 
+    @EntityGraph(attributePaths = { "student", "challenge" })
     List<ChallengeSubmission> findByStudentId(Long studentId);
 
     Optional<ChallengeSubmission> findByChallengeAndStudent(Challenge challenge, User student);
@@ -30,5 +44,40 @@ public interface ChallengeSubmissionRepository extends JpaRepository<ChallengeSu
 
     long countByStudentIdAndStatus(Long studentId, ChallengeSubmission.SubmissionStatus status);
 
+    long countByStudentIdAndChallengeCourseIdAndStatus(Long studentId, Long courseId,
+            ChallengeSubmission.SubmissionStatus status);
+
     boolean existsByChallengeIdAndStudentId(Long challengeId, Long studentId);
-}
\ No newline at end of file
+
+    // Listados: solo metadatos, sin cargar la entidad ni el archivo
+    String SUMMARY_SELECT = "SELECT new com.unimar.plataforma_educativa_angular.dto.ChallengeSubmissionDTO("
+            + "s.id, c.id, c.title, c.deadline, st.id, st.nombre, st.email, "
+            + "s.fileName, s.fileType, s.fileSize, "
+            + "CASE WHEN s.fileBlobKey IS NOT NULL THEN true ELSE false END, "
+            + "s.submittedAt, s.status, s.bonusPoints, s.feedback, s.reviewedAt, s.lastModifiedAt, s.editCount) "
+            + "FROM ChallengeSubmission s JOIN s.challenge c JOIN s.student st ";
+
+    @Query(SUMMARY_SELECT + "WHERE c.id = :challengeId ORDER BY s.id")
+    List<ChallengeSubmissionDTO> findSummariesByChallengeId(@Param("challengeId") Long challengeId, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE st.id = :studentId ORDER BY s.id")
+    List<ChallengeSubmissionDTO> findSummariesByStudentId(@Param("studentId") Long studentId, Limit limit);
+
+    // Paginación keyset por (submittedAt, id), como en SubmissionRepository
+    String AFTER_CURSOR = "AND (s.submittedAt > :afterAt OR (s.submittedAt = :afterAt AND s.id > :afterId)) "
+            + "ORDER BY s.submittedAt, s.id";
+
+    @Query(SUMMARY_SELECT + "WHERE c.id = :challengeId " + AFTER_CURSOR)
+    List<ChallengeSubmissionDTO> findSummariesByChallengeIdAfter(@Param("challengeId") Long challengeId,
+            @Param("afterAt") LocalDateTime afterAt, @Param("afterId") Long afterId, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE st.id = :studentId " + AFTER_CURSOR)
+    List<ChallengeSubmissionDTO> findSummariesByStudentIdAfter(@Param("studentId") Long studentId,
+            @Param("afterAt") LocalDateTime afterAt, @Param("afterId") Long afterId, Limit limit);
+
+    // Exportación ZIP: una fila por entrega con la clave del archivo y los datos del manifiesto
+    @Query("SELECT new com.unimar.plataforma_educativa_angular.dto.ArchiveEntryDTO("
+            + "st.nombre, st.email, s.fileName, s.fileBlobKey, s.fileSize, s.status, s.bonusPoints, s.submittedAt, s.feedback) "
+            + "FROM ChallengeSubmission s JOIN s.student st WHERE s.challenge.id = :challengeId ORDER BY st.nombre, s.id")
+    List<ArchiveEntryDTO> findArchiveEntriesByChallengeId(@Param("challengeId") Long challengeId);
+}
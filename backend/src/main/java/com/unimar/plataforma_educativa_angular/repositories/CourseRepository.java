@@ -1,8 +1,17 @@
 package com.unimar.plataforma_educativa_angular.repositories;
 
+import com.unimar.plataforma_educativa_angular.dto.CourseDTO;
+import com.unimar.plataforma_educativa_angular.dto.TeacherStatsDTO;
 import com.unimar.plataforma_educativa_angular.entities.Course;
 import com.unimar.plataforma_educativa_angular.entities.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,4 +25,73 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     Optional<Course> findByInviteCode(String inviteCode);
 
     List<Course> findByTeacher(User teacher);
+
+    // Listados de cursos: el profesor viene en el mismo JOIN y el total de estudiantes
+    // se cuenta en SQL, así CourseDTO no recorre c.teacher ni c.students por cada fila
+    String SUMMARY_SELECT = "SELECT new com.unimar.plataforma_educativa_angular.dto.CourseDTO("
+            + "c.id, c.title, c.description, c.level, c.inviteCode, c.whatsappLink, t.nombre, t.email, "
+            + "SIZE(c.students)) FROM Course c LEFT JOIN c.teacher t ";
+
+    @Query(SUMMARY_SELECT + "WHERE t.id = :teacherId ORDER BY c.id")
+    List<CourseDTO> findSummariesByTeacherId(@Param("teacherId") Long teacherId, Limit limit);
+
+    // Página de cursos del profesor después de un ID (paginación keyset)
+    @Query(SUMMARY_SELECT + "WHERE t.id = :teacherId AND c.id > :afterId ORDER BY c.id")
+    List<CourseDTO> findSummariesByTeacherIdAfter(@Param("teacherId") Long teacherId,
+            @Param("afterId") Long afterId, Limit limit);
+
+    @Query(SUMMARY_SELECT + "JOIN c.students s WHERE s.id = :studentId ORDER BY c.id")
+    List<CourseDTO> findEnrolledSummariesByStudentId(@Param("studentId") Long studentId, Limit limit);
+
+    // Página de cursos inscritos después de un ID (paginación keyset, sin COUNT)
+    @Query(SUMMARY_SELECT + "JOIN c.students s WHERE s.id = :studentId AND c.id > :afterId ORDER BY c.id")
+    List<CourseDTO> findEnrolledSummariesByStudentIdAfter(@Param("studentId") Long studentId,
+            @Param("afterId") Long afterId, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE c.id = :courseId")
+    Optional<CourseDTO> findSummaryById(@Param("courseId") Long courseId);
+
+    // Inscripción y baja directas sobre course_students, sin inicializar Course.students.
+    // El espacio de consulta limita la invalidación de la caché de segundo nivel a esa tabla
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "course_students"))
+    @Query(value = "INSERT INTO course_students (course_id, student_id) VALUES (:courseId, :studentId)",
+            nativeQuery = true)
+    void addStudent(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "course_students"))
+    @Query(value = "DELETE FROM course_students WHERE course_id = :courseId AND student_id = :studentId",
+            nativeQuery = true)
+    void removeStudent(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    @Query("SELECT COUNT(c) FROM Course c JOIN c.students s WHERE s.id = :studentId")
+    long countEnrolledByStudentId(@Param("studentId") Long studentId);
+
+    // Cursos de un nivel en los que el usuario es profesor o está inscrito
+    @Query("SELECT c FROM Course c WHERE LOWER(c.level) = LOWER(:level) AND (c.teacher.id = :userId "
+            + "OR EXISTS (SELECT 1 FROM Course c2 JOIN c2.students s WHERE c2.id = c.id AND s.id = :userId)) "
+            + "ORDER BY c.id")
+    List<Course> findByLevelForUser(@Param("level") String level, @Param("userId") Long userId);
+
+    // Rol del usuario en el curso sin inicializar Course.students: la inscripción se
+    // resuelve con EXISTS sobre la clave (course_id, student_id) de course_students.
+    // Vacío si el curso no existe
+    @Query(value = "SELECT CASE WHEN c.teacher_id = :userId THEN 'TEACHER' "
+            + "WHEN EXISTS (SELECT 1 FROM course_students cs WHERE cs.course_id = c.id AND cs.student_id = :userId) "
+            + "THEN 'STUDENT' ELSE 'NONE' END FROM courses c WHERE c.id = :courseId", nativeQuery = true)
+    Optional<String> findUserRoleInCourse(@Param("courseId") Long courseId, @Param("userId") Long userId);
+
+    // Panel del profesor: todos los totales en una sola consulta, cada uno con su COUNT
+    @Query("SELECT new com.unimar.plataforma_educativa_angular.dto.TeacherStatsDTO("
+            + "(SELECT COUNT(c) FROM Course c WHERE c.teacher.id = :teacherId), "
+            + "(SELECT COUNT(DISTINCT st.id) FROM Course c JOIN c.students st WHERE c.teacher.id = :teacherId), "
+            + "(SELECT COUNT(e) FROM Exercise e WHERE e.course.teacher.id = :teacherId), "
+            + "(SELECT COUNT(ch) FROM Challenge ch WHERE ch.course.teacher.id = :teacherId), "
+            + "(SELECT COUNT(s) FROM Submission s WHERE s.exercise.course.teacher.id = :teacherId "
+            + "AND s.status = com.unimar.plataforma_educativa_angular.entities.Submission.SubmissionStatus.PENDING), "
+            + "(SELECT COUNT(cs) FROM ChallengeSubmission cs WHERE cs.challenge.course.teacher.id = :teacherId "
+            + "AND cs.status = com.unimar.plataforma_educativa_angular.entities.ChallengeSubmission.SubmissionStatus.PENDING)) "
+            + "FROM User t WHERE t.id = :teacherId")
+    TeacherStatsDTO getTeacherStats(@Param("teacherId") Long teacherId);
 }
\ No newline at end of file
@@ -2,7 +2,11 @@ package com.unimar.plataforma_educativa_angular.repositories;
 
 import com.unimar.plataforma_educativa_angular.entities.Course;
 import com.unimar.plataforma_educativa_angular.entities.Exercise;
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,8 +17,14 @@ public interface ExerciseRepository extends JpaRepository<Exercise, Long> {
     // Buscar ejercicios por curso
     List<Exercise> findByCourse(Course course);
 
-    // Buscar ejercicios por curso ID
-    List<Exercise> findByCourseId(Long courseId);
+    // Buscar ejercicios por curso ID. El resultado queda en la caché de consultas
+    // (región course-exercises) hasta que cambie la tabla exercises
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "course-exercises") })
+    List<Exercise> findByCourseId(Long courseId, Limit limit);
+
+    // Página de ejercicios del curso después de un ID (paginación keyset)
+    List<Exercise> findByCourseIdAndIdGreaterThanOrderByIdAsc(Long courseId, Long afterId, Limit limit);
 
     // Buscar por dificultad
     List<Exercise> findByDifficulty(String difficulty);
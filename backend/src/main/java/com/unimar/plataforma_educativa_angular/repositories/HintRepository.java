@@ -2,7 +2,10 @@ package com.unimar.plataforma_educativa_angular.repositories;
 
 import com.unimar.plataforma_educativa_angular.entities.Exercise;
 import com.unimar.plataforma_educativa_angular.entities.Hint;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,7 +16,10 @@ public interface HintRepository extends JpaRepository<Hint, Long> {
     // Buscar pistas por ejercicio
     List<Hint> findByExercise(Exercise exercise);
 
-    // Buscar pistas por ejercicio ID ordenadas por orden
+    // Buscar pistas por ejercicio ID ordenadas por orden (caché de consultas,
+    // región exercise-hints)
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "exercise-hints") })
     List<Hint> findByExerciseIdOrderByOrderAsc(Long exerciseId);
 
     // Contar pistas por ejercicio
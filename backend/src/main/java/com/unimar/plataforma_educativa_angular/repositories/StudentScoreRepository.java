@@ -1,8 +1,13 @@
 package com.unimar.plataforma_educativa_angular.repositories;
 
 import com.unimar.plataforma_educativa_angular.entities.StudentScore;
+import com.unimar.plataforma_educativa_angular.leaderboard.LeaderboardEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -16,8 +21,36 @@ public interface StudentScoreRepository extends JpaRepository<StudentScore, Long
 
     List<StudentScore> findByCourseId(Long courseId);
 
-    @Query("SELECT s FROM StudentScore s WHERE s.course.id = :courseId ORDER BY s.totalBonusPoints DESC, s.challengesCompleted DESC")
-    List<StudentScore> findTopStudentsByCourseId(@Param("courseId") Long courseId);
+    // Carga del ranking en memoria: una sola consulta con los datos del estudiante
+    @Query("SELECT new com.unimar.plataforma_educativa_angular.leaderboard.LeaderboardEntry("
+            + "st.id, st.nombre, st.email, s.totalBonusPoints, s.challengesCompleted, s.version) "
+            + "FROM StudentScore s JOIN s.student st WHERE s.course.id = :courseId")
+    List<LeaderboardEntry> findLeaderboardEntriesByCourseId(@Param("courseId") Long courseId);
+
+    // XP total del estudiante en los cursos donde sigue inscrito
+    @Query("SELECT COALESCE(SUM(s.totalBonusPoints), 0) FROM StudentScore s JOIN s.course c JOIN c.students st "
+            + "WHERE s.student.id = :studentId AND st.id = :studentId")
+    long sumPointsInEnrolledCourses(@Param("studentId") Long studentId);
+
+    // Crea la fila en cero si no existe. La restricción única (student_id, course_id)
+    // hace que dos revisiones simultáneas no choquen al crearla. La tabla se declara
+    // para que Hibernate no vacíe toda la caché de segundo nivel con este INSERT nativo
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_scores"))
+    @Query(value = "INSERT INTO student_scores (student_id, course_id, total_bonus_points, challenges_completed, version) "
+            + "VALUES (:studentId, :courseId, 0, 0, 0) "
+            + "ON DUPLICATE KEY UPDATE student_id = student_id", nativeQuery = true)
+    void ensureScore(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
+    // Suma los deltas en la base de datos (sin leer y reescribir la fila) y nunca baja de cero
+    @Modifying
+    @Query("UPDATE StudentScore s SET "
+            + "s.totalBonusPoints = greatest(s.totalBonusPoints + :pointsDelta, 0), "
+            + "s.challengesCompleted = greatest(s.challengesCompleted + :challengesDelta, 0), "
+            + "s.version = s.version + 1 "
+            + "WHERE s.student.id = :studentId AND s.course.id = :courseId")
+    int addToScore(@Param("studentId") Long studentId, @Param("courseId") Long courseId,
+            @Param("pointsDelta") int pointsDelta, @Param("challengesDelta") int challengesDelta);
 
     @Query("SELECT s FROM StudentScore s WHERE s.course.id = :courseId AND s.course.level = :level ORDER BY s.totalBonusPoints DESC")
     List<StudentScore> findTopStudentsByCourseIdAndLevel(@Param("courseId") Long courseId,
@@ -1,27 +1,42 @@
 package com.unimar.plataforma_educativa_angular.repositories;
 
+import com.unimar.plataforma_educativa_angular.dto.ArchiveEntryDTO;
+import com.unimar.plataforma_educativa_angular.dto.SubmissionDTO;
 import com.unimar.plataforma_educativa_angular.entities.Exercise;
 import com.unimar.plataforma_educativa_angular.entities.Submission;
 import com.unimar.plataforma_educativa_angular.entities.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SubmissionRepository extends JpaRepository<Submission, Long> {
 
+    // Los permisos revisan exercise.course.teacher y SubmissionDTO lee el estudiante y
+    // la fecha límite: todo llega en la misma consulta en lugar de una por asociación
+    @Override
+    @EntityGraph(attributePaths = { "student", "exercise", "exercise.course" })
+    Optional<Submission> findById(Long id);
+
     // Buscar entregas por ejercicio
     List<Submission> findByExercise(Exercise exercise);
 
     // Buscar entregas por ejercicio ID
+    @EntityGraph(attributePaths = { "student", "exercise" })
     List<Submission> findByExerciseId(Long exerciseId);
 
     // Buscar entregas por estudiante
     List<Submission> findByStudent(User student);
 
     // Buscar entregas por estudiante ID
+    @EntityGraph(attributePaths = { "student", "exercise" })
     List<Submission> findByStudentId(Long studentId);
 
     // Buscar entrega específica de un estudiante en un ejercicio
@@ -39,6 +54,58 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
     // Contar entregas calificadas por estudiante
     long countByStudentIdAndStatus(Long studentId, Submission.SubmissionStatus status);
 
+    // Contar entregas de un estudiante en un curso por estado
+    long countByStudentIdAndExerciseCourseIdAndStatus(Long studentId, Long courseId,
+            Submission.SubmissionStatus status);
+
     // Verificar si un estudiante ya entregó un ejercicio
     boolean existsByExerciseIdAndStudentId(Long exerciseId, Long studentId);
-}
\ No newline at end of file
+
+    // Listados: solo metadatos, sin cargar la entidad ni el archivo
+    String SUMMARY_SELECT = "SELECT new com.unimar.plataforma_educativa_angular.dto.SubmissionDTO("
+            + "s.id, e.id, e.deadline, st.id, st.nombre, st.email, "
+            + "s.fileName, s.fileType, s.fileSize, "
+            + "CASE WHEN s.fileBlobKey IS NOT NULL THEN true ELSE false END, "
+            + "s.submittedAt, s.status, s.grade, s.feedback, s.gradedAt, s.lastModifiedAt, s.editCount) "
+            + "FROM Submission s JOIN s.exercise e JOIN s.student st ";
+
+    @Query(SUMMARY_SELECT + "WHERE e.id = :exerciseId ORDER BY s.id")
+    List<SubmissionDTO> findSummariesByExerciseId(@Param("exerciseId") Long exerciseId, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE st.id = :studentId ORDER BY s.id")
+    List<SubmissionDTO> findSummariesByStudentId(@Param("studentId") Long studentId, Limit limit);
+
+    // Paginación keyset por (submittedAt, id): cada página continúa después de la
+    // última fila de la anterior, sin OFFSET. Índices idx_submissions_*_submitted
+    String AFTER_CURSOR = "AND (s.submittedAt > :afterAt OR (s.submittedAt = :afterAt AND s.id > :afterId)) "
+            + "ORDER BY s.submittedAt, s.id";
+
+    @Query(SUMMARY_SELECT + "WHERE e.id = :exerciseId " + AFTER_CURSOR)
+    List<SubmissionDTO> findSummariesByExerciseIdAfter(@Param("exerciseId") Long exerciseId,
+            @Param("afterAt") LocalDateTime afterAt, @Param("afterId") Long afterId, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE st.id = :studentId " + AFTER_CURSOR)
+    List<SubmissionDTO> findSummariesByStudentIdAfter(@Param("studentId") Long studentId,
+            @Param("afterAt") LocalDateTime afterAt, @Param("afterId") Long afterId, Limit limit);
+
+    // Exportación ZIP: una fila por entrega con la clave del archivo y los datos del manifiesto
+    @Query("SELECT new com.unimar.plataforma_educativa_angular.dto.ArchiveEntryDTO("
+            + "st.nombre, st.email, s.fileName, s.fileBlobKey, s.fileSize, s.status, s.grade, s.submittedAt, s.feedback) "
+            + "FROM Submission s JOIN s.student st WHERE s.exercise.id = :exerciseId ORDER BY st.nombre, s.id")
+    List<ArchiveEntryDTO> findArchiveEntriesByExerciseId(@Param("exerciseId") Long exerciseId);
+
+    // Entregas cuyo archivo se guarda en segundo plano (se retoman al arrancar)
+    @Query("SELECT s.id FROM Submission s WHERE s.status = :status ORDER BY s.id")
+    List<Long> findIdsByStatus(@Param("status") Submission.SubmissionStatus status);
+
+    // Entregas atascadas en PENDING_UPLOAD (barrido de SubmissionUploadService)
+    @Query("SELECT s.id FROM Submission s WHERE s.status = :status AND s.lastModifiedAt < :before ORDER BY s.id")
+    List<Long> findIdsByStatusAndLastModifiedAtBefore(@Param("status") Submission.SubmissionStatus status,
+            @Param("before") LocalDateTime before);
+
+    // Estado de la subida para el estudiante que entregó o el profesor del curso, sin
+    // cargar la entrega ni sus asociaciones
+    @Query("SELECT s.status FROM Submission s WHERE s.id = :id "
+            + "AND (s.student.id = :userId OR s.exercise.course.teacher.id = :userId)")
+    Optional<Submission.SubmissionStatus> findStatusVisibleTo(@Param("id") Long id, @Param("userId") Long userId);
+}
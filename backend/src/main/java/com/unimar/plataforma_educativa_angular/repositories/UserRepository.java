@@ -1,7 +1,12 @@
 package com.unimar.plataforma_educativa_angular.repositories;
 
 import com.unimar.plataforma_educativa_angular.entities.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -14,4 +19,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     // Método para buscar un usuario por su nombre de usuario
     Optional<User> findByNombre(String nombre);
+
+    // Estudiantes inscritos en un curso después de un ID (paginación keyset),
+    // sin inicializar Course.students
+    @Query("SELECT s FROM Course c JOIN c.students s WHERE c.id = :courseId AND s.id > :afterId ORDER BY s.id")
+    List<User> findStudentsByCourseIdAfter(@Param("courseId") Long courseId, @Param("afterId") Long afterId,
+            Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,451 @@
+package com.unimar.plataforma_educativa_angular.seed;
+
+import com.unimar.plataforma_educativa_angular.storage.BlobRef;
+import com.unimar.plataforma_educativa_angular.storage.BlobReferenceCounter;
+import com.unimar.plataforma_educativa_angular.storage.BlobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Genera un conjunto de datos sintético para reproducir localmente el volumen
+ * de producción: profesores, cursos, estudiantes inscritos, ejercicios con
+ * pistas, retos, entregas con archivo y puntajes.
+ *
+ * Se activa con {@code seed.enabled=true} y funciona sobre MySQL y H2. Escribe
+ * por SQL en lotes de {@code seed.batch-size} filas, un curso por transacción,
+ * con IDs asignados a partir del máximo de cada tabla. Los archivos se guardan
+ * en el {@link BlobStore} y sus contadores se ajustan aquí, porque las filas no
+ * pasan por Hibernate. Si la base ya tiene datos generados
+ * ({@value #EMAIL_DOMAIN}) no hace nada.
+ *
+ * Distribuciones:
+ * <ul>
+ * <li>cada estudiante tiene un compromiso entre 0.25 y 1 (sesgado hacia arriba)
+ * que decide si entrega, si resuelve retos y su nota</li>
+ * <li>los ejercicios vencen uno por semana; el último sigue abierto y solo
+ * tiene parte de las entregas, como la noche antes del plazo</li>
+ * <li>las entregas se concentran en las horas previas al vencimiento
+ * (exponencial de media 20 h) y los archivos tienen tamaño log-normal con
+ * mediana {@code seed.file-size}</li>
+ * <li>student_scores coincide con las soluciones de retos revisadas</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(name = "seed.enabled", havingValue = "true")
+public class DatasetGenerator implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    static final String EMAIL_DOMAIN = "@seed.local";
+
+    private static final String[] FIRST_NAMES = { "Ana", "Carlos", "Daniela", "Diego", "Valentina", "Santiago",
+            "Camila", "Andrés", "Laura", "Juan", "María", "Felipe", "Sofía", "Mateo", "Isabella", "Sebastián" };
+    private static final String[] LAST_NAMES = { "Gómez", "Rodríguez", "Martínez", "López", "García", "Pérez",
+            "Torres", "Ramírez", "Castro", "Rojas", "Muñoz", "Ortiz", "Vargas", "Benavides", "Realpe", "Guerrero" };
+    private static final String[] TOPICS = { "Programación I", "Estructuras de Datos", "Bases de Datos",
+            "Algoritmos", "Desarrollo Web", "Redes", "Sistemas Operativos", "Ingeniería de Software" };
+    private static final String[] DIFFICULTIES = { "BASICO", "INTERMEDIO", "AVANZADO" };
+    private static final String[] FEEDBACK = { "Buen trabajo", "Revisa los casos borde",
+            "Falta documentar el código", "Excelente solución", "La salida no coincide con lo pedido" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlobStore blobStore;
+    private final BlobReferenceCounter counter;
+    private final int teachers;
+    private final int coursesPerTeacher;
+    private final int students;
+    private final int studentsPerCourse;
+    private final int exercisesPerCourse;
+    private final int challengesPerCourse;
+    private final int hintsPerExercise;
+    private final long fileSize;
+    private final String password;
+    private final int batchSize;
+    private final Random random;
+
+    private LocalDateTime now;
+    private double[] engagement;
+    private Totals totals;
+
+    public DatasetGenerator(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            BlobStore blobStore,
+            BlobReferenceCounter counter,
+            @Value("${seed.teachers:5}") int teachers,
+            @Value("${seed.courses-per-teacher:3}") int coursesPerTeacher,
+            @Value("${seed.students:600}") int students,
+            @Value("${seed.students-per-course:40}") int studentsPerCourse,
+            @Value("${seed.exercises-per-course:10}") int exercisesPerCourse,
+            @Value("${seed.challenges-per-course:4}") int challengesPerCourse,
+            @Value("${seed.hints-per-exercise:3}") int hintsPerExercise,
+            @Value("${seed.file-size:8KB}") DataSize fileSize,
+            @Value("${seed.password:seed1234}") String password,
+            @Value("${seed.random-seed:42}") long randomSeed,
+            @Value("${seed.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.blobStore = blobStore;
+        this.counter = counter;
+        this.teachers = teachers;
+        this.coursesPerTeacher = coursesPerTeacher;
+        this.students = students;
+        this.studentsPerCourse = Math.min(studentsPerCourse, students);
+        this.exercisesPerCourse = exercisesPerCourse;
+        this.challengesPerCourse = challengesPerCourse;
+        this.hintsPerExercise = hintsPerExercise;
+        this.fileSize = fileSize.toBytes();
+        this.password = password;
+        this.batchSize = batchSize;
+        this.random = new Random(randomSeed);
+    }
+
+    static String teacherEmail(int n) {
+        return "profesor" + n + EMAIL_DOMAIN;
+    }
+
+    static String studentEmail(int n) {
+        return "estudiante" + n + EMAIL_DOMAIN;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email = ?", Integer.class, teacherEmail(1));
+        if (existing != null && existing > 0) {
+            logger.info("La base ya tiene datos generados ({}), no se genera nada", teacherEmail(1));
+            return;
+        }
+        generate();
+    }
+
+    void generate() {
+        long start = System.nanoTime();
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        totals = new Totals();
+
+        long[] teacherIds = new long[teachers];
+        long[] studentIds = new long[students];
+        transactionTemplate.executeWithoutResult(status -> insertUsers(teacherIds, studentIds));
+
+        engagement = new double[students];
+        for (int i = 0; i < students; i++) {
+            engagement[i] = 0.25 + 0.75 * Math.sqrt(random.nextDouble());
+        }
+
+        for (long teacherId : teacherIds) {
+            for (int c = 0; c < coursesPerTeacher; c++) {
+                transactionTemplate.executeWithoutResult(status -> insertCourse(teacherId, studentIds));
+            }
+        }
+
+        logger.info("Datos generados en {} ms: {} profesores, {} estudiantes, {} cursos, {} ejercicios, "
+                + "{} retos, {} entregas, {} soluciones de retos, {} archivos ({} bytes)",
+                Duration.ofNanos(System.nanoTime() - start).toMillis(), teachers, students, totals.courses,
+                totals.exercises, totals.challenges, totals.submissions, totals.challengeSubmissions,
+                totals.files, totals.fileBytes);
+    }
+
+    private void insertUsers(long[] teacherIds, long[] studentIds) {
+        // Un solo hash para todos: BCrypt por usuario dominaría el tiempo de generación
+        String hash = new BCryptPasswordEncoder().encode(password);
+        long nextId = nextId("users");
+        List<Object[]> rows = new ArrayList<>(teachers + students);
+        for (int i = 0; i < teachers; i++) {
+            teacherIds[i] = nextId++;
+            rows.add(new Object[] { teacherIds[i], teacherEmail(i + 1), "Prof. " + personName(), hash, "TEACHER" });
+        }
+        for (int i = 0; i < students; i++) {
+            studentIds[i] = nextId++;
+            rows.add(new Object[] { studentIds[i], studentEmail(i + 1), personName(), hash, "STUDENT" });
+        }
+        insert("INSERT INTO users (id, email, nombre, password, role) VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    private void insertCourse(long teacherId, long[] studentIds) {
+        long courseId = nextId("courses");
+        String topic = TOPICS[(int) (courseId % TOPICS.length)];
+        insert("INSERT INTO courses (id, teacher_id, title, description, level, invite_code, whatsapp_link) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", List.<Object[]>of(new Object[] { courseId, teacherId,
+                        topic + " - Grupo " + courseId, "Curso generado para pruebas de carga", level(),
+                        String.format("SD%06d", courseId),
+                        random.nextBoolean() ? "https://chat.whatsapp.com/seed" + courseId : null }));
+        totals.courses++;
+
+        int[] enrolled = enrollment();
+        List<Object[]> memberships = new ArrayList<>(enrolled.length);
+        for (int student : enrolled) {
+            memberships.add(new Object[] { courseId, studentIds[student] });
+        }
+        insert("INSERT INTO course_students (course_id, student_id) VALUES (?, ?)", memberships);
+
+        List<String> blobKeys = new ArrayList<>();
+        insertExercises(courseId, enrolled, studentIds, blobKeys);
+        insertChallenges(courseId, enrolled, studentIds, blobKeys);
+        counter.acquireAll(blobKeys);
+        logger.debug("Curso {} generado con {} estudiantes", courseId, enrolled.length);
+    }
+
+    private void insertExercises(long courseId, int[] enrolled, long[] studentIds, List<String> blobKeys) {
+        long exerciseId = nextId("exercises");
+        long hintId = nextId("hints");
+        long submissionId = nextId("submissions");
+        List<Object[]> exercises = new ArrayList<>();
+        List<Object[]> hints = new ArrayList<>();
+        List<Object[]> submissions = new ArrayList<>();
+
+        for (int i = 0; i < exercisesPerCourse; i++, exerciseId++) {
+            // Uno por semana; el último vence mañana
+            LocalDateTime created = now.minusDays(7L * (exercisesPerCourse - 1 - i) + 6);
+            LocalDateTime deadline = created.plusDays(7);
+            boolean open = deadline.isAfter(now);
+            String difficulty = DIFFICULTIES[i * DIFFICULTIES.length / Math.max(exercisesPerCourse, 1)];
+
+            Object[] file = random.nextDouble() < 0.4
+                    ? file("enunciado_" + exerciseId + ".pdf", "application/pdf", blobKeys)
+                    : new Object[5];
+            exercises.add(concat(new Object[] { exerciseId, courseId, ts(created), ts(deadline),
+                    "Ejercicio " + (i + 1), "Enunciado del ejercicio " + (i + 1), difficulty,
+                    random.nextDouble() < 0.3 ? "https://example.com/ejercicios/" + exerciseId : null }, file));
+            totals.exercises++;
+
+            for (int h = 1; h <= hintsPerExercise; h++) {
+                hints.add(new Object[] { hintId++, exerciseId, h, "Pista " + h + " del ejercicio " + (i + 1),
+                        ts(created.plusHours(h)) });
+            }
+
+            for (int student : enrolled) {
+                double e = engagement[student];
+                if (random.nextDouble() >= (open ? e * 0.4 : e)) {
+                    continue;
+                }
+                LocalDateTime submitted = submittedAt(created, deadline);
+                int editCount = editCount();
+                LocalDateTime modified = editCount > 0 ? min(submitted.plusMinutes(5 + random.nextInt(240)), now)
+                        : null;
+                String status = "PENDING";
+                Double grade = null;
+                String feedback = null;
+                LocalDateTime graded = null;
+                if (!open) {
+                    double r = random.nextDouble();
+                    if (r < 0.85) {
+                        status = "GRADED";
+                        grade = (double) Math.round(clamp(60 + 30 * e + random.nextGaussian() * 12, 0, 100));
+                        feedback = FEEDBACK[random.nextInt(FEEDBACK.length)];
+                        graded = min(deadline.plusHours(1 + random.nextInt(72)), now);
+                    } else if (r < 0.9) {
+                        status = "REJECTED";
+                        feedback = "Archivo incorrecto, vuelve a subirlo";
+                        graded = min(deadline.plusHours(1 + random.nextInt(72)), now);
+                    }
+                }
+                submissions.add(concat(new Object[] { submissionId, exerciseId, studentIds[student], status,
+                        grade, feedback, editCount, ts(submitted), ts(modified), ts(graded) },
+                        file("entrega_" + submissionId + ".zip", "application/zip", blobKeys)));
+                submissionId++;
+                totals.submissions++;
+            }
+        }
+
+        insert("INSERT INTO exercises (id, course_id, created_at, deadline, title, description, difficulty, "
+                + "external_url, file_blob_key, file_size, file_checksum, file_name, file_type) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", exercises);
+        insert("INSERT INTO hints (id, exercise_id, hint_order, content, created_at) VALUES (?, ?, ?, ?, ?)",
+                hints);
+        insert("INSERT INTO submissions (id, exercise_id, student_id, status, grade, feedback, edit_count, "
+                + "submitted_at, last_modified_at, graded_at, file_blob_key, file_size, file_checksum, file_name, "
+                + "file_type) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", submissions);
+    }
+
+    private void insertChallenges(long courseId, int[] enrolled, long[] studentIds, List<String> blobKeys) {
+        long challengeId = nextId("challenges");
+        long submissionId = nextId("challenge_submissions");
+        List<Object[]> challenges = new ArrayList<>();
+        List<Object[]> submissions = new ArrayList<>();
+        int[] points = new int[enrolled.length];
+        int[] completed = new int[enrolled.length];
+        boolean[] reviewed = new boolean[enrolled.length];
+
+        for (int i = 0; i < challengesPerCourse; i++, challengeId++) {
+            // Uno cada dos semanas; el último sigue abierto
+            LocalDateTime created = now.minusDays(14L * (challengesPerCourse - 1 - i) + 10);
+            LocalDateTime deadline = created.plusDays(14);
+            boolean open = deadline.isAfter(now);
+            int level = random.nextInt(DIFFICULTIES.length);
+            int maxBonus = 10 * (level + 1);
+            challenges.add(new Object[] { challengeId, courseId, true, maxBonus, ts(created), ts(deadline),
+                    "Reto " + (i + 1), "Descripción del reto " + (i + 1), DIFFICULTIES[level] });
+            totals.challenges++;
+
+            for (int s = 0; s < enrolled.length; s++) {
+                double e = engagement[enrolled[s]];
+                if (random.nextDouble() >= (open ? e * 0.3 : e * 0.5)) {
+                    continue;
+                }
+                LocalDateTime submitted = submittedAt(created, deadline);
+                String status = "PENDING";
+                Integer bonus = null;
+                String feedback = null;
+                LocalDateTime reviewedAt = null;
+                if (!open && random.nextDouble() < 0.9) {
+                    bonus = (int) Math.round(maxBonus * clamp(e - 0.2 + random.nextGaussian() * 0.2, 0, 1));
+                    status = bonus > 0 ? "REVIEWED" : "REJECTED";
+                    feedback = FEEDBACK[random.nextInt(FEEDBACK.length)];
+                    reviewedAt = min(deadline.plusHours(1 + random.nextInt(72)), now);
+                    points[s] += bonus;
+                    completed[s] += bonus > 0 ? 1 : 0;
+                    reviewed[s] = true;
+                }
+                submissions.add(concat(new Object[] { submissionId, challengeId, studentIds[enrolled[s]], status,
+                        bonus, feedback, 0, ts(submitted), null, ts(reviewedAt), 0L },
+                        file("solucion_" + submissionId + ".zip", "application/zip", blobKeys)));
+                submissionId++;
+                totals.challengeSubmissions++;
+            }
+        }
+
+        // Una fila por estudiante con al menos una revisión, como al revisar desde la aplicación
+        long scoreId = nextId("student_scores");
+        List<Object[]> scores = new ArrayList<>();
+        for (int s = 0; s < enrolled.length; s++) {
+            if (reviewed[s]) {
+                scores.add(new Object[] { scoreId++, studentIds[enrolled[s]], courseId, points[s], completed[s], 0L });
+            }
+        }
+
+        insert("INSERT INTO challenges (id, course_id, active, max_bonus_points, created_at, deadline, title, "
+                + "description, difficulty) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", challenges);
+        insert("INSERT INTO challenge_submissions (id, challenge_id, student_id, status, bonus_points, feedback, "
+                + "edit_count, submitted_at, last_modified_at, reviewed_at, version, file_blob_key, file_size, "
+                + "file_checksum, file_name, file_type) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                submissions);
+        insert("INSERT INTO student_scores (id, student_id, course_id, total_bonus_points, challenges_completed, "
+                + "version) VALUES (?, ?, ?, ?, ?, ?)", scores);
+    }
+
+    /**
+     * Índices (en el arreglo de estudiantes) de los inscritos al curso: entre la
+     * mitad y 1.5 veces {@code seed.students-per-course}, sin repetir.
+     */
+    private int[] enrollment() {
+        int count = Math.min(students,
+                Math.max(1, (int) Math.round(studentsPerCourse * (0.5 + random.nextDouble()))));
+        int[] pool = new int[students];
+        for (int i = 0; i < students; i++) {
+            pool[i] = i;
+        }
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(students - i);
+            int tmp = pool[i];
+            pool[i] = pool[j];
+            pool[j] = tmp;
+        }
+        int[] enrolled = new int[count];
+        System.arraycopy(pool, 0, enrolled, 0, count);
+        return enrolled;
+    }
+
+    /**
+     * Columnas de archivo (blob_key, size, checksum, name, type) con contenido
+     * aleatorio de tamaño log-normal.
+     */
+    private Object[] file(String name, String type, List<String> blobKeys) {
+        long size = (long) clamp(fileSize * Math.exp(random.nextGaussian() * 0.8), 256, 10L * 1024 * 1024);
+        byte[] content = new byte[(int) size];
+        random.nextBytes(content);
+        try {
+            BlobRef blob = blobStore.put(content);
+            blobKeys.add(blob.getKey());
+            totals.files++;
+            totals.fileBytes += blob.getSize();
+            return new Object[] { blob.getKey(), blob.getSize(), blob.getChecksum(), name, type };
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al guardar archivo generado", e);
+        }
+    }
+
+    private LocalDateTime submittedAt(LocalDateTime created, LocalDateTime deadline) {
+        long minutesBefore = (long) (-Math.log(1 - random.nextDouble()) * 20 * 60);
+        LocalDateTime submitted = deadline.minusMinutes(minutesBefore);
+        if (submitted.isAfter(now)) {
+            // Plazo abierto: las entregas ya hechas caen antes de ahora
+            submitted = now.minusMinutes((long) (-Math.log(1 - random.nextDouble()) * 30 * 60));
+        }
+        return submitted.isBefore(created) ? created.plusHours(1) : submitted;
+    }
+
+    private int editCount() {
+        double r = random.nextDouble();
+        return r < 0.7 ? 0 : r < 0.9 ? 1 : 2;
+    }
+
+    private String level() {
+        double r = random.nextDouble();
+        return r < 0.4 ? "Principiante" : r < 0.75 ? "Intermedio" : r < 0.95 ? "Avanzado" : "Experto";
+    }
+
+    private String personName() {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+        }
+    }
+
+    private static Object[] concat(Object[] columns, Object[] more) {
+        Object[] row = new Object[columns.length + more.length];
+        System.arraycopy(columns, 0, row, 0, columns.length);
+        System.arraycopy(more, 0, row, columns.length, more.length);
+        return row;
+    }
+
+    private static Timestamp ts(LocalDateTime time) {
+        return time == null ? null : Timestamp.valueOf(time);
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static final class Totals {
+        private long courses;
+        private long exercises;
+        private long challenges;
+        private long submissions;
+        private long challengeSubmissions;
+        private long files;
+        private long fileBytes;
+    }
+}
@@ -1,8 +1,15 @@
 package com.unimar.plataforma_educativa_angular.service;
 
+import com.unimar.plataforma_educativa_angular.dto.FileDownloadDTO;
 import com.unimar.plataforma_educativa_angular.entities.*;
 import com.unimar.plataforma_educativa_angular.repositories.*;
+import com.unimar.plataforma_educativa_angular.storage.BlobRef;
+import com.unimar.plataforma_educativa_angular.storage.BlobStore;
+import com.unimar.plataforma_educativa_angular.storage.ContentHash;
 import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -12,19 +19,25 @@ import java.net.URL;
 import java.util.List;
 
 @Service
+@Timed("service.calls")
 public class ChallengeService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ChallengeService.class);
+
     private final ChallengeRepository challengeRepository;
     private final CourseRepository courseRepository;
-    private final UserRepository userRepository;
+    private final BlobStore blobStore;
+    private final CourseAccessService courseAccessService;
 
     public ChallengeService(
             ChallengeRepository challengeRepository,
             CourseRepository courseRepository,
-            UserRepository userRepository) {
+            BlobStore blobStore,
+            CourseAccessService courseAccessService) {
         this.challengeRepository = challengeRepository;
         this.courseRepository = courseRepository;
-        this.userRepository = userRepository;
+        this.blobStore = blobStore;
+        this.courseAccessService = courseAccessService;
     }
 
     private void validateUrl(String url) {
@@ -53,15 +66,12 @@ public class ChallengeService {
     }
 
     @Transactional
-    public Challenge createChallenge(Challenge challenge, Long courseId, String teacherEmail,
+    public Challenge createChallenge(Challenge challenge, Long courseId, Long teacherId,
             MultipartFile file, String externalUrl) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Curso no encontrado"));
 
-        User teacher = userRepository.findByEmail(teacherEmail)
-                .orElseThrow(() -> new RuntimeException("Profesor no encontrado"));
-
-        if (!course.getTeacher().getId().equals(teacher.getId())) {
+        if (!course.getTeacher().getId().equals(teacherId)) {
             throw new RuntimeException("No tienes permiso para agregar retos a este curso");
         }
 
@@ -74,23 +84,21 @@ public class ChallengeService {
         if (externalUrl != null && !externalUrl.trim().isEmpty()) {
             validateUrl(externalUrl);
             challenge.setExternalUrl(externalUrl.trim());
-            System.out.println("✅ URL externa guardada: " + externalUrl.trim());
         }
 
         // Guardar archivo si existe
         if (file != null && !file.isEmpty()) {
             try {
-                challenge.setFileData(file.getBytes());
-                challenge.setFileName(file.getOriginalFilename());
-                challenge.setFileType(file.getContentType());
-                System.out.println("✅ Archivo guardado: " + file.getOriginalFilename());
+                String fileName = file.getOriginalFilename();
+                BlobRef blob = blobStore.put(file.getInputStream());
+                challenge.attachFile(blob, fileName, file.getContentType());
             } catch (IOException e) {
                 throw new RuntimeException("Error al procesar el archivo: " + e.getMessage());
             }
         }
 
         if (!challenge.hasFile() && !challenge.hasExternalUrl()) {
-            System.out.println("⚠️ Advertencia: Reto sin recursos (archivo o URL)");
+            logger.debug("Reto sin recursos (archivo o URL)");
             // Nota: Esto es válido, algunos retos pueden ser solo descripción
         }
 
@@ -98,32 +106,27 @@ public class ChallengeService {
         challenge.setActive(true);
         Challenge saved = challengeRepository.save(challenge);
 
-        System.out.println("🏆 Reto creado exitosamente:");
-        System.out.println("   • ID: " + saved.getId());
-        System.out.println("   • Título: " + saved.getTitle());
-        System.out.println("   • Tiene archivo: " + saved.hasFile());
-        System.out.println("   • Tiene URL: " + saved.hasExternalUrl());
-        System.out.println("   • Tipo de recurso: " + saved.getResourceType());
+        logger.info("Reto {} creado (recurso: {})", saved.getId(), saved.getResourceType());
 
         return saved;
     }
 
-    public List<Challenge> getActiveChallengesByCourse(Long courseId, String userEmail) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Curso no encontrado"));
-
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-
-        boolean isTeacher = course.getTeacher().getId().equals(user.getId());
-        boolean isStudent = course.getStudents().contains(user);
+    /**
+     * Retos de un curso: todos para el profesor, solo los activos para los
+     * estudiantes. Ni el usuario ni el curso se cargan para validar el acceso
+     */
+    public List<Challenge> getActiveChallengesByCourse(Long courseId, Long userId) {
+        CourseAccessService.CourseRole role = courseAccessService.roleOf(courseId, userId);
 
-        if (!isTeacher && !isStudent) {
+        if (role == CourseAccessService.CourseRole.NONE) {
+            if (!courseRepository.existsById(courseId)) {
+                throw new RuntimeException("Curso no encontrado");
+            }
             throw new RuntimeException("No tienes acceso a este curso");
         }
 
         // Estudiantes solo ven retos activos
-        if (isStudent) {
+        if (role == CourseAccessService.CourseRole.STUDENT) {
             return challengeRepository.findByCourseIdAndActiveTrue(courseId);
         }
 
@@ -131,23 +134,22 @@ public class ChallengeService {
         return challengeRepository.findByCourseId(courseId);
     }
 
-    public Challenge getChallengeById(Long id, String userEmail) {
+    public Challenge getChallengeById(Long id, Long userId) {
         Challenge challenge = challengeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Reto no encontrado"));
 
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        return checkAccess(challenge, userId);
+    }
 
-        Course course = challenge.getCourse();
-        boolean hasAccess = course.getTeacher().getId().equals(user.getId()) ||
-                course.getStudents().contains(user);
+    private Challenge checkAccess(Challenge challenge, Long userId) {
+        CourseAccessService.CourseRole role = courseAccessService.roleOf(challenge.getCourse().getId(), userId);
 
-        if (!hasAccess) {
+        if (role == CourseAccessService.CourseRole.NONE) {
             throw new RuntimeException("No tienes acceso a este reto");
         }
 
         // Estudiantes solo pueden ver retos activos
-        if (!course.getTeacher().getId().equals(user.getId()) && !challenge.getActive()) {
+        if (role != CourseAccessService.CourseRole.TEACHER && !challenge.getActive()) {
             throw new RuntimeException("Este reto no está disponible");
         }
 
@@ -155,15 +157,12 @@ public class ChallengeService {
     }
 
     @Transactional
-    public Challenge updateChallenge(Long id, Challenge challengeData, String teacherEmail,
+    public Challenge updateChallenge(Long id, Challenge challengeData, Long teacherId,
             MultipartFile file, String externalUrl) {
         Challenge challenge = challengeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Reto no encontrado"));
 
-        User teacher = userRepository.findByEmail(teacherEmail)
-                .orElseThrow(() -> new RuntimeException("Profesor no encontrado"));
-
-        if (!challenge.getCourse().getTeacher().getId().equals(teacher.getId())) {
+        if (!challenge.getCourse().getTeacher().getId().equals(teacherId)) {
             throw new RuntimeException("No tienes permiso para editar este reto");
         }
 
@@ -188,22 +187,25 @@ public class ChallengeService {
             if (externalUrl.trim().isEmpty()) {
                 // Si se envía vacío, eliminar la URL
                 challenge.setExternalUrl(null);
-                System.out.println("🗑️ URL externa eliminada");
             } else {
                 // Si se envía una URL, validarla y guardarla
                 validateUrl(externalUrl);
                 challenge.setExternalUrl(externalUrl.trim());
-                System.out.println("✅ URL externa actualizada: " + externalUrl.trim());
             }
         }
 
         // Actualizar archivo si se proporciona
         if (file != null && !file.isEmpty()) {
             try {
-                challenge.setFileData(file.getBytes());
-                challenge.setFileName(file.getOriginalFilename());
-                challenge.setFileType(file.getContentType());
-                System.out.println("✅ Archivo actualizado: " + file.getOriginalFilename());
+                String fileName = file.getOriginalFilename();
+                if (ContentHash.sameContent(file, challenge.getFileSize(), challenge.getFileChecksum())) {
+                    // Mismo contenido que el archivo actual: solo cambian los metadatos
+                    challenge.setFileName(fileName);
+                    challenge.setFileType(file.getContentType());
+                } else {
+                    BlobRef blob = blobStore.put(file.getInputStream());
+                    challenge.attachFile(blob, fileName, file.getContentType());
+                }
             } catch (IOException e) {
                 throw new RuntimeException("Error al actualizar el archivo: " + e.getMessage());
             }
@@ -211,38 +213,41 @@ public class ChallengeService {
 
         Challenge updated = challengeRepository.save(challenge);
 
-        System.out.println("🏆 Reto actualizado exitosamente:");
-        System.out.println("   • ID: " + updated.getId());
-        System.out.println("   • Título: " + updated.getTitle());
-        System.out.println("   • Tiene archivo: " + updated.hasFile());
-        System.out.println("   • Tiene URL: " + updated.hasExternalUrl());
-        System.out.println("   • Tipo de recurso: " + updated.getResourceType());
+        logger.info("Reto {} actualizado (recurso: {})", updated.getId(), updated.getResourceType());
 
         return updated;
     }
 
     @Transactional
-    public void deleteChallenge(Long id, String teacherEmail) {
+    public void deleteChallenge(Long id, Long teacherId) {
         Challenge challenge = challengeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Reto no encontrado"));
 
-        User teacher = userRepository.findByEmail(teacherEmail)
-                .orElseThrow(() -> new RuntimeException("Profesor no encontrado"));
-
-        if (!challenge.getCourse().getTeacher().getId().equals(teacher.getId())) {
+        if (!challenge.getCourse().getTeacher().getId().equals(teacherId)) {
             throw new RuntimeException("No tienes permiso para eliminar este reto");
         }
 
         challengeRepository.delete(challenge);
     }
 
-    public byte[] getChallengeFile(Long id, String userEmail) {
-        Challenge challenge = getChallengeById(id, userEmail);
+    public FileDownloadDTO getChallengeDownload(Long id, Long userId) {
+        Challenge challenge = getChallengeById(id, userId);
 
         if (!challenge.hasFile()) {
             throw new RuntimeException("Este reto no tiene archivo adjunto");
         }
 
-        return challenge.getFileData();
+        try {
+            return new FileDownloadDTO(
+                    blobStore.load(challenge.getFileBlobKey()),
+                    challenge.getFileName(),
+                    challenge.getFileType(),
+                    challenge.getFileChecksum(),
+                    challenge.getFileUpdatedAt() != null
+                            ? challenge.getFileUpdatedAt()
+                            : challenge.getCreatedAt());
+        } catch (IOException e) {
+            throw new RuntimeException("Error al leer el archivo: " + e.getMessage());
+        }
     }
 }
\ No newline at end of file
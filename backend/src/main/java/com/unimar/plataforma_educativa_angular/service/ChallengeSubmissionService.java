@@ -1,9 +1,24 @@
 package com.unimar.plataforma_educativa_angular.service;
 
+import com.unimar.plataforma_educativa_angular.dto.ArchiveEntryDTO;
+import com.unimar.plataforma_educativa_angular.dto.ChallengeSubmissionDTO;
+import com.unimar.plataforma_educativa_angular.dto.CursorPageDTO;
+import com.unimar.plataforma_educativa_angular.dto.FileDownloadDTO;
+import com.unimar.plataforma_educativa_angular.dto.KeysetCursor;
 import com.unimar.plataforma_educativa_angular.entities.*;
+import com.unimar.plataforma_educativa_angular.leaderboard.LeaderboardEngine;
 import com.unimar.plataforma_educativa_angular.repositories.*;
+import com.unimar.plataforma_educativa_angular.storage.BlobRef;
+import com.unimar.plataforma_educativa_angular.storage.BlobStore;
+import com.unimar.plataforma_educativa_angular.storage.ContentHash;
 import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Limit;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -11,45 +26,69 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
+@Timed("service.calls")
 public class ChallengeSubmissionService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ChallengeSubmissionService.class);
+    private static final int MAX_REVIEW_ATTEMPTS = 5;
+
     private final ChallengeSubmissionRepository submissionRepository;
     private final ChallengeRepository challengeRepository;
     private final UserRepository userRepository;
     private final StudentScoreRepository studentScoreRepository;
+    private final BlobStore blobStore;
+    private final LeaderboardEngine leaderboardEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final CourseAccessService courseAccessService;
 
     public ChallengeSubmissionService(
             ChallengeSubmissionRepository submissionRepository,
             ChallengeRepository challengeRepository,
             UserRepository userRepository,
-            StudentScoreRepository studentScoreRepository) {
+            StudentScoreRepository studentScoreRepository,
+            BlobStore blobStore,
+            LeaderboardEngine leaderboardEngine,
+            TransactionTemplate transactionTemplate,
+            CourseAccessService courseAccessService) {
         this.submissionRepository = submissionRepository;
         this.challengeRepository = challengeRepository;
         this.userRepository = userRepository;
         this.studentScoreRepository = studentScoreRepository;
+        this.blobStore = blobStore;
+        this.leaderboardEngine = leaderboardEngine;
+        this.transactionTemplate = transactionTemplate;
+        this.courseAccessService = courseAccessService;
     }
 
     /**
      * ✅ CORRECCIÓN CRÍTICA: Revisar y otorgar bonificación
      * Ahora maneja correctamente las re-calificaciones
+     *
+     * Cada intento corre en su propia transacción. Si otra revisión de la
+     * misma solución se confirma antes (doble clic, dos profesores), la
+     * versión de la solución ya no coincide y se reintenta con los datos
+     * nuevos, así la diferencia de puntos se calcula sobre la última revisión.
      */
-    @Transactional
-    public ChallengeSubmission reviewSubmission(Long id, Integer bonusPoints, String feedback, String teacherEmail) {
-        System.out.println("\n========================================");
-        System.out.println("🔍 REVISANDO SOLUCIÓN DE RETO");
-        System.out.println("========================================");
-        System.out.println("   Submission ID: " + id);
-        System.out.println("   Bonificación nueva: " + bonusPoints + " XP");
-        System.out.println("   Profesor: " + teacherEmail);
-        System.out.println("   Feedback: " + feedback);
+    public ChallengeSubmission reviewSubmission(Long id, Integer bonusPoints, String feedback, Long teacherId) {
+        for (int attempt = 1;; attempt++) {
+            try {
+                return transactionTemplate.execute(
+                        status -> applyReview(id, bonusPoints, feedback, teacherId));
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= MAX_REVIEW_ATTEMPTS) {
+                    throw new RuntimeException(
+                            "La solución está siendo revisada al mismo tiempo por otra persona, intenta de nuevo");
+                }
+                logger.debug("Revisión simultánea de la solución {}, reintentando (intento {})", id, attempt + 1);
+            }
+        }
+    }
 
+    private ChallengeSubmission applyReview(Long id, Integer bonusPoints, String feedback, Long teacherId) {
         ChallengeSubmission submission = submissionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Solución no encontrada"));
 
-        User teacher = userRepository.findByEmail(teacherEmail)
-                .orElseThrow(() -> new RuntimeException("Profesor no encontrado"));
-
-        if (!submission.getChallenge().getCourse().getTeacher().getId().equals(teacher.getId())) {
+        if (!courseAccessService.isTeacher(submission.getChallenge().getCourse().getId(), teacherId)) {
             throw new RuntimeException("No tienes permiso para revisar esta solución");
         }
 
@@ -59,10 +98,6 @@ public class ChallengeSubmissionService {
             throw new RuntimeException("La bonificación debe estar entre 0 y " + maxBonus + " XP");
         }
 
-        System.out.println("   ✅ Validaciones superadas");
-        System.out.println("   📝 Estudiante: " + submission.getStudent().getNombre());
-        System.out.println("   📚 Curso: " + submission.getChallenge().getCourse().getTitle());
-
         // ✅ CORRECCIÓN: Detectar si es una re-calificación
         Integer previousBonusPoints = submission.getBonusPoints();
         boolean isRecalification = (previousBonusPoints != null &&
@@ -71,14 +106,6 @@ public class ChallengeSubmissionService {
         // Convertir a int con valor por defecto 0 para evitar NullPointerException
         int previousPoints = (previousBonusPoints != null) ? previousBonusPoints : 0;
 
-        System.out.println("\n   🔄 Tipo de revisión:");
-        System.out.println("      • Es re-calificación: " + isRecalification);
-        if (isRecalification) {
-            System.out.println("      • Puntos anteriores: " + previousPoints + " XP");
-            System.out.println("      • Puntos nuevos: " + bonusPoints + " XP");
-            System.out.println("      • Diferencia: " + (bonusPoints - previousPoints) + " XP");
-        }
-
         // Actualizar la solución
         submission.setBonusPoints(bonusPoints);
         submission.setFeedback(feedback);
@@ -88,140 +115,58 @@ public class ChallengeSubmissionService {
         submission.setReviewedAt(LocalDateTime.now());
 
         ChallengeSubmission savedSubmission = submissionRepository.save(submission);
-        System.out.println("   💾 Solución guardada en BD");
 
-        // ✅ CORRECCIÓN: Actualizar puntuación correctamente
-        System.out.println("\n   📊 Actualizando student_scores...");
+        // ✅ CORRECCIÓN: La puntuación se actualiza con la diferencia, no reescribiendo el total
+        int pointsDelta;
+        int challengesDelta;
         if (isRecalification) {
             // Si es re-calificación, restar puntos anteriores y sumar nuevos
-            updateStudentScoreRecalification(
-                    submission.getStudent(),
-                    submission.getChallenge().getCourse(),
-                    previousPoints,
-                    bonusPoints);
+            pointsDelta = bonusPoints - previousPoints;
+            if (previousPoints > 0 && bonusPoints == 0) {
+                challengesDelta = -1; // Tenía puntos y ahora no
+            } else if (previousPoints == 0 && bonusPoints > 0) {
+                challengesDelta = 1; // No tenía puntos y ahora sí
+            } else {
+                challengesDelta = 0;
+            }
         } else {
             // Si es primera calificación, solo sumar
-            updateStudentScore(
-                    submission.getStudent(),
-                    submission.getChallenge().getCourse(),
-                    bonusPoints,
-                    bonusPoints > 0);
+            pointsDelta = bonusPoints;
+            challengesDelta = bonusPoints > 0 ? 1 : 0;
         }
-        System.out.println("   ✅ student_scores actualizado correctamente");
-
-        System.out.println("========================================");
-        System.out.println("✅ REVISIÓN COMPLETADA EXITOSAMENTE");
-        System.out.println("========================================\n");
-
-        return savedSubmission;
-    }
 
-    /**
-     * ✅ NUEVO MÉTODO: Actualizar puntuación en caso de re-calificación
-     */
-    private void updateStudentScoreRecalification(User student, Course course,
-            int previousPoints, int newPoints) {
-        System.out.println("\n      ═══════════════════════════════════");
-        System.out.println("      🔄 ACTUALIZANDO PUNTUACIÓN (RE-CALIFICACIÓN)");
-        System.out.println("      ═══════════════════════════════════");
-        System.out.println("         🎓 Estudiante: " + student.getNombre() + " (ID: " + student.getId() + ")");
-        System.out.println("         📚 Curso: " + course.getTitle() + " (ID: " + course.getId() + ")");
-        System.out.println("         📉 Puntos anteriores: " + previousPoints + " XP");
-        System.out.println("         📈 Puntos nuevos: " + newPoints + " XP");
+        StudentScore score = applyScoreDelta(
+                submission.getStudent(),
+                submission.getChallenge().getCourse(),
+                pointsDelta,
+                challengesDelta);
 
-        StudentScore score = studentScoreRepository
-                .findByStudentIdAndCourseId(student.getId(), course.getId())
-                .orElse(null);
-
-        if (score == null) {
-            System.out.println("\n      ⚠️ ADVERTENCIA: No existe registro previo");
-            System.out.println("         Creando nuevo registro con puntos: " + newPoints + " XP");
-            score = new StudentScore();
-            score.setStudent(student);
-            score.setCourse(course);
-            score.setTotalBonusPoints(newPoints);
-            score.setChallengesCompleted(newPoints > 0 ? 1 : 0);
-        } else {
-            System.out.println("\n      📋 REGISTRO EXISTENTE:");
-            System.out.println("         • Puntos actuales: " + score.getTotalBonusPoints() + " XP");
-            System.out.println("         • Retos completados: " + score.getChallengesCompleted());
-
-            // ✅ CORRECCIÓN: Restar puntos anteriores y sumar nuevos
-            int updatedPoints = score.getTotalBonusPoints() - previousPoints + newPoints;
-            score.setTotalBonusPoints(Math.max(0, updatedPoints)); // Evitar negativos
-
-            // Ajustar challengesCompleted
-            if (previousPoints > 0 && newPoints == 0) {
-                // Si tenía puntos y ahora no, decrementar retos completados
-                score.setChallengesCompleted(Math.max(0, score.getChallengesCompleted() - 1));
-            } else if (previousPoints == 0 && newPoints > 0) {
-                // Si no tenía puntos y ahora sí, incrementar retos completados
-                score.setChallengesCompleted(score.getChallengesCompleted() + 1);
-            }
-            // Si ambos son > 0 o ambos son 0, no cambiar challengesCompleted
+        // El ranking en memoria se actualiza al confirmar la transacción
+        leaderboardEngine.scoreChanged(score);
 
-            System.out.println("\n      📊 CÁLCULO:");
-            System.out.println("         " + (score.getTotalBonusPoints() + previousPoints) +
-                    " - " + previousPoints + " + " + newPoints + " = " + score.getTotalBonusPoints());
-        }
+        logger.info("Solución {} revisada por el profesor {}: {} XP (antes {}, re-calificación: {})",
+                id, teacherId, bonusPoints, previousPoints, isRecalification);
 
-        studentScoreRepository.save(score);
-        System.out.println("\n      💾 GUARDADO EN BASE DE DATOS:");
-        System.out.println("         • Puntos finales: " + score.getTotalBonusPoints() + " XP");
-        System.out.println("         • Retos completados: " + score.getChallengesCompleted());
-        System.out.println("      ═══════════════════════════════════");
-        System.out.println("      ✅ RE-CALIFICACIÓN COMPLETADA");
-        System.out.println("      ═══════════════════════════════════\n");
+        return savedSubmission;
     }
 
     /**
-     * ✅ MÉTODO ORIGINAL: Para primera calificación (sin cambios)
+     * Aplica la diferencia de puntos y retos en una sola sentencia UPDATE.
+     * Dos revisiones de soluciones distintas del mismo estudiante ya no se
+     * pisan: la base de datos suma ambas diferencias sobre el valor vigente.
      */
-    private void updateStudentScore(User student, Course course, Integer bonusPoints, boolean incrementChallenges) {
-        System.out.println("\n      ═══════════════════════════════════");
-        System.out.println("      📊 ACTUALIZANDO STUDENT_SCORES (PRIMERA VEZ)");
-        System.out.println("      ═══════════════════════════════════");
-        System.out.println("         🎓 Estudiante: " + student.getNombre() + " (ID: " + student.getId() + ")");
-        System.out.println("         📚 Curso: " + course.getTitle() + " (ID: " + course.getId() + ")");
-        System.out.println("         💎 Bonificación: " + bonusPoints + " XP");
-        System.out.println("         🏆 Incrementar retos: " + incrementChallenges);
+    private StudentScore applyScoreDelta(User student, Course course, int pointsDelta, int challengesDelta) {
+        studentScoreRepository.ensureScore(student.getId(), course.getId());
+        studentScoreRepository.addToScore(student.getId(), course.getId(), pointsDelta, challengesDelta);
 
         StudentScore score = studentScoreRepository
                 .findByStudentIdAndCourseId(student.getId(), course.getId())
-                .orElse(null);
-
-        if (score == null) {
-            System.out.println("\n      🆕 REGISTRO NO ENCONTRADO - Creando nuevo...");
-            score = new StudentScore();
-            score.setStudent(student);
-            score.setCourse(course);
-            score.setTotalBonusPoints(0);
-            score.setChallengesCompleted(0);
-            System.out.println("         ✅ Nuevo registro creado");
-        } else {
-            System.out.println("\n      📋 REGISTRO EXISTENTE ENCONTRADO:");
-            System.out.println("         • Puntos actuales: " + score.getTotalBonusPoints() + " XP");
-            System.out.println("         • Retos completados: " + score.getChallengesCompleted());
-        }
-
-        int previousPoints = score.getTotalBonusPoints();
-        int previousChallenges = score.getChallengesCompleted();
-
-        score.setTotalBonusPoints(previousPoints + bonusPoints);
+                .orElseThrow(() -> new RuntimeException("No se pudo actualizar la puntuación del estudiante"));
 
-        if (incrementChallenges) {
-            score.setChallengesCompleted(previousChallenges + 1);
-        }
-
-        studentScoreRepository.save(score);
-        System.out.println("\n      💾 GUARDADO EN BASE DE DATOS:");
-        System.out.println("         • Puntos anteriores: " + previousPoints + " XP");
-        System.out.println("         • Puntos nuevos: " + score.getTotalBonusPoints() + " XP");
-        System.out.println("         • Retos anteriores: " + previousChallenges);
-        System.out.println("         • Retos nuevos: " + score.getChallengesCompleted());
-        System.out.println("      ═══════════════════════════════════");
-        System.out.println("      ✅ ACTUALIZACIÓN COMPLETADA");
-        System.out.println("      ═══════════════════════════════════\n");
+        logger.debug("Puntuación del estudiante {} en el curso {}: {} XP y {} retos (diferencia {} XP, {} retos)",
+                student.getId(), course.getId(), score.getTotalBonusPoints(), score.getChallengesCompleted(),
+                pointsDelta, challengesDelta);
+        return score;
     }
 
     // ========================================
@@ -229,7 +174,7 @@ public class ChallengeSubmissionService {
     // ========================================
 
     @Transactional
-    public ChallengeSubmission submitChallenge(Long challengeId, String studentEmail, MultipartFile file) {
+    public ChallengeSubmission submitChallenge(Long challengeId, Long studentId, MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new RuntimeException("Debes seleccionar un archivo para subir la solución");
         }
@@ -241,14 +186,11 @@ public class ChallengeSubmissionService {
             throw new RuntimeException("Este reto no está activo");
         }
 
-        User student = userRepository.findByEmail(studentEmail)
-                .orElseThrow(() -> new RuntimeException("Estudiante no encontrado"));
-
-        if (!challenge.getCourse().getStudents().contains(student)) {
+        if (!courseAccessService.isEnrolled(challenge.getCourse().getId(), studentId)) {
             throw new RuntimeException("No estás inscrito en este curso");
         }
 
-        if (submissionRepository.existsByChallengeIdAndStudentId(challengeId, student.getId())) {
+        if (submissionRepository.existsByChallengeIdAndStudentId(challengeId, studentId)) {
             throw new RuntimeException(
                     "Ya has enviado una solución para este reto. Usa la opción 'Editar' para actualizarlo");
         }
@@ -259,14 +201,14 @@ public class ChallengeSubmissionService {
 
         ChallengeSubmission submission = new ChallengeSubmission();
         submission.setChallenge(challenge);
-        submission.setStudent(student);
+        // Si está inscrito, el estudiante existe: basta la referencia, sin cargarlo
+        submission.setStudent(userRepository.getReferenceById(studentId));
         submission.setStatus(ChallengeSubmission.SubmissionStatus.PENDING);
         submission.setEditCount(0);
 
         try {
-            submission.setFileData(file.getBytes());
-            submission.setFileName(file.getOriginalFilename());
-            submission.setFileType(file.getContentType());
+            BlobRef blob = blobStore.put(file.getInputStream());
+            submission.attachFile(blob, file.getOriginalFilename(), file.getContentType());
         } catch (IOException e) {
             throw new RuntimeException("Error al procesar el archivo: " + e.getMessage());
         }
@@ -275,7 +217,7 @@ public class ChallengeSubmissionService {
     }
 
     @Transactional
-    public ChallengeSubmission updateSubmission(Long submissionId, String studentEmail, MultipartFile file) {
+    public ChallengeSubmission updateSubmission(Long submissionId, Long studentId, MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new RuntimeException("Debes seleccionar un archivo para actualizar la solución");
         }
@@ -283,10 +225,7 @@ public class ChallengeSubmissionService {
         ChallengeSubmission submission = submissionRepository.findById(submissionId)
                 .orElseThrow(() -> new RuntimeException("Solución no encontrada"));
 
-        User student = userRepository.findByEmail(studentEmail)
-                .orElseThrow(() -> new RuntimeException("Estudiante no encontrado"));
-
-        if (!submission.getStudent().getId().equals(student.getId())) {
+        if (!submission.getStudent().getId().equals(studentId)) {
             throw new RuntimeException("No puedes editar esta solución");
         }
 
@@ -302,9 +241,14 @@ public class ChallengeSubmissionService {
         }
 
         try {
-            submission.setFileData(file.getBytes());
-            submission.setFileName(file.getOriginalFilename());
-            submission.setFileType(file.getContentType());
+            if (ContentHash.sameContent(file, submission.getFileSize(), submission.getFileChecksum())) {
+                // Mismo contenido que el archivo actual: solo cambian los metadatos, no se escribe nada
+                submission.setFileName(file.getOriginalFilename());
+                submission.setFileType(file.getContentType());
+            } else {
+                BlobRef blob = blobStore.put(file.getInputStream());
+                submission.attachFile(blob, file.getOriginalFilename(), file.getContentType());
+            }
             submission.setEditCount(submission.getEditCount() + 1);
             submission.setLastModifiedAt(LocalDateTime.now());
         } catch (IOException e) {
@@ -314,63 +258,104 @@ public class ChallengeSubmissionService {
         return submissionRepository.save(submission);
     }
 
-    public List<ChallengeSubmission> getSubmissionsByChallenge(Long challengeId, String teacherEmail) {
-        Challenge challenge = challengeRepository.findById(challengeId)
-                .orElseThrow(() -> new RuntimeException("Reto no encontrado"));
+    public List<ChallengeSubmission> getSubmissionsByChallenge(Long challengeId, Long teacherId) {
+        checkTeacherOwnsChallenge(challengeId, teacherId);
 
-        User teacher = userRepository.findByEmail(teacherEmail)
-                .orElseThrow(() -> new RuntimeException("Profesor no encontrado"));
+        return submissionRepository.findByChallengeId(challengeId);
+    }
 
-        if (!challenge.getCourse().getTeacher().getId().equals(teacher.getId())) {
-            throw new RuntimeException("No tienes permiso para ver estas soluciones");
-        }
+    // Listado para el profesor: solo metadatos, sin cargar las entidades
+    public List<ChallengeSubmissionDTO> getSubmissionSummariesByChallenge(Long challengeId, Long teacherId) {
+        checkTeacherOwnsChallenge(challengeId, teacherId);
 
-        return submissionRepository.findByChallengeId(challengeId);
+        return submissionRepository.findSummariesByChallengeId(challengeId, Limit.of(CursorPageDTO.UNPAGED_MAX_SIZE));
+    }
+
+    // Página del listado para el profesor, ordenada por fecha de entrega
+    public CursorPageDTO<ChallengeSubmissionDTO> getSubmissionSummariesByChallenge(Long challengeId,
+            Long teacherId, String cursor, Integer size) {
+        checkTeacherOwnsChallenge(challengeId, teacherId);
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPageDTO.clampSize(size);
+        return CursorPageDTO.of(submissionRepository.findSummariesByChallengeIdAfter(
+                challengeId, after.getAt(), after.getId(), Limit.of(pageSize + 1)),
+                pageSize, dto -> KeysetCursor.encode(dto.getSubmittedAt(), dto.getId()));
+    }
+
+    public List<ChallengeSubmission> getMySubmissions(Long studentId) {
+        return submissionRepository.findByStudentId(studentId);
+    }
+
+    public List<ChallengeSubmissionDTO> getMySubmissionSummaries(Long studentId) {
+        return submissionRepository.findSummariesByStudentId(studentId, Limit.of(CursorPageDTO.UNPAGED_MAX_SIZE));
+    }
+
+    public CursorPageDTO<ChallengeSubmissionDTO> getMySubmissionSummaries(Long studentId, String cursor,
+            Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPageDTO.clampSize(size);
+        return CursorPageDTO.of(submissionRepository.findSummariesByStudentIdAfter(
+                studentId, after.getAt(), after.getId(), Limit.of(pageSize + 1)),
+                pageSize, dto -> KeysetCursor.encode(dto.getSubmittedAt(), dto.getId()));
     }
 
-    public List<ChallengeSubmission> getMySubmissions(String studentEmail) {
-        User student = userRepository.findByEmail(studentEmail)
-                .orElseThrow(() -> new RuntimeException("Estudiante no encontrado"));
+    // Soluciones de un reto para exportar en ZIP (Profesor)
+    public List<ArchiveEntryDTO> getArchiveEntries(Long challengeId, Long teacherId) {
+        checkTeacherOwnsChallenge(challengeId, teacherId);
 
-        return submissionRepository.findByStudentId(student.getId());
+        return submissionRepository.findArchiveEntriesByChallengeId(challengeId);
     }
 
-    public ChallengeSubmission getSubmissionById(Long id, String userEmail) {
+    private void checkTeacherOwnsChallenge(Long challengeId, Long teacherId) {
+        Challenge challenge = challengeRepository.findById(challengeId)
+                .orElseThrow(() -> new RuntimeException("Reto no encontrado"));
+
+        if (!courseAccessService.isTeacher(challenge.getCourse().getId(), teacherId)) {
+            throw new RuntimeException("No tienes permiso para ver estas soluciones");
+        }
+    }
+
+    public ChallengeSubmission getSubmissionById(Long id, Long userId) {
         ChallengeSubmission submission = submissionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Solución no encontrada"));
 
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        boolean isOwner = submission.getStudent().getId().equals(userId);
 
-        boolean isTeacher = submission.getChallenge().getCourse().getTeacher().getId().equals(user.getId());
-        boolean isOwner = submission.getStudent().getId().equals(user.getId());
-
-        if (!isTeacher && !isOwner) {
+        if (!isOwner && !courseAccessService.isTeacher(submission.getChallenge().getCourse().getId(), userId)) {
             throw new RuntimeException("No tienes permiso para ver esta solución");
         }
 
         return submission;
     }
 
-    public byte[] getSubmissionFile(Long id, String userEmail) {
-        ChallengeSubmission submission = getSubmissionById(id, userEmail);
+    public FileDownloadDTO getSubmissionDownload(Long id, Long userId) {
+        ChallengeSubmission submission = getSubmissionById(id, userId);
 
         if (!submission.hasFile()) {
             throw new RuntimeException("Esta solución no tiene archivo adjunto");
         }
 
-        return submission.getFileData();
+        try {
+            return new FileDownloadDTO(
+                    blobStore.load(submission.getFileBlobKey()),
+                    submission.getFileName(),
+                    submission.getFileType(),
+                    submission.getFileChecksum(),
+                    submission.getLastModifiedAt() != null
+                            ? submission.getLastModifiedAt()
+                            : submission.getSubmittedAt());
+        } catch (IOException e) {
+            throw new RuntimeException("Error al leer el archivo: " + e.getMessage());
+        }
     }
 
     @Transactional
-    public void deleteSubmission(Long id, String studentEmail) {
+    public void deleteSubmission(Long id, Long studentId) {
         ChallengeSubmission submission = submissionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Solución no encontrada"));
 
-        User student = userRepository.findByEmail(studentEmail)
-                .orElseThrow(() -> new RuntimeException("Estudiante no encontrado"));
-
-        if (!submission.getStudent().getId().equals(student.getId())) {
+        if (!submission.getStudent().getId().equals(studentId)) {
             throw new RuntimeException("No puedes eliminar esta solución");
         }
 
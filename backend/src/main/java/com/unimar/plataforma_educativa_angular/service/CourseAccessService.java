@@ -0,0 +1,118 @@
+package com.unimar.plataforma_educativa_angular.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.unimar.plataforma_educativa_angular.repositories.CourseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Responde "¿es profesor?" / "¿está inscrito?" sin cargar {@code Course.students}.
+ *
+ * El rol se obtiene con una sola consulta (EXISTS sobre course_students) y se
+ * guarda en una caché acotada con expiración por par (usuario, curso). Las
+ * inscripciones y bajas invalidan la entrada al confirmar la transacción; la
+ * expiración cubre cambios hechos fuera de {@link CourseService}.
+ */
+@Service
+public class CourseAccessService implements MeterBinder {
+
+    public enum CourseRole {
+        TEACHER, STUDENT, NONE
+    }
+
+    private record AccessKey(Long courseId, Long userId) {
+    }
+
+    private final CourseRepository courseRepository;
+    private final Cache<AccessKey, CourseRole> roles;
+
+    public CourseAccessService(
+            CourseRepository courseRepository,
+            @Value("${course.access-cache.max-size:10000}") long maxSize,
+            @Value("${course.access-cache.ttl:5m}") Duration ttl) {
+        this.courseRepository = courseRepository;
+        this.roles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Rol del usuario en el curso. Si el curso no existe devuelve NONE y no se guarda
+     * en caché, para no recordar un curso que puede crearse después con ese ID.
+     */
+    public CourseRole roleOf(Long courseId, Long userId) {
+        AccessKey key = new AccessKey(courseId, userId);
+        CourseRole cached = roles.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Optional<String> role = courseRepository.findUserRoleInCourse(courseId, userId);
+        if (role.isEmpty()) {
+            return CourseRole.NONE;
+        }
+        CourseRole resolved = CourseRole.valueOf(role.get());
+        roles.put(key, resolved);
+        return resolved;
+    }
+
+    public boolean isTeacher(Long courseId, Long userId) {
+        return roleOf(courseId, userId) == CourseRole.TEACHER;
+    }
+
+    public boolean isEnrolled(Long courseId, Long userId) {
+        return roleOf(courseId, userId) == CourseRole.STUDENT;
+    }
+
+    public boolean hasAccess(Long courseId, Long userId) {
+        return roleOf(courseId, userId) != CourseRole.NONE;
+    }
+
+    /**
+     * Olvida el rol de un usuario en un curso (inscripción, abandono o eliminación).
+     * Se borra ahora y otra vez al confirmar: una lectura concurrente entre ambos
+     * momentos todavía ve la fila anterior y podría volver a guardarla.
+     */
+    public void invalidate(Long courseId, Long userId) {
+        AccessKey key = new AccessKey(courseId, userId);
+        roles.invalidate(key);
+        afterCommit(() -> roles.invalidate(key));
+    }
+
+    /**
+     * Olvida todos los roles de un curso (por ejemplo, al eliminarlo).
+     */
+    public void invalidateCourse(Long courseId) {
+        Runnable action = () -> roles.asMap().keySet().removeIf(key -> key.courseId().equals(courseId));
+        action.run();
+        afterCommit(action);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, roles, "course-access");
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
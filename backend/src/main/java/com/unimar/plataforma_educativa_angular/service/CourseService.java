@@ -1,41 +1,75 @@
 package com.unimar.plataforma_educativa_angular.service;
 
+import com.unimar.plataforma_educativa_angular.dto.CourseDTO;
+import com.unimar.plataforma_educativa_angular.dto.CursorPageDTO;
+import com.unimar.plataforma_educativa_angular.dto.KeysetCursor;
 import com.unimar.plataforma_educativa_angular.entities.Course;
 import com.unimar.plataforma_educativa_angular.entities.User;
+import com.unimar.plataforma_educativa_angular.leaderboard.LeaderboardEngine;
 import com.unimar.plataforma_educativa_angular.repositories.CourseRepository;
 import com.unimar.plataforma_educativa_angular.repositories.UserRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Random;
-import java.util.stream.Collectors;
 
 @Service
+@Timed("service.calls")
 public class CourseService {
 
+    private static final Logger logger = LoggerFactory.getLogger(CourseService.class);
+
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
-
-    public CourseService(CourseRepository courseRepository, UserRepository userRepository) {
+    private final CourseAccessService courseAccessService;
+    private final LeaderboardEngine leaderboardEngine;
+
+    public CourseService(
+            CourseRepository courseRepository,
+            UserRepository userRepository,
+            CourseAccessService courseAccessService,
+            LeaderboardEngine leaderboardEngine) {
         this.courseRepository = courseRepository;
         this.userRepository = userRepository;
+        this.courseAccessService = courseAccessService;
+        this.leaderboardEngine = leaderboardEngine;
     }
 
-    public List<Course> getCoursesByTeacher(String teacherEmail) {
-        User teacher = userRepository.findByEmail(teacherEmail)
-                .orElseThrow(() -> new RuntimeException("Profesor no encontrado"));
-        return courseRepository.findByTeacher(teacher);
+    /**
+     * Listado de cursos del profesor, una sola consulta, hasta
+     * {@link CursorPageDTO#UNPAGED_MAX_SIZE} filas
+     */
+    public List<CourseDTO> getCourseSummariesByTeacher(Long teacherId) {
+        return courseRepository.findSummariesByTeacherId(teacherId, Limit.of(CursorPageDTO.UNPAGED_MAX_SIZE));
     }
 
-    @Transactional
-    public List<Course> getEnrolledCourses(String studentEmail) {
-        User student = userRepository.findByEmail(studentEmail)
-                .orElseThrow(() -> new RuntimeException("Estudiante no encontrado"));
+    public CursorPageDTO<CourseDTO> getCourseSummariesByTeacher(Long teacherId, String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPageDTO.clampSize(size);
+        return CursorPageDTO.of(courseRepository.findSummariesByTeacherIdAfter(
+                teacherId, after.getId(), Limit.of(pageSize + 1)),
+                pageSize, course -> KeysetCursor.encode(course.getId()));
+    }
+
+    /**
+     * Listado de cursos inscritos del estudiante, una sola consulta, hasta
+     * {@link CursorPageDTO#UNPAGED_MAX_SIZE} filas
+     */
+    public List<CourseDTO> getEnrolledCourseSummaries(Long studentId) {
+        return courseRepository.findEnrolledSummariesByStudentId(studentId, Limit.of(CursorPageDTO.UNPAGED_MAX_SIZE));
+    }
 
-        return courseRepository.findAll().stream()
-                .filter(course -> course.getStudents().contains(student))
-                .collect(Collectors.toList());
+    public CursorPageDTO<CourseDTO> getEnrolledCourseSummaries(Long studentId, String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPageDTO.clampSize(size);
+        return CursorPageDTO.of(courseRepository.findEnrolledSummariesByStudentIdAfter(
+                studentId, after.getId(), Limit.of(pageSize + 1)),
+                pageSize, course -> KeysetCursor.encode(course.getId()));
     }
 
     @Transactional
@@ -46,11 +80,11 @@ public class CourseService {
     }
 
     @Transactional
-    public Course updateCourse(Long courseId, Course courseData, String teacherEmail) {
+    public Course updateCourse(Long courseId, Course courseData, Long teacherId) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Curso no encontrado"));
 
-        if (!course.getTeacher().getEmail().equals(teacherEmail)) {
+        if (!course.getTeacher().getId().equals(teacherId)) {
             throw new RuntimeException("No tienes permiso para editar este curso");
         }
 
@@ -62,18 +96,20 @@ public class CourseService {
     }
 
     @Transactional
-    public void deleteCourse(Long courseId, String teacherEmail) {
+    public void deleteCourse(Long courseId, Long teacherId) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Curso no encontrado"));
 
-        if (!course.getTeacher().getEmail().equals(teacherEmail)) {
+        if (!course.getTeacher().getId().equals(teacherId)) {
             throw new RuntimeException("No tienes permiso para eliminar este curso");
         }
 
         courseRepository.delete(course);
+        courseAccessService.invalidateCourse(courseId);
+        leaderboardEngine.courseDeleted(courseId);
     }
 
-    private String generateUniqueCode() {
+    String generateUniqueCode() {
         String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
         Random random = new Random();
         String code;
@@ -89,44 +125,51 @@ public class CourseService {
         return code;
     }
 
+    /**
+     * Inscribe al estudiante con un INSERT en course_students; ni la comprobación ni
+     * la respuesta inicializan {@code Course.students}
+     */
     @Transactional
-    public Course joinCourse(String inviteCode, String studentEmail) {
+    public CourseDTO joinCourse(String inviteCode, Long studentId) {
         Course course = courseRepository.findByInviteCode(inviteCode)
                 .orElseThrow(() -> new RuntimeException("Código inválido"));
 
-        User student = userRepository.findByEmail(studentEmail)
+        User student = userRepository.findById(studentId)
                 .orElseThrow(() -> new RuntimeException("Estudiante no encontrado"));
 
         if (!student.getRole().name().equals("STUDENT")) {
             throw new RuntimeException("Solo los estudiantes pueden unirse a cursos");
         }
 
-        if (course.getStudents().contains(student)) {
+        if (courseAccessService.isEnrolled(course.getId(), studentId)) {
             throw new RuntimeException("Ya estás inscrito en este curso");
         }
 
-        course.getStudents().add(student);
-        return courseRepository.save(course);
+        courseRepository.addStudent(course.getId(), studentId);
+        courseAccessService.invalidate(course.getId(), studentId);
+        return courseRepository.findSummaryById(course.getId())
+                .orElseThrow(() -> new RuntimeException("Curso no encontrado"));
     }
 
     @Transactional
-    public void leaveCourse(Long courseId, String studentEmail) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Curso no encontrado"));
+    public void leaveCourse(Long courseId, Long studentId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Curso no encontrado");
+        }
 
-        User student = userRepository.findByEmail(studentEmail)
+        User student = userRepository.findById(studentId)
                 .orElseThrow(() -> new RuntimeException("Estudiante no encontrado"));
 
         if (!student.getRole().name().equals("STUDENT")) {
             throw new RuntimeException("Solo los estudiantes pueden abandonar cursos");
         }
 
-        if (!course.getStudents().contains(student)) {
+        if (!courseAccessService.isEnrolled(courseId, studentId)) {
             throw new RuntimeException("No estás inscrito en este curso");
         }
 
-        course.getStudents().remove(student);
-        courseRepository.save(course);
+        courseRepository.removeStudent(courseId, studentId);
+        courseAccessService.invalidate(courseId, studentId);
     }
 
     public Course getCourseById(Long id) {
@@ -135,47 +178,61 @@ public class CourseService {
     }
 
     /**
-     * Obtener lista de estudiantes inscritos en un curso (Profesor)
+     * Obtener lista de estudiantes inscritos en un curso (Profesor), hasta
+     * {@link CursorPageDTO#UNPAGED_MAX_SIZE} filas
      */
-    @Transactional
-    public List<User> getStudentsByCourse(Long courseId, String teacherEmail) {
+    public List<User> getStudentsByCourse(Long courseId, Long teacherId) {
+        checkTeacherCanListStudents(courseId, teacherId);
+
+        return userRepository.findStudentsByCourseIdAfter(courseId, 0L, Limit.of(CursorPageDTO.UNPAGED_MAX_SIZE));
+    }
+
+    /**
+     * Página de estudiantes del curso ordenada por ID, sin inicializar
+     * {@code Course.students}
+     */
+    public CursorPageDTO<User> getStudentsByCourse(Long courseId, Long teacherId, String cursor, Integer size) {
+        checkTeacherCanListStudents(courseId, teacherId);
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPageDTO.clampSize(size);
+        return CursorPageDTO.of(userRepository.findStudentsByCourseIdAfter(
+                courseId, after.getId(), Limit.of(pageSize + 1)),
+                pageSize, student -> KeysetCursor.encode(student.getId()));
+    }
+
+    private Course checkTeacherCanListStudents(Long courseId, Long teacherId) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Curso no encontrado"));
 
-        User teacher = userRepository.findByEmail(teacherEmail)
-                .orElseThrow(() -> new RuntimeException("Profesor no encontrado"));
-
-        if (!course.getTeacher().getId().equals(teacher.getId())) {
+        if (!course.getTeacher().getId().equals(teacherId)) {
             throw new RuntimeException("No tienes permiso para ver los estudiantes de este curso");
         }
-
-        return course.getStudents().stream().collect(Collectors.toList());
+        return course;
     }
 
     /**
      * Eliminar estudiante de un curso (Profesor)
      */
     @Transactional
-    public void removeStudentFromCourse(Long courseId, Long studentId, String teacherEmail) {
+    public void removeStudentFromCourse(Long courseId, Long studentId, Long teacherId) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Curso no encontrado"));
 
-        User teacher = userRepository.findByEmail(teacherEmail)
-                .orElseThrow(() -> new RuntimeException("Profesor no encontrado"));
-
-        if (!course.getTeacher().getId().equals(teacher.getId())) {
+        if (!course.getTeacher().getId().equals(teacherId)) {
             throw new RuntimeException("No tienes permiso para eliminar estudiantes de este curso");
         }
 
-        User student = userRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Estudiante no encontrado"));
+        if (!userRepository.existsById(studentId)) {
+            throw new RuntimeException("Estudiante no encontrado");
+        }
 
-        if (!course.getStudents().contains(student)) {
+        if (!courseAccessService.isEnrolled(courseId, studentId)) {
             throw new RuntimeException("El estudiante no está inscrito en este curso");
         }
 
-        course.getStudents().remove(student);
-        courseRepository.save(course);
+        courseRepository.removeStudent(courseId, studentId);
+        courseAccessService.invalidate(courseId, studentId);
     }
 
     // ========================================
@@ -213,21 +270,11 @@ public class CourseService {
      * Agregar o actualizar enlace de WhatsApp (Profesor)
      */
     @Transactional
-    public Course setWhatsappLink(Long courseId, String whatsappLink, String teacherEmail) {
-        System.out.println("\n========================================");
-        System.out.println("💬 CONFIGURANDO ENLACE DE WHATSAPP");
-        System.out.println("========================================");
-        System.out.println("   • Curso ID: " + courseId);
-        System.out.println("   • Profesor: " + teacherEmail);
-        System.out.println("   • Enlace: " + (whatsappLink != null ? whatsappLink : "null"));
-
+    public Course setWhatsappLink(Long courseId, String whatsappLink, Long teacherId) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Curso no encontrado"));
 
-        User teacher = userRepository.findByEmail(teacherEmail)
-                .orElseThrow(() -> new RuntimeException("Profesor no encontrado"));
-
-        if (!course.getTeacher().getId().equals(teacher.getId())) {
+        if (!course.getTeacher().getId().equals(teacherId)) {
             throw new RuntimeException("No tienes permiso para modificar este curso");
         }
 
@@ -238,9 +285,7 @@ public class CourseService {
         course.setWhatsappLink(whatsappLink != null ? whatsappLink.trim() : null);
         Course updated = courseRepository.save(course);
 
-        System.out.println("   ✅ Enlace configurado exitosamente");
-        System.out.println("   • Tiene enlace: " + updated.hasWhatsappLink());
-        System.out.println("========================================\n");
+        logger.info("Enlace de WhatsApp del curso {} configurado por el profesor {}", courseId, teacherId);
 
         return updated;
     }
@@ -249,28 +294,18 @@ public class CourseService {
      * Eliminar enlace de WhatsApp (Profesor)
      */
     @Transactional
-    public Course removeWhatsappLink(Long courseId, String teacherEmail) {
-        System.out.println("\n========================================");
-        System.out.println("🗑️ ELIMINANDO ENLACE DE WHATSAPP");
-        System.out.println("========================================");
-        System.out.println("   • Curso ID: " + courseId);
-        System.out.println("   • Profesor: " + teacherEmail);
-
+    public Course removeWhatsappLink(Long courseId, Long teacherId) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Curso no encontrado"));
 
-        User teacher = userRepository.findByEmail(teacherEmail)
-                .orElseThrow(() -> new RuntimeException("Profesor no encontrado"));
-
-        if (!course.getTeacher().getId().equals(teacher.getId())) {
+        if (!course.getTeacher().getId().equals(teacherId)) {
             throw new RuntimeException("No tienes permiso para modificar este curso");
         }
 
         course.setWhatsappLink(null);
         Course updated = courseRepository.save(course);
 
-        System.out.println("   ✅ Enlace eliminado exitosamente");
-        System.out.println("========================================\n");
+        logger.info("Enlace de WhatsApp del curso {} eliminado por el profesor {}", courseId, teacherId);
 
         return updated;
     }
@@ -278,18 +313,12 @@ public class CourseService {
     /**
      * Obtener enlace de WhatsApp (Estudiante o Profesor)
      */
-    public String getWhatsappLink(Long courseId, String userEmail) {
+    public String getWhatsappLink(Long courseId, Long userId) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Curso no encontrado"));
 
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-
         // Verificar que el usuario tenga acceso al curso
-        boolean isTeacher = course.getTeacher().getId().equals(user.getId());
-        boolean isStudent = course.getStudents().contains(user);
-
-        if (!isTeacher && !isStudent) {
+        if (!courseAccessService.hasAccess(courseId, userId)) {
             throw new RuntimeException("No tienes acceso a este curso");
         }
 
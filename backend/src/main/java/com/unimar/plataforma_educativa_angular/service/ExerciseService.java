@@ -1,8 +1,18 @@
 package com.unimar.plataforma_educativa_angular.service;
 
+import com.unimar.plataforma_educativa_angular.dto.CursorPageDTO;
+import com.unimar.plataforma_educativa_angular.dto.FileDownloadDTO;
+import com.unimar.plataforma_educativa_angular.dto.KeysetCursor;
 import com.unimar.plataforma_educativa_angular.entities.*;
 import com.unimar.plataforma_educativa_angular.repositories.*;
+import com.unimar.plataforma_educativa_angular.storage.BlobRef;
+import com.unimar.plataforma_educativa_angular.storage.BlobStore;
+import com.unimar.plataforma_educativa_angular.storage.ContentHash;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -12,19 +22,25 @@ import java.net.URL;
 import java.util.List;
 
 @Service
+@Timed("service.calls")
 public class ExerciseService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ExerciseService.class);
+
     private final ExerciseRepository exerciseRepository;
     private final CourseRepository courseRepository;
-    private final UserRepository userRepository;
+    private final BlobStore blobStore;
+    private final CourseAccessService courseAccessService;
 
     public ExerciseService(
             ExerciseRepository exerciseRepository,
             CourseRepository courseRepository,
-            UserRepository userRepository) {
+            BlobStore blobStore,
+            CourseAccessService courseAccessService) {
         this.exerciseRepository = exerciseRepository;
         this.courseRepository = courseRepository;
-        this.userRepository = userRepository;
+        this.blobStore = blobStore;
+        this.courseAccessService = courseAccessService;
     }
 
     private void validateUrl(String url) {
@@ -53,83 +69,85 @@ public class ExerciseService {
     }
 
     @Transactional
-    public Exercise createExercise(Exercise exercise, Long courseId, String teacherEmail,
+    public Exercise createExercise(Exercise exercise, Long courseId, Long teacherId,
             MultipartFile file, String externalUrl) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Curso no encontrado"));
 
-        User teacher = userRepository.findByEmail(teacherEmail)
-                .orElseThrow(() -> new RuntimeException("Profesor no encontrado"));
-
-        if (!course.getTeacher().getId().equals(teacher.getId())) {
+        if (!course.getTeacher().getId().equals(teacherId)) {
             throw new RuntimeException("No tienes permiso para agregar ejercicios a este curso");
         }
 
         if (externalUrl != null && !externalUrl.trim().isEmpty()) {
             validateUrl(externalUrl);
             exercise.setExternalUrl(externalUrl.trim());
-            System.out.println("✅ URL externa guardada: " + externalUrl.trim());
         }
 
-        // Guardar archivo como bytes en la base de datos
+        // Guardar archivo en el almacenamiento de blobs
         if (file != null && !file.isEmpty()) {
             try {
-                exercise.setFileData(file.getBytes());
-                exercise.setFileName(file.getOriginalFilename());
-                exercise.setFileType(file.getContentType());
-                System.out.println("✅ Archivo guardado: " + file.getOriginalFilename());
+                String fileName = file.getOriginalFilename();
+                BlobRef blob = blobStore.put(file.getInputStream());
+                exercise.attachFile(blob, fileName, file.getContentType());
             } catch (IOException e) {
                 throw new RuntimeException("Error al procesar el archivo: " + e.getMessage());
             }
         }
 
         if (!exercise.hasFile() && !exercise.hasExternalUrl()) {
-            System.out.println("⚠️ Advertencia: Ejercicio sin recursos (archivo o URL)");
+            logger.debug("Ejercicio sin recursos (archivo o URL)");
             // Nota: Esto es válido, algunos ejercicios pueden ser solo descripción
         }
 
         exercise.setCourse(course);
         Exercise saved = exerciseRepository.save(exercise);
 
-        System.out.println("📝 Ejercicio creado exitosamente:");
-        System.out.println("   • ID: " + saved.getId());
-        System.out.println("   • Título: " + saved.getTitle());
-        System.out.println("   • Tiene archivo: " + saved.hasFile());
-        System.out.println("   • Tiene URL: " + saved.hasExternalUrl());
-        System.out.println("   • Tipo de recurso: " + saved.getResourceType());
+        logger.info("Ejercicio {} creado (recurso: {})", saved.getId(), saved.getResourceType());
 
         return saved;
     }
 
-    public List<Exercise> getExercisesByCourse(Long courseId, String userEmail) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Curso no encontrado"));
+    /**
+     * Ejercicios de un curso: ni el usuario ni el curso se cargan para validar el acceso
+     */
+    public List<Exercise> getExercisesByCourse(Long courseId, Long userId) {
+        checkCourseAccess(courseId, userId);
 
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        return exerciseRepository.findByCourseId(courseId, Limit.of(CursorPageDTO.UNPAGED_MAX_SIZE));
+    }
 
-        boolean isTeacher = course.getTeacher().getId().equals(user.getId());
-        boolean isStudent = course.getStudents().contains(user);
+    /**
+     * Página de ejercicios del curso ordenada por ID. {@code cursor} es el
+     * {@code nextCursor} de la página anterior
+     */
+    public CursorPageDTO<Exercise> getExercisesByCourse(Long courseId, Long userId, String cursor, Integer size) {
+        checkCourseAccess(courseId, userId);
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPageDTO.clampSize(size);
+        return CursorPageDTO.of(exerciseRepository.findByCourseIdAndIdGreaterThanOrderByIdAsc(
+                courseId, after.getId(), Limit.of(pageSize + 1)),
+                pageSize, exercise -> KeysetCursor.encode(exercise.getId()));
+    }
 
-        if (!isTeacher && !isStudent) {
+    private void checkCourseAccess(Long courseId, Long userId) {
+        if (!courseAccessService.hasAccess(courseId, userId)) {
+            if (!courseRepository.existsById(courseId)) {
+                throw new RuntimeException("Curso no encontrado");
+            }
             throw new RuntimeException("No tienes acceso a este curso");
         }
-
-        return exerciseRepository.findByCourseId(courseId);
     }
 
-    public Exercise getExerciseById(Long id, String userEmail) {
+    public Exercise getExerciseById(Long id, Long userId) {
         Exercise exercise = exerciseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Ejercicio no encontrado"));
 
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-
-        Course course = exercise.getCourse();
-        boolean hasAccess = course.getTeacher().getId().equals(user.getId()) ||
-                course.getStudents().contains(user);
+        return checkAccess(exercise, userId);
+    }
 
-        if (!hasAccess) {
+    private Exercise checkAccess(Exercise exercise, Long userId) {
+        if (!courseAccessService.hasAccess(exercise.getCourse().getId(), userId)) {
             throw new RuntimeException("No tienes acceso a este ejercicio");
         }
 
@@ -137,15 +155,12 @@ public class ExerciseService {
     }
 
     @Transactional
-    public Exercise updateExercise(Long id, Exercise exerciseData, String teacherEmail,
+    public Exercise updateExercise(Long id, Exercise exerciseData, Long teacherId,
             MultipartFile file, String externalUrl) {
         Exercise exercise = exerciseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Ejercicio no encontrado"));
 
-        User teacher = userRepository.findByEmail(teacherEmail)
-                .orElseThrow(() -> new RuntimeException("Profesor no encontrado"));
-
-        if (!exercise.getCourse().getTeacher().getId().equals(teacher.getId())) {
+        if (!exercise.getCourse().getTeacher().getId().equals(teacherId)) {
             throw new RuntimeException("No tienes permiso para editar este ejercicio");
         }
 
@@ -157,22 +172,25 @@ public class ExerciseService {
             if (externalUrl.trim().isEmpty()) {
                 // Si se envía vacío, eliminar la URL
                 exercise.setExternalUrl(null);
-                System.out.println("🗑️ URL externa eliminada");
             } else {
                 // Si se envía una URL, validarla y guardarla
                 validateUrl(externalUrl);
                 exercise.setExternalUrl(externalUrl.trim());
-                System.out.println("✅ URL externa actualizada: " + externalUrl.trim());
             }
         }
 
         // Actualizar archivo si se proporciona
         if (file != null && !file.isEmpty()) {
             try {
-                exercise.setFileData(file.getBytes());
-                exercise.setFileName(file.getOriginalFilename());
-                exercise.setFileType(file.getContentType());
-                System.out.println("✅ Archivo actualizado: " + file.getOriginalFilename());
+                String fileName = file.getOriginalFilename();
+                if (ContentHash.sameContent(file, exercise.getFileSize(), exercise.getFileChecksum())) {
+                    // Mismo contenido que el archivo actual: solo cambian los metadatos
+                    exercise.setFileName(fileName);
+                    exercise.setFileType(file.getContentType());
+                } else {
+                    BlobRef blob = blobStore.put(file.getInputStream());
+                    exercise.attachFile(blob, fileName, file.getContentType());
+                }
             } catch (IOException e) {
                 throw new RuntimeException("Error al actualizar el archivo: " + e.getMessage());
             }
@@ -180,38 +198,41 @@ public class ExerciseService {
 
         Exercise updated = exerciseRepository.save(exercise);
 
-        System.out.println("📝 Ejercicio actualizado exitosamente:");
-        System.out.println("   • ID: " + updated.getId());
-        System.out.println("   • Título: " + updated.getTitle());
-        System.out.println("   • Tiene archivo: " + updated.hasFile());
-        System.out.println("   • Tiene URL: " + updated.hasExternalUrl());
-        System.out.println("   • Tipo de recurso: " + updated.getResourceType());
+        logger.info("Ejercicio {} actualizado (recurso: {})", updated.getId(), updated.getResourceType());
 
         return updated;
     }
 
     @Transactional
-    public void deleteExercise(Long id, String teacherEmail) {
+    public void deleteExercise(Long id, Long teacherId) {
         Exercise exercise = exerciseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Ejercicio no encontrado"));
 
-        User teacher = userRepository.findByEmail(teacherEmail)
-                .orElseThrow(() -> new RuntimeException("Profesor no encontrado"));
-
-        if (!exercise.getCourse().getTeacher().getId().equals(teacher.getId())) {
+        if (!exercise.getCourse().getTeacher().getId().equals(teacherId)) {
             throw new RuntimeException("No tienes permiso para eliminar este ejercicio");
         }
 
         exerciseRepository.delete(exercise);
     }
 
-    public byte[] getExerciseFile(Long id, String userEmail) {
-        Exercise exercise = getExerciseById(id, userEmail);
+    public FileDownloadDTO getExerciseDownload(Long id, Long userId) {
+        Exercise exercise = getExerciseById(id, userId);
 
         if (!exercise.hasFile()) {
             throw new RuntimeException("Este ejercicio no tiene archivo adjunto");
         }
 
-        return exercise.getFileData();
+        try {
+            return new FileDownloadDTO(
+                    blobStore.load(exercise.getFileBlobKey()),
+                    exercise.getFileName(),
+                    exercise.getFileType(),
+                    exercise.getFileChecksum(),
+                    exercise.getFileUpdatedAt() != null
+                            ? exercise.getFileUpdatedAt()
+                            : exercise.getCreatedAt());
+        } catch (IOException e) {
+            throw new RuntimeException("Error al leer el archivo: " + e.getMessage());
+        }
     }
 }
\ No newline at end of file
@@ -3,39 +3,38 @@ package com.unimar.plataforma_educativa_angular.service;
 import com.unimar.plataforma_educativa_angular.entities.*;
 import com.unimar.plataforma_educativa_angular.repositories.*;
 import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
 @Service
+@Timed("service.calls")
 public class HintService {
 
     private final HintRepository hintRepository;
     private final ExerciseRepository exerciseRepository;
-    private final UserRepository userRepository;
+    private final CourseAccessService courseAccessService;
 
     public HintService(
             HintRepository hintRepository,
             ExerciseRepository exerciseRepository,
-            UserRepository userRepository) {
+            CourseAccessService courseAccessService) {
         this.hintRepository = hintRepository;
         this.exerciseRepository = exerciseRepository;
-        this.userRepository = userRepository;
+        this.courseAccessService = courseAccessService;
     }
 
     /**
      * Crear pista (Solo profesor del curso)
      */
     @Transactional
-    public Hint createHint(Hint hint, Long exerciseId, String teacherEmail) {
+    public Hint createHint(Hint hint, Long exerciseId, Long teacherId) {
         Exercise exercise = exerciseRepository.findById(exerciseId)
                 .orElseThrow(() -> new RuntimeException("Ejercicio no encontrado"));
 
-        User teacher = userRepository.findByEmail(teacherEmail)
-                .orElseThrow(() -> new RuntimeException("Profesor no encontrado"));
-
         // Verificar que el usuario es el profesor del curso
-        if (!exercise.getCourse().getTeacher().getId().equals(teacher.getId())) {
+        if (!exercise.getCourse().getTeacher().getId().equals(teacherId)) {
             throw new RuntimeException("No tienes permiso para agregar pistas a este ejercicio");
         }
 
@@ -46,38 +45,32 @@ public class HintService {
     /**
      * Obtener pistas de un ejercicio
      */
-    public List<Hint> getHintsByExercise(Long exerciseId, String userEmail) {
+    public List<Hint> getHintsByExercise(Long exerciseId, Long userId) {
         Exercise exercise = exerciseRepository.findById(exerciseId)
                 .orElseThrow(() -> new RuntimeException("Ejercicio no encontrado"));
 
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        return getHintsByExercise(exercise, userId);
+    }
 
+    private List<Hint> getHintsByExercise(Exercise exercise, Long userId) {
         // Verificar que el usuario tiene acceso al curso
-        Course course = exercise.getCourse();
-        boolean hasAccess = course.getTeacher().getId().equals(user.getId()) ||
-                course.getStudents().contains(user);
-
-        if (!hasAccess) {
+        if (!courseAccessService.hasAccess(exercise.getCourse().getId(), userId)) {
             throw new RuntimeException("No tienes acceso a este ejercicio");
         }
 
-        return hintRepository.findByExerciseIdOrderByOrderAsc(exerciseId);
+        return hintRepository.findByExerciseIdOrderByOrderAsc(exercise.getId());
     }
 
     /**
      * Actualizar pista
      */
     @Transactional
-    public Hint updateHint(Long id, Hint hintData, String teacherEmail) {
+    public Hint updateHint(Long id, Hint hintData, Long teacherId) {
         Hint hint = hintRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Pista no encontrada"));
 
-        User teacher = userRepository.findByEmail(teacherEmail)
-                .orElseThrow(() -> new RuntimeException("Profesor no encontrado"));
-
         // Verificar permisos
-        if (!hint.getExercise().getCourse().getTeacher().getId().equals(teacher.getId())) {
+        if (!hint.getExercise().getCourse().getTeacher().getId().equals(teacherId)) {
             throw new RuntimeException("No tienes permiso para editar esta pista");
         }
 
@@ -91,15 +84,12 @@ public class HintService {
      * Eliminar pista
      */
     @Transactional
-    public void deleteHint(Long id, String teacherEmail) {
+    public void deleteHint(Long id, Long teacherId) {
         Hint hint = hintRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Pista no encontrada"));
 
-        User teacher = userRepository.findByEmail(teacherEmail)
-                .orElseThrow(() -> new RuntimeException("Profesor no encontrado"));
-
         // Verificar permisos
-        if (!hint.getExercise().getCourse().getTeacher().getId().equals(teacher.getId())) {
+        if (!hint.getExercise().getCourse().getTeacher().getId().equals(teacherId)) {
             throw new RuntimeException("No tienes permiso para eliminar esta pista");
         }
 
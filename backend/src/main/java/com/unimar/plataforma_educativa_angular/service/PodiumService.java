@@ -1,106 +1,75 @@
 package com.unimar.plataforma_educativa_angular.service;
 
 import com.unimar.plataforma_educativa_angular.dto.PodiumDTO;
+import com.unimar.plataforma_educativa_angular.dto.StudentPositionDTO;
 import com.unimar.plataforma_educativa_angular.entities.Course;
-import com.unimar.plataforma_educativa_angular.entities.StudentScore;
 import com.unimar.plataforma_educativa_angular.entities.User;
+import com.unimar.plataforma_educativa_angular.leaderboard.LeaderboardEngine;
+import com.unimar.plataforma_educativa_angular.leaderboard.LeaderboardEntry;
+import com.unimar.plataforma_educativa_angular.leaderboard.LeaderboardPosition;
 import com.unimar.plataforma_educativa_angular.repositories.CourseRepository;
-import com.unimar.plataforma_educativa_angular.repositories.StudentScoreRepository;
 import com.unimar.plataforma_educativa_angular.repositories.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("service.calls")
 public class PodiumService {
 
-    private final StudentScoreRepository studentScoreRepository;
+    private static final Logger logger = LoggerFactory.getLogger(PodiumService.class);
+    private static final int PODIUM_SIZE = 10;
+
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
+    private final LeaderboardEngine leaderboardEngine;
+    private final CourseAccessService courseAccessService;
 
     public PodiumService(
-            StudentScoreRepository studentScoreRepository,
             CourseRepository courseRepository,
-            UserRepository userRepository) {
-        this.studentScoreRepository = studentScoreRepository;
+            UserRepository userRepository,
+            LeaderboardEngine leaderboardEngine,
+            CourseAccessService courseAccessService) {
         this.courseRepository = courseRepository;
         this.userRepository = userRepository;
+        this.leaderboardEngine = leaderboardEngine;
+        this.courseAccessService = courseAccessService;
     }
 
     /**
-     * Obtener podio de un curso específico
+     * Podio de un curso para el usuario autenticado (ID ya resuelto por el filtro JWT)
      */
-    public List<PodiumDTO> getPodiumByCourse(Long courseId, String userEmail) {
-        System.out.println("\n========================================");
-        System.out.println("🏆 OBTENIENDO PODIO DEL CURSO");
-        System.out.println("========================================");
-        System.out.println("   Course ID: " + courseId);
-        System.out.println("   Usuario: " + userEmail);
-
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> {
-                    System.err.println("❌ Curso no encontrado con ID: " + courseId);
-                    return new RuntimeException("Curso no encontrado");
-                });
-
-        System.out.println("   ✅ Curso encontrado: " + course.getTitle());
-
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> {
-                    System.err.println("❌ Usuario no encontrado: " + userEmail);
-                    return new RuntimeException("Usuario no encontrado");
-                });
-
-        System.out.println("   ✅ Usuario encontrado: " + user.getNombre() + " (" + user.getRole() + ")");
-
+    public List<PodiumDTO> getPodiumByCourse(Long courseId, Long userId) {
         // Verificar acceso
-        boolean hasAccess = course.getTeacher().getId().equals(user.getId()) ||
-                course.getStudents().contains(user);
-
-        System.out.println("   🔐 Verificando acceso:");
-        System.out.println("      • Es profesor: " + course.getTeacher().getId().equals(user.getId()));
-        System.out.println("      • Es estudiante: " + course.getStudents().contains(user));
-        System.out.println("      • Tiene acceso: " + hasAccess);
+        CourseAccessService.CourseRole role = courseAccessService.roleOf(courseId, userId);
 
-        if (!hasAccess) {
-            System.err.println("❌ No tienes acceso a este curso");
+        if (role == CourseAccessService.CourseRole.NONE) {
+            if (!courseRepository.existsById(courseId)) {
+                throw new RuntimeException("Curso no encontrado");
+            }
+            logger.debug("Usuario {} sin acceso al podio del curso {}", userId, courseId);
             throw new RuntimeException("No tienes acceso a este curso");
         }
 
-        System.out.println("\n   📊 Consultando student_scores...");
-        List<StudentScore> topScores = studentScoreRepository.findTopStudentsByCourseId(courseId);
-
-        System.out.println("   📋 Resultados de la consulta:");
-        System.out.println("      • Registros encontrados: " + topScores.size());
+        // Ranking en memoria: solo las primeras filas, sin consultar student_scores
+        List<LeaderboardEntry> top = leaderboardEngine.top(courseId, PODIUM_SIZE);
 
-        if (topScores.isEmpty()) {
-            System.out.println("      ⚠️ No hay registros en student_scores para este curso");
-            System.out.println("========================================\n");
+        if (top.isEmpty()) {
             return new ArrayList<>();
         }
 
-        // Mostrar top 3
-        System.out.println("\n   🏅 Top 3 estudiantes:");
-        topScores.stream().limit(3).forEach(score -> {
-            System.out.println("      • " + score.getStudent().getNombre() +
-                    ": " + score.getTotalBonusPoints() + " XP, " +
-                    score.getChallengesCompleted() + " retos");
-        });
-
-        // Limitar a los primeros 10 estudiantes
-        List<StudentScore> top10 = topScores.stream()
-                .limit(10)
-                .collect(Collectors.toList());
-
         List<PodiumDTO> podium = new ArrayList<>();
-        for (int i = 0; i < top10.size(); i++) {
-            podium.add(new PodiumDTO(top10.get(i), i + 1));
+        for (int i = 0; i < top.size(); i++) {
+            podium.add(new PodiumDTO(top.get(i), i + 1));
         }
 
-        System.out.println("\n   ✅ Podio generado con " + podium.size() + " estudiantes");
-        System.out.println("========================================\n");
+        logger.debug("Podio del curso {} con {} estudiantes", courseId, podium.size());
 
         return podium;
     }
@@ -108,39 +77,20 @@ public class PodiumService {
     /**
      * Obtener podio por nivel de curso
      */
-    public List<PodiumDTO> getPodiumByLevel(String level, String userEmail) {
-        System.out.println("\n🏆 Obteniendo podio por nivel: " + level);
-
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-
-        List<Course> coursesOfLevel = courseRepository.findAll().stream()
-                .filter(course -> course.getLevel().equalsIgnoreCase(level))
-                .filter(course -> course.getTeacher().getId().equals(user.getId()) ||
-                        course.getStudents().contains(user))
-                .collect(Collectors.toList());
+    public List<PodiumDTO> getPodiumByLevel(String level, Long userId) {
+        List<Course> coursesOfLevel = courseRepository.findByLevelForUser(level, userId);
 
         if (coursesOfLevel.isEmpty()) {
-            System.out.println("⚠️ No tienes acceso a cursos de nivel " + level);
             throw new RuntimeException("No tienes acceso a cursos de nivel " + level);
         }
 
-        System.out.println("✅ Cursos de nivel " + level + " encontrados: " + coursesOfLevel.size());
-
-        List<StudentScore> allScores = new ArrayList<>();
-        for (Course course : coursesOfLevel) {
-            allScores.addAll(studentScoreRepository.findByCourseId(course.getId()));
-        }
-
-        List<StudentScore> sortedScores = allScores.stream()
-                .sorted((s1, s2) -> {
-                    int pointsComparison = s2.getTotalBonusPoints().compareTo(s1.getTotalBonusPoints());
-                    if (pointsComparison != 0) {
-                        return pointsComparison;
-                    }
-                    return s2.getChallengesCompleted().compareTo(s1.getChallengesCompleted());
-                })
-                .limit(10)
+        // Basta con el top de cada curso: el top general sale de mezclar esas listas
+        List<LeaderboardEntry> sortedScores = coursesOfLevel.stream()
+                .flatMap(course -> leaderboardEngine.top(course.getId(), PODIUM_SIZE).stream())
+                .sorted(Comparator
+                        .comparing(LeaderboardEntry::getTotalBonusPoints, Comparator.reverseOrder())
+                        .thenComparing(LeaderboardEntry::getChallengesCompleted, Comparator.reverseOrder()))
+                .limit(PODIUM_SIZE)
                 .collect(Collectors.toList());
 
         List<PodiumDTO> podium = new ArrayList<>();
@@ -148,37 +98,31 @@ public class PodiumService {
             podium.add(new PodiumDTO(sortedScores.get(i), i + 1));
         }
 
-        System.out.println("✅ Podio por nivel generado con " + podium.size() + " estudiantes\n");
+        logger.debug("Podio del nivel {} con {} estudiantes de {} cursos", level, podium.size(),
+                coursesOfLevel.size());
 
         return podium;
     }
 
     /**
-     * Obtener posición de un estudiante en el podio
+     * Posición del estudiante autenticado. El usuario solo se carga si todavía no
+     * tiene puntos (la respuesta lleva su nombre y no hay fila en el ranking)
      */
-    public PodiumDTO getStudentPosition(Long courseId, String studentEmail) {
-        System.out.println("\n📍 Obteniendo posición del estudiante en el podio");
-        System.out.println("   Course ID: " + courseId);
-        System.out.println("   Estudiante: " + studentEmail);
-
-        User student = userRepository.findByEmail(studentEmail)
-                .orElseThrow(() -> new RuntimeException("Estudiante no encontrado"));
-
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Curso no encontrado"));
-
-        if (!course.getStudents().contains(student)) {
-            System.err.println("❌ No estás inscrito en este curso");
+    public StudentPositionDTO getStudentPosition(Long courseId, Long studentId) {
+        if (!courseAccessService.isEnrolled(courseId, studentId)) {
+            if (!courseRepository.existsById(courseId)) {
+                throw new RuntimeException("Curso no encontrado");
+            }
             throw new RuntimeException("No estás inscrito en este curso");
         }
 
-        StudentScore studentScore = studentScoreRepository
-                .findByStudentIdAndCourseId(student.getId(), courseId)
-                .orElse(null);
+        // Posición y vecinos desde el ranking en memoria: O(log n), sin recorrer la lista
+        LeaderboardPosition ranking = leaderboardEngine.position(courseId, studentId);
 
-        if (studentScore == null || studentScore.getTotalBonusPoints() == 0) {
-            System.out.println("⚠️ El estudiante no tiene puntos aún");
-            PodiumDTO dto = new PodiumDTO();
+        if (ranking == null || ranking.getEntry().getTotalBonusPoints() == 0) {
+            User student = userRepository.findById(studentId)
+                    .orElseThrow(() -> new RuntimeException("Estudiante no encontrado"));
+            StudentPositionDTO dto = new StudentPositionDTO();
             dto.setStudentId(student.getId());
             dto.setStudentName(student.getNombre());
             dto.setStudentEmail(student.getEmail());
@@ -188,18 +132,6 @@ public class PodiumService {
             return dto;
         }
 
-        List<StudentScore> topScores = studentScoreRepository.findTopStudentsByCourseId(courseId);
-
-        int position = -1;
-        for (int i = 0; i < topScores.size(); i++) {
-            if (topScores.get(i).getStudent().getId().equals(student.getId())) {
-                position = i + 1;
-                break;
-            }
-        }
-
-        System.out.println("✅ Posición del estudiante: " + position);
-
-        return new PodiumDTO(studentScore, position);
+        return new StudentPositionDTO(ranking);
     }
 }
\ No newline at end of file
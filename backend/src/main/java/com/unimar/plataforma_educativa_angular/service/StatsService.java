@@ -4,132 +4,66 @@ import com.unimar.plataforma_educativa_angular.dto.StudentStatsDTO;
 import com.unimar.plataforma_educativa_angular.dto.TeacherStatsDTO;
 import com.unimar.plataforma_educativa_angular.entities.*;
 import com.unimar.plataforma_educativa_angular.repositories.*;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
+@Timed("service.calls")
 public class StatsService {
 
-    private final UserRepository userRepository;
     private final CourseRepository courseRepository;
     private final ExerciseRepository exerciseRepository;
     private final ChallengeRepository challengeRepository;
     private final SubmissionRepository submissionRepository;
     private final ChallengeSubmissionRepository challengeSubmissionRepository;
     private final StudentScoreRepository studentScoreRepository;
+    private final CourseAccessService courseAccessService;
 
     public StatsService(
-            UserRepository userRepository,
             CourseRepository courseRepository,
             ExerciseRepository exerciseRepository,
             ChallengeRepository challengeRepository,
             SubmissionRepository submissionRepository,
             ChallengeSubmissionRepository challengeSubmissionRepository,
-            StudentScoreRepository studentScoreRepository) {
-        this.userRepository = userRepository;
+            StudentScoreRepository studentScoreRepository,
+            CourseAccessService courseAccessService) {
         this.courseRepository = courseRepository;
         this.exerciseRepository = exerciseRepository;
         this.challengeRepository = challengeRepository;
         this.submissionRepository = submissionRepository;
         this.challengeSubmissionRepository = challengeSubmissionRepository;
         this.studentScoreRepository = studentScoreRepository;
+        this.courseAccessService = courseAccessService;
     }
 
     // ========================================
     // ✅ ESTADÍSTICAS DEL PROFESOR
     // ========================================
-    public TeacherStatsDTO getTeacherStats(String teacherEmail) {
-        User teacher = userRepository.findByEmail(teacherEmail)
-                .orElseThrow(() -> new RuntimeException("Profesor no encontrado"));
-
-        // Obtener todos los cursos del profesor
-        List<Course> courses = courseRepository.findByTeacher(teacher);
-        int totalCourses = courses.size();
-
-        // Obtener estudiantes únicos (sin duplicados)
-        Set<User> uniqueStudents = new HashSet<>();
-        for (Course course : courses) {
-            uniqueStudents.addAll(course.getStudents());
-        }
-        int totalStudents = uniqueStudents.size();
-
-        // Contar ejercicios totales
-        int totalExercises = 0;
-        for (Course course : courses) {
-            totalExercises += exerciseRepository.countByCourseId(course.getId());
-        }
-
-        // Contar retos totales
-        int totalChallenges = 0;
-        for (Course course : courses) {
-            totalChallenges += challengeRepository.countByCourseId(course.getId());
-        }
-
-        // Contar entregas pendientes (sin calificar)
-        int pendingSubmissions = 0;
-        for (Course course : courses) {
-            List<Exercise> exercises = exerciseRepository.findByCourseId(course.getId());
-            for (Exercise exercise : exercises) {
-                pendingSubmissions += submissionRepository.findByExercise(exercise).stream()
-                        .filter(s -> s.getStatus() == Submission.SubmissionStatus.PENDING)
-                        .count();
-            }
-        }
-
-        // Contar soluciones de retos pendientes
-        int pendingChallengeReviews = 0;
-        for (Course course : courses) {
-            List<Challenge> challenges = challengeRepository.findByCourseId(course.getId());
-            for (Challenge challenge : challenges) {
-                pendingChallengeReviews += challengeSubmissionRepository.findByChallenge(challenge).stream()
-                        .filter(s -> s.getStatus() == ChallengeSubmission.SubmissionStatus.PENDING)
-                        .count();
-            }
-        }
-
-        return new TeacherStatsDTO(
-                totalCourses,
-                totalStudents,
-                totalExercises,
-                totalChallenges,
-                pendingSubmissions,
-                pendingChallengeReviews);
+    public TeacherStatsDTO getTeacherStats(Long teacherId) {
+        // Cursos, estudiantes únicos, ejercicios, retos y pendientes: una sola consulta
+        // con COUNT agregados, sin cargar cursos, entregas ni archivos en memoria
+        return courseRepository.getTeacherStats(teacherId);
     }
 
     // ========================================
     // ✅ ESTADÍSTICAS DEL ESTUDIANTE
     // ========================================
-    public StudentStatsDTO getStudentStats(String studentEmail) {
-        User student = userRepository.findByEmail(studentEmail)
-                .orElseThrow(() -> new RuntimeException("Estudiante no encontrado"));
-
+    public StudentStatsDTO getStudentStats(Long studentId) {
         // Cursos en los que está inscrito
-        List<Course> enrolledCourses = courseRepository.findAll().stream()
-                .filter(course -> course.getStudents().contains(student))
-                .collect(Collectors.toList());
-        int totalEnrolledCourses = enrolledCourses.size();
+        int totalEnrolledCourses = (int) courseRepository.countEnrolledByStudentId(studentId);
 
         // XP total acumulado en todos los cursos
-        int totalXP = 0;
-        for (Course course : enrolledCourses) {
-            Optional<StudentScore> scoreOpt = studentScoreRepository
-                    .findByStudentIdAndCourseId(student.getId(), course.getId());
-            if (scoreOpt.isPresent()) {
-                totalXP += scoreOpt.get().getTotalBonusPoints();
-            }
-        }
+        int totalXP = (int) studentScoreRepository.sumPointsInEnrolledCourses(studentId);
 
         // Ejercicios completados (calificados)
-        long completedExercises = submissionRepository.findByStudent(student).stream()
-                .filter(s -> s.getStatus() == Submission.SubmissionStatus.GRADED)
-                .count();
+        long completedExercises = submissionRepository
+                .countByStudentIdAndStatus(studentId, Submission.SubmissionStatus.GRADED);
 
         // Retos completados (revisados con bonificación)
-        long completedChallenges = challengeSubmissionRepository.findByStudent(student).stream()
-                .filter(s -> s.getStatus() == ChallengeSubmission.SubmissionStatus.REVIEWED)
-                .count();
+        long completedChallenges = challengeSubmissionRepository
+                .countByStudentIdAndStatus(studentId, ChallengeSubmission.SubmissionStatus.REVIEWED);
 
         return new StudentStatsDTO(
                 totalEnrolledCourses,
@@ -141,14 +75,11 @@ public class StatsService {
     // ========================================
     // ✅ PROGRESO EN UN CURSO ESPECÍFICO
     // ========================================
-    public Map<String, Object> getCourseProgress(Long courseId, String studentEmail) {
+    public Map<String, Object> getCourseProgress(Long courseId, Long studentId) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new RuntimeException("Curso no encontrado"));
 
-        User student = userRepository.findByEmail(studentEmail)
-                .orElseThrow(() -> new RuntimeException("Estudiante no encontrado"));
-
-        if (!course.getStudents().contains(student)) {
+        if (!courseAccessService.isEnrolled(courseId, studentId)) {
             throw new RuntimeException("No estás inscrito en este curso");
         }
 
@@ -158,15 +89,11 @@ public class StatsService {
         int totalActivities = totalExercises + totalChallenges;
 
         // Actividades completadas
-        long completedExercises = submissionRepository.findByStudent(student).stream()
-                .filter(s -> s.getExercise().getCourse().getId().equals(courseId))
-                .filter(s -> s.getStatus() == Submission.SubmissionStatus.GRADED)
-                .count();
+        long completedExercises = submissionRepository.countByStudentIdAndExerciseCourseIdAndStatus(
+                studentId, courseId, Submission.SubmissionStatus.GRADED);
 
-        long completedChallenges = challengeSubmissionRepository.findByStudent(student).stream()
-                .filter(s -> s.getChallenge().getCourse().getId().equals(courseId))
-                .filter(s -> s.getStatus() == ChallengeSubmission.SubmissionStatus.REVIEWED)
-                .count();
+        long completedChallenges = challengeSubmissionRepository.countByStudentIdAndChallengeCourseIdAndStatus(
+                studentId, courseId, ChallengeSubmission.SubmissionStatus.REVIEWED);
 
         int completedActivities = (int) (completedExercises + completedChallenges);
 
@@ -178,7 +105,7 @@ public class StatsService {
         // XP ganado en este curso
         int earnedXP = 0;
         Optional<StudentScore> scoreOpt = studentScoreRepository
-                .findByStudentIdAndCourseId(student.getId(), courseId);
+                .findByStudentIdAndCourseId(studentId, courseId);
         if (scoreOpt.isPresent()) {
             earnedXP = scoreOpt.get().getTotalBonusPoints();
         }
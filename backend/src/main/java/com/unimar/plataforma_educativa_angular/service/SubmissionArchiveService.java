@@ -0,0 +1,140 @@
+package com.unimar.plataforma_educativa_angular.service;
+
+import com.unimar.plataforma_educativa_angular.dto.ArchiveEntryDTO;
+import com.unimar.plataforma_educativa_angular.storage.BlobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Escribe el ZIP con todas las entregas de un ejercicio o reto.
+ *
+ * Los archivos se copian uno a uno desde el {@link BlobStore} al stream de la
+ * respuesta, así que la memoria usada no depende del tamaño ni del número de
+ * entregas. La primera entrada es {@code manifiesto.csv} con una fila por
+ * estudiante (incluidos los que no adjuntaron archivo).
+ */
+@Service
+@Timed("service.calls")
+public class SubmissionArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionArchiveService.class);
+
+    static final String MANIFEST_NAME = "manifiesto.csv";
+
+    private final BlobStore blobStore;
+
+    public SubmissionArchiveService(BlobStore blobStore) {
+        this.blobStore = blobStore;
+    }
+
+    /**
+     * @param scoreHeader encabezado de la columna de puntaje en el manifiesto
+     *                    ("calificacion" o "bonificacion")
+     */
+    public void writeArchive(List<ArchiveEntryDTO> entries, String scoreHeader, OutputStream out)
+            throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        Set<String> usedNames = new HashSet<>();
+
+        String[] entryNames = new String[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            ArchiveEntryDTO entry = entries.get(i);
+            if (entry.hasFile()) {
+                entryNames[i] = uniqueName(entryName(entry), usedNames);
+            }
+        }
+
+        zip.putNextEntry(new ZipEntry(MANIFEST_NAME));
+        zip.write(manifest(entries, entryNames, scoreHeader).getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+
+        for (int i = 0; i < entries.size(); i++) {
+            if (entryNames[i] == null) {
+                continue;
+            }
+            InputStream in;
+            try {
+                in = blobStore.open(entries.get(i).getFileBlobKey());
+            } catch (IOException e) {
+                // La respuesta ya empezó: se omite el archivo y se sigue con el resto
+                logger.warn("No se pudo leer {} para el ZIP: {}", entryNames[i], e.getMessage());
+                continue;
+            }
+            try (in) {
+                zip.putNextEntry(new ZipEntry(entryNames[i]));
+                in.transferTo(zip);
+                zip.closeEntry();
+            }
+        }
+
+        // finish() y no close(): el stream de la respuesta lo cierra el contenedor
+        zip.finish();
+        zip.flush();
+    }
+
+    private static String entryName(ArchiveEntryDTO entry) {
+        String student = entry.getStudentName() + " (" + entry.getStudentEmail() + ")";
+        String fileName = entry.getFileName() != null ? entry.getFileName() : "archivo";
+        return sanitize(student) + "/" + sanitize(fileName);
+    }
+
+    private static String uniqueName(String name, Set<String> usedNames) {
+        String candidate = name;
+        int dot = name.lastIndexOf('.');
+        int slash = name.lastIndexOf('/');
+        String base = dot > slash ? name.substring(0, dot) : name;
+        String extension = dot > slash ? name.substring(dot) : "";
+        for (int n = 2; !usedNames.add(candidate); n++) {
+            candidate = base + " (" + n + ")" + extension;
+        }
+        return candidate;
+    }
+
+    // Quita separadores de ruta y caracteres que Windows no acepta en nombres de archivo
+    static String sanitize(String value) {
+        String cleaned = value.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").trim();
+        return cleaned.isEmpty() || cleaned.equals(".") || cleaned.equals("..") ? "_" : cleaned;
+    }
+
+    private static String manifest(List<ArchiveEntryDTO> entries, String[] entryNames, String scoreHeader) {
+        StringBuilder csv = new StringBuilder();
+        csv.append("estudiante,email,archivo,tamano_bytes,estado,")
+                .append(scoreHeader)
+                .append(",entregado,retroalimentacion\r\n");
+        for (int i = 0; i < entries.size(); i++) {
+            ArchiveEntryDTO entry = entries.get(i);
+            csv.append(csvField(entry.getStudentName())).append(',')
+                    .append(csvField(entry.getStudentEmail())).append(',')
+                    .append(csvField(entryNames[i])).append(',')
+                    .append(csvField(entry.getFileSize())).append(',')
+                    .append(csvField(entry.getStatus())).append(',')
+                    .append(csvField(entry.getScore())).append(',')
+                    .append(csvField(entry.getSubmittedAt())).append(',')
+                    .append(csvField(entry.getFeedback())).append("\r\n");
+        }
+        return csv.toString();
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -1,8 +1,18 @@
 package com.unimar.plataforma_educativa_angular.service;
 
+import com.unimar.plataforma_educativa_angular.dto.ArchiveEntryDTO;
+import com.unimar.plataforma_educativa_angular.dto.CursorPageDTO;
+import com.unimar.plataforma_educativa_angular.dto.FileDownloadDTO;
+import com.unimar.plataforma_educativa_angular.dto.KeysetCursor;
+import com.unimar.plataforma_educativa_angular.dto.SubmissionDTO;
 import com.unimar.plataforma_educativa_angular.entities.*;
 import com.unimar.plataforma_educativa_angular.repositories.*;
+import com.unimar.plataforma_educativa_angular.storage.BlobRef;
+import com.unimar.plataforma_educativa_angular.storage.BlobStore;
+import com.unimar.plataforma_educativa_angular.storage.ContentHash;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -11,45 +21,110 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
+@Timed("service.calls")
 public class SubmissionService {
 
+    private static final String UPLOAD_IN_PROGRESS =
+            "La entrega aún se está guardando. Intenta de nuevo en unos segundos";
+
     private final SubmissionRepository submissionRepository;
     private final ExerciseRepository exerciseRepository;
     private final UserRepository userRepository;
+    private final BlobStore blobStore;
+    private final CourseAccessService courseAccessService;
 
     public SubmissionService(
             SubmissionRepository submissionRepository,
             ExerciseRepository exerciseRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            BlobStore blobStore,
+            CourseAccessService courseAccessService) {
         this.submissionRepository = submissionRepository;
         this.exerciseRepository = exerciseRepository;
         this.userRepository = userRepository;
+        this.blobStore = blobStore;
+        this.courseAccessService = courseAccessService;
     }
 
     /**
      * Subir entrega (Estudiante)
-     * La entrega queda inmediatamente disponible para el profesor
+     * Registra la entrega en PENDING_UPLOAD; el archivo se guarda en segundo plano (ver
+     * SubmissionUploadService) y entonces queda disponible para el profesor
      */
     @Transactional
-    public Submission submitExercise(Long exerciseId, String studentEmail, MultipartFile file) {
-        // Validar archivo
-        if (file == null || file.isEmpty()) {
-            throw new RuntimeException("Debes seleccionar un archivo para subir la entrega");
+    public Submission createPendingUpload(Long exerciseId, Long studentId, String fileName, String fileType) {
+        Submission submission = newSubmission(exerciseId, studentId);
+        submission.setStatus(Submission.SubmissionStatus.PENDING_UPLOAD);
+        submission.setFileName(fileName);
+        submission.setFileType(fileType);
+
+        return submissionRepository.save(submission);
+    }
+
+    /**
+     * Adjuntar el archivo guardado en segundo plano. {@code false} si la entrega ya no
+     * espera su archivo (se eliminó mientras tanto)
+     */
+    @Transactional
+    public boolean completeUpload(Long submissionId, BlobRef blob) {
+        Submission submission = submissionRepository.findById(submissionId).orElse(null);
+        if (submission == null || submission.getStatus() != Submission.SubmissionStatus.PENDING_UPLOAD) {
+            return false;
         }
 
+        submission.attachFile(blob, submission.getFileName(), submission.getFileType());
+        submission.setStatus(Submission.SubmissionStatus.PENDING);
+        submissionRepository.save(submission);
+        return true;
+    }
+
+    /**
+     * Marcar que el archivo de la entrega no se pudo guardar
+     */
+    @Transactional
+    public void failUpload(Long submissionId) {
+        submissionRepository.findById(submissionId)
+                .filter(submission -> submission.getStatus() == Submission.SubmissionStatus.PENDING_UPLOAD)
+                .ifPresent(submission -> {
+                    submission.setStatus(Submission.SubmissionStatus.UPLOAD_FAILED);
+                    submissionRepository.save(submission);
+                });
+    }
+
+    /**
+     * Entregas con el archivo aún por guardar
+     */
+    public List<Long> getPendingUploadIds() {
+        return submissionRepository.findIdsByStatus(Submission.SubmissionStatus.PENDING_UPLOAD);
+    }
+
+    /**
+     * Entregas con el archivo aún por guardar y sin cambios desde {@code before}
+     */
+    public List<Long> getPendingUploadIdsBefore(LocalDateTime before) {
+        return submissionRepository.findIdsByStatusAndLastModifiedAtBefore(
+                Submission.SubmissionStatus.PENDING_UPLOAD, before);
+    }
+
+    /**
+     * Estado de una entrega para el estudiante que la subió o el profesor del curso
+     */
+    public Submission.SubmissionStatus getStatus(Long id, Long userId) {
+        return submissionRepository.findStatusVisibleTo(id, userId)
+                .orElseThrow(() -> new RuntimeException("Entrega no encontrada"));
+    }
+
+    private Submission newSubmission(Long exerciseId, Long studentId) {
         Exercise exercise = exerciseRepository.findById(exerciseId)
                 .orElseThrow(() -> new RuntimeException("Ejercicio no encontrado"));
 
-        User student = userRepository.findByEmail(studentEmail)
-                .orElseThrow(() -> new RuntimeException("Estudiante no encontrado"));
-
         // Validar que esté inscrito
-        if (!exercise.getCourse().getStudents().contains(student)) {
+        if (!courseAccessService.isEnrolled(exercise.getCourse().getId(), studentId)) {
             throw new RuntimeException("No estás inscrito en este curso");
         }
 
         // Validar que no haya entregado antes
-        if (submissionRepository.existsByExerciseIdAndStudentId(exerciseId, student.getId())) {
+        if (submissionRepository.existsByExerciseIdAndStudentId(exerciseId, studentId)) {
             throw new RuntimeException("Ya has entregado este ejercicio. Usa la opción 'Editar' para actualizarlo");
         }
 
@@ -60,19 +135,11 @@ public class SubmissionService {
 
         Submission submission = new Submission();
         submission.setExercise(exercise);
-        submission.setStudent(student);
+        // Si está inscrito, el estudiante existe: basta la referencia, sin cargarlo
+        submission.setStudent(userRepository.getReferenceById(studentId));
         submission.setStatus(Submission.SubmissionStatus.PENDING);
         submission.setEditCount(0);
-
-        try {
-            submission.setFileData(file.getBytes());
-            submission.setFileName(file.getOriginalFilename());
-            submission.setFileType(file.getContentType());
-        } catch (IOException e) {
-            throw new RuntimeException("Error al procesar el archivo: " + e.getMessage());
-        }
-
-        return submissionRepository.save(submission);
+        return submission;
     }
 
     /**
@@ -80,7 +147,7 @@ public class SubmissionService {
      * Solo si no ha sido calificada y está dentro del plazo
      */
     @Transactional
-    public Submission updateSubmission(Long submissionId, String studentEmail, MultipartFile file) {
+    public Submission updateSubmission(Long submissionId, Long studentId, MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new RuntimeException("Debes seleccionar un archivo para actualizar la entrega");
         }
@@ -88,13 +155,15 @@ public class SubmissionService {
         Submission submission = submissionRepository.findById(submissionId)
                 .orElseThrow(() -> new RuntimeException("Entrega no encontrada"));
 
-        User student = userRepository.findByEmail(studentEmail)
-                .orElseThrow(() -> new RuntimeException("Estudiante no encontrado"));
-
-        if (!submission.getStudent().getId().equals(student.getId())) {
+        if (!submission.getStudent().getId().equals(studentId)) {
             throw new RuntimeException("No puedes editar esta entrega");
         }
 
+        // El guardado en segundo plano reemplazaría el archivo nuevo con el anterior
+        if (submission.getStatus() == Submission.SubmissionStatus.PENDING_UPLOAD) {
+            throw new RuntimeException(UPLOAD_IN_PROGRESS);
+        }
+
         if (!submission.canBeEdited()) {
             if (submission.getStatus() == Submission.SubmissionStatus.GRADED) {
                 throw new RuntimeException("No puedes editar una entrega que ya fue calificada");
@@ -107,9 +176,17 @@ public class SubmissionService {
         }
 
         try {
-            submission.setFileData(file.getBytes());
-            submission.setFileName(file.getOriginalFilename());
-            submission.setFileType(file.getContentType());
+            if (ContentHash.sameContent(file, submission.getFileSize(), submission.getFileChecksum())) {
+                // Mismo contenido que el archivo actual: solo cambian los metadatos, no se escribe nada
+                submission.setFileName(file.getOriginalFilename());
+                submission.setFileType(file.getContentType());
+            } else {
+                BlobRef blob = blobStore.put(file.getInputStream());
+                submission.attachFile(blob, file.getOriginalFilename(), file.getContentType());
+            }
+            if (submission.getStatus() == Submission.SubmissionStatus.UPLOAD_FAILED) {
+                submission.setStatus(Submission.SubmissionStatus.PENDING);
+            }
             submission.setEditCount(submission.getEditCount() + 1);
             submission.setLastModifiedAt(LocalDateTime.now());
         } catch (IOException e) {
@@ -123,44 +200,89 @@ public class SubmissionService {
      * Obtener entregas de un ejercicio (Profesor)
      * Todas las entregas están visibles automáticamente
      */
-    public List<Submission> getSubmissionsByExercise(Long exerciseId, String teacherEmail) {
-        Exercise exercise = exerciseRepository.findById(exerciseId)
-                .orElseThrow(() -> new RuntimeException("Ejercicio no encontrado"));
+    public List<Submission> getSubmissionsByExercise(Long exerciseId, Long teacherId) {
+        checkTeacherOwnsExercise(exerciseId, teacherId);
 
-        User teacher = userRepository.findByEmail(teacherEmail)
-                .orElseThrow(() -> new RuntimeException("Profesor no encontrado"));
+        return submissionRepository.findByExerciseId(exerciseId);
+    }
 
-        if (!exercise.getCourse().getTeacher().getId().equals(teacher.getId())) {
-            throw new RuntimeException("No tienes permiso para ver estas entregas");
-        }
+    /**
+     * Listado de entregas de un ejercicio (Profesor), solo metadatos
+     */
+    public List<SubmissionDTO> getSubmissionSummariesByExercise(Long exerciseId, Long teacherId) {
+        checkTeacherOwnsExercise(exerciseId, teacherId);
 
-        return submissionRepository.findByExerciseId(exerciseId);
+        return submissionRepository.findSummariesByExerciseId(exerciseId, Limit.of(CursorPageDTO.UNPAGED_MAX_SIZE));
+    }
+
+    /**
+     * Página del listado de entregas de un ejercicio (Profesor), ordenada por fecha
+     * de entrega. {@code cursor} es el {@code nextCursor} de la página anterior
+     */
+    public CursorPageDTO<SubmissionDTO> getSubmissionSummariesByExercise(Long exerciseId, Long teacherId,
+            String cursor, Integer size) {
+        checkTeacherOwnsExercise(exerciseId, teacherId);
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPageDTO.clampSize(size);
+        return CursorPageDTO.of(submissionRepository.findSummariesByExerciseIdAfter(
+                exerciseId, after.getAt(), after.getId(), Limit.of(pageSize + 1)),
+                pageSize, dto -> KeysetCursor.encode(dto.getSubmittedAt(), dto.getId()));
     }
 
     /**
      * Obtener mis entregas (Estudiante)
      */
-    public List<Submission> getMySubmissions(String studentEmail) {
-        User student = userRepository.findByEmail(studentEmail)
-                .orElseThrow(() -> new RuntimeException("Estudiante no encontrado"));
+    public List<Submission> getMySubmissions(Long studentId) {
+        return submissionRepository.findByStudentId(studentId);
+    }
+
+    /**
+     * Listado de mis entregas (Estudiante), solo metadatos
+     */
+    public List<SubmissionDTO> getMySubmissionSummaries(Long studentId) {
+        return submissionRepository.findSummariesByStudentId(studentId, Limit.of(CursorPageDTO.UNPAGED_MAX_SIZE));
+    }
+
+    /**
+     * Página de mis entregas (Estudiante)
+     */
+    public CursorPageDTO<SubmissionDTO> getMySubmissionSummaries(Long studentId, String cursor, Integer size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPageDTO.clampSize(size);
+        return CursorPageDTO.of(submissionRepository.findSummariesByStudentIdAfter(
+                studentId, after.getAt(), after.getId(), Limit.of(pageSize + 1)),
+                pageSize, dto -> KeysetCursor.encode(dto.getSubmittedAt(), dto.getId()));
+    }
+
+    /**
+     * Entregas de un ejercicio para exportar en ZIP (Profesor)
+     */
+    public List<ArchiveEntryDTO> getArchiveEntries(Long exerciseId, Long teacherId) {
+        checkTeacherOwnsExercise(exerciseId, teacherId);
 
-        return submissionRepository.findByStudentId(student.getId());
+        return submissionRepository.findArchiveEntriesByExerciseId(exerciseId);
+    }
+
+    private void checkTeacherOwnsExercise(Long exerciseId, Long teacherId) {
+        Exercise exercise = exerciseRepository.findById(exerciseId)
+                .orElseThrow(() -> new RuntimeException("Ejercicio no encontrado"));
+
+        if (!courseAccessService.isTeacher(exercise.getCourse().getId(), teacherId)) {
+            throw new RuntimeException("No tienes permiso para ver estas entregas");
+        }
     }
 
     /**
      * Obtener una entrega específica
      */
-    public Submission getSubmissionById(Long id, String userEmail) {
+    public Submission getSubmissionById(Long id, Long userId) {
         Submission submission = submissionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Entrega no encontrada"));
 
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-
-        boolean isTeacher = submission.getExercise().getCourse().getTeacher().getId().equals(user.getId());
-        boolean isOwner = submission.getStudent().getId().equals(user.getId());
+        boolean isOwner = submission.getStudent().getId().equals(userId);
 
-        if (!isTeacher && !isOwner) {
+        if (!isOwner && !courseAccessService.isTeacher(submission.getExercise().getCourse().getId(), userId)) {
             throw new RuntimeException("No tienes permiso para ver esta entrega");
         }
 
@@ -171,17 +293,18 @@ public class SubmissionService {
      * Calificar entrega (Profesor)
      */
     @Transactional
-    public Submission gradeSubmission(Long id, Double grade, String feedback, String teacherEmail) {
+    public Submission gradeSubmission(Long id, Double grade, String feedback, Long teacherId) {
         Submission submission = submissionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Entrega no encontrada"));
 
-        User teacher = userRepository.findByEmail(teacherEmail)
-                .orElseThrow(() -> new RuntimeException("Profesor no encontrado"));
-
-        if (!submission.getExercise().getCourse().getTeacher().getId().equals(teacher.getId())) {
+        if (!courseAccessService.isTeacher(submission.getExercise().getCourse().getId(), teacherId)) {
             throw new RuntimeException("No tienes permiso para calificar esta entrega");
         }
 
+        if (submission.getStatus() == Submission.SubmissionStatus.PENDING_UPLOAD) {
+            throw new RuntimeException(UPLOAD_IN_PROGRESS);
+        }
+
         if (grade < 0 || grade > 100) {
             throw new RuntimeException("La calificación debe estar entre 0 y 100");
         }
@@ -195,30 +318,38 @@ public class SubmissionService {
     }
 
     /**
-     * Obtener archivo de entrega
+     * Obtener archivo de entrega para descarga en streaming
      */
-    public byte[] getSubmissionFile(Long id, String userEmail) {
-        Submission submission = getSubmissionById(id, userEmail);
+    public FileDownloadDTO getSubmissionDownload(Long id, Long userId) {
+        Submission submission = getSubmissionById(id, userId);
 
         if (!submission.hasFile()) {
             throw new RuntimeException("Esta entrega no tiene archivo adjunto");
         }
 
-        return submission.getFileData();
+        try {
+            return new FileDownloadDTO(
+                    blobStore.load(submission.getFileBlobKey()),
+                    submission.getFileName(),
+                    submission.getFileType(),
+                    submission.getFileChecksum(),
+                    submission.getLastModifiedAt() != null
+                            ? submission.getLastModifiedAt()
+                            : submission.getSubmittedAt());
+        } catch (IOException e) {
+            throw new RuntimeException("Error al leer el archivo: " + e.getMessage());
+        }
     }
 
     /**
      * Eliminar entrega (Solo antes de ser calificada)
      */
     @Transactional
-    public void deleteSubmission(Long id, String studentEmail) {
+    public void deleteSubmission(Long id, Long studentId) {
         Submission submission = submissionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Entrega no encontrada"));
 
-        User student = userRepository.findByEmail(studentEmail)
-                .orElseThrow(() -> new RuntimeException("Estudiante no encontrado"));
-
-        if (!submission.getStudent().getId().equals(student.getId())) {
+        if (!submission.getStudent().getId().equals(studentId)) {
             throw new RuntimeException("No puedes eliminar esta entrega");
         }
 
@@ -0,0 +1,186 @@
+package com.unimar.plataforma_educativa_angular.service;
+
+import com.unimar.plataforma_educativa_angular.entities.Submission;
+import com.unimar.plataforma_educativa_angular.storage.BlobRef;
+import com.unimar.plataforma_educativa_angular.storage.BlobStore;
+import com.unimar.plataforma_educativa_angular.storage.UploadSpool;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Entregas aceptadas en el {@link UploadSpool} y guardadas en segundo plano.
+ *
+ * La petición valida la entrega, deja el archivo en el spool y registra la fila en
+ * PENDING_UPLOAD; un hilo del spool pasa después el archivo al {@link BlobStore} (sin
+ * transacción abierta) y la marca PENDING. Si el archivo no se puede guardar la entrega
+ * queda en UPLOAD_FAILED y el estudiante puede volver a subirla con "Editar". Un error
+ * de la base de datos al registrar el resultado se reintenta desde el spool.
+ *
+ * Las entregas en PENDING_UPLOAD sin archivo en el spool por más de
+ * {@code storage.spool.stale-after} (la instancia cayó antes de encolarlo o agotó los
+ * reintentos) se pasan a UPLOAD_FAILED para que no bloqueen la entrega.
+ */
+@Service
+public class SubmissionUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionUploadService.class);
+
+    private static final String SPOOL_PREFIX = "submission-";
+
+    private final SubmissionService submissionService;
+    private final UploadSpool uploadSpool;
+    private final BlobStore blobStore;
+    private final Duration staleAfter;
+
+    public SubmissionUploadService(
+            SubmissionService submissionService,
+            UploadSpool uploadSpool,
+            BlobStore blobStore,
+            @Value("${storage.spool.stale-after:30m}") Duration staleAfter) {
+        this.submissionService = submissionService;
+        this.uploadSpool = uploadSpool;
+        this.blobStore = blobStore;
+        this.staleAfter = staleAfter;
+    }
+
+    /**
+     * Aceptar una entrega (Estudiante). Devuelve la entrega en PENDING_UPLOAD; lanza
+     * {@link com.unimar.plataforma_educativa_angular.storage.UploadSpoolFullException}
+     * si el spool está lleno
+     */
+    public Submission accept(Long exerciseId, Long studentId, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new RuntimeException("Debes seleccionar un archivo para subir la entrega");
+        }
+
+        // El archivo se copia antes de tocar la base de datos: con OSIV la conexión
+        // se retiene desde la primera consulta hasta el final de la petición
+        Path received;
+        try {
+            received = uploadSpool.receive(file);
+        } catch (IOException e) {
+            throw new RuntimeException("Error al procesar el archivo: " + e.getMessage());
+        }
+
+        Submission submission;
+        try {
+            submission = submissionService.createPendingUpload(
+                    exerciseId, studentId, file.getOriginalFilename(), file.getContentType());
+        } catch (RuntimeException e) {
+            uploadSpool.discard(received);
+            throw e;
+        }
+
+        Long id = submission.getId();
+        try {
+            uploadSpool.enqueue(received, SPOOL_PREFIX + id, path -> persist(id, path));
+        } catch (IOException e) {
+            uploadSpool.discard(received);
+            submissionService.failUpload(id);
+            throw new RuntimeException("Error al procesar el archivo: " + e.getMessage());
+        }
+
+        return submission;
+    }
+
+    /**
+     * Retomar las entregas cuyo archivo quedó en el spool local al apagar la aplicación.
+     * Solo se toman los archivos de este spool: una entrega en PENDING_UPLOAD sin archivo
+     * aquí puede estar guardándose en otra instancia y no se toca
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingUploads() {
+        List<String> queued;
+        try {
+            queued = uploadSpool.queued(SPOOL_PREFIX);
+        } catch (IOException e) {
+            logger.error("No se pudo leer el spool de subidas", e);
+            return;
+        }
+        if (queued.isEmpty()) {
+            return;
+        }
+
+        Set<Long> pending = new HashSet<>(submissionService.getPendingUploadIds());
+        for (String name : queued) {
+            Long id = submissionId(name);
+            if (id == null || !pending.contains(id)) {
+                // La entrega se eliminó o ya no espera su archivo
+                logger.info("Archivo {} del spool sin entrega pendiente, se descarta", name);
+                uploadSpool.discard(name);
+                continue;
+            }
+            uploadSpool.resume(name, path -> persist(id, path));
+        }
+    }
+
+    /**
+     * Marcar como fallidas las entregas en PENDING_UPLOAD sin archivo en este spool desde
+     * hace más de {@code storage.spool.stale-after}. El margen cubre los reintentos de
+     * otra instancia que todavía tenga el archivo
+     */
+    @Scheduled(initialDelayString = "${storage.spool.sweep-interval:5m}",
+            fixedDelayString = "${storage.spool.sweep-interval:5m}")
+    public int failStaleUploads() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(staleAfter);
+        int failed = 0;
+        for (Long id : submissionService.getPendingUploadIdsBefore(cutoff)) {
+            if (uploadSpool.contains(SPOOL_PREFIX + id)) {
+                continue;
+            }
+            logger.warn("Entrega {} sin archivo en el spool desde antes de {}, se marca como fallida", id, cutoff);
+            submissionService.failUpload(id);
+            failed++;
+        }
+        return failed;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        uploadSpool.shutdown(Duration.ofSeconds(10));
+    }
+
+    private void persist(Long submissionId, Path file) throws IOException {
+        BlobRef blob;
+        try (InputStream content = Files.newInputStream(file)) {
+            blob = blobStore.put(content);
+        } catch (IOException e) {
+            if (UploadSpool.isInterruption(e)) {
+                // Apagado a mitad de la copia: sigue en PENDING_UPLOAD y el spool conserva el archivo
+                throw e;
+            }
+            logger.error("No se pudo guardar el archivo de la entrega {}", submissionId, e);
+            submissionService.failUpload(submissionId);
+            return;
+        }
+
+        if (!submissionService.completeUpload(submissionId, blob)) {
+            logger.info("Entrega {} eliminada antes de guardar su archivo", submissionId);
+        }
+    }
+
+    private static Long submissionId(String spoolName) {
+        try {
+            return Long.valueOf(spoolName.substring(SPOOL_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.unimar.plataforma_educativa_angular.service;
 
 import com.unimar.plataforma_educativa_angular.entities.User;
+import com.unimar.plataforma_educativa_angular.leaderboard.LeaderboardEngine;
 import com.unimar.plataforma_educativa_angular.repositories.UserRepository;
+import com.unimar.plataforma_educativa_angular.token.AuthenticatedUserCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import java.util.Optional;
@@ -10,6 +13,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Service
+@Timed("service.calls")
 public class UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
@@ -17,6 +21,12 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private LeaderboardEngine leaderboardEngine;
+
+    @Autowired
+    private AuthenticatedUserCache authenticatedUserCache;
+
     private BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
     public User registerUser(User user) throws Exception {
@@ -38,11 +48,8 @@ public class UserService {
         }
 
         User user = userOpt.get();
-        logger.info("Usuario encontrado. Comparando password para: {}", emailNormalized);
-
         if (!passwordEncoder.matches(password, user.getPassword())) {
-            logger.info("Password recibido: {}", password);
-            logger.info("Password en BD: {}", user.getPassword());
+            logger.info("Contraseña incorrecta para el usuario {}", user.getId());
             throw new Exception("Contraseña incorrecta");
         }
 
@@ -61,7 +68,10 @@ public class UserService {
                 .orElseThrow(() -> new Exception("Usuario no encontrado"));
 
         user.setNombre(newName);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        leaderboardEngine.studentRenamed(saved.getId(), saved.getNombre());
+        authenticatedUserCache.invalidate(email);
+        return saved;
     }
 
     // ========================================
@@ -84,7 +94,8 @@ public class UserService {
         // Actualizar contraseña
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        authenticatedUserCache.invalidate(email);
 
-        logger.info("Contraseña actualizada exitosamente para: {}", email);
+        logger.info("Contraseña actualizada exitosamente para el usuario {}", user.getId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.unimar.plataforma_educativa_angular.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Borra del almacenamiento los archivos que nadie referencia.
+ *
+ * Hay dos fuentes de candidatos:
+ * - filas de {@code blob_references} con el contador en cero por más de
+ *   {@code storage.gc.grace-period};
+ * - archivos del almacenamiento sin fila, que {@link BlobStore#put} escribió pero
+ *   ninguna entidad llegó a referenciar (transacción revertida, validación
+ *   fallida después de guardar el archivo, entrega eliminada antes de adjuntarlo).
+ *
+ * La fila se vuelve a comprobar bloqueada ({@code FOR UPDATE}) y se borra en una
+ * transacción. El archivo se borra solo después del commit y con
+ * {@link BlobStore#deleteIfUnmodifiedSince}: si una subida del mismo contenido lo
+ * reutilizó dentro del margen, se conserva.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.gc.enabled", havingValue = "true", matchIfMissing = true)
+public class BlobGarbageCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlobGarbageCollector.class);
+
+    private static final int KEY_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlobReferenceCounter counter;
+    private final BlobStore blobStore;
+    private final Duration gracePeriod;
+
+    public BlobGarbageCollector(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            BlobReferenceCounter counter,
+            BlobStore blobStore,
+            @Value("${storage.gc.grace-period:1h}") Duration gracePeriod) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.counter = counter;
+        this.blobStore = blobStore;
+        this.gracePeriod = gracePeriod;
+    }
+
+    @Scheduled(initialDelayString = "${storage.gc.interval:1h}", fixedDelayString = "${storage.gc.interval:1h}")
+    public void scheduledSweep() {
+        int deleted = sweep();
+        if (deleted > 0) {
+            logger.info("Recolector de archivos: {} blobs sin referencias eliminados", deleted);
+        }
+    }
+
+    public int sweep() {
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        List<String> candidates = jdbcTemplate.queryForList(
+                "SELECT blob_key FROM blob_references WHERE ref_count = 0 AND released_at < ?",
+                String.class, Timestamp.from(cutoff));
+
+        int deleted = 0;
+        for (String key : candidates) {
+            if (releaseRow(key, cutoff) && deleteFile(key, cutoff)) {
+                deleted++;
+            }
+        }
+        return deleted + sweepUntracked(cutoff);
+    }
+
+    /**
+     * Borra la fila si sigue liberada. Con la fila bloqueada, un {@code acquire}
+     * concurrente espera al commit y vuelve a crearla con el contador en uno
+     */
+    private boolean releaseRow(String key, Instant cutoff) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            List<String> locked = jdbcTemplate.queryForList(
+                    "SELECT blob_key FROM blob_references "
+                            + "WHERE blob_key = ? AND ref_count = 0 AND released_at < ? FOR UPDATE",
+                    String.class, key, Timestamp.from(cutoff));
+            if (locked.isEmpty() || counter.isReferenced(key)) {
+                return false;
+            }
+            jdbcTemplate.update("DELETE FROM blob_references WHERE blob_key = ?", key);
+            return true;
+        }));
+    }
+
+    /**
+     * Archivos sin fila en {@code blob_references}, por lotes de claves
+     */
+    private int sweepUntracked(Instant cutoff) {
+        int deleted = 0;
+        try (Stream<String> keys = blobStore.keys()) {
+            List<String> batch = new ArrayList<>(KEY_BATCH_SIZE);
+            for (Iterator<String> it = keys.iterator(); it.hasNext(); ) {
+                batch.add(it.next());
+                if (batch.size() == KEY_BATCH_SIZE || !it.hasNext()) {
+                    deleted += collectUntracked(batch, cutoff);
+                    batch.clear();
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("No se pudo recorrer el almacenamiento de archivos: {}", e.getMessage());
+        }
+        return deleted;
+    }
+
+    private int collectUntracked(List<String> keys, Instant cutoff) {
+        Set<String> tracked = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT blob_key FROM blob_references WHERE blob_key IN ("
+                        + String.join(",", Collections.nCopies(keys.size(), "?")) + ")",
+                String.class, keys.toArray()));
+
+        int deleted = 0;
+        for (String key : keys) {
+            if (!tracked.contains(key) && !touchedAfter(key, cutoff) && !counter.isReferenced(key)
+                    && deleteFile(key, cutoff)) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private boolean deleteFile(String key, Instant cutoff) {
+        try {
+            return blobStore.deleteIfUnmodifiedSince(key, cutoff);
+        } catch (IOException e) {
+            logger.warn("No se pudo borrar el blob {}: {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean touchedAfter(String key, Instant cutoff) {
+        try {
+            return blobStore.lastModified(key).isAfter(cutoff);
+        } catch (IOException e) {
+            return true; // Ante la duda no se borra
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.unimar.plataforma_educativa_angular.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Migración única de los archivos guardados en columnas LONGBLOB
+ * ({@code file_data}) hacia el {@link BlobStore}.
+ *
+ * Se activa con {@code storage.migration.enabled=true}. Procesa cada tabla por
+ * lotes de {@code storage.migration.batch-size} filas, leyendo un solo archivo
+ * a la vez, y al terminar cada lote deja {@code file_data} en NULL. Es seguro
+ * relanzarla: solo toma filas que aún no tienen {@code file_blob_key}.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.migration.enabled", havingValue = "true")
+public class BlobMigrationJob implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlobMigrationJob.class);
+
+    private static final String LEGACY_COLUMN = "file_data";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlobStore blobStore;
+    private final BlobReferenceCounter counter;
+    private final int batchSize;
+
+    public BlobMigrationJob(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            BlobStore blobStore,
+            BlobReferenceCounter counter,
+            @Value("${storage.migration.batch-size:50}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.blobStore = blobStore;
+        this.counter = counter;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String table : BlobReferenceCounter.OWNER_TABLES) {
+            if (!hasLegacyColumn(table)) {
+                logger.info("Tabla {} sin columna {}, nada que migrar", table, LEGACY_COLUMN);
+                continue;
+            }
+            long migrated = migrateTable(table);
+            logger.info("Tabla {}: {} archivos movidos al almacenamiento", table, migrated);
+        }
+    }
+
+    long migrateTable(String table) {
+        long total = 0;
+        int processed;
+        do {
+            processed = transactionTemplate.execute(status -> migrateBatch(table));
+            total += processed;
+        } while (processed == batchSize);
+        return total;
+    }
+
+    private int migrateBatch(String table) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM " + table + " WHERE " + LEGACY_COLUMN + " IS NOT NULL AND file_blob_key IS NULL"
+                        + " ORDER BY id LIMIT " + batchSize,
+                Long.class);
+
+        List<Object[]> updates = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            BlobRef blob = jdbcTemplate.query(
+                    "SELECT " + LEGACY_COLUMN + " FROM " + table + " WHERE id = ?",
+                    (ResultSet rs) -> rs.next() ? store(rs.getBytes(1)) : null,
+                    id);
+            updates.add(blob != null
+                    ? new Object[] { blob.getKey(), blob.getSize(), blob.getChecksum(), id }
+                    : new Object[] { null, null, null, id });
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "UPDATE " + table + " SET file_blob_key = ?, file_size = ?, file_checksum = ?, "
+                            + LEGACY_COLUMN + " = NULL WHERE id = ?",
+                    updates);
+            // Las filas se actualizan por SQL, así que los contadores se ajustan aquí
+            counter.acquireAll(updates.stream()
+                    .filter(update -> update[0] != null)
+                    .map(update -> (String) update[0])
+                    .toList());
+        }
+        return ids.size();
+    }
+
+    private BlobRef store(byte[] content) {
+        if (content == null || content.length == 0) {
+            return null; // Un LONGBLOB vacío nunca contó como archivo adjunto
+        }
+        try {
+            return blobStore.put(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al migrar archivo al almacenamiento", e);
+        }
+    }
+
+    private boolean hasLegacyColumn(String table) {
+        Boolean present = jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+            DatabaseMetaData metaData = con.getMetaData();
+            for (String[] names : new String[][] { { table, LEGACY_COLUMN },
+                    { table.toUpperCase(), LEGACY_COLUMN.toUpperCase() } }) {
+                try (ResultSet rs = metaData.getColumns(con.getCatalog(), null, names[0], names[1])) {
+                    if (rs.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(present);
+    }
+}
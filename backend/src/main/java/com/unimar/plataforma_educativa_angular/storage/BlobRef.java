@@ -0,0 +1,19 @@
+package com.unimar.plataforma_educativa_angular.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Referencia inmutable a un archivo guardado en el {@link BlobStore}.
+ * Es lo único que las entidades conservan del archivo: la clave, el tamaño
+ * y el checksum SHA-256 del contenido.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class BlobRef {
+    private final String key;
+    private final long size;
+    private final String checksum;
+}
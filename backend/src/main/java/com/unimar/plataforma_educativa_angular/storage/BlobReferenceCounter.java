@@ -0,0 +1,78 @@
+package com.unimar.plataforma_educativa_angular.storage;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Mantiene la tabla {@code blob_references} con sentencias atómicas, dentro de
+ * la transacción en curso.
+ *
+ * El contador nunca borra archivos: cuando llega a cero solo marca
+ * {@code released_at} y el {@link BlobGarbageCollector} decide después.
+ */
+@Component
+public class BlobReferenceCounter {
+
+    // Tablas cuyas filas apuntan a un blob mediante file_blob_key
+    static final List<String> OWNER_TABLES = List.of("submissions", "challenge_submissions", "exercises", "challenges");
+
+    private static final String ACQUIRE_SQL =
+            "INSERT INTO blob_references (blob_key, ref_count, released_at) VALUES (?, 1, NULL) "
+                    + "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, released_at = NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BlobReferenceCounter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void acquire(String key) {
+        jdbcTemplate.update(ACQUIRE_SQL, key);
+    }
+
+    /**
+     * Igual que {@link #acquire} para varias claves en un solo lote, para las
+     * filas que se insertan por SQL (generador de datos, migración).
+     */
+    public void acquireAll(List<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ACQUIRE_SQL, keys.stream().map(key -> new Object[] { key }).toList());
+    }
+
+    public void release(String key) {
+        // released_at va primero: MySQL evalúa las asignaciones de izquierda a derecha
+        jdbcTemplate.update(
+                "UPDATE blob_references SET "
+                        + "released_at = CASE WHEN ref_count <= 1 THEN ? ELSE released_at END, "
+                        + "ref_count = ref_count - 1 "
+                        + "WHERE blob_key = ? AND ref_count > 0",
+                Timestamp.valueOf(LocalDateTime.now()), key);
+    }
+
+    public long count(String key) {
+        List<Long> counts = jdbcTemplate.queryForList(
+                "SELECT ref_count FROM blob_references WHERE blob_key = ?", Long.class, key);
+        return counts.isEmpty() ? 0 : counts.get(0);
+    }
+
+    /**
+     * Comprueba directamente en las tablas dueñas si alguna fila apunta al
+     * blob. Es la verificación final antes de borrar un archivo.
+     */
+    boolean isReferenced(String key) {
+        for (String table : OWNER_TABLES) {
+            Integer found = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM " + table + " WHERE file_blob_key = ?", Integer.class, key);
+            if (found != null && found > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,102 @@
+package com.unimar.plataforma_educativa_angular.storage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Ajusta los contadores de {@code blob_references} cada vez que Hibernate
+ * inserta, actualiza o borra una entidad con la propiedad {@code fileBlobKey}.
+ *
+ * Al engancharse a los eventos de Hibernate también cubre los borrados en
+ * cascada (por ejemplo, las entregas al eliminar un ejercicio) sin que cada
+ * servicio tenga que acordarse de liberar el archivo.
+ */
+@Component
+public class BlobReferenceListener
+        implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    static final String BLOB_KEY_PROPERTY = "fileBlobKey";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final BlobReferenceCounter counter;
+
+    public BlobReferenceListener(EntityManagerFactory entityManagerFactory, BlobReferenceCounter counter) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.counter = counter;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        String key = blobKey(event.getPersister(), event.getState());
+        if (key != null) {
+            counter.acquire(key);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getOldState() == null) {
+            return;
+        }
+        String oldKey = blobKey(event.getPersister(), event.getOldState());
+        String newKey = blobKey(event.getPersister(), event.getState());
+        if (Objects.equals(oldKey, newKey)) {
+            return;
+        }
+        if (newKey != null) {
+            counter.acquire(newKey);
+        }
+        if (oldKey != null) {
+            counter.release(oldKey);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        String key = blobKey(event.getPersister(), event.getDeletedState());
+        if (key != null) {
+            counter.release(key);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private static String blobKey(EntityPersister persister, Object[] state) {
+        if (state == null) {
+            return null;
+        }
+        String[] names = persister.getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            if (BLOB_KEY_PROPERTY.equals(names[i])) {
+                return (String) state[i];
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.unimar.plataforma_educativa_angular.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Almacenamiento de archivos fuera de la base de datos.
+ *
+ * Las entregas, soluciones y materiales ya no guardan los bytes en columnas
+ * LONGBLOB: el contenido vive aquí y la fila solo guarda la {@link BlobRef}.
+ * Las implementaciones son direccionadas por contenido, por lo que dos archivos
+ * idénticos comparten la misma clave.
+ */
+public interface BlobStore {
+
+    /**
+     * Guarda el contenido leyéndolo del stream y devuelve su referencia. El
+     * tamaño y el checksum se calculan mientras se copia, sin cargar el archivo
+     * completo en memoria. Si ya existe un blob con el mismo contenido no se
+     * vuelve a escribir, pero se renueva su fecha de modificación. El stream
+     * se cierra al terminar.
+     */
+    BlobRef put(InputStream content) throws IOException;
+
+    default BlobRef put(byte[] content) throws IOException {
+        return put(new ByteArrayInputStream(content));
+    }
+
+    /**
+     * Abre el blob para lectura. El llamador debe cerrar el stream.
+     */
+    InputStream open(String key) throws IOException;
+
+    /**
+     * Devuelve el blob como {@link Resource} para que Spring lo envíe por
+     * partes (Range) sin copiarlo a memoria.
+     */
+    Resource load(String key) throws IOException;
+
+    boolean exists(String key);
+
+    long size(String key) throws IOException;
+
+    /**
+     * Último {@code put} del contenido; solo lo usa el recolector. Las descargas toman
+     * la fecha de la fila, porque el blob lo comparten las filas con el mismo contenido
+     */
+    Instant lastModified(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    /**
+     * Borra el blob solo si no se modificó después de {@code cutoff}. La
+     * comprobación y el borrado son atómicos frente a {@link #put}: un
+     * {@code put} del mismo contenido lo conserva (renueva la fecha) o lo
+     * vuelve a escribir después. {@code false} si se conservó.
+     */
+    boolean deleteIfUnmodifiedSince(String key, Instant cutoff) throws IOException;
+
+    /**
+     * Claves de todos los blobs guardados. El llamador debe cerrar el stream.
+     */
+    Stream<String> keys() throws IOException;
+}
@@ -0,0 +1,53 @@
+package com.unimar.plataforma_educativa_angular.storage;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 del contenido, el mismo hash que usa el {@link BlobStore} como clave.
+ */
+public final class ContentHash {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private ContentHash() {
+    }
+
+    public static String sha256(InputStream in) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Indica si el archivo subido es idéntico al que ya está guardado. Compara
+     * primero el tamaño y solo si coincide lee el archivo para calcular el hash,
+     * sin escribir nada en el almacenamiento.
+     */
+    public static boolean sameContent(MultipartFile file, Long currentSize, String currentChecksum)
+            throws IOException {
+        if (currentSize == null || currentChecksum == null || file.getSize() != currentSize) {
+            return false;
+        }
+        try (InputStream in = file.getInputStream()) {
+            return currentChecksum.equals(sha256(in));
+        }
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.unimar.plataforma_educativa_angular.storage;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Implementación del {@link BlobStore} sobre el sistema de archivos local.
+ *
+ * Cada blob se identifica por el SHA-256 de su contenido y se guarda en
+ * directorios de dos niveles para no acumular miles de archivos en una sola
+ * carpeta: {@code <root>/ab/cd/abcd...}.
+ *
+ * Las subidas se copian primero a {@code <root>/tmp} con un buffer fijo de
+ * {@code storage.buffer-size} bytes mientras se calcula el hash; al terminar
+ * se renombran a su ruta definitiva. Así ningún archivo se carga entero en
+ * memoria y nunca se lee un blob a medias.
+ *
+ * Publicar o renovar un blob en {@link #put} y borrarlo en
+ * {@link #deleteIfUnmodifiedSince} toman el mismo candado por clave, para que
+ * el recolector no borre un archivo que una subida acaba de reutilizar.
+ */
+@Component
+public class LocalBlobStore implements BlobStore, MeterBinder {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path root;
+    private final Path staging;
+    private final int bufferSize;
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+
+    // Bytes recibidos: escritos como blob nuevo o descartados por repetidos
+    private final LongAdder storedBytes = new LongAdder();
+    private final LongAdder duplicateBytes = new LongAdder();
+
+    public LocalBlobStore(
+            @Value("${file.upload-dir:uploads}") String rootDir,
+            @Value("${storage.buffer-size:65536}") int bufferSize) {
+        this.root = Paths.get(rootDir).toAbsolutePath().normalize();
+        this.staging = root.resolve("tmp");
+        this.bufferSize = bufferSize;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public BlobRef put(InputStream content) throws IOException {
+        Files.createDirectories(staging);
+        Path tmp = Files.createTempFile(staging, "upload-", ".tmp");
+        try {
+            MessageDigest digest = ContentHash.newDigest();
+            long size;
+            try (InputStream in = new DigestInputStream(content, digest);
+                    OutputStream out = Files.newOutputStream(tmp)) {
+                size = copy(in, out);
+            }
+
+            String checksum = HexFormat.of().formatHex(digest.digest());
+            Path target = resolve(checksum);
+            Lock lock = lockFor(checksum);
+            lock.lock();
+            try {
+                if (Files.exists(target)) {
+                    // Contenido repetido: no se escribe, solo se marca como recién usado
+                    Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                    duplicateBytes.add(size);
+                } else {
+                    Files.createDirectories(target.getParent());
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                    storedBytes.add(size);
+                }
+            } finally {
+                lock.unlock();
+            }
+            return new BlobRef(checksum, size, checksum);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        Path path = resolve(key);
+        try {
+            return Files.newInputStream(path);
+        } catch (NoSuchFileException e) {
+            throw new IOException("El archivo no existe en el almacenamiento: " + key, e);
+        }
+    }
+
+    @Override
+    public Resource load(String key) throws IOException {
+        Path path = resolve(key);
+        if (!Files.isRegularFile(path)) {
+            throw new IOException("El archivo no existe en el almacenamiento: " + key);
+        }
+        return new FileSystemResource(path);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        return Files.size(resolve(key));
+    }
+
+    @Override
+    public Instant lastModified(String key) throws IOException {
+        return Files.getLastModifiedTime(resolve(key)).toInstant();
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public boolean deleteIfUnmodifiedSince(String key, Instant cutoff) throws IOException {
+        Path path = resolve(key);
+        Lock lock = lockFor(key);
+        lock.lock();
+        try {
+            if (!Files.exists(path)) {
+                return true;
+            }
+            if (Files.getLastModifiedTime(path).toInstant().isAfter(cutoff)) {
+                return false;
+            }
+            Files.delete(path);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Stream<String> keys() throws IOException {
+        if (!Files.isDirectory(root)) {
+            return Stream.empty();
+        }
+        // <root>/ab/cd/<clave>: el spool y tmp no tienen nombres de 64 caracteres hexadecimales
+        return Files.find(root, 3, (path, attributes) -> attributes.isRegularFile()
+                        && root.relativize(path).getNameCount() == 3
+                        && KEY_PATTERN.matcher(path.getFileName().toString()).matches())
+                .map(path -> path.getFileName().toString());
+    }
+
+    /**
+     * storage.upload.bytes con result=stored (blob nuevo) o result=duplicate.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("storage.upload.bytes", storedBytes, LongAdder::sum)
+                .tag("result", "stored")
+                .baseUnit("bytes")
+                .description("Bytes subidos al almacenamiento de archivos")
+                .register(registry);
+        FunctionCounter.builder("storage.upload.bytes", duplicateBytes, LongAdder::sum)
+                .tag("result", "duplicate")
+                .baseUnit("bytes")
+                .description("Bytes subidos al almacenamiento de archivos")
+                .register(registry);
+    }
+
+    Path resolve(String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("Clave de blob inválida: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private Lock lockFor(String key) {
+        return locks[Math.floorMod(key.hashCode(), locks.length)];
+    }
+
+    private long copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[bufferSize];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            total += read;
+        }
+        return total;
+    }
+
+}
@@ -0,0 +1,303 @@
+package com.unimar.plataforma_educativa_angular.storage;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Cola de subidas en disco local.
+ *
+ * La petición solo deja el archivo en {@code storage.spool.dir} y un grupo fijo de
+ * {@code storage.spool.workers} hilos lo procesa después (normalmente, pasarlo al
+ * {@link BlobStore}). Así un almacenamiento lento no retiene el hilo de la petición
+ * ni una conexión a la base de datos.
+ *
+ * El espacio está acotado por {@code storage.spool.max-size}: una subida que no cabe
+ * se rechaza con {@link UploadSpoolFullException} en lugar de acumularse sin límite.
+ * Los archivos encolados sobreviven a un reinicio y se retoman con {@link #resume}
+ * (también los de una tarea interrumpida al apagar); los recibidos que no llegaron a
+ * encolarse se borran al arrancar.
+ *
+ * Una tarea que falla se reintenta en el mismo hilo cada {@code storage.spool.retry-delay}
+ * hasta {@code storage.spool.max-attempts} veces; el archivo solo se borra cuando la tarea
+ * termina sin error o agota los intentos.
+ */
+@Component
+public class UploadSpool implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadSpool.class);
+
+    private static final String INCOMING_PREFIX = "incoming-";
+
+    private static final Duration INTERRUPT_GRACE = Duration.ofSeconds(1);
+
+    /**
+     * Procesa un archivo del spool. Si termina sin excepción el archivo se borra: un error
+     * definitivo (que no conviene reintentar) lo resuelve la propia tarea y retorna. Con
+     * una excepción se reintenta; si se interrumpe (ver {@link #isInterruption}) el
+     * archivo se conserva para retomarlo al arrancar
+     */
+    @FunctionalInterface
+    public interface Task {
+        void run(Path file) throws Exception;
+    }
+
+    private final Path dir;
+    private final long maxBytes;
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final LongAdder rejected = new LongAdder();
+    private final ThreadPoolExecutor workers;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+
+    public UploadSpool(
+            @Value("${storage.spool.dir:${file.upload-dir:uploads}/spool}") String dir,
+            @Value("${storage.spool.max-size:1GB}") DataSize maxSize,
+            @Value("${storage.spool.workers:4}") int workers,
+            @Value("${storage.spool.max-attempts:5}") int maxAttempts,
+            @Value("${storage.spool.retry-delay:5s}") Duration retryDelay) throws IOException {
+        this.dir = Paths.get(dir).toAbsolutePath().normalize();
+        this.maxBytes = maxSize.toBytes();
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.retryDelay = retryDelay;
+        Files.createDirectories(this.dir);
+        try (Stream<Path> files = Files.list(this.dir)) {
+            for (Path file : files.toList()) {
+                if (file.getFileName().toString().startsWith(INCOMING_PREFIX)) {
+                    Files.deleteIfExists(file);
+                } else {
+                    usedBytes.addAndGet(Files.size(file));
+                }
+            }
+        }
+
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> new Thread(runnable,
+                        "upload-spool-" + threads.incrementAndGet()));
+    }
+
+    /**
+     * Guarda el archivo en el spool y lo fuerza a disco. Lanza
+     * {@link UploadSpoolFullException} si no cabe en {@code storage.spool.max-size}
+     */
+    public Path receive(MultipartFile file) throws IOException {
+        long size = file.getSize();
+        reserve(size);
+        Path path = dir.resolve(INCOMING_PREFIX + UUID.randomUUID());
+        try {
+            // Con la parte ya en disco (mayor a file-size-threshold) el contenedor solo la mueve
+            file.transferTo(path.toFile());
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            return path;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(path);
+            usedBytes.addAndGet(-size);
+            throw e;
+        }
+    }
+
+    /**
+     * Registra un archivo recibido con el nombre {@code name} (con el que se retoma
+     * tras un reinicio) y lo entrega a {@code task} en un hilo del spool
+     */
+    public void enqueue(Path received, String name, Task task) throws IOException {
+        Path queued = Files.move(received, dir.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+        submit(queued, task);
+    }
+
+    /**
+     * Vuelve a encolar un archivo registrado antes de un reinicio; {@code false} si
+     * ya no está en el spool
+     */
+    public boolean resume(String name, Task task) {
+        Path queued = dir.resolve(name);
+        if (!Files.isRegularFile(queued)) {
+            return false;
+        }
+        submit(queued, task);
+        return true;
+    }
+
+    /**
+     * {@code true} si el archivo {@code name} sigue en el spool (encolado, procesándose o
+     * esperando un reintento)
+     */
+    public boolean contains(String name) {
+        return Files.isRegularFile(dir.resolve(name));
+    }
+
+    /**
+     * Nombres de los archivos encolados en este spool que empiezan con {@code prefix}
+     */
+    public List<String> queued(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Descarta un archivo recibido que no se va a encolar
+     */
+    public void discard(Path received) {
+        delete(received);
+    }
+
+    /**
+     * Descarta un archivo encolado que ya no se va a procesar
+     */
+    public void discard(String name) {
+        delete(dir.resolve(name));
+    }
+
+    /**
+     * {@code true} si el error viene de interrumpir el hilo (shutdownNow al apagar) y
+     * no de un fallo del almacenamiento: el archivo debe quedar en el spool
+     */
+    public static boolean isInterruption(Exception e) {
+        return e instanceof InterruptedException
+                || e instanceof ClosedByInterruptException
+                || e instanceof InterruptedIOException
+                || Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Deja terminar lo encolado hasta {@code timeout}; lo que quede (sin empezar o
+     * interrumpido) sigue en disco y se retoma con {@link #resume} al arrancar de nuevo
+     */
+    public void shutdown(Duration timeout) {
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                List<Runnable> pending = workers.shutdownNow();
+                logger.warn("{} subidas quedan en el spool para el próximo arranque", pending.size());
+                // Las tareas interrumpidas terminan sin borrar su archivo
+                workers.awaitTermination(INTERRUPT_GRACE.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        if (!workers.isShutdown()) {
+            shutdown(Duration.ZERO);
+        }
+    }
+
+    long usedBytes() {
+        return usedBytes.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("storage.spool.bytes", usedBytes, AtomicLong::get)
+                .baseUnit("bytes")
+                .description("Bytes de subidas en el spool pendientes de guardar")
+                .register(registry);
+        Gauge.builder("storage.spool.pending", workers, w -> w.getQueue().size() + w.getActiveCount())
+                .description("Subidas en el spool pendientes de guardar")
+                .register(registry);
+        FunctionCounter.builder("storage.spool.rejected", rejected, LongAdder::sum)
+                .description("Subidas rechazadas por falta de espacio en el spool")
+                .register(registry);
+    }
+
+    private void reserve(long size) {
+        long used;
+        do {
+            used = usedBytes.get();
+            if (used + size > maxBytes) {
+                rejected.increment();
+                throw new UploadSpoolFullException(
+                        "Hay demasiadas entregas guardándose en este momento. Intenta de nuevo en unos segundos");
+            }
+        } while (!usedBytes.compareAndSet(used, used + size));
+    }
+
+    private void submit(Path queued, Task task) {
+        workers.execute(() -> {
+            if (process(queued, task)) {
+                delete(queued);
+            }
+        });
+    }
+
+    /**
+     * Ejecuta la tarea con reintentos. {@code false} si se interrumpió y el archivo
+     * debe quedar en el spool
+     */
+    private boolean process(Path queued, Task task) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                task.run(queued);
+                return true;
+            } catch (Exception e) {
+                if (isInterruption(e)) {
+                    logger.info("{} interrumpido, queda en el spool para el próximo arranque",
+                            queued.getFileName());
+                    return false;
+                }
+                if (attempt >= maxAttempts) {
+                    logger.error("Error al procesar {} del spool, se descarta tras {} intentos",
+                            queued.getFileName(), attempt, e);
+                    return true;
+                }
+                logger.warn("Error al procesar {} del spool (intento {} de {}), se reintenta en {}: {}",
+                        queued.getFileName(), attempt, maxAttempts, retryDelay, e.getMessage());
+            }
+            try {
+                Thread.sleep(retryDelay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.info("{} interrumpido, queda en el spool para el próximo arranque", queued.getFileName());
+                return false;
+            }
+        }
+    }
+
+    private void delete(Path path) {
+        try {
+            long size = Files.size(path);
+            Files.delete(path);
+            usedBytes.addAndGet(-size);
+        } catch (IOException e) {
+            logger.warn("No se pudo borrar {} del spool: {}", path.getFileName(), e.getMessage());
+        }
+    }
+}
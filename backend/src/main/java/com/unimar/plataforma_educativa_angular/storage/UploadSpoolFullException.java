@@ -0,0 +1,11 @@
+package com.unimar.plataforma_educativa_angular.storage;
+
+/**
+ * La subida no cabe en el {@link UploadSpool}: el cliente debe reintentar más tarde.
+ */
+public class UploadSpoolFullException extends RuntimeException {
+
+    public UploadSpoolFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,37 @@
+package com.unimar.plataforma_educativa_angular.token;
+
+import com.unimar.plataforma_educativa_angular.entities.Role;
+import com.unimar.plataforma_educativa_angular.entities.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.security.Principal;
+
+/**
+ * Usuario autenticado de la petición, armado por {@link JwtAuthenticationFilter}.
+ *
+ * Es el principal de la autenticación: {@code getName()} sigue devolviendo el
+ * email, así que el código que usa {@code Authentication.getName()} no cambia.
+ * Los controladores lo reciben con {@link CurrentUser} y pasan el ID a los
+ * servicios sin volver a buscar al usuario por email.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class AuthenticatedUser implements Principal {
+
+    private final Long id;
+    private final String email;
+    private final String nombre;
+    private final Role role;
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getNombre(), user.getRole());
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
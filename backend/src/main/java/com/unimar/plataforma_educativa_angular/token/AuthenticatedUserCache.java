@@ -0,0 +1,55 @@
+package com.unimar.plataforma_educativa_angular.token;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.unimar.plataforma_educativa_angular.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Caché corta (email → {@link AuthenticatedUser}) usada por el filtro JWT para no
+ * consultar la tabla users en cada petición autenticada.
+ *
+ * Los cambios de perfil o contraseña la invalidan explícitamente; la expiración
+ * acota lo que tarda en notarse un cambio hecho por fuera (rol, borrado). Los
+ * usuarios inexistentes no se guardan.
+ */
+@Component
+public class AuthenticatedUserCache implements MeterBinder {
+
+    private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> users;
+
+    public AuthenticatedUserCache(
+            UserRepository userRepository,
+            @Value("${security.user-cache.max-size:10000}") long maxSize,
+            @Value("${security.user-cache.ttl:60s}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<AuthenticatedUser> get(String email) {
+        return Optional.ofNullable(users.get(email, key -> userRepository.findByEmail(key)
+                .map(AuthenticatedUser::from)
+                .orElse(null)));
+    }
+
+    public void invalidate(String email) {
+        users.invalidate(email);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, users, "authenticated-users");
+    }
+}
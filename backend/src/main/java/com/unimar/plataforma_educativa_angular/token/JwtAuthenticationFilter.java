@@ -1,7 +1,5 @@
 package com.unimar.plataforma_educativa_angular.token;
 
-import com.unimar.plataforma_educativa_angular.entities.User;
-import com.unimar.plataforma_educativa_angular.service.UserService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -21,7 +19,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtUtil jwtUtil;
 
     @Autowired
-    private UserService userService;
+    private AuthenticatedUserCache authenticatedUserCache;
 
     @Override
     protected void doFilterInternal(
@@ -33,15 +31,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
             try {
-                String email = jwtUtil.extractEmail(token);
+                // Una sola verificación (firma + expiración) por petición, o ninguna
+                // si el token ya se verificó hace poco
+                TokenClaims claims = jwtUtil.parse(token);
+                String email = claims.getEmail();
                 if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    var userOpt = userService.findByEmail(email);
-                    if (userOpt.isPresent() && jwtUtil.validateToken(token, userOpt.get().getEmail())) {
-                        User user = userOpt.get();
+                    // Usuario desde la caché corta: sin consulta a users en cada petición
+                    var userOpt = authenticatedUserCache.get(email);
+                    Long tokenUserId = claims.getUserId();
+                    if (userOpt.isPresent()
+                            && (tokenUserId == null || tokenUserId.equals(userOpt.get().getId()))) {
+                        AuthenticatedUser user = userOpt.get();
                         // convierte role a authority: ROLE_STUDENT, ROLE_TEACHER...
                         SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + user.getRole().name());
                         UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                                user.getEmail(), null, List.of(authority));
+                                user, null, List.of(authority));
                         SecurityContextHolder.getContext().setAuthentication(auth);
                     }
                 }
@@ -1,63 +1,196 @@
 package com.unimar.plataforma_educativa_angular.token;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
-public class JwtUtil {
+public class JwtUtil implements MeterBinder {
 
     private static final String SECRET_KEY = "mi_super_clave_secreta_de_32_caracteres_segura123";
 
-    private Key getSigningKey() {
-        return new SecretKeySpec(SECRET_KEY.getBytes(), SignatureAlgorithm.HS256.getJcaName());
+    // Clave y parser se arman una sola vez: ambos son inmutables y seguros entre hilos
+    private final Key signingKey = new SecretKeySpec(SECRET_KEY.getBytes(), SignatureAlgorithm.HS256.getJcaName());
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+    // Tokens ya verificados, por hash SHA-256 del token (no se guarda el token en sí).
+    // Cada entrada vence cuando vence el token, así que nunca se acepta uno expirado.
+    // null si la caché está desactivada (tamaño 0)
+    private final Cache<String, TokenClaims> verifiedTokens;
+
+    // Verificaciones de firma hechas (fallos de la caché) y tiempo total en ellas
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder verificationNanos = new LongAdder();
+
+    public JwtUtil() {
+        this(10_000);
+    }
+
+    @Autowired
+    public JwtUtil(@Value("${security.token-cache.max-size:10000}") long tokenCacheSize) {
+        if (tokenCacheSize <= 0) {
+            this.verifiedTokens = null;
+            return;
+        }
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheSize)
+                .recordStats()
+                .expireAfter(new Expiry<String, TokenClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, TokenClaims claims, long currentTime) {
+                        if (claims.getExpiresAt() == null) {
+                            return Long.MAX_VALUE;
+                        }
+                        return Math.max(0, Duration.between(Instant.now(), claims.getExpiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, TokenClaims claims, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, TokenClaims claims, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     // Generar token CON EL ROL
     public String generateToken(String email, String role) {
+        return generateToken(null, email, role);
+    }
+
+    // Generar token con el ID del usuario: el filtro lo compara con el usuario
+    // en caché para rechazar tokens de una cuenta borrada y creada de nuevo
+    public String generateToken(Long userId, String email, String role) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", role); // ← Agregar el rol al token
+        if (userId != null) {
+            claims.put("uid", userId);
+        }
 
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(email)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + 86400000)) // 1 día
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifica firma y expiración una sola vez y devuelve los datos del token.
+     * Un token repetido (la SPA manda el mismo en cada petición) sale de la caché
+     * sin volver a verificar la firma ni parsear el JSON.
+     *
+     * @throws JwtException si el token es inválido o está vencido
+     */
+    public TokenClaims parse(String token) {
+        if (verifiedTokens == null) {
+            return verify(token);
+        }
+
+        String key = hash(token);
+        TokenClaims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return cached;
+        }
+
+        TokenClaims parsed = verify(token);
+        verifiedTokens.put(key, parsed);
+        return parsed;
+    }
+
+    private TokenClaims verify(String token) {
+        long start = System.nanoTime();
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } finally {
+            verifications.increment();
+            verificationNanos.add(System.nanoTime() - start);
+        }
+        Number uid = claims.get("uid", Number.class);
+        Date expiration = claims.getExpiration();
+        return new TokenClaims(
+                claims.getSubject(),
+                uid != null ? uid.longValue() : null,
+                claims.get("role", String.class),
+                expiration != null ? expiration.toInstant() : null);
     }
 
     public String extractEmail(String token) {
-        return extractAllClaims(token).getSubject();
+        return parse(token).getEmail();
     }
 
     // Extraer el rol del token
     public String extractRole(String token) {
-        return extractAllClaims(token).get("role", String.class);
+        return parse(token).getRole();
+    }
+
+    // ID del usuario (null en tokens emitidos antes de incluirlo)
+    public Long extractUserId(String token) {
+        return parse(token).getUserId();
     }
 
     public boolean validateToken(String token, String email) {
-        final String extractedEmail = extractEmail(token);
-        return (extractedEmail.equals(email) && !isTokenExpired(token));
+        // parse() ya rechaza tokens vencidos o con firma inválida
+        TokenClaims claims = parse(token);
+        return claims.getEmail().equals(email) && !claims.isExpired(Instant.now());
+    }
+
+    /**
+     * security.jwt.verification (verificaciones de firma y su tiempo) y aciertos de
+     * la caché de tokens en cache.gets{cache="jwt-tokens"}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("security.jwt.verification", this,
+                jwt -> jwt.verifications.sum(), jwt -> jwt.verificationNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Verificaciones de firma de tokens JWT")
+                .register(registry);
+        if (verifiedTokens != null) {
+            CaffeineCacheMetrics.monitor(registry, verifiedTokens, "jwt-tokens");
+        }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractAllClaims(token).getExpiration().before(new Date());
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package com.unimar.plataforma_educativa_angular.token;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Datos de un token ya verificado (firma y expiración). Inmutable: la misma
+ * instancia se comparte entre peticiones desde la caché de {@link JwtUtil}.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class TokenClaims {
+
+    private final String email;
+    private final Long userId; // null en tokens emitidos antes de incluir "uid"
+    private final String role;
+    private final Instant expiresAt;
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,132 @@
+-- Esquema tal como lo dejaba spring.jpa.hibernate.ddl-auto=update antes de Flyway, con
+-- los archivos todavía en columnas LONGBLOB (file_data). Las bases que ya existían se
+-- marcan con esta versión (spring.flyway.baseline-on-migrate) y no lo ejecutan; por eso
+-- se conservan los nombres de restricciones generados por Hibernate. Todo lo que se
+-- agregó después va en las migraciones siguientes.
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    email VARCHAR(255) NOT NULL,
+    nombre VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role ENUM ('STUDENT', 'TEACHER') NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE courses (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    teacher_id BIGINT,
+    whatsapp_link VARCHAR(500),
+    description VARCHAR(255),
+    invite_code VARCHAR(255) NOT NULL,
+    level VARCHAR(255),
+    title VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE course_students (
+    course_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    PRIMARY KEY (course_id, student_id)
+);
+
+CREATE TABLE exercises (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    course_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    deadline DATETIME(6),
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    difficulty VARCHAR(255) NOT NULL,
+    external_url VARCHAR(500),
+    file_data LONGBLOB,
+    file_name VARCHAR(255),
+    file_type VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE hints (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    exercise_id BIGINT NOT NULL,
+    hint_order INTEGER NOT NULL,
+    content VARCHAR(500) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE challenges (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    course_id BIGINT NOT NULL,
+    active BIT NOT NULL,
+    max_bonus_points INTEGER NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    deadline DATETIME(6),
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(2000),
+    difficulty VARCHAR(255) NOT NULL,
+    external_url VARCHAR(500),
+    file_data LONGBLOB,
+    file_name VARCHAR(255),
+    file_type VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE submissions (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    exercise_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    status ENUM ('GRADED', 'PENDING', 'REJECTED') NOT NULL,
+    grade FLOAT(53),
+    feedback VARCHAR(1000),
+    edit_count INTEGER NOT NULL,
+    submitted_at DATETIME(6) NOT NULL,
+    last_modified_at DATETIME(6),
+    graded_at DATETIME(6),
+    file_data LONGBLOB,
+    file_name VARCHAR(255),
+    file_type VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE challenge_submissions (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    challenge_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    status ENUM ('PENDING', 'REJECTED', 'REVIEWED') NOT NULL,
+    bonus_points INTEGER,
+    feedback VARCHAR(1000),
+    edit_count INTEGER NOT NULL,
+    submitted_at DATETIME(6) NOT NULL,
+    last_modified_at DATETIME(6),
+    reviewed_at DATETIME(6),
+    file_data LONGBLOB,
+    file_name VARCHAR(255),
+    file_type VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE student_scores (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    student_id BIGINT NOT NULL,
+    course_id BIGINT NOT NULL,
+    total_bonus_points INTEGER NOT NULL,
+    challenges_completed INTEGER NOT NULL,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE users ADD CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email);
+ALTER TABLE courses ADD CONSTRAINT UK5dgj538ylykvvvo2e8ygnymtj UNIQUE (invite_code);
+ALTER TABLE student_scores ADD CONSTRAINT UKmohw4fxybjpwdgso1x1dge2ku UNIQUE (student_id, course_id);
+
+ALTER TABLE courses ADD CONSTRAINT FKt4ba5fab1x56tmt4nsypv5lm5 FOREIGN KEY (teacher_id) REFERENCES users (id);
+ALTER TABLE course_students ADD CONSTRAINT FKj5fbpmgy0y0es0gvk0311jor3 FOREIGN KEY (course_id) REFERENCES courses (id);
+ALTER TABLE course_students ADD CONSTRAINT FKcedy62b1kx0ll1ggwkh25ubxh FOREIGN KEY (student_id) REFERENCES users (id);
+ALTER TABLE exercises ADD CONSTRAINT FKow8b79ryqdfcd81wmw516d8yk FOREIGN KEY (course_id) REFERENCES courses (id);
+ALTER TABLE hints ADD CONSTRAINT FKl8gi9h4edbo858fkrpyc96x2t FOREIGN KEY (exercise_id) REFERENCES exercises (id);
+ALTER TABLE challenges ADD CONSTRAINT FKjnwmsacxo1en1ykk9q8ak16db FOREIGN KEY (course_id) REFERENCES courses (id);
+ALTER TABLE submissions ADD CONSTRAINT FKrjkxeiu6wxkbw9h1u58093jm5 FOREIGN KEY (exercise_id) REFERENCES exercises (id);
+ALTER TABLE submissions ADD CONSTRAINT FK3p6y8mnhpwusdgqrdl4hcl72m FOREIGN KEY (student_id) REFERENCES users (id);
+ALTER TABLE challenge_submissions ADD CONSTRAINT FKe5gyf409x7ignxijtuhy5w07v FOREIGN KEY (challenge_id) REFERENCES challenges (id);
+ALTER TABLE challenge_submissions ADD CONSTRAINT FKon77hxh00rfgbc4vido0nj17f FOREIGN KEY (student_id) REFERENCES users (id);
+ALTER TABLE student_scores ADD CONSTRAINT FK2cshp5yrme4ax2kmq46trkb5d FOREIGN KEY (student_id) REFERENCES users (id);
+ALTER TABLE student_scores ADD CONSTRAINT FKdlr489gvp7v6rkibkbsgpwqm FOREIGN KEY (course_id) REFERENCES courses (id);
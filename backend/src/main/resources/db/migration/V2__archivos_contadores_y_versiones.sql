@@ -0,0 +1,39 @@
+-- Archivos fuera de la base: cada fila guarda la clave del BlobStore, el tamaño y el
+-- SHA-256. file_data se conserva para que BlobMigrationJob (storage.migration.enabled)
+-- mueva los archivos existentes; el job deja la columna en NULL fila por fila
+ALTER TABLE exercises ADD COLUMN file_blob_key VARCHAR(64);
+ALTER TABLE exercises ADD COLUMN file_checksum VARCHAR(64);
+ALTER TABLE exercises ADD COLUMN file_size BIGINT;
+
+ALTER TABLE challenges ADD COLUMN file_blob_key VARCHAR(64);
+ALTER TABLE challenges ADD COLUMN file_checksum VARCHAR(64);
+ALTER TABLE challenges ADD COLUMN file_size BIGINT;
+
+ALTER TABLE submissions ADD COLUMN file_blob_key VARCHAR(64);
+ALTER TABLE submissions ADD COLUMN file_checksum VARCHAR(64);
+ALTER TABLE submissions ADD COLUMN file_size BIGINT;
+
+ALTER TABLE challenge_submissions ADD COLUMN file_blob_key VARCHAR(64);
+ALTER TABLE challenge_submissions ADD COLUMN file_checksum VARCHAR(64);
+ALTER TABLE challenge_submissions ADD COLUMN file_size BIGINT;
+
+-- Referencias a cada archivo compartido (BlobReferenceCounter); el recolector borra
+-- los que quedan en cero
+CREATE TABLE blob_references (
+    blob_key VARCHAR(64) NOT NULL,
+    ref_count BIGINT NOT NULL,
+    released_at DATETIME(6),
+    PRIMARY KEY (blob_key)
+);
+
+-- Bloqueo optimista de revisiones y puntajes: las filas existentes empiezan en 0
+ALTER TABLE challenge_submissions ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE student_scores ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+-- Cursos inscritos por course_students.student_id y listados de entregas con cursor
+-- (submitted_at, id)
+CREATE INDEX idx_course_students_student ON course_students (student_id, course_id);
+CREATE INDEX idx_submissions_exercise_submitted ON submissions (exercise_id, submitted_at, id);
+CREATE INDEX idx_submissions_student_submitted ON submissions (student_id, submitted_at, id);
+CREATE INDEX idx_challenge_submissions_challenge_submitted ON challenge_submissions (challenge_id, submitted_at, id);
+CREATE INDEX idx_challenge_submissions_student_submitted ON challenge_submissions (student_id, submitted_at, id);
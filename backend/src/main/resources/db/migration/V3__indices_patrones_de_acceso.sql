@@ -0,0 +1,33 @@
+-- Índices para las consultas que ejecuta la aplicación. Antes de aplicarla en una base
+-- existente no debe haber más de una entrega por (ejercicio, estudiante) ni por
+-- (reto, estudiante): el servicio ya lo impide, las restricciones lo garantizan.
+
+-- existsByExerciseIdAndStudentId / findByExerciseIdAndStudentId (una entrega por estudiante)
+ALTER TABLE submissions ADD CONSTRAINT uk_submissions_exercise_student UNIQUE (exercise_id, student_id);
+ALTER TABLE challenge_submissions ADD CONSTRAINT uk_challenge_submissions_challenge_student UNIQUE (challenge_id, student_id);
+
+-- countByStudentIdAndStatus (estadísticas del estudiante) y entregas pendientes por
+-- ejercicio/reto (panel del profesor). El estado solo tiene tres valores: un índice
+-- únicamente sobre status casi no filtra, por eso va detrás del estudiante o del ejercicio
+CREATE INDEX idx_submissions_student_status ON submissions (student_id, status);
+CREATE INDEX idx_submissions_exercise_status ON submissions (exercise_id, status);
+CREATE INDEX idx_challenge_submissions_student_status ON challenge_submissions (student_id, status);
+CREATE INDEX idx_challenge_submissions_challenge_status ON challenge_submissions (challenge_id, status);
+
+-- Ranking del curso ordenado por puntos y retos completados
+CREATE INDEX idx_student_scores_course_ranking
+    ON student_scores (course_id, total_bonus_points DESC, challenges_completed DESC);
+
+-- findByCourseIdAndActiveTrue / countByCourseIdAndActiveTrue
+CREATE INDEX idx_challenges_course_active ON challenges (course_id, active);
+
+-- findByExerciseIdOrderByOrderAsc: pistas ya ordenadas sin filesort
+CREATE INDEX idx_hints_exercise_order ON hints (exercise_id, hint_order);
+
+-- Recolector de archivos: candidatos con contador en cero y, por cada uno, la
+-- comprobación de que ninguna fila lo siga usando
+CREATE INDEX idx_blob_references_released ON blob_references (ref_count, released_at);
+CREATE INDEX idx_submissions_file_blob_key ON submissions (file_blob_key);
+CREATE INDEX idx_challenge_submissions_file_blob_key ON challenge_submissions (file_blob_key);
+CREATE INDEX idx_exercises_file_blob_key ON exercises (file_blob_key);
+CREATE INDEX idx_challenges_file_blob_key ON challenges (file_blob_key);
@@ -0,0 +1,3 @@
+-- Entregas aceptadas cuyo archivo se guarda en segundo plano (PENDING_UPLOAD) y las que
+-- no se pudieron guardar (UPLOAD_FAILED). Ver SubmissionUploadService
+ALTER TABLE submissions MODIFY status ENUM ('GRADED', 'PENDING', 'PENDING_UPLOAD', 'REJECTED', 'UPLOAD_FAILED') NOT NULL;
@@ -0,0 +1,7 @@
+-- Fecha en que se adjuntó el archivo de ejercicios y retos, para el Last-Modified de la
+-- descarga: el archivo se puede reemplazar al editar y created_at no cambia
+ALTER TABLE exercises ADD COLUMN file_updated_at DATETIME(6);
+ALTER TABLE challenges ADD COLUMN file_updated_at DATETIME(6);
+
+UPDATE exercises SET file_updated_at = created_at WHERE file_blob_key IS NOT NULL;
+UPDATE challenges SET file_updated_at = created_at WHERE file_blob_key IS NOT NULL;
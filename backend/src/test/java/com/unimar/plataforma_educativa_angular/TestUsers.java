@@ -0,0 +1,27 @@
+package com.unimar.plataforma_educativa_angular;
+
+import com.unimar.plataforma_educativa_angular.entities.Role;
+import com.unimar.plataforma_educativa_angular.entities.User;
+
+/**
+ * Usuarios sin guardar para las pruebas con base de datos; cada prueba los persiste
+ * con su {@code TestEntityManager} o repositorio
+ */
+public final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    public static User user(String email, Role role) {
+        return user(email, email, role);
+    }
+
+    public static User user(String email, String nombre, Role role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setNombre(nombre);
+        user.setPassword("secret");
+        user.setRole(role);
+        return user;
+    }
+}
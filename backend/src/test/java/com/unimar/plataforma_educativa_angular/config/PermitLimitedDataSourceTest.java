@@ -0,0 +1,100 @@
+package com.unimar.plataforma_educativa_angular.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Pruebas del Límite de Conexiones para Hilos Virtuales")
+class PermitLimitedDataSourceTest {
+
+    private DataSource target;
+    private PermitLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new PermitLimitedDataSource(target, 2, Duration.ofMillis(100));
+    }
+
+    @Test
+    @DisplayName("Límite alcanzado - La siguiente espera y falla como pool agotado")
+    void testGetConnection_TimesOutWhenNoPermits() throws SQLException {
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(target, times(2)).getConnection();
+
+        first.close();
+        assertNotNull(dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("Espera - Recibe la conexión cuando otra se cierra")
+    void testGetConnection_WaitsForClose() throws Exception {
+        dataSource = new PermitLimitedDataSource(target, 1, Duration.ofSeconds(5));
+        Connection first = dataSource.getConnection();
+
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        while (dataSource.getQueueLength() == 0) {
+            Thread.onSpinWait();
+        }
+        assertFalse(waiting.isDone());
+
+        first.close();
+
+        assertNotNull(waiting.get(5, TimeUnit.SECONDS));
+        assertEquals(0, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    @DisplayName("Cerrar dos veces - Devuelve un solo permiso")
+    void testClose_ReleasesOnce() throws SQLException {
+        Connection connection = dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    @DisplayName("Error del pool - El permiso se devuelve")
+    void testGetConnection_ReleasesOnFailure() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool agotado"));
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    @DisplayName("Configuración - Solo envuelve DataSources una vez")
+    void testPostProcessor_WrapsDataSourceOnce() {
+        var postProcessor = VirtualThreadsConfig.connectionPermitsPostProcessor(10, 30000);
+
+        Object wrapped = postProcessor.postProcessAfterInitialization(target, "dataSource");
+
+        assertInstanceOf(PermitLimitedDataSource.class, wrapped);
+        assertSame(wrapped, postProcessor.postProcessAfterInitialization(wrapped, "dataSource"));
+        assertEquals("texto", postProcessor.postProcessAfterInitialization("texto", "otro"));
+    }
+}
@@ -0,0 +1,165 @@
+package com.unimar.plataforma_educativa_angular.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unimar.plataforma_educativa_angular.dto.ArchiveEntryDTO;
+import com.unimar.plataforma_educativa_angular.entities.ChallengeSubmission;
+import com.unimar.plataforma_educativa_angular.entities.Role;
+import com.unimar.plataforma_educativa_angular.entities.Submission;
+import com.unimar.plataforma_educativa_angular.service.ChallengeSubmissionService;
+import com.unimar.plataforma_educativa_angular.service.SubmissionArchiveService;
+import com.unimar.plataforma_educativa_angular.service.SubmissionService;
+import com.unimar.plataforma_educativa_angular.storage.BlobStore;
+import com.unimar.plataforma_educativa_angular.token.AuthenticatedUser;
+import com.unimar.plataforma_educativa_angular.token.CurrentUserArgumentResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas de Descarga de Entregas en ZIP")
+class ArchiveDownloadsTest {
+
+    private static final String KEY = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+    private static final LocalDateTime SUBMITTED = LocalDateTime.of(2025, 5, 10, 14, 30);
+    private static final AuthenticatedUser TEACHER =
+            new AuthenticatedUser(1L, "teacher@test.com", "Profesor Test", Role.TEACHER);
+
+    @Mock
+    private SubmissionService submissionService;
+
+    @Mock
+    private ChallengeSubmissionService challengeSubmissionService;
+
+    @Mock
+    private BlobStore blobStore;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private SubmissionArchiveService archiveService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        SubmissionController submissionController = new SubmissionController();
+        ChallengeSubmissionController challengeController = new ChallengeSubmissionController();
+        ReflectionTestUtils.setField(submissionController, "submissionService", submissionService);
+        ReflectionTestUtils.setField(challengeController, "submissionService", challengeSubmissionService);
+        for (Object controller : List.of(submissionController, challengeController)) {
+            ReflectionTestUtils.setField(controller, "archiveService", archiveService);
+            ReflectionTestUtils.setField(controller, "objectMapper", objectMapper);
+        }
+        mockMvc = MockMvcBuilders.standaloneSetup(submissionController, challengeController)
+                .setCustomArgumentResolvers(new CurrentUserArgumentResolver())
+                .build();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(TEACHER, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("ZIP de ejercicio - Se descarga con manifiesto y archivos")
+    void testExerciseArchive() throws Exception {
+        when(submissionService.getArchiveEntries(1L, TEACHER.getId())).thenReturn(List.of(
+                new ArchiveEntryDTO("Ana Pérez", "ana@test.com", "solucion.zip", KEY, 4L,
+                        Submission.SubmissionStatus.GRADED, 4.5, SUBMITTED, null)));
+        when(blobStore.open(KEY)).thenReturn(new ByteArrayInputStream("ABCD".getBytes()));
+
+        MvcResult result = download(get("/api/submissions/exercise/1/archive"));
+
+        assertEquals("attachment; filename=\"entregas-ejercicio-1.zip\"",
+                result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION));
+        Map<String, String> zip = unzip(result.getResponse().getContentAsByteArray());
+        assertEquals(List.of("manifiesto.csv", "Ana Pérez (ana@test.com)/solucion.zip"), List.copyOf(zip.keySet()));
+        assertEquals("ABCD", zip.get("Ana Pérez (ana@test.com)/solucion.zip"));
+    }
+
+    @Test
+    @DisplayName("ZIP de reto - Se descarga con manifiesto y archivos")
+    void testChallengeArchive() throws Exception {
+        when(challengeSubmissionService.getArchiveEntries(2L, TEACHER.getId())).thenReturn(List.of(
+                new ArchiveEntryDTO("Luis Gómez", "luis@test.com", "reto.py", KEY, 4L,
+                        ChallengeSubmission.SubmissionStatus.REVIEWED, 8, SUBMITTED, "Bien")));
+        when(blobStore.open(KEY)).thenReturn(new ByteArrayInputStream("print".getBytes()));
+
+        MvcResult result = download(get("/api/challenge-submissions/challenge/2/archive"));
+
+        Map<String, String> zip = unzip(result.getResponse().getContentAsByteArray());
+        assertEquals("print", zip.get("Luis Gómez (luis@test.com)/reto.py"));
+        assertTrue(zip.get("manifiesto.csv").contains("REVIEWED,8"));
+    }
+
+    @Test
+    @DisplayName("Sin permiso - Error como JSON con 400")
+    void testArchive_ErrorAsJson() throws Exception {
+        when(submissionService.getArchiveEntries(1L, TEACHER.getId()))
+                .thenThrow(new RuntimeException("No tienes permiso para descargar estas entregas"));
+
+        MvcResult started = mockMvc.perform(get("/api/submissions/exercise/1/archive")).andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error").value("No tienes permiso para descargar estas entregas"));
+        verifyNoInteractions(blobStore);
+    }
+
+    private MvcResult download(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/zip"))
+                .andReturn();
+    }
+
+    private static Map<String, String> unzip(byte[] bytes) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,506 @@
+package com.unimar.plataforma_educativa_angular.controller;
+
+import com.unimar.plataforma_educativa_angular.dto.CursorPageDTO;
+import com.unimar.plataforma_educativa_angular.token.JwtUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMultipartHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+/**
+ * Presupuesto de sentencias SQL, filas y bytes leídos por endpoint sobre un conjunto
+ * mediano de datos generados por {@code DatasetGenerator} (4 cursos, 120 estudiantes,
+ * unas 200 entregas por curso).
+ *
+ * Los presupuestos tienen un margen sobre lo medido; si un cambio agrega consultas o
+ * trae columnas de más, la prueba falla e indica el endpoint. Si el aumento es
+ * intencional, se ajusta el presupuesto en el mismo cambio.
+ *
+ * Las lecturas se llaman una vez antes de medir para que las cachés de usuario y de
+ * roles ya estén cargadas; las escrituras se miden en su primera llamada sobre datos
+ * creados por la misma prueba, sin alterar los generados.
+ *
+ * Los listados además deben ejecutar las mismas sentencias con una fila que con la
+ * página completa: si el número cambia, algún DTO recorre asociaciones LAZY fila por
+ * fila (N+1).
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:budgets;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "seed.enabled=true",
+        "seed.teachers=2",
+        "seed.courses-per-teacher=2",
+        "seed.students=120",
+        "seed.students-per-course=40",
+        "seed.exercises-per-course=6",
+        "seed.challenges-per-course=3",
+        "seed.hints-per-exercise=3",
+        "seed.file-size=1KB",
+        "storage.spool.dir=target/test-uploads/spool-budgets" })
+@AutoConfigureMockMvc
+@Import(JdbcTraffic.class)
+@ActiveProfiles("test")
+@DisplayName("Pruebas de Presupuesto de Consultas por Endpoint")
+class EndpointQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTraffic traffic;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String teacherToken;
+    private String studentToken;
+    private long courseId;
+    private String courseLevel;
+    private long exerciseId;
+    private long openExerciseId;
+    private long challengeId;
+    private long openChallengeId;
+    private long submissionId;
+    private long solutionId;
+    // Único entre pruebas: la caché de usuarios del filtro JWT se comparte en el contexto
+    private static int sequence;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, Object> teacher = jdbcTemplate.queryForMap(
+                "SELECT id, email FROM users WHERE email = 'profesor1@seed.local'");
+        teacherToken = token(teacher, "TEACHER");
+        courseId = id("SELECT MIN(id) FROM courses WHERE teacher_id = ?", teacher.get("id"));
+        courseLevel = jdbcTemplate.queryForObject("SELECT level FROM courses WHERE id = ?", String.class, courseId);
+
+        // El inscrito con más entregas: el peor caso de "mis entregas"
+        Map<String, Object> student = jdbcTemplate.queryForMap("SELECT u.id, u.email FROM users u "
+                + "JOIN course_students cs ON cs.student_id = u.id AND cs.course_id = ? "
+                + "LEFT JOIN submissions s ON s.student_id = u.id "
+                + "GROUP BY u.id, u.email ORDER BY COUNT(s.id) DESC, u.id LIMIT 1", courseId);
+        studentToken = token(student, "STUDENT");
+
+        exerciseId = id("SELECT MIN(id) FROM exercises WHERE course_id = ? AND deadline < CURRENT_TIMESTAMP "
+                + "AND file_blob_key IS NOT NULL", courseId);
+        openExerciseId = id("SELECT MIN(id) FROM exercises WHERE course_id = ? AND deadline > CURRENT_TIMESTAMP",
+                courseId);
+        challengeId = id("SELECT MIN(id) FROM challenges WHERE course_id = ? AND deadline < CURRENT_TIMESTAMP",
+                courseId);
+        openChallengeId = id("SELECT MIN(id) FROM challenges WHERE course_id = ? AND deadline > CURRENT_TIMESTAMP",
+                courseId);
+        submissionId = id("SELECT MIN(id) FROM submissions WHERE exercise_id = ?", exerciseId);
+        solutionId = id("SELECT MIN(id) FROM challenge_submissions WHERE challenge_id = ?", challengeId);
+    }
+
+    @Test
+    @DisplayName("Autenticación - Registro, login, perfil y contraseña")
+    void testAuth() throws Exception {
+        String email = "budget" + sequence++ + "@test.com";
+
+        assertWithin(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                .content(json("email", email, "password", "secret123", "nombre", "Nuevo", "role", "STUDENT")),
+                3, 2, 10);
+        assertWithin(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .content(json("email", email, "password", "secret123")),
+                2, 2, 120);
+
+        String token = token(jdbcTemplate.queryForMap("SELECT id, email FROM users WHERE email = ?", email),
+                "STUDENT");
+        assertReadWithin(as(token, get("/api/auth/me")), 0, 0, 0);
+        assertWithin(as(token, put("/api/auth/profile")).contentType(MediaType.APPLICATION_JSON)
+                .content(json("nombre", "Renombrado")),
+                3, 2, 120);
+        assertWithin(as(token, put("/api/auth/change-password")).contentType(MediaType.APPLICATION_JSON)
+                .content(json("currentPassword", "secret123", "newPassword", "secret456")),
+                4, 3, 260);
+    }
+
+    @Test
+    @DisplayName("Cursos - Listados, alumnos y WhatsApp dentro del presupuesto")
+    void testCourseReads() throws Exception {
+        assertReadWithin(as(teacherToken, get("/api/courses")), 2, 3, 420);
+        assertReadWithin(as(teacherToken, get("/api/courses?size=20")), 2, 3, 420);
+        assertReadWithin(as(studentToken, get("/api/courses/enrolled")), 2, 4, 530);
+        assertReadWithin(as(studentToken, get("/api/courses/enrolled?size=20")), 2, 4, 530);
+        assertReadWithin(as(teacherToken, get("/api/courses/" + courseId + "/students")),
+                3, 48, 5_510);
+        assertReadWithin(as(teacherToken, get("/api/courses/" + courseId + "/students?size=50")),
+                3, 48, 5_510);
+        assertReadWithin(as(studentToken, get("/api/courses/" + courseId + "/whatsapp")),
+                2, 2, 290);
+    }
+
+    @Test
+    @DisplayName("Listados - Mismas consultas con una fila y con la página completa")
+    void testListingsWithoutNPlusOne() throws Exception {
+        assertConstant(teacherToken, "/api/courses",
+                "/api/courses/" + courseId + "/students",
+                "/api/submissions/exercise/" + exerciseId,
+                "/api/challenge-submissions/challenge/" + challengeId);
+        assertConstant(studentToken, "/api/courses/enrolled",
+                "/api/exercises/course/" + courseId,
+                "/api/submissions/my-submissions",
+                "/api/challenge-submissions/my-submissions");
+    }
+
+    @Test
+    @DisplayName("Detalle de entrega - Entrega, ejercicio, curso y estudiante en una consulta")
+    void testSubmissionDetail() throws Exception {
+        MockHttpServletRequestBuilder request = as(teacherToken, get("/api/submissions/" + submissionId));
+        call(request);
+
+        // Solo la entrega con sus asociaciones: el permiso se compara por ID (acceso en caché)
+        assertEquals(1, traffic.measure(() -> call(request)).statements());
+        String studentName = jdbcTemplate.queryForObject("SELECT u.nombre FROM users u "
+                + "JOIN submissions s ON s.student_id = u.id WHERE s.id = ?", String.class, submissionId);
+        mockMvc.perform(request).andExpect(jsonPath("$.studentName").value(studentName));
+    }
+
+    @Test
+    @DisplayName("Cursos - Crear, editar, inscribir, retirar y eliminar dentro del presupuesto")
+    void testCourseWrites() throws Exception {
+        assertWithin(as(teacherToken, post("/api/courses")).contentType(MediaType.APPLICATION_JSON)
+                .content(json("title", "Curso de presupuesto", "description", "Temporal", "level", courseLevel)),
+                4, 3, 160);
+        long newCourseId = id("SELECT MAX(id) FROM courses");
+        String inviteCode = jdbcTemplate.queryForObject("SELECT invite_code FROM courses WHERE id = ?",
+                String.class, newCourseId);
+
+        assertWithin(as(teacherToken, put("/api/courses/" + newCourseId)).contentType(MediaType.APPLICATION_JSON)
+                .content(json("title", "Curso editado", "description", "Temporal", "level", courseLevel)),
+                4, 2, 210);
+        assertWithin(as(teacherToken, put("/api/courses/" + newCourseId + "/whatsapp"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json("whatsappLink", "https://chat.whatsapp.com/budget")),
+                5, 3, 210);
+        assertWithin(as(teacherToken, delete("/api/courses/" + newCourseId + "/whatsapp")),
+                5, 3, 250);
+
+        String first = newStudent();
+        String second = newStudent();
+        assertWithin(as(first, post("/api/courses/join")).contentType(MediaType.APPLICATION_JSON)
+                .content(json("inviteCode", inviteCode)),
+                7, 7, 380);
+        assertWithin(as(first, delete("/api/courses/" + newCourseId + "/leave")),
+                5, 4, 80);
+        mockMvc.perform(as(second, post("/api/courses/join")).contentType(MediaType.APPLICATION_JSON)
+                .content(json("inviteCode", inviteCode)));
+        assertWithin(as(teacherToken, delete("/api/courses/" + newCourseId + "/students/" + userId(second))),
+                5, 4, 220);
+        assertWithin(as(teacherToken, delete("/api/courses/" + newCourseId)),
+                4, 2, 200);
+    }
+
+    @Test
+    @DisplayName("Ejercicios y pistas - Lecturas y escrituras dentro del presupuesto")
+    void testExercisesAndHints() throws Exception {
+        assertReadWithin(as(studentToken, get("/api/exercises/course/" + courseId)), 2, 8, 1_310);
+        assertReadWithin(as(studentToken, get("/api/exercises/course/" + courseId + "?size=20")),
+                2, 8, 1_310);
+        assertReadWithin(as(studentToken, get("/api/exercises/" + exerciseId)), 2, 2, 300);
+        assertReadWithin(as(studentToken, get("/api/exercises/" + exerciseId + "/download")),
+                3, 3, 440);
+        assertReadWithin(as(studentToken, get("/api/hints/exercise/" + exerciseId)), 5, 10, 840);
+
+        assertWithin(as(teacherToken, multipart("/api/exercises").file(file()))
+                .param("title", "Ejercicio de presupuesto").param("description", "Temporal")
+                .param("difficulty", "BASICO").param("courseId", String.valueOf(courseId))
+                .param("deadline", LocalDateTime.now().plusDays(3).toString()),
+                5, 4, 310);
+        long newExerciseId = id("SELECT MAX(id) FROM exercises");
+        assertWithin(as(teacherToken, multipart(HttpMethod.PUT, "/api/exercises/" + newExerciseId))
+                .param("title", "Ejercicio editado").param("description", "Temporal").param("difficulty", "BASICO"),
+                5, 4, 580);
+
+        assertWithin(as(teacherToken, post("/api/hints?exerciseId=" + newExerciseId))
+                .contentType(MediaType.APPLICATION_JSON).content(json("content", "Pista temporal", "order", 1)),
+                7, 7, 590);
+        long hintId = id("SELECT MAX(id) FROM hints");
+        assertWithin(as(teacherToken, put("/api/hints/" + hintId)).contentType(MediaType.APPLICATION_JSON)
+                .content(json("content", "Pista editada", "order", 1)),
+                7, 5, 630);
+        assertWithin(as(teacherToken, delete("/api/hints/" + hintId)), 5, 4, 610);
+        assertWithin(as(teacherToken, delete("/api/exercises/" + newExerciseId)), 9, 4, 560);
+    }
+
+    @Test
+    @DisplayName("Retos - Lecturas y escrituras dentro del presupuesto")
+    void testChallenges() throws Exception {
+        assertReadWithin(as(studentToken, get("/api/challenges/course/" + courseId)), 3, 49, 11_110);
+        assertReadWithin(as(studentToken, get("/api/challenges/" + challengeId)), 3, 18, 4_120);
+
+        assertWithin(as(teacherToken, multipart("/api/challenges").file(file()))
+                .param("title", "Reto de presupuesto").param("description", "Temporal")
+                .param("difficulty", "AVANZADO").param("maxBonusPoints", "10")
+                .param("courseId", String.valueOf(courseId))
+                .param("deadline", LocalDateTime.now().plusDays(3).toString()),
+                5, 4, 310);
+        long newChallengeId = id("SELECT MAX(id) FROM challenges");
+        assertReadWithin(as(studentToken, get("/api/challenges/" + newChallengeId + "/download")),
+                3, 3, 430);
+        assertWithin(as(teacherToken, multipart(HttpMethod.PUT, "/api/challenges/" + newChallengeId))
+                .param("title", "Reto editado").param("description", "Temporal")
+                .param("difficulty", "AVANZADO").param("maxBonusPoints", "10"),
+                7, 4, 590);
+        assertWithin(as(teacherToken, delete("/api/challenges/" + newChallengeId)), 8, 4, 570);
+    }
+
+    @Test
+    @DisplayName("Entregas - Listados, archivo ZIP y detalle dentro del presupuesto")
+    void testSubmissionReads() throws Exception {
+        assertReadWithin(as(teacherToken, get("/api/submissions/exercise/" + exerciseId)),
+                3, 43, 7_100);
+        assertReadWithin(as(teacherToken, get("/api/submissions/exercise/" + exerciseId + "?size=50")),
+                3, 43, 7_100);
+        assertReadWithin(as(teacherToken, get("/api/submissions/exercise/" + exerciseId + "/archive")),
+                3, 43, 7_180);
+        assertReadWithin(as(studentToken, get("/api/submissions/my-submissions")), 2, 19, 3_090);
+        assertReadWithin(as(studentToken, get("/api/submissions/my-submissions?size=20")),
+                2, 19, 3_090);
+        assertReadWithin(as(teacherToken, get("/api/submissions/" + submissionId)), 2, 2, 890);
+        assertReadWithin(as(teacherToken, get("/api/submissions/" + submissionId + "/download")),
+                2, 2, 890);
+    }
+
+    @Test
+    @DisplayName("Entregas - Entregar, editar, calificar y eliminar dentro del presupuesto")
+    void testSubmissionWrites() throws Exception {
+        String token = newStudent(courseId);
+
+        // La entrega y el guardado de su archivo en segundo plano
+        assertUploadWithin(as(token, multipart("/api/submissions").file(file()))
+                .param("exerciseId", String.valueOf(openExerciseId)),
+                9, 7, 680);
+        long newSubmissionId = id("SELECT MAX(id) FROM submissions");
+        assertReadWithin(as(token, get("/api/submissions/" + newSubmissionId + "/status")), 1, 1, 10);
+        assertWithin(as(token, multipart(HttpMethod.PUT, "/api/submissions/" + newSubmissionId).file(file())),
+                3, 2, 620);
+        assertWithin(as(token, delete("/api/submissions/" + newSubmissionId)), 4, 2, 620);
+
+        mockMvc.perform(as(token, multipart("/api/submissions").file(file()))
+                .param("exerciseId", String.valueOf(openExerciseId)));
+        awaitSpool();
+        assertWithin(as(teacherToken, put("/api/submissions/" + id("SELECT MAX(id) FROM submissions") + "/grade"))
+                .contentType(MediaType.APPLICATION_JSON).content(json("grade", 90, "feedback", "Bien")),
+                3, 2, 620);
+    }
+
+    @Test
+    @DisplayName("Soluciones de retos - Lecturas y escrituras dentro del presupuesto")
+    void testChallengeSubmissions() throws Exception {
+        assertReadWithin(as(teacherToken, get("/api/challenge-submissions/challenge/" + challengeId)),
+                3, 18, 2_770);
+        assertReadWithin(as(teacherToken, get("/api/challenge-submissions/challenge/" + challengeId + "/archive")),
+                3, 18, 2_750);
+        assertReadWithin(as(studentToken, get("/api/challenge-submissions/my-submissions")),
+                2, 5, 830);
+        assertReadWithin(as(teacherToken, get("/api/challenge-submissions/" + solutionId)),
+                2, 2, 680);
+
+        String token = newStudent(courseId);
+        assertWithin(as(token, multipart("/api/challenge-submissions").file(file()))
+                .param("challengeId", String.valueOf(openChallengeId)),
+                7, 5, 170);
+        long newSolutionId = id("SELECT MAX(id) FROM challenge_submissions");
+        assertWithin(as(token, multipart(HttpMethod.PUT, "/api/challenge-submissions/" + newSolutionId).file(file())),
+                3, 2, 580);
+        assertReadWithin(as(teacherToken, get("/api/challenge-submissions/" + newSolutionId + "/download")),
+                2, 2, 580);
+        assertWithin(as(token, delete("/api/challenge-submissions/" + newSolutionId)),
+                4, 2, 580);
+
+        mockMvc.perform(as(token, multipart("/api/challenge-submissions").file(file()))
+                .param("challengeId", String.valueOf(openChallengeId)));
+        assertWithin(as(teacherToken, post("/api/challenge-submissions/"
+                + id("SELECT MAX(id) FROM challenge_submissions") + "/review"))
+                .contentType(MediaType.APPLICATION_JSON).content(json("bonusPoints", 5, "feedback", "Bien")),
+                6, 3, 630);
+    }
+
+    @Test
+    @DisplayName("Podio y estadísticas - Dentro del presupuesto")
+    void testPodiumAndStats() throws Exception {
+        assertReadWithin(as(studentToken, get("/api/podium/course/" + courseId)), 0, 0, 0);
+        assertReadWithin(as(studentToken, get("/api/podium/level/" + courseLevel)), 3, 3, 300);
+        assertReadWithin(as(studentToken, get("/api/podium/my-position/" + courseId)),
+                2, 2, 140);
+        assertReadWithin(as(teacherToken, get("/api/stats/teacher")), 2, 2, 60);
+        assertReadWithin(as(studentToken, get("/api/stats/student")), 5, 5, 40);
+        assertReadWithin(as(studentToken, get("/api/stats/course/" + courseId + "/progress")),
+                7, 7, 330);
+    }
+
+    /**
+     * Compara las sentencias de cada listado pidiendo una fila y la página máxima
+     */
+    private void assertConstant(String token, String... urls) throws Exception {
+        for (String url : urls) {
+            long one = statements(as(token, get(url + "?size=1")));
+            long page = statements(as(token, get(url + "?size=" + CursorPageDTO.MAX_SIZE)));
+            System.out.printf("  %-62s %3d consultas con 1 fila, %d con la página%n", url, one, page);
+            assertEquals(one, page, "Consultas por fila en " + url);
+        }
+    }
+
+    private long statements(MockHttpServletRequestBuilder request) throws Exception {
+        call(request);
+        return traffic.measure(() -> call(request)).statements();
+    }
+
+    /**
+     * Llama una vez sin medir y mide la segunda llamada
+     */
+    private void assertReadWithin(MockHttpServletRequestBuilder request, long statements, long rows, long bytes)
+            throws Exception {
+        call(request);
+        assertWithin(request, statements, rows, bytes);
+    }
+
+    private MvcResult assertWithin(MockHttpServletRequestBuilder request, long statements, long rows, long bytes)
+            throws Exception {
+        return assertWithin(request, () -> { }, statements, rows, bytes);
+    }
+
+    /**
+     * Mide la petición junto con el guardado en segundo plano del archivo que dejó en el spool
+     */
+    private MvcResult assertUploadWithin(MockHttpServletRequestBuilder request, long statements, long rows,
+            long bytes) throws Exception {
+        return assertWithin(request, this::awaitSpool, statements, rows, bytes);
+    }
+
+    private MvcResult assertWithin(MockHttpServletRequestBuilder request, JdbcTraffic.Action then,
+            long statements, long rows, long bytes) throws Exception {
+        MvcResult[] result = new MvcResult[1];
+        JdbcTraffic.Usage usage = traffic.measure(() -> {
+            result[0] = call(request);
+            then.run();
+        });
+
+        String endpoint = result[0].getRequest().getMethod() + " " + result[0].getRequest().getRequestURI();
+        int status = result[0].getResponse().getStatus();
+        System.out.printf("  %-62s %3d consultas %6d filas %8d bytes%n", endpoint, usage.statements(),
+                usage.rows(), usage.bytes());
+        assertTrue(status < 300, () -> endpoint + " respondió " + status + ": " + content(result[0]));
+        assertAll(endpoint,
+                () -> assertTrue(usage.statements() <= statements,
+                        () -> usage.statements() + " consultas, presupuesto " + statements),
+                () -> assertTrue(usage.rows() <= rows, () -> usage.rows() + " filas, presupuesto " + rows),
+                () -> assertTrue(usage.bytes() <= bytes, () -> usage.bytes() + " bytes, presupuesto " + bytes));
+        return result[0];
+    }
+
+    /**
+     * Espera a que el spool de subidas quede vacío. Usa la métrica y no la base de datos
+     * para no sumar consultas a la medición
+     */
+    private void awaitSpool() throws InterruptedException {
+        Gauge spoolBytes = meterRegistry.get("storage.spool.bytes").gauge();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (spoolBytes.value() > 0) {
+            assertTrue(System.nanoTime() < deadline, "El spool no se vació en 10 segundos");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Ejecuta la petición y, si es asíncrona (archivos ZIP en streaming), espera el
+     * despacho para que las consultas del hilo de streaming también se cuenten
+     */
+    private MvcResult call(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        return result;
+    }
+
+    /**
+     * Estudiante nuevo; con curso, queda inscrito en él
+     */
+    private String newStudent(long... courseIds) throws Exception {
+        String email = "budget" + sequence++ + "@test.com";
+        long id = id("SELECT COALESCE(MAX(id), 0) + 1 FROM users");
+        jdbcTemplate.update("INSERT INTO users (id, email, nombre, password, role) VALUES (?, ?, ?, ?, 'STUDENT')",
+                id, email, email, "secret");
+        for (long course : courseIds) {
+            jdbcTemplate.update("INSERT INTO course_students (course_id, student_id) VALUES (?, ?)", course, id);
+        }
+        String token = jwtUtil.generateToken(id, email, "STUDENT");
+        // Carga la caché de usuarios del filtro fuera de la medición
+        call(as(token, get("/api/auth/me")));
+        return token;
+    }
+
+    private long userId(String token) {
+        return jwtUtil.extractUserId(token);
+    }
+
+    private static MockHttpServletRequestBuilder as(String token, MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+
+    private static MockMultipartHttpServletRequestBuilder as(String token,
+            MockMultipartHttpServletRequestBuilder request) {
+        request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        return request;
+    }
+
+    private static MockMultipartFile file() {
+        return new MockMultipartFile("file", "entrega.zip", "application/zip", new byte[1024]);
+    }
+
+    private String token(Map<String, Object> user, String role) {
+        return jwtUtil.generateToken(((Number) user.get("id")).longValue(), (String) user.get("email"), role);
+    }
+
+    private long id(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+
+    private static String json(Object... pairs) {
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < pairs.length; i += 2) {
+            Object value = pairs[i + 1];
+            json.append(i == 0 ? "" : ",").append('"').append(pairs[i]).append("\":")
+                    .append(value instanceof String ? "\"" + value + "\"" : value);
+        }
+        return json.append('}').toString();
+    }
+
+    private static String content(MvcResult result) {
+        try {
+            return result.getResponse().getContentAsString();
+        } catch (Exception e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.unimar.plataforma_educativa_angular.controller;
+
+import com.unimar.plataforma_educativa_angular.dto.FileDownloadDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Pruebas de Descarga de Archivos (Range / ETag)")
+class FileDownloadsTest {
+
+    private static final String CHECKSUM = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 3, 10, 8, 30);
+
+    @TempDir
+    Path tempDir;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("blob"), "0123456789", StandardCharsets.UTF_8);
+        FileDownloadDTO download = new FileDownloadDTO(
+                new FileSystemResource(file), "ejercicio.txt", "text/plain", CHECKSUM, UPDATED_AT);
+        mockMvc = MockMvcBuilders.standaloneSetup(new DownloadController(download)).build();
+    }
+
+    @Test
+    @DisplayName("Descarga completa - ETag, Accept-Ranges y contenido")
+    void testDownload_Full() throws Exception {
+        mockMvc.perform(get("/download"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + CHECKSUM + "\""))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "10"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"=?UTF-8?Q?ejercicio.txt?=\"; filename*=UTF-8''ejercicio.txt"))
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    @DisplayName("Descarga parcial - Range devuelve 206 con el fragmento")
+    void testDownload_Range() throws Exception {
+        mockMvc.perform(get("/download").header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
+    }
+
+    @Test
+    @DisplayName("Descarga repetida - If-None-Match devuelve 304 sin cuerpo")
+    void testDownload_NotModified() throws Exception {
+        mockMvc.perform(get("/download").header(HttpHeaders.IF_NONE_MATCH, "\"" + CHECKSUM + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Last-Modified - Fecha de la fila aunque el blob se haya vuelto a usar")
+    void testDownload_LastModifiedFromRow() throws Exception {
+        // Otra fila con el mismo contenido renueva la fecha del blob compartido
+        Files.setLastModifiedTime(tempDir.resolve("blob"), FileTime.from(Instant.now()));
+        long expected = UPDATED_AT.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        mockMvc.perform(get("/download"))
+                .andExpect(status().isOk())
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, expected));
+        mockMvc.perform(get("/download").header(HttpHeaders.IF_MODIFIED_SINCE,
+                        DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                                UPDATED_AT.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC))))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Nombre con acentos - Content-Disposition attachment con filename* en UTF-8")
+    void testDownload_Utf8FileName() throws Exception {
+        FileDownloadDTO download = new FileDownloadDTO(
+                new FileSystemResource(tempDir.resolve("blob")), "solución.txt", "text/plain", CHECKSUM, UPDATED_AT);
+        MockMvc utf8 = MockMvcBuilders.standaloneSetup(new DownloadController(download)).build();
+
+        utf8.perform(get("/download"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"=?UTF-8?Q?soluci=C3=B3n.txt?=\"; filename*=UTF-8''soluci%C3%B3n.txt"));
+    }
+
+    @RestController
+    static class DownloadController {
+        private final FileDownloadDTO download;
+
+        DownloadController(FileDownloadDTO download) {
+            this.download = download;
+        }
+
+        @GetMapping("/download")
+        ResponseEntity<Resource> download() {
+            return FileDownloads.toResponse(download);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.unimar.plataforma_educativa_angular.controller;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Envuelve el {@link DataSource} del contexto y cuenta, para todo lo que pase por
+ * JDBC (Hibernate, JdbcTemplate, hilos asíncronos), las sentencias ejecutadas y
+ * las filas y bytes leídos de los {@link ResultSet}.
+ *
+ * Se registra con {@code @Import(JdbcTraffic.class)}. Los bytes son aproximados:
+ * texto en UTF-8, binarios por longitud y 8 bytes por número o fecha.
+ */
+class JdbcTraffic implements BeanPostProcessor {
+
+    interface Action {
+        void run() throws Exception;
+    }
+
+    record Usage(long statements, long rows, long bytes) {
+    }
+
+    private static final Set<Class<?>> WRAPPED = Set.of(
+            Connection.class, Statement.class, PreparedStatement.class, CallableStatement.class, ResultSet.class);
+
+    // Solo los métodos que crean el recurso: getStatement() o getConnection() de un
+    // recurso ya envuelto devolverían otro proxy distinto para el mismo objeto
+    private static final Set<String> FACTORIES = Set.of(
+            "getConnection", "createStatement", "prepareStatement", "prepareCall",
+            "executeQuery", "getResultSet", "getGeneratedKeys");
+
+    private static final Set<String> EXECUTIONS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return wrap(DataSource.class, dataSource);
+        }
+        return bean;
+    }
+
+    Usage measure(Action action) throws Exception {
+        statements.reset();
+        rows.reset();
+        bytes.reset();
+        action.run();
+        return new Usage(statements.sum(), rows.sum(), bytes.sum());
+    }
+
+    private Object wrap(Class<?> type, Object target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            count(target, method, args, result);
+            if (result != null && WRAPPED.contains(method.getReturnType()) && FACTORIES.contains(method.getName())) {
+                return wrap(method.getReturnType(), result);
+            }
+            return result;
+        };
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private void count(Object target, Method method, Object[] args, Object result) {
+        String name = method.getName();
+        if (target instanceof Statement && EXECUTIONS.contains(name)) {
+            statements.increment();
+        } else if (target instanceof ResultSet) {
+            if (name.equals("next") && Boolean.TRUE.equals(result)) {
+                rows.increment();
+            } else if (name.startsWith("get") && args != null && args.length > 0 && !name.equals("getMetaData")) {
+                bytes.add(size(result));
+            }
+        }
+    }
+
+    private static long size(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String text) {
+            return text.getBytes(StandardCharsets.UTF_8).length;
+        }
+        if (value instanceof byte[] binary) {
+            return binary.length;
+        }
+        if (value instanceof Boolean || value instanceof Byte) {
+            return 1;
+        }
+        if (value instanceof Short || value instanceof Integer || value instanceof Float) {
+            return 4;
+        }
+        return 8;
+    }
+}
@@ -0,0 +1,100 @@
+package com.unimar.plataforma_educativa_angular.controller;
+
+import com.unimar.plataforma_educativa_angular.entities.Role;
+import com.unimar.plataforma_educativa_angular.entities.User;
+import com.unimar.plataforma_educativa_angular.repositories.UserRepository;
+import com.unimar.plataforma_educativa_angular.token.JwtUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:metrics;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "metrics.scrape.username=scraper",
+        "metrics.scrape.password=scrape-secret" })
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@DisplayName("Pruebas de Métricas (endpoint Prometheus)")
+class PrometheusMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Prometheus - Endpoint, repositorio, servicio, pool, JWT y cachés tras una petición")
+    void testPrometheusScrape() throws Exception {
+        User teacher = new User();
+        teacher.setEmail("metrics@test.com");
+        teacher.setNombre("Profesor Métricas");
+        teacher.setPassword("secret");
+        teacher.setRole(Role.TEACHER);
+        teacher = userRepository.save(teacher);
+        String token = jwtUtil.generateToken(teacher.getId(), teacher.getEmail(), teacher.getRole().name());
+
+        mockMvc.perform(get("/api/courses").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, basic("scraper", "scrape-secret")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"), "Histograma por endpoint");
+        assertTrue(scrape.contains("uri=\"/api/courses\""));
+        assertTrue(scrape.contains("spring_data_repository_invocations_seconds_bucket{"), "Timer por repositorio");
+        assertTrue(scrape.contains("service_calls_seconds_bucket{"), "Timer por servicio");
+        assertTrue(scrape.contains("method=\"getCourseSummariesByTeacher\""));
+        assertTrue(scrape.contains("hikaricp_connections_active"), "Pool de conexiones");
+        assertTrue(scrape.contains("security_jwt_verification_seconds_count"), "Verificación JWT");
+        assertTrue(scrape.contains("cache=\"jwt-tokens\""), "Caché de tokens");
+        assertTrue(scrape.contains("cache=\"authenticated-users\""), "Caché de usuarios");
+        assertTrue(scrape.contains("storage_upload_bytes_total"), "Bytes subidos");
+    }
+
+    @Test
+    @DisplayName("Prometheus - Sin credenciales de scrape responde 401, también con un JWT válido")
+    void testPrometheusRequiresScrapeUser() throws Exception {
+        User student = new User();
+        student.setEmail("metrics-student@test.com");
+        student.setNombre("Estudiante Métricas");
+        student.setPassword("secret");
+        student.setRole(Role.STUDENT);
+        student = userRepository.save(student);
+        String token = jwtUtil.generateToken(student.getId(), student.getEmail(), student.getRole().name());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, basic("scraper", "otra")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    private static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,142 @@
+package com.unimar.plataforma_educativa_angular.dto;
+
+import com.unimar.plataforma_educativa_angular.entities.Course;
+import com.unimar.plataforma_educativa_angular.entities.Exercise;
+import com.unimar.plataforma_educativa_angular.entities.Role;
+import com.unimar.plataforma_educativa_angular.entities.Submission;
+import com.unimar.plataforma_educativa_angular.entities.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Armado de los DTO de un listado de {@value #ROWS} filas:
+ * <ul>
+ * <li>{@code submissionsFromEntity} / {@code coursesFromEntity}: desde la entidad ya cargada</li>
+ * <li>{@code submissionsFromColumns} / {@code coursesFromColumns}: constructor que usan las
+ * consultas {@code SELECT new ...}, con las columnas sueltas</li>
+ * </ul>
+ * Ejecutar con {@code main} desde el IDE, con el classpath de pruebas o con {@code mvn -P jmh}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DtoMappingBenchmark {
+
+    static final int ROWS = 100;
+
+    private List<Submission> submissions;
+    private List<Course> courses;
+    private LocalDateTime deadline;
+
+    @Setup
+    public void setUp() {
+        deadline = LocalDateTime.now().plusDays(7);
+        submissions = submissions(ROWS, deadline);
+        courses = new ArrayList<>(ROWS);
+        User teacher = user(1L, "Profesor", Role.TEACHER);
+        for (int i = 0; i < ROWS; i++) {
+            Course course = new Course();
+            course.setId((long) i);
+            course.setTitle("Curso " + i);
+            course.setDescription("Descripción del curso " + i);
+            course.setLevel("BASICO");
+            course.setInviteCode("CODE" + i);
+            course.setWhatsappLink("https://chat.whatsapp.com/" + i);
+            course.setTeacher(teacher);
+            for (int s = 0; s < 30; s++) {
+                course.getStudents().add(user(100L + s, "Estudiante " + s, Role.STUDENT));
+            }
+            courses.add(course);
+        }
+    }
+
+    @Benchmark
+    public List<SubmissionDTO> submissionsFromEntity() {
+        List<SubmissionDTO> result = new ArrayList<>(submissions.size());
+        for (Submission submission : submissions) {
+            result.add(new SubmissionDTO(submission));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<SubmissionDTO> submissionsFromColumns() {
+        List<SubmissionDTO> result = new ArrayList<>(submissions.size());
+        for (Submission s : submissions) {
+            result.add(new SubmissionDTO(s.getId(), 1L, deadline, s.getStudent().getId(),
+                    s.getStudent().getNombre(), s.getStudent().getEmail(), s.getFileName(), s.getFileType(),
+                    s.getFileSize(), true, s.getSubmittedAt(), s.getStatus(), s.getGrade(), s.getFeedback(),
+                    s.getGradedAt(), s.getLastModifiedAt(), s.getEditCount()));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<CourseDTO> coursesFromEntity() {
+        List<CourseDTO> result = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            result.add(new CourseDTO(course));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<CourseDTO> coursesFromColumns() {
+        List<CourseDTO> result = new ArrayList<>(courses.size());
+        for (Course c : courses) {
+            result.add(new CourseDTO(c.getId(), c.getTitle(), c.getDescription(), c.getLevel(),
+                    c.getInviteCode(), c.getWhatsappLink(), c.getTeacher().getNombre(),
+                    c.getTeacher().getEmail(), 30));
+        }
+        return result;
+    }
+
+    static List<Submission> submissions(int rows, LocalDateTime deadline) {
+        Exercise exercise = new Exercise();
+        exercise.setId(1L);
+        exercise.setDeadline(deadline);
+        List<Submission> result = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Submission submission = new Submission();
+            submission.setId((long) i);
+            submission.setExercise(exercise);
+            submission.setStudent(user(100L + i, "Estudiante " + i, Role.STUDENT));
+            submission.setFileBlobKey("blob" + i);
+            submission.setFileName("solucion" + i + ".zip");
+            submission.setFileType("application/zip");
+            submission.setFileSize(1024L * i);
+            submission.setSubmittedAt(deadline.minusDays(3));
+            submission.setStatus(i % 2 == 0 ? Submission.SubmissionStatus.GRADED : Submission.SubmissionStatus.PENDING);
+            submission.setGrade(i % 2 == 0 ? 4.5 : null);
+            submission.setFeedback(i % 2 == 0 ? "Buen trabajo" : null);
+            submission.setGradedAt(i % 2 == 0 ? deadline.minusDays(1) : null);
+            result.add(submission);
+        }
+        return result;
+    }
+
+    static User user(Long id, String nombre, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setNombre(nombre);
+        user.setEmail("user" + id + "@test.com");
+        user.setRole(role);
+        return user;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DtoMappingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
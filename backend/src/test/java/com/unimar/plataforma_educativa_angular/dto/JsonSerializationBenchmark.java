@@ -0,0 +1,70 @@
+package com.unimar.plataforma_educativa_angular.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.unimar.plataforma_educativa_angular.leaderboard.LeaderboardEntry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización a JSON de las respuestas más pedidas, con un {@link ObjectMapper}
+ * configurado como el de Spring Boot (fechas ISO, módulos de java.time):
+ * <ul>
+ * <li>{@code podium}: podio de un curso (10 filas)</li>
+ * <li>{@code submissions}: listado de entregas de un ejercicio ({@value DtoMappingBenchmark#ROWS} filas)</li>
+ * </ul>
+ * Ejecutar con {@code main} desde el IDE, con el classpath de pruebas o con {@code mvn -P jmh}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonSerializationBenchmark {
+
+    private ObjectWriter writer;
+    private List<PodiumDTO> podium;
+    private List<SubmissionDTO> submissions;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = mapper.writer();
+
+        podium = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            LeaderboardEntry entry = new LeaderboardEntry(100L + i, "Estudiante " + i,
+                    "user" + (100 + i) + "@test.com", 100 - i * 5, 10 - i, 1L);
+            podium.add(new PodiumDTO(entry, i + 1));
+        }
+
+        submissions = new ArrayList<>();
+        DtoMappingBenchmark.submissions(DtoMappingBenchmark.ROWS, LocalDateTime.now().plusDays(7))
+                .forEach(submission -> submissions.add(new SubmissionDTO(submission)));
+    }
+
+    @Benchmark
+    public byte[] podium() throws Exception {
+        return writer.writeValueAsBytes(podium);
+    }
+
+    @Benchmark
+    public byte[] submissions() throws Exception {
+        return writer.writeValueAsBytes(submissions);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
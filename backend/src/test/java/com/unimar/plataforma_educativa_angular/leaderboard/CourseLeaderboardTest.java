@@ -0,0 +1,114 @@
+package com.unimar.plataforma_educativa_angular.leaderboard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del Ranking en Memoria por Curso")
+class CourseLeaderboardTest {
+
+    @Test
+    @DisplayName("Orden - Puntos desc, retos desc y id asc en empate")
+    void testTop_Order() {
+        CourseLeaderboard board = new CourseLeaderboard(List.of(
+                entry(1L, 10, 1),
+                entry(2L, 15, 2),
+                entry(3L, 10, 2),
+                entry(4L, 10, 1)));
+
+        assertEquals(List.of(2L, 3L, 1L, 4L), ids(board.top(10)));
+        assertEquals(List.of(2L, 3L), ids(board.top(2)));
+        assertEquals(3, board.rank(1L));
+        assertEquals(0, board.rank(99L));
+    }
+
+    @Test
+    @DisplayName("Actualizar puntaje - Reemplaza la fila anterior del estudiante")
+    void testPut_ReplacesPreviousEntry() {
+        CourseLeaderboard board = new CourseLeaderboard(List.of(entry(1L, 5, 1), entry(2L, 8, 1)));
+
+        board.put(entry(1L, 12, 2));
+
+        assertEquals(2, board.size());
+        assertEquals(List.of(1L, 2L), ids(board.top(10)));
+        assertEquals(12, board.get(1L).getTotalBonusPoints());
+    }
+
+    @Test
+    @DisplayName("Avisos fuera de orden - Se ignora una versión anterior a la actual")
+    void testPut_IgnoresOlderVersion() {
+        CourseLeaderboard board = new CourseLeaderboard(List.of(entry(1L, 5, 1)));
+
+        board.put(new LeaderboardEntry(1L, "Estudiante 1", "1@test.com", 15, 2, 3L));
+        board.put(new LeaderboardEntry(1L, "Estudiante 1", "1@test.com", 10, 2, 2L));
+
+        assertEquals(15, board.get(1L).getTotalBonusPoints());
+        assertEquals(1, board.size());
+    }
+
+    @Test
+    @DisplayName("Mi posición - Puesto, distancia al de arriba y vecinos")
+    void testPosition_RankGapAndNeighbors() {
+        CourseLeaderboard board = new CourseLeaderboard(List.of(
+                entry(1L, 20, 3),
+                entry(2L, 14, 2),
+                entry(3L, 9, 1)));
+
+        LeaderboardPosition middle = board.position(2L);
+        LeaderboardPosition first = board.position(1L);
+        LeaderboardPosition last = board.position(3L);
+
+        assertEquals(2, middle.getRank());
+        assertEquals(3, middle.getTotalStudents());
+        assertEquals(6, middle.getPointsToNext());
+        assertEquals(1L, middle.getAbove().getStudentId());
+        assertEquals(3L, middle.getBelow().getStudentId());
+
+        assertNull(first.getAbove());
+        assertNull(first.getPointsToNext());
+        assertNull(last.getBelow());
+        assertNull(board.position(99L));
+    }
+
+    @Test
+    @DisplayName("Operaciones aleatorias - Coincide con ordenar la lista completa")
+    void testRandomOperations_MatchSortedList() {
+        Random random = new Random(42);
+        Map<Long, LeaderboardEntry> expected = new HashMap<>();
+        CourseLeaderboard board = new CourseLeaderboard(List.of());
+
+        for (int i = 0; i < 5_000; i++) {
+            LeaderboardEntry entry = entry((long) random.nextInt(300), random.nextInt(50), random.nextInt(6));
+            expected.put(entry.getStudentId(), entry);
+            board.put(entry);
+        }
+
+        List<LeaderboardEntry> sorted = new ArrayList<>(expected.values());
+        sorted.sort(CourseLeaderboard.ORDER);
+
+        assertEquals(sorted.size(), board.size());
+        assertEquals(ids(sorted), ids(board.top(Integer.MAX_VALUE)));
+        for (int i = 0; i < sorted.size(); i++) {
+            LeaderboardPosition position = board.position(sorted.get(i).getStudentId());
+            assertEquals(i + 1, board.rank(sorted.get(i).getStudentId()));
+            assertEquals(i + 1, position.getRank());
+            assertEquals(i > 0 ? sorted.get(i - 1) : null, position.getAbove());
+            assertEquals(i + 1 < sorted.size() ? sorted.get(i + 1) : null, position.getBelow());
+        }
+    }
+
+    private static LeaderboardEntry entry(Long studentId, int points, int challenges) {
+        return new LeaderboardEntry(studentId, "Estudiante " + studentId, studentId + "@test.com", points, challenges, 0L);
+    }
+
+    private static List<Long> ids(List<LeaderboardEntry> entries) {
+        return entries.stream().map(LeaderboardEntry::getStudentId).toList();
+    }
+}
@@ -0,0 +1,116 @@
+package com.unimar.plataforma_educativa_angular.leaderboard;
+
+import com.unimar.plataforma_educativa_angular.entities.Course;
+import com.unimar.plataforma_educativa_angular.entities.StudentScore;
+import com.unimar.plataforma_educativa_angular.entities.User;
+import com.unimar.plataforma_educativa_angular.repositories.StudentScoreRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas del Motor de Rankings")
+class LeaderboardEngineTest {
+
+    @Mock
+    private StudentScoreRepository studentScoreRepository;
+
+    private LeaderboardEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new LeaderboardEngine(studentScoreRepository, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Carga perezosa - Una sola consulta por curso")
+    void testTop_LoadsCourseOnce() {
+        when(studentScoreRepository.findLeaderboardEntriesByCourseId(1L)).thenReturn(new ArrayList<>(List.of(
+                new LeaderboardEntry(10L, "Ana", "ana@test.com", 8, 1, 0L),
+                new LeaderboardEntry(11L, "Luis", "luis@test.com", 12, 2, 0L))));
+
+        assertEquals(11L, engine.top(1L, 3).get(0).getStudentId());
+        assertEquals(2, engine.rank(1L, 10L));
+
+        verify(studentScoreRepository, times(1)).findLeaderboardEntriesByCourseId(1L);
+    }
+
+    @Test
+    @DisplayName("Cambio de puntaje - Actualiza el ranking sin volver a la base de datos")
+    void testScoreChanged_UpdatesLoadedBoard() {
+        when(studentScoreRepository.findLeaderboardEntriesByCourseId(1L)).thenReturn(List.of(
+                new LeaderboardEntry(10L, "Ana", "ana@test.com", 8, 1, 0L),
+                new LeaderboardEntry(11L, "Luis", "luis@test.com", 12, 2, 0L)));
+        engine.top(1L, 10);
+
+        engine.scoreChanged(score(1L, 10L, "Ana", 20, 2));
+        engine.studentRenamed(11L, "Luis Gómez");
+
+        List<LeaderboardEntry> top = engine.top(1L, 10);
+        assertEquals(10L, top.get(0).getStudentId());
+        assertEquals(20, top.get(0).getTotalBonusPoints());
+        assertEquals("Luis Gómez", top.get(1).getStudentName());
+        verify(studentScoreRepository, times(1)).findLeaderboardEntriesByCourseId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Curso sin cargar - El cambio se ignora y la carga lee la base de datos")
+    void testScoreChanged_IgnoredWhenNotLoaded() {
+        engine.scoreChanged(score(2L, 10L, "Ana", 20, 2));
+
+        verifyNoInteractions(studentScoreRepository);
+    }
+
+    @Test
+    @DisplayName("Curso eliminado - Su ranking se descarta y no queda en memoria")
+    void testCourseDeleted_EvictsBoard() {
+        when(studentScoreRepository.findLeaderboardEntriesByCourseId(1L)).thenReturn(List.of(
+                new LeaderboardEntry(10L, "Ana", "ana@test.com", 8, 1, 0L)));
+        engine.top(1L, 10);
+
+        engine.courseDeleted(1L);
+        engine.top(1L, 10);
+
+        verify(studentScoreRepository, times(2)).findLeaderboardEntriesByCourseId(1L);
+    }
+
+    @Test
+    @DisplayName("Antigüedad máxima - Un ranking vencido se vuelve a cargar de student_scores")
+    void testMaxAge_ReloadsBoard() {
+        engine = new LeaderboardEngine(studentScoreRepository, 100, Duration.ZERO);
+        when(studentScoreRepository.findLeaderboardEntriesByCourseId(1L))
+                .thenReturn(List.of(new LeaderboardEntry(10L, "Ana", "ana@test.com", 8, 1, 0L)))
+                // Puntaje cambiado desde otra instancia
+                .thenReturn(List.of(new LeaderboardEntry(10L, "Ana", "ana@test.com", 15, 2, 1L)));
+
+        assertEquals(8, engine.top(1L, 10).get(0).getTotalBonusPoints());
+        assertEquals(15, engine.top(1L, 10).get(0).getTotalBonusPoints());
+    }
+
+    private static StudentScore score(Long courseId, Long studentId, String name, int points, int challenges) {
+        User student = new User();
+        student.setId(studentId);
+        student.setNombre(name);
+        student.setEmail(name.toLowerCase() + "@test.com");
+        Course course = new Course();
+        course.setId(courseId);
+        StudentScore score = new StudentScore();
+        score.setStudent(student);
+        score.setCourse(course);
+        score.setTotalBonusPoints(points);
+        score.setChallengesCompleted(challenges);
+        score.setVersion(1L);
+        return score;
+    }
+}
@@ -0,0 +1,431 @@
+package com.unimar.plataforma_educativa_angular.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reproduce contra la API REST el tráfico de la noche antes de un vencimiento
+ * y reporta p50/p99 por endpoint.
+ *
+ * Usa los usuarios del generador de datos ({@code estudianteN@seed.local},
+ * {@code profesorN@seed.local}). Cada usuario virtual inicia sesión y repite
+ * acciones al azar con la mezcla de abajo; uno de cada diez es profesor.
+ * <ul>
+ * <li>estudiante: mis entregas 20%, subir o reemplazar la entrega del ejercicio
+ * abierto 15%, ejercicios del curso 15%, pistas 10%, podio 10%, cursos
+ * inscritos 10%, ejercicio 10%, mi posición 5%, estadísticas 5%</li>
+ * <li>profesor: entregas de un ejercicio 40%, estadísticas 20%, sus cursos 15%,
+ * estudiantes del curso 15%, podio 10%</li>
+ * </ul>
+ * Ejecutar con {@code main} contra un servidor ya levantado
+ * ({@code --base-url=http://localhost:8080 --users=50 --duration=60s}) o con
+ * {@link H2LoadTestHarness} para levantarlo sobre H2.
+ */
+public class DeadlineNightLoadDriver {
+
+    private static final String JSON = "application/json";
+
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+    private final String password;
+    private final int students;
+    private final int teachers;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    public DeadlineNightLoadDriver(String baseUrl, String password, int students, int teachers) {
+        this.baseUrl = baseUrl;
+        this.password = password;
+        this.students = students;
+        this.teachers = teachers;
+        this.client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    }
+
+    /**
+     * Ejecuta {@code users} usuarios virtuales durante {@code duration}, con una
+     * pausa de {@code thinkTime} entre acciones. Cada usuario toma un estudiante o
+     * profesor distinto mientras alcancen.
+     */
+    public List<EndpointSummary> run(int users, Duration duration, Duration thinkTime) throws InterruptedException {
+        stats.clear();
+        long deadline = System.nanoTime() + duration.toNanos();
+        int firstStudent = ThreadLocalRandom.current().nextInt(students);
+
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        for (int i = 0; i < users; i++) {
+            boolean teacher = teachers > 0 && i % 10 == 1;
+            String email = teacher
+                    ? "profesor" + (i / 10 % teachers + 1) + "@seed.local"
+                    : "estudiante" + ((firstStudent + i) % students + 1) + "@seed.local";
+            Session session = teacher ? new TeacherSession(email) : new StudentSession(email);
+            executor.execute(() -> {
+                try {
+                    session.run(deadline, thinkTime);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+
+        List<EndpointSummary> summaries = new ArrayList<>();
+        new TreeMap<>(stats).forEach((endpoint, endpointStats) -> summaries.add(endpointStats.summary(endpoint)));
+        return summaries;
+    }
+
+    public static void print(List<EndpointSummary> summaries, Duration duration, PrintStream out) {
+        out.printf("%-48s %8s %7s %9s %9s %9s %9s%n", "Endpoint", "Total", "Errores", "req/s", "p50 ms", "p99 ms",
+                "máx ms");
+        for (EndpointSummary s : summaries) {
+            out.printf("%-48s %8d %7d %9.1f %9.1f %9.1f %9.1f%n", s.endpoint(), s.count(), s.errors(),
+                    s.count() / (double) Math.max(duration.toSeconds(), 1), s.p50Millis(), s.p99Millis(),
+                    s.maxMillis());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        Duration duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "60s"));
+        DeadlineNightLoadDriver driver = new DeadlineNightLoadDriver(
+                options.getOrDefault("base-url", "http://localhost:8080"),
+                options.getOrDefault("seed.password", "seed1234"),
+                Integer.parseInt(options.getOrDefault("seed.students", "600")),
+                Integer.parseInt(options.getOrDefault("seed.teachers", "5")));
+        print(driver.run(Integer.parseInt(options.getOrDefault("users", "50")), duration,
+                DurationStyle.detectAndParse(options.getOrDefault("think-time", "100ms"))), duration, System.out);
+    }
+
+    /**
+     * Opciones {@code --nombre=valor}; las mismas {@code seed.*} que recibe el servidor.
+     */
+    static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (arg.startsWith("--") && eq > 2) {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    public record EndpointSummary(String endpoint, int count, long errors, double p50Millis, double p99Millis,
+            double maxMillis) {
+    }
+
+    private static final class EndpointStats {
+        private final List<Long> nanos = new ArrayList<>();
+        private long errors;
+
+        synchronized void record(long elapsedNanos, int errorCount) {
+            nanos.add(elapsedNanos);
+            errors += errorCount;
+        }
+
+        synchronized EndpointSummary summary(String endpoint) {
+            long[] sorted = nanos.stream().mapToLong(Long::longValue).sorted().toArray();
+            return new EndpointSummary(endpoint, sorted.length, errors, millis(sorted, 0.50), millis(sorted, 0.99),
+                    millis(sorted, 1.0));
+        }
+
+        // Percentil por rango más cercano
+        private static double millis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile * sorted.length);
+            return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+        }
+    }
+
+    private abstract class Session {
+
+        private final String email;
+        protected String token;
+
+        Session(String email) {
+            this.email = email;
+        }
+
+        void run(long deadline, Duration thinkTime) throws InterruptedException {
+            JsonNode login = send("POST /api/auth/login", HttpRequest.newBuilder(uri("/api/auth/login"))
+                    .header("Content-Type", JSON)
+                    .POST(HttpRequest.BodyPublishers.ofString(mapper.createObjectNode()
+                            .put("email", email)
+                            .put("password", password)
+                            .toString()))
+                    .build());
+            if (login == null) {
+                return;
+            }
+            token = login.path("token").asText();
+            if (!prepare()) {
+                return;
+            }
+            while (System.nanoTime() < deadline) {
+                act(ThreadLocalRandom.current().nextInt(100));
+                if (!thinkTime.isZero()) {
+                    Thread.sleep(thinkTime.toMillis());
+                }
+            }
+        }
+
+        /**
+         * Carga los IDs con los que trabaja la sesión; {@code false} si no tiene cursos.
+         */
+        abstract boolean prepare() throws InterruptedException;
+
+        abstract void act(int dice) throws InterruptedException;
+
+        JsonNode get(String endpoint, String path) throws InterruptedException {
+            return send(endpoint, authorized(path).GET().build());
+        }
+
+        HttpRequest.Builder authorized(String path) {
+            return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token);
+        }
+
+        /**
+         * Envía la petición y registra su latencia bajo {@code endpoint}. Devuelve el
+         * cuerpo como JSON, o {@code null} si la respuesta no fue 2xx o falló la conexión
+         * (ambos cuentan como error).
+         */
+        JsonNode send(String endpoint, HttpRequest request) throws InterruptedException {
+            EndpointStats endpointStats = stats.computeIfAbsent(endpoint, key -> new EndpointStats());
+            long start = System.nanoTime();
+            try {
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                boolean ok = response.statusCode() / 100 == 2;
+                endpointStats.record(System.nanoTime() - start, ok ? 0 : 1);
+                return ok ? mapper.readTree(response.body()) : null;
+            } catch (IOException e) {
+                endpointStats.record(System.nanoTime() - start, 1);
+                return null;
+            }
+        }
+
+        <T> T pick(List<T> items) {
+            return items.get(ThreadLocalRandom.current().nextInt(items.size()));
+        }
+    }
+
+    private final class StudentSession extends Session {
+
+        private final List<Long> courses = new ArrayList<>();
+        private final Map<Long, List<Long>> exercisesByCourse = new HashMap<>();
+        private final Map<Long, Long> openExerciseByCourse = new HashMap<>();
+        private final Map<Long, Long> submissionByExercise = new HashMap<>();
+
+        StudentSession(String email) {
+            super(email);
+        }
+
+        @Override
+        boolean prepare() throws InterruptedException {
+            JsonNode enrolled = get("GET /api/courses/enrolled", "/api/courses/enrolled");
+            if (enrolled == null || enrolled.isEmpty()) {
+                return false;
+            }
+            enrolled.forEach(course -> courses.add(course.path("id").asLong()));
+            for (Long courseId : courses) {
+                exercises(courseId);
+            }
+            mySubmissions();
+            return true;
+        }
+
+        @Override
+        void act(int dice) throws InterruptedException {
+            Long courseId = pick(courses);
+            List<Long> exercises = exercisesByCourse.getOrDefault(courseId, List.of());
+            if (dice < 20) {
+                mySubmissions();
+            } else if (dice < 35) {
+                upload(courseId);
+            } else if (dice < 50) {
+                exercises(courseId);
+            } else if (dice < 60 && !exercises.isEmpty()) {
+                get("GET /api/hints/exercise/{id}", "/api/hints/exercise/" + pick(exercises));
+            } else if (dice < 70) {
+                get("GET /api/podium/course/{id}", "/api/podium/course/" + courseId);
+            } else if (dice < 80) {
+                get("GET /api/courses/enrolled", "/api/courses/enrolled");
+            } else if (dice < 90 && !exercises.isEmpty()) {
+                get("GET /api/exercises/{id}", "/api/exercises/" + pick(exercises));
+            } else if (dice < 95) {
+                get("GET /api/podium/my-position/{id}", "/api/podium/my-position/" + courseId);
+            } else {
+                get("GET /api/stats/student", "/api/stats/student");
+            }
+        }
+
+        private void exercises(Long courseId) throws InterruptedException {
+            JsonNode exercises = get("GET /api/exercises/course/{id}", "/api/exercises/course/" + courseId);
+            if (exercises == null) {
+                return;
+            }
+            List<Long> ids = new ArrayList<>();
+            LocalDateTime now = LocalDateTime.now();
+            for (JsonNode exercise : exercises) {
+                ids.add(exercise.path("id").asLong());
+                String deadline = exercise.path("deadline").asText(null);
+                if (deadline != null && LocalDateTime.parse(deadline).isAfter(now)) {
+                    openExerciseByCourse.put(courseId, exercise.path("id").asLong());
+                }
+            }
+            exercisesByCourse.put(courseId, ids);
+        }
+
+        private void mySubmissions() throws InterruptedException {
+            JsonNode submissions = get("GET /api/submissions/my-submissions", "/api/submissions/my-submissions");
+            if (submissions != null) {
+                submissions.forEach(submission -> submissionByExercise.put(
+                        submission.path("exerciseId").asLong(), submission.path("id").asLong()));
+            }
+        }
+
+        /**
+         * Sube la entrega del ejercicio abierto del curso, o la reemplaza si ya existe.
+         */
+        private void upload(Long courseId) throws InterruptedException {
+            Long exerciseId = openExerciseByCourse.get(courseId);
+            if (exerciseId == null) {
+                mySubmissions();
+                return;
+            }
+            byte[] file = new byte[4096 + ThreadLocalRandom.current().nextInt(60 * 1024)];
+            ThreadLocalRandom.current().nextBytes(file);
+            Long submissionId = submissionByExercise.get(exerciseId);
+
+            Multipart body = new Multipart();
+            if (submissionId != null) {
+                body.file("file", "entrega.zip", "application/zip", file);
+                send("PUT /api/submissions/{id}", body.apply(authorized("/api/submissions/" + submissionId), "PUT"));
+                return;
+            }
+            body.field("exerciseId", exerciseId.toString());
+            body.file("file", "entrega.zip", "application/zip", file);
+            JsonNode created = send("POST /api/submissions", body.apply(authorized("/api/submissions"), "POST"));
+            if (created != null) {
+                long id = created.path("submission").path("id").asLong();
+                submissionByExercise.put(exerciseId, id);
+                awaitUpload(id);
+            }
+        }
+
+        /**
+         * El archivo se guarda en segundo plano: hasta entonces la entrega no se puede editar
+         */
+        private void awaitUpload(long submissionId) throws InterruptedException {
+            for (int attempt = 0; attempt < 50; attempt++) {
+                JsonNode status = get("GET /api/submissions/{id}/status",
+                        "/api/submissions/" + submissionId + "/status");
+                if (status == null || !"PENDING_UPLOAD".equals(status.path("status").asText())) {
+                    return;
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    private final class TeacherSession extends Session {
+
+        private final List<Long> courses = new ArrayList<>();
+        private final List<Long> exercises = new ArrayList<>();
+
+        TeacherSession(String email) {
+            super(email);
+        }
+
+        @Override
+        boolean prepare() throws InterruptedException {
+            JsonNode own = get("GET /api/courses", "/api/courses");
+            if (own == null || own.isEmpty()) {
+                return false;
+            }
+            own.forEach(course -> courses.add(course.path("id").asLong()));
+            for (Long courseId : courses) {
+                JsonNode list = get("GET /api/exercises/course/{id}", "/api/exercises/course/" + courseId);
+                if (list != null) {
+                    list.forEach(exercise -> exercises.add(exercise.path("id").asLong()));
+                }
+            }
+            return true;
+        }
+
+        @Override
+        void act(int dice) throws InterruptedException {
+            if (dice < 40 && !exercises.isEmpty()) {
+                get("GET /api/submissions/exercise/{id}", "/api/submissions/exercise/" + pick(exercises) + "?size=50");
+            } else if (dice < 60) {
+                get("GET /api/stats/teacher", "/api/stats/teacher");
+            } else if (dice < 75) {
+                get("GET /api/courses", "/api/courses");
+            } else if (dice < 90) {
+                get("GET /api/courses/{id}/students", "/api/courses/" + pick(courses) + "/students?size=50");
+            } else {
+                get("GET /api/podium/course/{id}", "/api/podium/course/" + pick(courses));
+            }
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    /**
+     * Cuerpo multipart/form-data armado en memoria.
+     */
+    private static final class Multipart {
+        private final String boundary = "----seed" + Long.toHexString(ThreadLocalRandom.current().nextLong());
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        void field(String name, String value) {
+            write("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n" + value
+                    + "\r\n");
+        }
+
+        void file(String name, String fileName, String type, byte[] content) {
+            write("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"; filename=\""
+                    + fileName + "\"\r\nContent-Type: " + type + "\r\n\r\n");
+            body.writeBytes(content);
+            write("\r\n");
+        }
+
+        HttpRequest apply(HttpRequest.Builder request, String method) {
+            write("--" + boundary + "--\r\n");
+            return request.header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                    .build();
+        }
+
+        private void write(String text) {
+            body.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.unimar.plataforma_educativa_angular.loadtest;
+
+import com.unimar.plataforma_educativa_angular.PlataformaEducativaAngularApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prueba de carga completa sin MySQL: levanta la aplicación con el perfil
+ * {@code loadtest} (H2 en memoria, migraciones y datos generados), ejecuta
+ * {@link DeadlineNightLoadDriver} contra ella e imprime p50/p99 por endpoint.
+ *
+ * Opciones del driver: {@code --users}, {@code --duration}, {@code --think-time};
+ * las {@code --seed.*} (y cualquier otra propiedad) llegan también a la aplicación.
+ * Ejecutar con {@code main} desde el IDE o con
+ * {@code mvn -P loadtest -Dloadtest.args="--users=100 --duration=2m --seed.students=3000"}.
+ */
+public class H2LoadTestHarness {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = DeadlineNightLoadDriver.options(args);
+        Duration duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "60s"));
+
+        DeadlineNightLoadDriver.print(run(args, options, duration), duration, System.out);
+    }
+
+    /**
+     * Levanta la aplicación con {@code args}, ejecuta el driver durante
+     * {@code duration} y la cierra
+     */
+    static List<DeadlineNightLoadDriver.EndpointSummary> run(String[] args, Map<String, String> options,
+            Duration duration) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                PlataformaEducativaAngularApplication.class)
+                .profiles("loadtest")
+                .properties("server.port=0")
+                .run(args)) {
+            Environment environment = context.getEnvironment();
+            DeadlineNightLoadDriver driver = new DeadlineNightLoadDriver(
+                    "http://localhost:" + environment.getProperty("local.server.port"),
+                    environment.getProperty("seed.password"),
+                    environment.getProperty("seed.students", Integer.class),
+                    environment.getProperty("seed.teachers", Integer.class));
+
+            return driver.run(Integer.parseInt(options.getOrDefault("users", "50")), duration,
+                    DurationStyle.detectAndParse(options.getOrDefault("think-time", "100ms")));
+        }
+    }
+}
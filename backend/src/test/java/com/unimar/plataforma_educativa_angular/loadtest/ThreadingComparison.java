@@ -0,0 +1,114 @@
+package com.unimar.plataforma_educativa_angular.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * La misma prueba de carga de {@link H2LoadTestHarness} dos veces en la misma JVM
+ * (mismo {@code -Xmx}): primero con hilos de plataforma y luego con
+ * {@code spring.threads.virtual.enabled=true}. Cada corrida usa su propia base H2 y
+ * carpeta de archivos; al final compara peticiones por segundo, errores, p99 y el pico
+ * de heap e hilos de plataforma. La primera corrida también calienta el JIT: con
+ * duraciones cortas favorece a la segunda.
+ *
+ * Los hilos virtuales requieren Java 21: en una JVM anterior las dos corridas usan
+ * hilos de plataforma. Acepta las mismas opciones que {@link H2LoadTestHarness}.
+ * Ejecutar con {@code main} desde el IDE o con
+ * {@code mvn -P loadtest -Dloadtest.main=ThreadingComparison -Dloadtest.args="--users=1000 --duration=2m"}
+ * ({@code -Dloadtest.heap=1g} cambia el heap de ambas).
+ */
+public class ThreadingComparison {
+
+    private static final List<String> OWN_PROPERTIES = List.of(
+            "--spring.threads.virtual.enabled=", "--spring.datasource.url=", "--file.upload-dir=");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = DeadlineNightLoadDriver.options(args);
+        Duration duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "60s"));
+        if (Runtime.version().feature() < 21) {
+            System.out.println("Java " + Runtime.version().feature()
+                    + ": spring.threads.virtual.enabled no tiene efecto, ambas corridas usan hilos de plataforma");
+        }
+
+        List<String> lines = new ArrayList<>();
+        for (boolean virtual : new boolean[] { false, true }) {
+            String mode = virtual ? "virtual" : "platform";
+            List<String> runArgs = new ArrayList<>(Arrays.stream(args)
+                    .filter(arg -> OWN_PROPERTIES.stream().noneMatch(arg::startsWith))
+                    .toList());
+            runArgs.add("--spring.threads.virtual.enabled=" + virtual);
+            runArgs.add("--spring.datasource.url=jdbc:h2:mem:loadtest-" + mode + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+            runArgs.add("--file.upload-dir=target/loadtest-uploads-" + mode);
+
+            System.gc();
+            Peaks peaks = Peaks.start();
+            List<DeadlineNightLoadDriver.EndpointSummary> summaries;
+            try {
+                summaries = H2LoadTestHarness.run(runArgs.toArray(String[]::new), options, duration);
+            } finally {
+                peaks.stop();
+            }
+
+            System.out.println();
+            System.out.println("== Hilos " + (virtual ? "virtuales" : "de plataforma") + " ==");
+            DeadlineNightLoadDriver.print(summaries, duration, System.out);
+            lines.add(summaryLine(virtual ? "virtuales" : "plataforma", summaries, duration, peaks));
+        }
+
+        System.out.println();
+        System.out.printf("%-12s %9s %8s %11s %11s %13s%n", "Hilos", "req/s", "Errores", "p99 máx ms",
+                "Heap MB", "Hilos plat.");
+        lines.forEach(System.out::println);
+    }
+
+    private static String summaryLine(String label, List<DeadlineNightLoadDriver.EndpointSummary> summaries,
+            Duration duration, Peaks peaks) {
+        long requests = summaries.stream().mapToLong(DeadlineNightLoadDriver.EndpointSummary::count).sum();
+        long errors = summaries.stream().mapToLong(DeadlineNightLoadDriver.EndpointSummary::errors).sum();
+        double p99 = summaries.stream().mapToDouble(DeadlineNightLoadDriver.EndpointSummary::p99Millis).max()
+                .orElse(0);
+        return String.format("%-12s %9.1f %8d %11.1f %11d %13d", label,
+                requests / (double) Math.max(duration.toSeconds(), 1), errors, p99,
+                peaks.heapBytes.get() / (1024 * 1024), peaks.threads.getPeakThreadCount());
+    }
+
+    /**
+     * Pico de heap usado (muestreado cada 50 ms) y de hilos de plataforma vivos
+     */
+    private static final class Peaks {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final AtomicLong heapBytes = new AtomicLong();
+        private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "heap-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        static Peaks start() {
+            Peaks peaks = new Peaks();
+            peaks.threads.resetPeakThreadCount();
+            peaks.sampler.scheduleAtFixedRate(
+                    () -> peaks.heapBytes.accumulateAndGet(peaks.memory.getHeapMemoryUsage().getUsed(), Math::max),
+                    0, 50, TimeUnit.MILLISECONDS);
+            return peaks;
+        }
+
+        void stop() {
+            sampler.shutdownNow();
+        }
+    }
+}
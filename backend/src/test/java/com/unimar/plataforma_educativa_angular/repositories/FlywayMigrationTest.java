@@ -0,0 +1,147 @@
+package com.unimar.plataforma_educativa_angular.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.CoreMigrationType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esquema creado por las migraciones como en producción: si una entidad no coincide
+ * con las migraciones, el contexto no arranca (ddl-auto=validate).
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate" })
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Pruebas de Migraciones (Flyway e índices)")
+class FlywayMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Migraciones - Todas aplicadas y esquema validado por Hibernate")
+    void testMigrationsApplied() {
+        List<String> versions = Arrays.stream(flyway.info().applied())
+                .map(MigrationInfo::getVersion)
+                .map(Object::toString)
+                .toList();
+
+        assertEquals(List.of("1", "2", "3", "4", "5"), versions);
+        assertEquals(0, flyway.info().pending().length);
+    }
+
+    @Test
+    @DisplayName("Base anterior a Flyway - Se registra en V1 y recibe las migraciones siguientes")
+    void testLegacyDatabaseBaselinedAndMigrated() {
+        // Base creada por ddl-auto=update antes de Flyway: el esquema de V1, con un archivo
+        // todavía en file_data y sin tabla de historial
+        DriverManagerDataSource legacy = new DriverManagerDataSource(
+                "jdbc:h2:mem:legacy;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__esquema_inicial.sql"))
+                .execute(legacy);
+        JdbcTemplate legacyJdbc = new JdbcTemplate(legacy);
+        legacyJdbc.update("INSERT INTO users (email, nombre, password, role) VALUES ('t@test.com', 'T', 'x', 'TEACHER')");
+        legacyJdbc.update("INSERT INTO users (email, nombre, password, role) VALUES ('s@test.com', 'S', 'x', 'STUDENT')");
+        Long teacherId = legacyJdbc.queryForObject("SELECT id FROM users WHERE email = 't@test.com'", Long.class);
+        Long studentId = legacyJdbc.queryForObject("SELECT id FROM users WHERE email = 's@test.com'", Long.class);
+        legacyJdbc.update("INSERT INTO courses (title, invite_code, teacher_id) VALUES ('Curso', 'LEG01', ?)", teacherId);
+        Long courseId = legacyJdbc.queryForObject("SELECT id FROM courses WHERE invite_code = 'LEG01'", Long.class);
+        legacyJdbc.update("INSERT INTO exercises (course_id, created_at, title, difficulty, file_data, file_name) "
+                + "VALUES (?, CURRENT_TIMESTAMP, 'Ejercicio', 'BASICO', X'CAFE', 'guia.pdf')", courseId);
+        legacyJdbc.update("INSERT INTO student_scores (student_id, course_id, total_bonus_points, challenges_completed) "
+                + "VALUES (?, ?, 5, 1)", studentId, courseId);
+
+        Flyway legacyFlyway = Flyway.configure()
+                .dataSource(legacy)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+        legacyFlyway.migrate();
+
+        MigrationInfo[] applied = legacyFlyway.info().applied();
+        assertEquals(CoreMigrationType.BASELINE, applied[0].getType());
+        assertEquals("1", applied[0].getVersion().toString());
+        assertEquals(List.of("2", "3", "4", "5"), Arrays.stream(applied).skip(1)
+                .map(info -> info.getVersion().toString())
+                .toList());
+
+        // Mismas columnas que una base creada desde cero (validada por Hibernate)
+        assertEquals(columns(jdbcTemplate), columns(legacyJdbc));
+
+        // Los datos se conservan: el archivo sigue en file_data para BlobMigrationJob
+        Map<String, Object> exercise = legacyJdbc.queryForMap(
+                "SELECT file_data, file_blob_key FROM exercises WHERE course_id = ?", courseId);
+        assertArrayEquals(new byte[] { (byte) 0xCA, (byte) 0xFE }, (byte[]) exercise.get("FILE_DATA"));
+        assertNull(exercise.get("FILE_BLOB_KEY"));
+        assertEquals(0L, legacyJdbc.queryForObject(
+                "SELECT version FROM student_scores WHERE student_id = ?", Long.class, studentId));
+    }
+
+    private List<String> columns(JdbcTemplate jdbc) {
+        return jdbc.queryForList("SELECT LOWER(TABLE_NAME) || '.' || LOWER(COLUMN_NAME) "
+                + "FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = 'PUBLIC' "
+                + "AND LOWER(TABLE_NAME) <> 'flyway_schema_history' ORDER BY 1", String.class);
+    }
+
+    @Test
+    @DisplayName("Índices - Creados para los patrones de acceso")
+    void testIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES", String.class);
+
+        assertTrue(indexes.containsAll(List.of(
+                "idx_submissions_student_status",
+                "idx_submissions_exercise_status",
+                "idx_challenge_submissions_student_status",
+                "idx_student_scores_course_ranking",
+                "idx_challenges_course_active",
+                "idx_hints_exercise_order",
+                "idx_course_students_student",
+                "idx_blob_references_released")), indexes::toString);
+    }
+
+    @Test
+    @DisplayName("Entrega duplicada - Rechazada por la restricción única")
+    void testUniqueSubmissionPerStudent() {
+        jdbcTemplate.update("INSERT INTO users (email, nombre, password, role) VALUES ('t@test.com', 'T', 'x', 'TEACHER')");
+        jdbcTemplate.update("INSERT INTO users (email, nombre, password, role) VALUES ('s@test.com', 'S', 'x', 'STUDENT')");
+        Long teacherId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 't@test.com'", Long.class);
+        Long studentId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 's@test.com'", Long.class);
+        jdbcTemplate.update("INSERT INTO courses (title, invite_code, teacher_id) VALUES ('Curso', 'MIG01', ?)", teacherId);
+        Long courseId = jdbcTemplate.queryForObject("SELECT id FROM courses WHERE invite_code = 'MIG01'", Long.class);
+        jdbcTemplate.update("INSERT INTO exercises (course_id, created_at, title, difficulty) "
+                + "VALUES (?, CURRENT_TIMESTAMP, 'Ejercicio', 'BASICO')", courseId);
+        Long exerciseId = jdbcTemplate.queryForObject("SELECT id FROM exercises WHERE course_id = ?", Long.class,
+                courseId);
+
+        String insert = "INSERT INTO submissions (exercise_id, student_id, status, edit_count, submitted_at) "
+                + "VALUES (?, ?, 'PENDING', 0, CURRENT_TIMESTAMP)";
+        jdbcTemplate.update(insert, exerciseId, studentId);
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update(insert, exerciseId, studentId));
+    }
+}
@@ -0,0 +1,136 @@
+package com.unimar.plataforma_educativa_angular.repositories;
+
+import com.unimar.plataforma_educativa_angular.dto.CursorPageDTO;
+import com.unimar.plataforma_educativa_angular.dto.KeysetCursor;
+import com.unimar.plataforma_educativa_angular.dto.SubmissionDTO;
+import com.unimar.plataforma_educativa_angular.entities.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.unimar.plataforma_educativa_angular.TestUsers.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Pruebas de Paginación con Cursor (keyset)")
+class KeysetPaginationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Course course;
+    private Exercise exercise;
+    private final List<Long> submissionIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User teacher = entityManager.persist(user("teacher@test.com", Role.TEACHER));
+
+        course = new Course();
+        course.setTitle("Matemáticas I");
+        course.setInviteCode("KEYSET01");
+        course.setTeacher(teacher);
+
+        exercise = new Exercise();
+        exercise.setTitle("Ejercicio de Álgebra");
+        exercise.setDifficulty("BASICO");
+        exercise.setCourse(course);
+
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            User student = entityManager.persist(user("student" + i + "@test.com", Role.STUDENT));
+            students.add(student);
+            course.getStudents().add(student);
+        }
+        entityManager.persist(course);
+        entityManager.persist(exercise);
+
+        for (User student : students) {
+            Submission submission = new Submission();
+            submission.setExercise(exercise);
+            submission.setStudent(student);
+            submissionIds.add(entityManager.persist(submission).getId());
+        }
+        entityManager.flush();
+
+        // Tres entregas con la misma fecha: el ID desempata
+        LocalDateTime same = LocalDateTime.of(2025, 5, 10, 14, 30);
+        jdbcTemplate.update("UPDATE submissions SET submitted_at = ? WHERE id IN (?, ?, ?)",
+                same, submissionIds.get(0), submissionIds.get(2), submissionIds.get(4));
+        jdbcTemplate.update("UPDATE submissions SET submitted_at = ? WHERE id = ?",
+                same.minusDays(1), submissionIds.get(3));
+        jdbcTemplate.update("UPDATE submissions SET submitted_at = ? WHERE id = ?",
+                same.plusDays(1), submissionIds.get(1));
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Entregas por ejercicio - Recorre todas las páginas sin repetir ni saltar filas")
+    void testSubmissionPages() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            CursorPageDTO<SubmissionDTO> page = CursorPageDTO.of(submissionRepository
+                    .findSummariesByExerciseIdAfter(exercise.getId(), after.getAt(), after.getId(), Limit.of(3)),
+                    2, dto -> KeysetCursor.encode(dto.getSubmittedAt(), dto.getId()));
+            page.getContent().forEach(dto -> seen.add(dto.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(List.of(submissionIds.get(3), submissionIds.get(0), submissionIds.get(2),
+                submissionIds.get(4), submissionIds.get(1)), seen);
+    }
+
+    @Test
+    @DisplayName("Estudiantes del curso - Página por ID sin cargar la colección")
+    void testStudentPages() {
+        List<User> first = userRepository.findStudentsByCourseIdAfter(course.getId(), 0L, Limit.of(3));
+        CursorPageDTO<User> page = CursorPageDTO.of(first, 2, student -> KeysetCursor.encode(student.getId()));
+
+        assertEquals(2, page.getContent().size());
+        assertNotNull(page.getNextCursor());
+
+        Long afterId = KeysetCursor.decode(page.getNextCursor()).getId();
+        List<User> rest = userRepository.findStudentsByCourseIdAfter(course.getId(), afterId, Limit.of(10));
+        assertEquals(3, rest.size());
+        assertTrue(rest.get(0).getId() > page.getContent().get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Cursor - Tamaño acotado y cursor inválido rechazado")
+    void testCursorValidation() {
+        assertEquals(CursorPageDTO.DEFAULT_SIZE, CursorPageDTO.clampSize(null));
+        assertEquals(CursorPageDTO.MAX_SIZE, CursorPageDTO.clampSize(5000));
+        assertEquals(1, CursorPageDTO.clampSize(0));
+        assertSame(KeysetCursor.START, KeysetCursor.decode(null));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> KeysetCursor.decode("no-es-un-cursor"));
+        assertEquals("Cursor de paginación inválido", e.getMessage());
+    }
+}
@@ -0,0 +1,177 @@
+package com.unimar.plataforma_educativa_angular.repositories;
+
+import com.unimar.plataforma_educativa_angular.entities.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static com.unimar.plataforma_educativa_angular.TestUsers.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Caché de segundo nivel con la configuración de producción (hibernate-cache.conf).
+ * Cada lectura corre en su propia transacción, como una petición HTTP.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:l2cache;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true" })
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Pruebas de la Caché de Segundo Nivel (cursos, ejercicios y pistas)")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ExerciseRepository exerciseRepository;
+
+    @Autowired
+    private HintRepository hintRepository;
+
+    @Autowired
+    private StudentScoreRepository studentScoreRepository;
+
+    private Statistics statistics;
+    private Course course;
+    private Exercise exercise;
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            hintRepository.deleteAll();
+            exerciseRepository.deleteAll();
+            studentScoreRepository.deleteAll();
+            courseRepository.deleteAll();
+            userRepository.deleteAll();
+        });
+
+        User teacher = userRepository.save(user("teacher@test.com", Role.TEACHER));
+        student = userRepository.save(user("student@test.com", Role.STUDENT));
+        course = transactionTemplate.execute(status -> {
+            Course c = new Course();
+            c.setTitle("Matemáticas I");
+            c.setInviteCode("CACHE01");
+            c.setTeacher(teacher);
+            return courseRepository.save(c);
+        });
+        exercise = saveExercise("Ejercicio de Álgebra");
+        transactionTemplate.executeWithoutResult(status -> {
+            Hint hint = new Hint();
+            hint.setContent("Despeja x");
+            hint.setOrder(1);
+            hint.setExercise(exercise);
+            hintRepository.save(hint);
+        });
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Ejercicio por ID - La segunda lectura sale de la región exercise")
+    void testEntityCache() {
+        transactionTemplate.executeWithoutResult(status -> exerciseRepository.findById(exercise.getId()));
+        long statements = statistics.getPrepareStatementCount();
+        transactionTemplate.executeWithoutResult(status -> exerciseRepository.findById(exercise.getId()));
+
+        assertEquals(statements, statistics.getPrepareStatementCount(), "La segunda lectura no va a la base");
+        assertTrue(statistics.getDomainDataRegionStatistics("exercise").getHitCount() >= 1);
+    }
+
+    @Test
+    @DisplayName("Ejercicios del curso - Caché de consultas invalidada al crear un ejercicio")
+    void testQueryCacheInvalidatedOnWrite() {
+        assertEquals(1, exercisesOfCourse().size());
+        long statements = statistics.getPrepareStatementCount();
+        assertEquals(1, exercisesOfCourse().size());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryRegionStatistics("course-exercises").getHitCount());
+
+        saveExercise("Ejercicio nuevo");
+
+        assertEquals(2, exercisesOfCourse().size(), "La tabla cambió: la consulta vuelve a ejecutarse");
+    }
+
+    @Test
+    @DisplayName("Pistas del ejercicio - Caché de consultas en la región exercise-hints")
+    void testHintQueryCache() {
+        transactionTemplate.execute(status -> hintRepository.findByExerciseIdOrderByOrderAsc(exercise.getId()));
+        long statements = statistics.getPrepareStatementCount();
+        List<Hint> hints = transactionTemplate.execute(
+                status -> hintRepository.findByExerciseIdOrderByOrderAsc(exercise.getId()));
+
+        assertEquals(1, hints.size());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("INSERT nativo en student_scores - No vacía las regiones de cursos")
+    void testNativeInsertKeepsRegions() {
+        transactionTemplate.executeWithoutResult(status -> courseRepository.findById(course.getId()));
+        transactionTemplate.executeWithoutResult(
+                status -> studentScoreRepository.ensureScore(student.getId(), course.getId()));
+
+        assertTrue(entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .containsEntity(Course.class, course.getId()));
+    }
+
+    @Test
+    @DisplayName("Métricas - Aciertos y fallos por región para actuator")
+    void testMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), "entityManagerFactory", List.of())
+                .bindTo(registry);
+
+        transactionTemplate.executeWithoutResult(status -> courseRepository.findById(course.getId()));
+        transactionTemplate.executeWithoutResult(status -> courseRepository.findById(course.getId()));
+
+        double hits = registry.get("hibernate.second.level.cache.requests")
+                .tags("region", "course", "result", "hit").functionCounter().count();
+        assertTrue(hits >= 1);
+    }
+
+    private List<Exercise> exercisesOfCourse() {
+        return transactionTemplate.execute(status -> exerciseRepository.findByCourseId(course.getId(), Limit.unlimited()));
+    }
+
+    private Exercise saveExercise(String title) {
+        return transactionTemplate.execute(status -> {
+            Exercise e = new Exercise();
+            e.setTitle(title);
+            e.setDifficulty("BASICO");
+            e.setCourse(course);
+            return exerciseRepository.save(e);
+        });
+    }
+}
@@ -0,0 +1,167 @@
+package com.unimar.plataforma_educativa_angular.repositories;
+
+import com.unimar.plataforma_educativa_angular.dto.ArchiveEntryDTO;
+import com.unimar.plataforma_educativa_angular.dto.ChallengeSubmissionDTO;
+import com.unimar.plataforma_educativa_angular.dto.SubmissionDTO;
+import com.unimar.plataforma_educativa_angular.entities.*;
+import com.unimar.plataforma_educativa_angular.storage.BlobRef;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.unimar.plataforma_educativa_angular.TestUsers.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Pruebas de Listados de Entregas (proyecciones)")
+class SubmissionSummaryQueriesTest {
+
+    private static final String BLOB_KEY = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private ChallengeSubmissionRepository challengeSubmissionRepository;
+
+    private User student;
+    private Exercise exercise;
+    private Challenge challenge;
+
+    @BeforeEach
+    void setUp() {
+        User teacher = entityManager.persist(user("teacher@test.com", "Profesor Test", Role.TEACHER));
+        student = entityManager.persist(user("student@test.com", "Estudiante Test", Role.STUDENT));
+        User other = entityManager.persist(user("other@test.com", "Otro Estudiante", Role.STUDENT));
+
+        Course course = new Course();
+        course.setTitle("Matemáticas I");
+        course.setInviteCode("ABC123");
+        course.setTeacher(teacher);
+        entityManager.persist(course);
+
+        exercise = new Exercise();
+        exercise.setTitle("Ejercicio de Álgebra");
+        exercise.setDifficulty("BASICO");
+        exercise.setDeadline(LocalDateTime.now().plusDays(3).plusHours(1));
+        exercise.setCourse(course);
+        entityManager.persist(exercise);
+
+        challenge = new Challenge();
+        challenge.setTitle("Reto de Algoritmos");
+        challenge.setDifficulty("AVANZADO");
+        challenge.setMaxBonusPoints(10);
+        challenge.setCourse(course);
+        entityManager.persist(challenge);
+
+        Submission withFile = new Submission();
+        withFile.setExercise(exercise);
+        withFile.setStudent(student);
+        withFile.attachFile(new BlobRef(BLOB_KEY, 2048, BLOB_KEY), "solucion.zip", "application/zip");
+        entityManager.persist(withFile);
+
+        Submission withoutFile = new Submission();
+        withoutFile.setExercise(exercise);
+        withoutFile.setStudent(other);
+        withoutFile.setStatus(Submission.SubmissionStatus.GRADED);
+        withoutFile.setGrade(4.5);
+        entityManager.persist(withoutFile);
+
+        ChallengeSubmission solution = new ChallengeSubmission();
+        solution.setChallenge(challenge);
+        solution.setStudent(student);
+        solution.attachFile(new BlobRef(BLOB_KEY, 512, BLOB_KEY), "reto.py", "text/x-python");
+        entityManager.persist(solution);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Entregas por ejercicio - Metadatos y hasFile calculado en SQL")
+    void testFindSummariesByExerciseId() {
+        List<SubmissionDTO> result = submissionRepository.findSummariesByExerciseId(exercise.getId(), Limit.unlimited());
+
+        assertEquals(2, result.size());
+
+        SubmissionDTO first = result.get(0);
+        assertEquals(exercise.getId(), first.getExerciseId());
+        assertEquals("Estudiante Test", first.getStudentName());
+        assertEquals("student@test.com", first.getStudentEmail());
+        assertEquals("solucion.zip", first.getFileName());
+        assertEquals(Long.valueOf(2048), first.getFileSize());
+        assertTrue(first.isHasFile());
+        assertEquals("PENDING", first.getStatus());
+        assertTrue(first.getCanBeEdited());
+        assertEquals(Long.valueOf(3), first.getDaysUntilDeadline());
+
+        SubmissionDTO second = result.get(1);
+        assertFalse(second.isHasFile());
+        assertNull(second.getFileSize());
+        assertEquals("GRADED", second.getStatus());
+        assertEquals(4.5, second.getGrade());
+        assertFalse(second.getCanBeEdited());
+    }
+
+    @Test
+    @DisplayName("Mis entregas - Solo las del estudiante")
+    void testFindSummariesByStudentId() {
+        List<SubmissionDTO> result = submissionRepository.findSummariesByStudentId(student.getId(), Limit.unlimited());
+
+        assertEquals(1, result.size());
+        assertEquals(student.getId(), result.get(0).getStudentId());
+    }
+
+    @Test
+    @DisplayName("Soluciones de retos - Proyección con título del reto")
+    void testChallengeSummaries() {
+        List<ChallengeSubmissionDTO> byChallenge = challengeSubmissionRepository
+                .findSummariesByChallengeId(challenge.getId(), Limit.unlimited());
+        List<ChallengeSubmissionDTO> byStudent = challengeSubmissionRepository
+                .findSummariesByStudentId(student.getId(), Limit.unlimited());
+
+        assertEquals(1, byChallenge.size());
+        assertEquals(1, byStudent.size());
+
+        ChallengeSubmissionDTO dto = byChallenge.get(0);
+        assertEquals("Reto de Algoritmos", dto.getChallengeTitle());
+        assertEquals("reto.py", dto.getFileName());
+        assertEquals(Long.valueOf(512), dto.getFileSize());
+        assertTrue(dto.isHasFile());
+        assertNull(dto.getDaysUntilDeadline());
+        assertTrue(dto.getCanBeEdited());
+    }
+
+    @Test
+    @DisplayName("Exportación ZIP - Filas ordenadas por estudiante con clave del archivo")
+    void testFindArchiveEntries() {
+        List<ArchiveEntryDTO> entries = submissionRepository.findArchiveEntriesByExerciseId(exercise.getId());
+        List<ArchiveEntryDTO> solutions = challengeSubmissionRepository
+                .findArchiveEntriesByChallengeId(challenge.getId());
+
+        assertEquals(2, entries.size());
+        assertEquals("Estudiante Test", entries.get(0).getStudentName());
+        assertEquals(BLOB_KEY, entries.get(0).getFileBlobKey());
+        assertEquals("PENDING", entries.get(0).getStatus());
+        assertEquals("Otro Estudiante", entries.get(1).getStudentName());
+        assertFalse(entries.get(1).hasFile());
+        assertEquals(4.5, entries.get(1).getScore());
+
+        assertEquals(1, solutions.size());
+        assertEquals("reto.py", solutions.get(0).getFileName());
+    }
+}
@@ -0,0 +1,121 @@
+package com.unimar.plataforma_educativa_angular.seed;
+
+import com.unimar.plataforma_educativa_angular.entities.Role;
+import com.unimar.plataforma_educativa_angular.entities.User;
+import com.unimar.plataforma_educativa_angular.loadtest.DeadlineNightLoadDriver;
+import com.unimar.plataforma_educativa_angular.repositories.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:seed;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "seed.enabled=true",
+        "seed.teachers=2",
+        "seed.courses-per-teacher=2",
+        "seed.students=30",
+        "seed.students-per-course=10",
+        "seed.exercises-per-course=3",
+        "seed.challenges-per-course=2",
+        "seed.hints-per-exercise=2",
+        "seed.file-size=1KB" })
+@ActiveProfiles("test")
+@DisplayName("Pruebas del Generador de Datos y la Prueba de Carga")
+class DatasetGeneratorTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Generador - Cantidades configuradas y un ejercicio abierto por curso")
+    void testCounts() {
+        assertEquals(2, count("SELECT COUNT(*) FROM users WHERE role = 'TEACHER'"));
+        assertEquals(30, count("SELECT COUNT(*) FROM users WHERE role = 'STUDENT'"));
+        assertEquals(4, count("SELECT COUNT(*) FROM courses"));
+        assertEquals(12, count("SELECT COUNT(*) FROM exercises"));
+        assertEquals(24, count("SELECT COUNT(*) FROM hints"));
+        assertEquals(8, count("SELECT COUNT(*) FROM challenges"));
+        assertEquals(4, count("SELECT COUNT(*) FROM exercises WHERE deadline > CURRENT_TIMESTAMP"));
+        assertTrue(count("SELECT COUNT(*) FROM submissions") > 0);
+        assertTrue(count("SELECT COUNT(*) FROM challenge_submissions") > 0);
+        assertEquals(0, count("SELECT COUNT(*) FROM submissions s JOIN exercises e ON e.id = s.exercise_id "
+                + "LEFT JOIN course_students cs ON cs.course_id = e.course_id AND cs.student_id = s.student_id "
+                + "WHERE cs.student_id IS NULL"), "Solo entregan los inscritos");
+        assertEquals(0, count("SELECT COUNT(*) FROM submissions s JOIN exercises e ON e.id = s.exercise_id "
+                + "WHERE e.deadline > CURRENT_TIMESTAMP AND s.status <> 'PENDING'"), "El abierto no está calificado");
+    }
+
+    @Test
+    @DisplayName("Generador - Puntajes y contadores de archivos coherentes")
+    void testConsistency() {
+        List<Map<String, Object>> mismatched = jdbcTemplate.queryForList(
+                "SELECT sc.id FROM student_scores sc WHERE sc.total_bonus_points <> ("
+                        + "SELECT COALESCE(SUM(cs.bonus_points), 0) FROM challenge_submissions cs "
+                        + "JOIN challenges c ON c.id = cs.challenge_id "
+                        + "WHERE c.course_id = sc.course_id AND cs.student_id = sc.student_id "
+                        + "AND cs.status = 'REVIEWED') OR sc.challenges_completed <> ("
+                        + "SELECT COUNT(*) FROM challenge_submissions cs JOIN challenges c ON c.id = cs.challenge_id "
+                        + "WHERE c.course_id = sc.course_id AND cs.student_id = sc.student_id "
+                        + "AND cs.status = 'REVIEWED')");
+        assertTrue(mismatched.isEmpty(), mismatched::toString);
+
+        long files = count("SELECT COUNT(*) FROM submissions WHERE file_blob_key IS NOT NULL")
+                + count("SELECT COUNT(*) FROM challenge_submissions WHERE file_blob_key IS NOT NULL")
+                + count("SELECT COUNT(*) FROM exercises WHERE file_blob_key IS NOT NULL");
+        assertEquals(count("SELECT COUNT(*) FROM submissions"), count(
+                "SELECT COUNT(*) FROM submissions WHERE file_blob_key IS NOT NULL"), "Toda entrega tiene archivo");
+        assertEquals(files, count("SELECT COALESCE(SUM(ref_count), 0) FROM blob_references"));
+    }
+
+    @Test
+    @DisplayName("Generador - Los IDs de la aplicación continúan después de los generados")
+    void testIdentityAfterSeed() {
+        User user = new User();
+        user.setEmail("nuevo@test.com");
+        user.setNombre("Nuevo");
+        user.setPassword("secret");
+        user.setRole(Role.STUDENT);
+
+        User saved = userRepository.save(user);
+
+        assertTrue(saved.getId() > 32);
+        userRepository.delete(saved);
+    }
+
+    @Test
+    @DisplayName("Prueba de carga - Mezcla de la noche de entrega sin errores y con p50/p99 por endpoint")
+    void testLoadDriver() throws Exception {
+        DeadlineNightLoadDriver driver = new DeadlineNightLoadDriver("http://localhost:" + port, "seed1234", 30, 2);
+
+        List<DeadlineNightLoadDriver.EndpointSummary> summaries = driver.run(4, Duration.ofSeconds(8),
+                Duration.ZERO);
+
+        List<String> endpoints = summaries.stream().map(DeadlineNightLoadDriver.EndpointSummary::endpoint).toList();
+        assertTrue(endpoints.containsAll(List.of("POST /api/auth/login", "GET /api/submissions/my-submissions",
+                "GET /api/submissions/exercise/{id}")), endpoints::toString);
+        for (DeadlineNightLoadDriver.EndpointSummary summary : summaries) {
+            assertEquals(0, summary.errors(), summary::toString);
+            assertTrue(summary.p50Millis() <= summary.p99Millis());
+        }
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -7,6 +7,8 @@ import com.unimar.plataforma_educativa_angular.entities.Role;
 import com.unimar.plataforma_educativa_angular.repositories.ChallengeRepository;
 import com.unimar.plataforma_educativa_angular.repositories.CourseRepository;
 import com.unimar.plataforma_educativa_angular.repositories.UserRepository;
+import com.unimar.plataforma_educativa_angular.storage.BlobRef;
+import com.unimar.plataforma_educativa_angular.storage.BlobStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +18,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Optional;
@@ -50,6 +54,8 @@ import static org.mockito.Mockito.*;
 @DisplayName("Pruebas Unitarias - HU12: Publicar Retos en la Plataforma")
 class ChallengeServiceTest_HU12 {
 
+        private static final String BLOB_KEY = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
         @Mock
         private ChallengeRepository challengeRepository;
 
@@ -57,10 +63,10 @@ class ChallengeServiceTest_HU12 {
         private CourseRepository courseRepository;
 
         @Mock
-        private UserRepository userRepository;
+        private MultipartFile mockFile;
 
         @Mock
-        private MultipartFile mockFile;
+        private BlobStore blobStore;
 
         @InjectMocks
         private ChallengeService challengeService;
@@ -125,13 +131,15 @@ class ChallengeServiceTest_HU12 {
                 // Simular archivo PDF
                 byte[] fileContent = "Contenido del PDF del reto de algoritmos".getBytes();
                 when(mockFile.isEmpty()).thenReturn(false);
-                when(mockFile.getBytes()).thenReturn(fileContent);
+                InputStream fileStream = new ByteArrayInputStream(fileContent);
+                when(mockFile.getInputStream()).thenReturn(fileStream);
                 when(mockFile.getOriginalFilename()).thenReturn("archivo.pdf");
                 when(mockFile.getContentType()).thenReturn("application/pdf");
+                BlobRef blob = new BlobRef(BLOB_KEY, fileContent.length, BLOB_KEY);
+                when(blobStore.put(fileStream)).thenReturn(blob);
 
                 // Configurar mocks
                 when(courseRepository.findById(1L)).thenReturn(Optional.of(testCourse));
-                when(userRepository.findByEmail("teacher@test.com")).thenReturn(Optional.of(testTeacher));
 
                 // Simular reto guardado
                 Challenge savedChallenge = new Challenge();
@@ -141,9 +149,7 @@ class ChallengeServiceTest_HU12 {
                 savedChallenge.setDifficulty("INTERMEDIO");
                 savedChallenge.setMaxBonusPoints(8);
                 savedChallenge.setDeadline(LocalDateTime.parse("2025-12-31T23:59:59"));
-                savedChallenge.setFileData(fileContent);
-                savedChallenge.setFileName("archivo.pdf");
-                savedChallenge.setFileType("application/pdf");
+                savedChallenge.attachFile(blob, "archivo.pdf", "application/pdf");
                 savedChallenge.setCourse(testCourse);
                 savedChallenge.setActive(true);
                 savedChallenge.setCreatedAt(LocalDateTime.now());
@@ -154,8 +160,9 @@ class ChallengeServiceTest_HU12 {
                 Challenge result = challengeService.createChallenge(
                                 challengeToCreate,
                                 1L,
-                                "teacher@test.com",
-                                mockFile);
+                                1L,
+                                mockFile,
+                                null);
 
                 // ==================== ASSERT ====================
                 assertNotNull(result, "El reto creado no debe ser nulo");
@@ -171,8 +178,8 @@ class ChallengeServiceTest_HU12 {
                 assertTrue(result.hasFile(), "El reto debe tener archivo adjunto");
                 assertEquals("archivo.pdf", result.getFileName(), "El nombre del archivo debe coincidir");
                 assertEquals("application/pdf", result.getFileType(), "El tipo de archivo debe ser PDF");
-                assertArrayEquals(fileContent, result.getFileData(), "El contenido del archivo debe coincidir");
-                assertTrue(result.getFileData().length > 0, "El archivo debe tener contenido");
+                assertEquals(BLOB_KEY, result.getFileBlobKey(), "La referencia al archivo debe coincidir");
+                assertEquals(Long.valueOf(fileContent.length), result.getFileSize(), "El tamaño del archivo debe coincidir");
 
                 // Validación de estado activo
                 assertTrue(result.getActive(), "El reto debe estar activo (active=true)");
@@ -186,9 +193,9 @@ class ChallengeServiceTest_HU12 {
 
                 // Verificar interacciones con los repositorios
                 verify(courseRepository, times(1)).findById(1L);
-                verify(userRepository, times(1)).findByEmail("teacher@test.com");
                 verify(challengeRepository, times(1)).save(any(Challenge.class));
-                verify(mockFile, times(1)).getBytes();
+                verify(mockFile, times(1)).getInputStream();
+                verify(blobStore, times(1)).put(fileStream);
                 verify(mockFile, times(1)).getOriginalFilename();
                 verify(mockFile, times(1)).getContentType();
 
@@ -199,7 +206,7 @@ class ChallengeServiceTest_HU12 {
                 System.out.println("   Bonificación máxima: " + result.getMaxBonusPoints() + " XP");
                 System.out.println("   Deadline: " + result.getDeadline());
                 System.out.println("   Archivo: " + result.getFileName());
-                System.out.println("   Tamaño: " + result.getFileData().length + " bytes");
+                System.out.println("   Tamaño: " + result.getFileSize() + " bytes");
                 System.out.println("   Estado activo: " + result.getActive());
                 System.out.println("   Mensaje: 'Reto publicado exitosamente'");
         }
@@ -248,7 +255,8 @@ class ChallengeServiceTest_HU12 {
                                         challengeService.createChallenge(
                                                         challengeToCreate,
                                                         1L,
-                                                        "teacher@test.com",
+                                                        1L,
+                                                        null,
                                                         null);
                                 },
                                 "Debe lanzar excepción cuando maxBonusPoints es null");
@@ -303,7 +311,8 @@ class ChallengeServiceTest_HU12 {
                                         challengeService.createChallenge(
                                                         challengeToCreate,
                                                         1L,
-                                                        "teacher@test.com",
+                                                        1L,
+                                                        null,
                                                         null);
                                 },
                                 "Debe rechazar bonificación mayor a 10");
@@ -342,7 +351,6 @@ class ChallengeServiceTest_HU12 {
                 challengeToCreate.setDeadline(LocalDateTime.parse("2025-12-31T23:59:59"));
 
                 when(courseRepository.findById(1L)).thenReturn(Optional.of(testCourse));
-                when(userRepository.findByEmail("teacher@test.com")).thenReturn(Optional.of(testTeacher));
 
                 Challenge savedChallenge = new Challenge();
                 savedChallenge.setId(1L);
@@ -360,16 +368,16 @@ class ChallengeServiceTest_HU12 {
                 Challenge result = challengeService.createChallenge(
                                 challengeToCreate,
                                 1L,
-                                "teacher@test.com",
-                                null // Sin archivo
-                );
+                                1L,
+                                null, // Sin archivo
+                                null);
 
                 // ==================== ASSERT ====================
                 assertNotNull(result, "El reto creado no debe ser nulo");
                 assertEquals("Reto de Algoritmos", result.getTitle());
                 assertEquals(8, result.getMaxBonusPoints());
                 assertFalse(result.hasFile(), "El reto NO debe tener archivo adjunto");
-                assertNull(result.getFileData(), "Los datos del archivo deben ser nulos");
+                assertNull(result.getFileBlobKey(), "La referencia al archivo debe ser nula");
                 assertTrue(result.getActive(), "El reto debe estar activo");
 
                 verify(challengeRepository, times(1)).save(any(Challenge.class));
@@ -32,7 +32,7 @@ import static org.mockito.Mockito.*;
  * Datos de entrada:
  * {
  * challengeId: 1L,
- * teacherEmail: "teacher@test.com"
+ * teacherId: 1L
  * }
  * 
  * Criterios de Aceptación:
@@ -49,9 +49,6 @@ class ChallengeServiceTest_HU13 {
     @Mock
     private CourseRepository courseRepository;
 
-    @Mock
-    private UserRepository userRepository;
-
     @InjectMocks
     private ChallengeService challengeService;
 
@@ -101,7 +98,7 @@ class ChallengeServiceTest_HU13 {
      * Dado: Un profesor con un reto publicado en su curso
      * Cuando: Elimina el reto con los datos:
      * - challengeId: 1L
-     * - teacherEmail: "teacher@test.com"
+     * - teacherId: 1L
      * - confirmed: true (confirmación en frontend)
      * Entonces: El sistema solicita confirmación en frontend
      * Y: Elimina el reto de la base de datos
@@ -115,36 +112,32 @@ class ChallengeServiceTest_HU13 {
 
         // Datos de entrada según especificación
         Long challengeId = 1L;
-        String teacherEmail = "teacher@test.com";
+        Long teacherId = 1L;
 
         // Configurar mocks
         when(challengeRepository.findById(challengeId)).thenReturn(Optional.of(testChallenge));
-        when(userRepository.findByEmail(teacherEmail)).thenReturn(Optional.of(testTeacher));
         doNothing().when(challengeRepository).delete(testChallenge);
 
         // ==================== ACT ====================
         // El frontend debe solicitar confirmación ANTES de llamar este método
         // confirmed: true significa que el usuario ya confirmó la acción
-        assertDoesNotThrow(() -> challengeService.deleteChallenge(challengeId, teacherEmail),
+        assertDoesNotThrow(() -> challengeService.deleteChallenge(challengeId, teacherId),
                 "No debe lanzar excepción al eliminar reto válido");
 
         // ==================== ASSERT ====================
         // Verificar que se buscó el reto
         verify(challengeRepository, times(1)).findById(challengeId);
 
-        // Verificar que se validó el profesor
-        verify(userRepository, times(1)).findByEmail(teacherEmail);
-
         // Verificar que se eliminó el reto
         verify(challengeRepository, times(1)).delete(testChallenge);
 
         // Verificar que solo se ejecutaron las operaciones necesarias
-        verifyNoMoreInteractions(challengeRepository, userRepository);
+        verifyNoMoreInteractions(challengeRepository);
 
         // ==================== RESULTADO ====================
         System.out.println("✅ CP013 PASÓ: Reto eliminado exitosamente");
         System.out.println("   Challenge ID: " + challengeId);
-        System.out.println("   Profesor: " + teacherEmail);
+        System.out.println("   Profesor: " + teacherId);
         System.out.println("   Reto eliminado: " + testChallenge.getTitle());
         System.out.println("   Mensaje: 'Reto eliminado exitosamente'");
         System.out.println("   NOTA IMPORTANTE:");
@@ -175,12 +168,11 @@ class ChallengeServiceTest_HU13 {
         otherTeacher.setRole(Role.TEACHER);
 
         when(challengeRepository.findById(1L)).thenReturn(Optional.of(testChallenge));
-        when(userRepository.findByEmail("other@test.com")).thenReturn(Optional.of(otherTeacher));
 
         // ==================== ACT & ASSERT ====================
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> challengeService.deleteChallenge(1L, "other@test.com"),
+                () -> challengeService.deleteChallenge(1L, 99L),
                 "Debe lanzar excepción si el profesor no es el dueño del curso");
 
         assertEquals("No tienes permiso para eliminar este reto", exception.getMessage());
@@ -206,7 +198,7 @@ class ChallengeServiceTest_HU13 {
         // ==================== ACT & ASSERT ====================
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> challengeService.deleteChallenge(999L, "teacher@test.com"),
+                () -> challengeService.deleteChallenge(999L, 1L),
                 "Debe lanzar excepción si el reto no existe");
 
         assertEquals("Reto no encontrado", exception.getMessage());
@@ -219,29 +211,28 @@ class ChallengeServiceTest_HU13 {
     }
 
     /**
-     * Prueba adicional: Validar que el profesor debe existir
+     * Prueba adicional: Un ID de usuario desconocido no es dueño del curso
      */
     @Test
-    @DisplayName("HU13: Profesor no encontrado lanza excepción")
-    void testProfesorNoEncontrado() {
+    @DisplayName("HU13: Usuario desconocido no puede eliminar el reto")
+    void testUsuarioDesconocidoNoPuedeEliminar() {
         // ==================== ARRANGE ====================
-        System.out.println("\n=== Validación: Profesor no encontrado ===");
+        System.out.println("\n=== Validación: Usuario desconocido ===");
 
         when(challengeRepository.findById(1L)).thenReturn(Optional.of(testChallenge));
-        when(userRepository.findByEmail("noexiste@test.com")).thenReturn(Optional.empty());
 
         // ==================== ACT & ASSERT ====================
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> challengeService.deleteChallenge(1L, "noexiste@test.com"),
-                "Debe lanzar excepción si el profesor no existe");
+                () -> challengeService.deleteChallenge(1L, 404L),
+                "Debe lanzar excepción si el usuario no es el profesor del curso");
 
-        assertEquals("Profesor no encontrado", exception.getMessage());
+        assertEquals("No tienes permiso para eliminar este reto", exception.getMessage());
 
         // Verificar que NO se eliminó
         verify(challengeRepository, never()).delete(any(Challenge.class));
 
-        System.out.println("✅ Sistema maneja correctamente profesor no encontrado");
+        System.out.println("✅ Sistema rechaza correctamente al usuario desconocido");
         System.out.println("   Error: " + exception.getMessage());
     }
 
@@ -259,11 +250,10 @@ class ChallengeServiceTest_HU13 {
         // La eliminación debe ser en cascada según la entidad Challenge
 
         when(challengeRepository.findById(1L)).thenReturn(Optional.of(testChallenge));
-        when(userRepository.findByEmail("teacher@test.com")).thenReturn(Optional.of(testTeacher));
         doNothing().when(challengeRepository).delete(testChallenge);
 
         // ==================== ACT ====================
-        assertDoesNotThrow(() -> challengeService.deleteChallenge(1L, "teacher@test.com"),
+        assertDoesNotThrow(() -> challengeService.deleteChallenge(1L, 1L),
                 "Debe poder eliminar reto con soluciones (cascada)");
 
         // ==================== ASSERT ====================
@@ -287,28 +277,23 @@ class ChallengeServiceTest_HU13 {
         System.out.println("\n=== Validación: Flujo completo de eliminación ===");
 
         when(challengeRepository.findById(1L)).thenReturn(Optional.of(testChallenge));
-        when(userRepository.findByEmail("teacher@test.com")).thenReturn(Optional.of(testTeacher));
         doNothing().when(challengeRepository).delete(testChallenge);
 
         // ==================== ACT ====================
-        challengeService.deleteChallenge(1L, "teacher@test.com");
+        challengeService.deleteChallenge(1L, 1L);
 
         // ==================== ASSERT ====================
         // Verificar orden de operaciones
-        var inOrder = inOrder(challengeRepository, userRepository);
+        var inOrder = inOrder(challengeRepository);
 
-        // 1. Primero busca el reto
+        // 1. Primero busca el reto (el permiso se valida con el ID del profesor del curso)
         inOrder.verify(challengeRepository).findById(1L);
 
-        // 2. Luego busca el profesor
-        inOrder.verify(userRepository).findByEmail("teacher@test.com");
-
-        // 3. Finalmente elimina el reto
+        // 2. Luego elimina el reto
         inOrder.verify(challengeRepository).delete(testChallenge);
 
         System.out.println("✅ Flujo de eliminación ejecutado en el orden correcto:");
         System.out.println("   1. Buscar reto por ID");
-        System.out.println("   2. Validar permisos del profesor");
-        System.out.println("   3. Eliminar reto de la base de datos");
+        System.out.println("   2. Validar permisos del profesor y eliminar el reto");
     }
 }
\ No newline at end of file
@@ -37,7 +37,7 @@ import static org.mockito.Mockito.*;
  * difficulty: "AVANZADO",
  * maxBonusPoints: 10,
  * deadline: "2026-01-15T23:59:59",
- * teacherEmail: "teacher@test.com"
+ * teacherId: 1L
  * }
  * 
  * Criterios de Aceptación:
@@ -51,9 +51,6 @@ class ChallengeServiceTest_HU14 {
     @Mock
     private ChallengeRepository challengeRepository;
 
-    @Mock
-    private UserRepository userRepository;
-
     @InjectMocks
     private ChallengeService challengeService;
 
@@ -127,7 +124,6 @@ class ChallengeServiceTest_HU14 {
 
         // Configurar mocks
         when(challengeRepository.findById(1L)).thenReturn(Optional.of(existingChallenge));
-        when(userRepository.findByEmail("teacher@test.com")).thenReturn(Optional.of(testTeacher));
 
         // Simular reto actualizado
         Challenge updatedChallenge = new Challenge();
@@ -154,9 +150,9 @@ class ChallengeServiceTest_HU14 {
         Challenge result = challengeService.updateChallenge(
                 1L,
                 challengeData,
-                "teacher@test.com",
-                null // Sin archivo nuevo
-        );
+                1L,
+                null, // Sin archivo nuevo
+                null);
 
         // ==================== ASSERT ====================
         assertNotNull(result, "El reto actualizado no debe ser nulo");
@@ -179,7 +175,6 @@ class ChallengeServiceTest_HU14 {
 
         // Verificar interacciones con los repositorios
         verify(challengeRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).findByEmail("teacher@test.com");
         verify(challengeRepository, times(1)).save(any(Challenge.class));
 
         // ==================== RESULTADO ====================
@@ -238,7 +233,6 @@ class ChallengeServiceTest_HU14 {
 
         // Configurar mocks (aunque no deberían usarse si el frontend previene el envío)
         lenient().when(challengeRepository.findById(1L)).thenReturn(Optional.of(existingChallenge));
-        lenient().when(userRepository.findByEmail("teacher@test.com")).thenReturn(Optional.of(testTeacher));
 
         // ==================== ACT & ASSERT ====================
         // Simulamos la validación que DEBE existir en el frontend
@@ -310,12 +304,11 @@ class ChallengeServiceTest_HU14 {
         challengeData.setMaxBonusPoints(10);
 
         when(challengeRepository.findById(1L)).thenReturn(Optional.of(existingChallenge));
-        when(userRepository.findByEmail("other@test.com")).thenReturn(Optional.of(otherTeacher));
 
         // Act & Assert
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> challengeService.updateChallenge(1L, challengeData, "other@test.com", null),
+                () -> challengeService.updateChallenge(1L, challengeData, 99L, null, null),
                 "Debe lanzar excepción si el profesor no es el dueño del curso");
 
         assertEquals("No tienes permiso para editar este reto", exception.getMessage());
@@ -378,7 +371,7 @@ class ChallengeServiceTest_HU14 {
         // Act & Assert
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> challengeService.updateChallenge(999L, challengeData, "teacher@test.com", null),
+                () -> challengeService.updateChallenge(999L, challengeData, 1L, null, null),
                 "Debe lanzar excepción si el reto no existe");
 
         assertEquals("Reto no encontrado", exception.getMessage());
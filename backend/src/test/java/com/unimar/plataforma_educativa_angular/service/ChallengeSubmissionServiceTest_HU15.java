@@ -2,6 +2,8 @@ package com.unimar.plataforma_educativa_angular.service;
 
 import com.unimar.plataforma_educativa_angular.entities.*;
 import com.unimar.plataforma_educativa_angular.repositories.*;
+import com.unimar.plataforma_educativa_angular.storage.BlobRef;
+import com.unimar.plataforma_educativa_angular.storage.BlobStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -11,6 +13,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Optional;
@@ -29,7 +33,7 @@ import static org.mockito.Mockito.*;
  * Datos de entrada:
  * {
  * challengeId: 1L,
- * studentEmail: "student@test.com",
+ * studentId: 2L,
  * file: solucion_reto.zip
  * }
  * 
@@ -41,6 +45,8 @@ import static org.mockito.Mockito.*;
 @DisplayName("Pruebas Unitarias - HU15: Subir Soluciones de Retos")
 class ChallengeSubmissionServiceTest_HU15 {
 
+    private static final String BLOB_KEY = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
     @Mock
     private ChallengeSubmissionRepository submissionRepository;
 
@@ -53,6 +59,12 @@ class ChallengeSubmissionServiceTest_HU15 {
     @Mock
     private MultipartFile mockFile;
 
+    @Mock
+    private BlobStore blobStore;
+
+    @Mock
+    private CourseAccessService courseAccessService;
+
     @InjectMocks
     private ChallengeSubmissionService submissionService;
 
@@ -86,6 +98,7 @@ class ChallengeSubmissionServiceTest_HU15 {
         testCourse.setTeacher(testTeacher);
         testCourse.setStudents(new HashSet<>());
         testCourse.getStudents().add(testStudent);
+        lenient().when(courseAccessService.isEnrolled(1L, 2L)).thenReturn(true);
 
         // Configurar reto activo
         testChallenge = new Challenge();
@@ -110,7 +123,7 @@ class ChallengeSubmissionServiceTest_HU15 {
      * Dado: Un estudiante inscrito en un curso con un reto activo
      * Cuando: Sube la solución del reto con los datos:
      * - challengeId: 1L
-     * - studentEmail: "student@test.com"
+     * - studentId: 2L
      * - file: solucion.zip (archivo válido)
      * Entonces: El sistema almacena la solución en la base de datos
      * Y: Establece el estado como PENDING (sin revisar)
@@ -128,13 +141,16 @@ class ChallengeSubmissionServiceTest_HU15 {
 
         // Simular archivo ZIP con solución
         when(mockFile.isEmpty()).thenReturn(false);
-        when(mockFile.getBytes()).thenReturn(fileContent);
+        InputStream fileStream = new ByteArrayInputStream(fileContent);
+        when(mockFile.getInputStream()).thenReturn(fileStream);
         when(mockFile.getOriginalFilename()).thenReturn("solucion.zip");
         when(mockFile.getContentType()).thenReturn("application/zip");
+        BlobRef blob = new BlobRef(BLOB_KEY, fileContent.length, BLOB_KEY);
+        when(blobStore.put(fileStream)).thenReturn(blob);
 
         // Configurar mocks
         when(challengeRepository.findById(1L)).thenReturn(Optional.of(testChallenge));
-        when(userRepository.findByEmail("student@test.com")).thenReturn(Optional.of(testStudent));
+        when(userRepository.getReferenceById(2L)).thenReturn(testStudent);
         when(submissionRepository.existsByChallengeIdAndStudentId(1L, 2L)).thenReturn(false);
 
         // Simular solución guardada
@@ -142,9 +158,7 @@ class ChallengeSubmissionServiceTest_HU15 {
         savedSubmission.setId(1L);
         savedSubmission.setChallenge(testChallenge);
         savedSubmission.setStudent(testStudent);
-        savedSubmission.setFileData(fileContent);
-        savedSubmission.setFileName("solucion.zip");
-        savedSubmission.setFileType("application/zip");
+        savedSubmission.attachFile(blob, "solucion.zip", "application/zip");
         savedSubmission.setStatus(ChallengeSubmission.SubmissionStatus.PENDING);
         savedSubmission.setSubmittedAt(LocalDateTime.now());
         savedSubmission.setEditCount(0);
@@ -154,7 +168,7 @@ class ChallengeSubmissionServiceTest_HU15 {
         // ==================== ACT ====================
         ChallengeSubmission result = submissionService.submitChallenge(
                 1L,
-                "student@test.com",
+                2L,
                 mockFile);
 
         // ==================== ASSERT ====================
@@ -165,8 +179,8 @@ class ChallengeSubmissionServiceTest_HU15 {
         assertTrue(result.hasFile(), "La solución debe tener archivo adjunto");
         assertEquals("solucion.zip", result.getFileName(), "El nombre del archivo debe coincidir");
         assertEquals("application/zip", result.getFileType(), "El tipo de archivo debe ser ZIP");
-        assertArrayEquals(fileContent, result.getFileData(), "El contenido del archivo debe coincidir");
-        assertTrue(result.getFileData().length > 0, "El archivo debe tener contenido");
+        assertEquals(BLOB_KEY, result.getFileBlobKey(), "La referencia al archivo debe coincidir");
+        assertEquals(Long.valueOf(fileContent.length), result.getFileSize(), "El tamaño del archivo debe coincidir");
 
         // Validar estado PENDING (sin revisar)
         assertEquals(ChallengeSubmission.SubmissionStatus.PENDING, result.getStatus(),
@@ -187,10 +201,12 @@ class ChallengeSubmissionServiceTest_HU15 {
 
         // Verificar interacciones con los repositorios
         verify(challengeRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).findByEmail("student@test.com");
+        verify(userRepository, times(1)).getReferenceById(2L);
+        verify(userRepository, never()).findByEmail(any());
         verify(submissionRepository, times(1)).existsByChallengeIdAndStudentId(1L, 2L);
         verify(submissionRepository, times(1)).save(any(ChallengeSubmission.class));
-        verify(mockFile, times(1)).getBytes();
+        verify(mockFile, times(1)).getInputStream();
+        verify(blobStore, times(1)).put(fileStream);
         verify(mockFile, times(1)).getOriginalFilename();
         verify(mockFile, times(1)).getContentType();
 
@@ -203,7 +219,7 @@ class ChallengeSubmissionServiceTest_HU15 {
         System.out.println("   Estudiante: " + testStudent.getNombre());
         System.out.println("   Archivo: " + result.getFileName());
         System.out.println("   Tipo: " + result.getFileType());
-        System.out.println("   Tamaño: " + result.getFileData().length + " bytes");
+        System.out.println("   Tamaño: " + result.getFileSize() + " bytes");
         System.out.println("   Estado: " + result.getStatus() + " (sin revisar)");
         System.out.println("   Fecha de envío: " + result.getSubmittedAt());
         System.out.println("   Ediciones: " + result.getEditCount());
@@ -229,7 +245,7 @@ class ChallengeSubmissionServiceTest_HU15 {
      * Dado: Un estudiante inscrito en un curso con un reto activo
      * Cuando: Intenta subir la solución sin seleccionar archivo:
      * - challengeId: 1L
-     * - studentEmail: "student@test.com"
+     * - studentId: 2L
      * - file: null (sin archivo)
      * Entonces: El sistema rechaza la operación
      * Y: NO guarda ninguna solución en la base de datos
@@ -246,7 +262,6 @@ class ChallengeSubmissionServiceTest_HU15 {
         // Datos de entrada sin archivo (file: null)
         // No configuramos mocks porque la excepción se lanza antes de usarlos
         lenient().when(challengeRepository.findById(1L)).thenReturn(Optional.of(testChallenge));
-        lenient().when(userRepository.findByEmail("student@test.com")).thenReturn(Optional.of(testStudent));
         lenient().when(submissionRepository.existsByChallengeIdAndStudentId(1L, 2L)).thenReturn(false);
 
         // ==================== ACT & ASSERT ====================
@@ -254,7 +269,7 @@ class ChallengeSubmissionServiceTest_HU15 {
                 RuntimeException.class,
                 () -> submissionService.submitChallenge(
                         1L,
-                        "student@test.com",
+                        2L,
                         null // Sin archivo
                 ),
                 "Debe lanzar excepción cuando no hay archivo");
@@ -296,22 +311,17 @@ class ChallengeSubmissionServiceTest_HU15 {
     void testSoloEstudiantesInscritosPuedenSubir() throws Exception {
         System.out.println("\n=== Validación: Solo estudiantes inscritos pueden subir ===");
 
-        // Estudiante NO inscrito en el curso
-        User otherStudent = new User();
-        otherStudent.setId(99L);
-        otherStudent.setEmail("other@test.com");
-        otherStudent.setRole(Role.STUDENT);
+        // Estudiante NO inscrito en el curso (ID 99)
 
         byte[] fileContent = "contenido de solución".getBytes();
         lenient().when(mockFile.isEmpty()).thenReturn(false);
-        lenient().when(mockFile.getBytes()).thenReturn(fileContent);
+        lenient().when(mockFile.getInputStream()).thenReturn(new ByteArrayInputStream(fileContent));
         lenient().when(challengeRepository.findById(1L)).thenReturn(Optional.of(testChallenge));
-        lenient().when(userRepository.findByEmail("other@test.com")).thenReturn(Optional.of(otherStudent));
 
         // Act & Assert
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> submissionService.submitChallenge(1L, "other@test.com", mockFile),
+                () -> submissionService.submitChallenge(1L, 99L, mockFile),
                 "Debe lanzar excepción para estudiante no inscrito");
 
         assertEquals("No estás inscrito en este curso", exception.getMessage());
@@ -333,14 +343,13 @@ class ChallengeSubmissionServiceTest_HU15 {
 
         byte[] fileContent = "contenido".getBytes();
         lenient().when(mockFile.isEmpty()).thenReturn(false);
-        lenient().when(mockFile.getBytes()).thenReturn(fileContent);
+        lenient().when(mockFile.getInputStream()).thenReturn(new ByteArrayInputStream(fileContent));
         lenient().when(challengeRepository.findById(1L)).thenReturn(Optional.of(testChallenge));
-        lenient().when(userRepository.findByEmail("student@test.com")).thenReturn(Optional.of(testStudent));
 
         // Act & Assert
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> submissionService.submitChallenge(1L, "student@test.com", mockFile),
+                () -> submissionService.submitChallenge(1L, 2L, mockFile),
                 "Debe lanzar excepción para reto inactivo");
 
         assertEquals("Este reto no está activo", exception.getMessage());
@@ -360,15 +369,14 @@ class ChallengeSubmissionServiceTest_HU15 {
 
         byte[] fileContent = "contenido".getBytes();
         lenient().when(mockFile.isEmpty()).thenReturn(false);
-        lenient().when(mockFile.getBytes()).thenReturn(fileContent);
+        lenient().when(mockFile.getInputStream()).thenReturn(new ByteArrayInputStream(fileContent));
         lenient().when(challengeRepository.findById(1L)).thenReturn(Optional.of(testChallenge));
-        lenient().when(userRepository.findByEmail("student@test.com")).thenReturn(Optional.of(testStudent));
         lenient().when(submissionRepository.existsByChallengeIdAndStudentId(1L, 2L)).thenReturn(true);
 
         // Act & Assert
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> submissionService.submitChallenge(1L, "student@test.com", mockFile),
+                () -> submissionService.submitChallenge(1L, 2L, mockFile),
                 "Debe lanzar excepción si ya existe una solución");
 
         assertTrue(exception.getMessage().contains("Ya has enviado una solución"));
@@ -392,15 +400,14 @@ class ChallengeSubmissionServiceTest_HU15 {
 
         byte[] fileContent = "contenido".getBytes();
         lenient().when(mockFile.isEmpty()).thenReturn(false);
-        lenient().when(mockFile.getBytes()).thenReturn(fileContent);
+        lenient().when(mockFile.getInputStream()).thenReturn(new ByteArrayInputStream(fileContent));
         lenient().when(challengeRepository.findById(1L)).thenReturn(Optional.of(testChallenge));
-        lenient().when(userRepository.findByEmail("student@test.com")).thenReturn(Optional.of(testStudent));
         lenient().when(submissionRepository.existsByChallengeIdAndStudentId(1L, 2L)).thenReturn(false);
 
         // Act & Assert
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> submissionService.submitChallenge(1L, "student@test.com", mockFile),
+                () -> submissionService.submitChallenge(1L, 2L, mockFile),
                 "Debe lanzar excepción si la fecha límite pasó");
 
         assertEquals("La fecha límite de entrega ha pasado", exception.getMessage());
@@ -420,13 +427,12 @@ class ChallengeSubmissionServiceTest_HU15 {
 
         lenient().when(mockFile.isEmpty()).thenReturn(true);
         lenient().when(challengeRepository.findById(1L)).thenReturn(Optional.of(testChallenge));
-        lenient().when(userRepository.findByEmail("student@test.com")).thenReturn(Optional.of(testStudent));
         lenient().when(submissionRepository.existsByChallengeIdAndStudentId(1L, 2L)).thenReturn(false);
 
         // Act & Assert
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> submissionService.submitChallenge(1L, "student@test.com", mockFile),
+                () -> submissionService.submitChallenge(1L, 2L, mockFile),
                 "Debe lanzar excepción para archivo vacío");
 
         assertEquals("Debes seleccionar un archivo para subir la solución", exception.getMessage());
@@ -446,13 +452,13 @@ class ChallengeSubmissionServiceTest_HU15 {
 
         byte[] fileContent = "contenido".getBytes();
         lenient().when(mockFile.isEmpty()).thenReturn(false);
-        lenient().when(mockFile.getBytes()).thenReturn(fileContent);
+        lenient().when(mockFile.getInputStream()).thenReturn(new ByteArrayInputStream(fileContent));
         lenient().when(challengeRepository.findById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> submissionService.submitChallenge(999L, "student@test.com", mockFile),
+                () -> submissionService.submitChallenge(999L, 2L, mockFile),
                 "Debe lanzar excepción cuando el reto no existe");
 
         assertEquals("Reto no encontrado", exception.getMessage());
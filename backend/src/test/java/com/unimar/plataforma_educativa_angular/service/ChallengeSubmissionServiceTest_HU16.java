@@ -1,7 +1,9 @@
 package com.unimar.plataforma_educativa_angular.service;
 
 import com.unimar.plataforma_educativa_angular.entities.*;
+import com.unimar.plataforma_educativa_angular.leaderboard.LeaderboardEngine;
 import com.unimar.plataforma_educativa_angular.repositories.*;
+import com.unimar.plataforma_educativa_angular.storage.BlobRef;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -9,12 +11,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 /**
@@ -30,7 +35,7 @@ import static org.mockito.Mockito.*;
  * submissionId: 1L,
  * bonusPoints: 8,
  * feedback: "Excelente implementación",
- * teacherEmail: "teacher@test.com"
+ * teacherId: 1L
  * }
  * 
  * Criterios de Aceptación:
@@ -44,6 +49,8 @@ import static org.mockito.Mockito.*;
 @DisplayName("Pruebas Unitarias - HU16: Revisar Retos y Asignar Bonificaciones")
 class ChallengeSubmissionServiceTest_HU16 {
 
+    private static final String BLOB_KEY = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
     @Mock
     private ChallengeSubmissionRepository submissionRepository;
 
@@ -56,6 +63,15 @@ class ChallengeSubmissionServiceTest_HU16 {
     @Mock
     private StudentScoreRepository studentScoreRepository;
 
+    @Mock
+    private LeaderboardEngine leaderboardEngine;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CourseAccessService courseAccessService;
+
     @InjectMocks
     private ChallengeSubmissionService submissionService;
 
@@ -69,6 +85,10 @@ class ChallengeSubmissionServiceTest_HU16 {
 
     @BeforeEach
     void setUp() {
+        // Cada intento de revisión corre dentro de TransactionTemplate: aquí se ejecuta directo
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
         // Configurar profesor
         testTeacher = new User();
         testTeacher.setId(1L);
@@ -92,6 +112,7 @@ class ChallengeSubmissionServiceTest_HU16 {
         // Configurar curso
         testCourse = new Course();
         testCourse.setId(1L);
+        lenient().when(courseAccessService.isTeacher(1L, 1L)).thenReturn(true);
         testCourse.setTitle("Algoritmos Avanzados");
         testCourse.setLevel("Avanzado");
         testCourse.setTeacher(testTeacher);
@@ -116,9 +137,8 @@ class ChallengeSubmissionServiceTest_HU16 {
         testSubmission1.setId(1L);
         testSubmission1.setChallenge(testChallenge);
         testSubmission1.setStudent(testStudent1);
-        testSubmission1.setFileData(fileContent1);
-        testSubmission1.setFileName("solucion_avl_estudiante1.zip");
-        testSubmission1.setFileType("application/zip");
+        testSubmission1.attachFile(new BlobRef(BLOB_KEY, fileContent1.length, BLOB_KEY),
+                "solucion_avl_estudiante1.zip", "application/zip");
         testSubmission1.setStatus(ChallengeSubmission.SubmissionStatus.PENDING);
         testSubmission1.setSubmittedAt(LocalDateTime.now().minusDays(1));
 
@@ -127,9 +147,8 @@ class ChallengeSubmissionServiceTest_HU16 {
         testSubmission2.setId(2L);
         testSubmission2.setChallenge(testChallenge);
         testSubmission2.setStudent(testStudent2);
-        testSubmission2.setFileData(fileContent2);
-        testSubmission2.setFileName("solucion_avl_estudiante2.zip");
-        testSubmission2.setFileType("application/zip");
+        testSubmission2.attachFile(new BlobRef(BLOB_KEY, fileContent2.length, BLOB_KEY),
+                "solucion_avl_estudiante2.zip", "application/zip");
         testSubmission2.setStatus(ChallengeSubmission.SubmissionStatus.PENDING);
         testSubmission2.setSubmittedAt(LocalDateTime.now().minusDays(2));
     }
@@ -145,7 +164,7 @@ class ChallengeSubmissionServiceTest_HU16 {
      * Dado: Un profesor con un reto que tiene soluciones enviadas
      * Cuando: Solicita ver las soluciones del reto con los datos:
      * - challengeId: 1L
-     * - teacherEmail: "teacher@test.com"
+     * - teacherId: 1L
      * Entonces: El sistema muestra todas las entregas asociadas al reto
      * Y: Muestra información del estudiante (nombre, email)
      * Y: Muestra información del archivo (nombre, tipo)
@@ -159,20 +178,19 @@ class ChallengeSubmissionServiceTest_HU16 {
 
         // Datos de entrada según especificación
         Long challengeId = 1L;
-        String teacherEmail = "teacher@test.com";
+        Long teacherId = 1L;
 
         // Lista de soluciones del reto
         List<ChallengeSubmission> submissions = Arrays.asList(testSubmission1, testSubmission2);
 
         // Configurar mocks
         when(challengeRepository.findById(challengeId)).thenReturn(Optional.of(testChallenge));
-        when(userRepository.findByEmail(teacherEmail)).thenReturn(Optional.of(testTeacher));
         when(submissionRepository.findByChallengeId(challengeId)).thenReturn(submissions);
 
         // ==================== ACT ====================
         List<ChallengeSubmission> result = submissionService.getSubmissionsByChallenge(
                 challengeId,
-                teacherEmail);
+                teacherId);
 
         // ==================== ASSERT ====================
         assertNotNull(result, "La lista de soluciones no debe ser nula");
@@ -208,7 +226,8 @@ class ChallengeSubmissionServiceTest_HU16 {
 
         // Verificar interacciones
         verify(challengeRepository, times(1)).findById(challengeId);
-        verify(userRepository, times(1)).findByEmail(teacherEmail);
+        verify(courseAccessService, times(1)).isTeacher(testCourse.getId(), teacherId);
+        verify(userRepository, never()).findByEmail(any());
         verify(submissionRepository, times(1)).findByChallengeId(challengeId);
 
         // ==================== RESULTADO ====================
@@ -241,7 +260,7 @@ class ChallengeSubmissionServiceTest_HU16 {
      * - submissionId: 1L
      * - bonusPoints: 8
      * - feedback: "Excelente trabajo"
-     * - teacherEmail: "teacher@test.com"
+     * - teacherId: 1L
      * Entonces: El sistema registra bonusPoints (8 XP)
      * Y: Actualiza el estado a REVIEWED
      * Y: Guarda el feedback del profesor
@@ -258,28 +277,21 @@ class ChallengeSubmissionServiceTest_HU16 {
         Long submissionId = 1L;
         Integer bonusPoints = 8;
         String feedback = "Excelente trabajo";
-        String teacherEmail = "teacher@test.com";
+        Long teacherId = 1L;
 
-        // Configurar StudentScore existente
-        StudentScore existingScore = new StudentScore();
-        existingScore.setId(1L);
-        existingScore.setStudent(testStudent1);
-        existingScore.setCourse(testCourse);
-        existingScore.setTotalBonusPoints(12); // Ya tenía 12 XP
-        existingScore.setChallengesCompleted(1); // Ya había completado 1 reto
+        // StudentScore existente: ya tenía 12 XP y 1 reto completado.
+        // La base de datos suma la diferencia (8 XP, 1 reto) sobre esos valores.
 
         // Configurar mocks
         when(submissionRepository.findById(submissionId)).thenReturn(Optional.of(testSubmission1));
-        when(userRepository.findByEmail(teacherEmail)).thenReturn(Optional.of(testTeacher));
-        when(studentScoreRepository.findByStudentIdAndCourseId(testStudent1.getId(), testCourse.getId()))
-                .thenReturn(Optional.of(existingScore));
-
         // Simular solución actualizada
         ChallengeSubmission updatedSubmission = new ChallengeSubmission();
         updatedSubmission.setId(submissionId);
         updatedSubmission.setChallenge(testChallenge);
         updatedSubmission.setStudent(testStudent1);
-        updatedSubmission.setFileData(testSubmission1.getFileData());
+        updatedSubmission.setFileBlobKey(testSubmission1.getFileBlobKey());
+        updatedSubmission.setFileSize(testSubmission1.getFileSize());
+        updatedSubmission.setFileChecksum(testSubmission1.getFileChecksum());
         updatedSubmission.setFileName(testSubmission1.getFileName());
         updatedSubmission.setFileType(testSubmission1.getFileType());
         updatedSubmission.setBonusPoints(bonusPoints);
@@ -297,14 +309,16 @@ class ChallengeSubmissionServiceTest_HU16 {
         updatedScore.setTotalBonusPoints(20); // 12 + 8 = 20 XP
         updatedScore.setChallengesCompleted(2); // 1 + 1 = 2 retos
 
-        when(studentScoreRepository.save(any(StudentScore.class))).thenReturn(updatedScore);
+        // Tras la actualización atómica se relee la fila con los totales vigentes
+        when(studentScoreRepository.findByStudentIdAndCourseId(testStudent1.getId(), testCourse.getId()))
+                .thenReturn(Optional.of(updatedScore));
 
         // ==================== ACT ====================
         ChallengeSubmission result = submissionService.reviewSubmission(
                 submissionId,
                 bonusPoints,
                 feedback,
-                teacherEmail);
+                teacherId);
 
         // ==================== ASSERT ====================
         // Validar que la solución se actualizó correctamente
@@ -323,12 +337,19 @@ class ChallengeSubmissionServiceTest_HU16 {
         verify(studentScoreRepository, times(1))
                 .findByStudentIdAndCourseId(testStudent1.getId(), testCourse.getId());
 
-        // Verificar que se actualizó el StudentScore
-        verify(studentScoreRepository, times(1)).save(any(StudentScore.class));
+        // Verificar que se actualizó el StudentScore sumando la diferencia en la base de datos
+        verify(studentScoreRepository, times(1)).ensureScore(testStudent1.getId(), testCourse.getId());
+        verify(studentScoreRepository, times(1)).addToScore(testStudent1.getId(), testCourse.getId(), 8, 1);
+        verify(studentScoreRepository, never()).save(any(StudentScore.class));
+
+        // Verificar que el ranking en memoria recibe el puntaje acumulado
+        verify(leaderboardEngine).scoreChanged(argThat(score -> score.getTotalBonusPoints() == 20
+                && score.getChallengesCompleted() == 2));
 
         // Verificar todas las interacciones necesarias
         verify(submissionRepository, times(1)).findById(submissionId);
-        verify(userRepository, times(1)).findByEmail(teacherEmail);
+        verify(courseAccessService, times(1)).isTeacher(testCourse.getId(), teacherId);
+        verify(userRepository, never()).findByEmail(any());
 
         // ==================== RESULTADO ====================
         System.out.println("✅ CP016-2 PASÓ: Solución revisada y bonificada exitosamente");
@@ -368,17 +389,11 @@ class ChallengeSubmissionServiceTest_HU16 {
     void testRevision_SoloProfesorDelCurso() {
         System.out.println("\n=== Validación: Solo el profesor del curso puede revisar ===");
 
-        User otherTeacher = new User();
-        otherTeacher.setId(99L);
-        otherTeacher.setEmail("other@test.com");
-        otherTeacher.setRole(Role.TEACHER);
-
         when(submissionRepository.findById(1L)).thenReturn(Optional.of(testSubmission1));
-        when(userRepository.findByEmail("other@test.com")).thenReturn(Optional.of(otherTeacher));
 
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> submissionService.reviewSubmission(1L, 8, "Buen trabajo", "other@test.com"),
+                () -> submissionService.reviewSubmission(1L, 8, "Buen trabajo", 99L),
                 "Debe lanzar excepción si el profesor no es dueño del curso");
 
         assertEquals("No tienes permiso para revisar esta solución", exception.getMessage());
@@ -396,11 +411,10 @@ class ChallengeSubmissionServiceTest_HU16 {
         System.out.println("\n=== Validación: Bonificación fuera de rango ===");
 
         when(submissionRepository.findById(1L)).thenReturn(Optional.of(testSubmission1));
-        when(userRepository.findByEmail("teacher@test.com")).thenReturn(Optional.of(testTeacher));
 
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> submissionService.reviewSubmission(1L, 15, "Excelente", "teacher@test.com"),
+                () -> submissionService.reviewSubmission(1L, 15, "Excelente", 1L),
                 "Debe rechazar bonificación mayor al máximo");
 
         assertTrue(exception.getMessage().contains("0 y 10"));
@@ -418,9 +432,13 @@ class ChallengeSubmissionServiceTest_HU16 {
         System.out.println("\n=== Validación: Crear StudentScore si no existe ===");
 
         when(submissionRepository.findById(1L)).thenReturn(Optional.of(testSubmission1));
-        when(userRepository.findByEmail("teacher@test.com")).thenReturn(Optional.of(testTeacher));
+        StudentScore createdScore = new StudentScore();
+        createdScore.setStudent(testStudent1);
+        createdScore.setCourse(testCourse);
+        createdScore.setTotalBonusPoints(8);
+        createdScore.setChallengesCompleted(1);
         when(studentScoreRepository.findByStudentIdAndCourseId(testStudent1.getId(), testCourse.getId()))
-                .thenReturn(Optional.empty());
+                .thenReturn(Optional.of(createdScore));
 
         ChallengeSubmission updatedSubmission = new ChallengeSubmission();
         updatedSubmission.setId(1L);
@@ -428,11 +446,13 @@ class ChallengeSubmissionServiceTest_HU16 {
         updatedSubmission.setStatus(ChallengeSubmission.SubmissionStatus.REVIEWED);
 
         when(submissionRepository.save(any(ChallengeSubmission.class))).thenReturn(updatedSubmission);
-        when(studentScoreRepository.save(any(StudentScore.class))).thenReturn(new StudentScore());
 
-        submissionService.reviewSubmission(1L, 8, "Buen trabajo", "teacher@test.com");
+        submissionService.reviewSubmission(1L, 8, "Buen trabajo", 1L);
 
-        verify(studentScoreRepository, times(1)).save(any(StudentScore.class));
+        // La fila se crea con un INSERT ... ON DUPLICATE KEY y luego se suma la bonificación
+        verify(studentScoreRepository, times(1)).ensureScore(testStudent1.getId(), testCourse.getId());
+        verify(studentScoreRepository, times(1)).addToScore(testStudent1.getId(), testCourse.getId(), 8, 1);
+        verify(leaderboardEngine).scoreChanged(createdScore);
 
         System.out.println("✅ Sistema crea StudentScore si no existe");
     }
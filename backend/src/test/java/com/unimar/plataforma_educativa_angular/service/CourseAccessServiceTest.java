@@ -0,0 +1,100 @@
+package com.unimar.plataforma_educativa_angular.service;
+
+import com.unimar.plataforma_educativa_angular.entities.Course;
+import com.unimar.plataforma_educativa_angular.entities.Role;
+import com.unimar.plataforma_educativa_angular.entities.User;
+import com.unimar.plataforma_educativa_angular.service.CourseAccessService.CourseRole;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static com.unimar.plataforma_educativa_angular.TestUsers.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CourseAccessService.class)
+@DisplayName("Pruebas de Acceso a Cursos (rol con EXISTS y caché)")
+class CourseAccessServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CourseAccessService courseAccessService;
+
+    private Statistics statistics;
+    private User teacher;
+    private User student;
+    private User outsider;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        teacher = entityManager.persist(user("teacher@test.com", Role.TEACHER));
+        student = entityManager.persist(user("student@test.com", Role.STUDENT));
+        outsider = entityManager.persist(user("outsider@test.com", Role.STUDENT));
+
+        course = new Course();
+        course.setTitle("Matemáticas I");
+        course.setInviteCode("ACCESS01");
+        course.setTeacher(teacher);
+        course.getStudents().add(student);
+        entityManager.persist(course);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Rol en el curso - Profesor, inscrito y ajeno sin cargar estudiantes")
+    void testRoleOf() {
+        assertEquals(CourseRole.TEACHER, courseAccessService.roleOf(course.getId(), teacher.getId()));
+        assertEquals(CourseRole.STUDENT, courseAccessService.roleOf(course.getId(), student.getId()));
+        assertEquals(CourseRole.NONE, courseAccessService.roleOf(course.getId(), outsider.getId()));
+        assertEquals(CourseRole.NONE, courseAccessService.roleOf(-1L, student.getId()));
+
+        assertTrue(courseAccessService.hasAccess(course.getId(), teacher.getId()));
+        assertFalse(courseAccessService.isEnrolled(course.getId(), teacher.getId()));
+        assertTrue(courseAccessService.isEnrolled(course.getId(), student.getId()));
+        assertEquals(0, statistics.getCollectionLoadCount(), "No debe inicializar Course.students");
+    }
+
+    @Test
+    @DisplayName("Caché - Una consulta por par (usuario, curso) hasta invalidar")
+    void testCacheAndInvalidate() {
+        courseAccessService.isEnrolled(course.getId(), outsider.getId());
+        courseAccessService.isEnrolled(course.getId(), outsider.getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        // Inscripción hecha por fuera: la caché sigue respondiendo lo anterior
+        jdbcTemplate.update("INSERT INTO course_students (course_id, student_id) VALUES (?, ?)",
+                course.getId(), outsider.getId());
+        assertFalse(courseAccessService.isEnrolled(course.getId(), outsider.getId()));
+
+        courseAccessService.invalidate(course.getId(), outsider.getId());
+
+        assertTrue(courseAccessService.isEnrolled(course.getId(), outsider.getId()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        courseAccessService.invalidateCourse(course.getId());
+        assertTrue(courseAccessService.isTeacher(course.getId(), teacher.getId()));
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+}
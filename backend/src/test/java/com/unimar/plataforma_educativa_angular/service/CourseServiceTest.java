@@ -1,8 +1,10 @@
 package com.unimar.plataforma_educativa_angular.service;
 
+import com.unimar.plataforma_educativa_angular.dto.CourseDTO;
 import com.unimar.plataforma_educativa_angular.entities.Course;
 import com.unimar.plataforma_educativa_angular.entities.User;
 import com.unimar.plataforma_educativa_angular.entities.Role;
+import com.unimar.plataforma_educativa_angular.leaderboard.LeaderboardEngine;
 import com.unimar.plataforma_educativa_angular.repositories.CourseRepository;
 import com.unimar.plataforma_educativa_angular.repositories.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,6 +32,12 @@ class CourseServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CourseAccessService courseAccessService;
+
+    @Mock
+    private LeaderboardEngine leaderboardEngine;
+
     @InjectMocks
     private CourseService courseService;
 
@@ -140,27 +148,29 @@ class CourseServiceTest {
     void testJoinCourse_WithValidCode_Success() {
         // Arrange
         String inviteCode = "ABC123";
-        String studentEmail = "student@test.com";
+        Long studentId = 2L;
 
         testCourse.setId(1L);
         testCourse.setInviteCode(inviteCode);
 
         when(courseRepository.findByInviteCode(inviteCode)).thenReturn(Optional.of(testCourse));
-        when(userRepository.findByEmail(studentEmail)).thenReturn(Optional.of(testStudent));
-        when(courseRepository.save(any(Course.class))).thenReturn(testCourse);
+        when(userRepository.findById(studentId)).thenReturn(Optional.of(testStudent));
+        when(courseRepository.findSummaryById(1L)).thenReturn(Optional.of(new CourseDTO(1L, testCourse.getTitle(),
+                null, null, inviteCode, null, testTeacher.getNombre(), testTeacher.getEmail(), 1)));
 
         // Act
-        Course result = courseService.joinCourse(inviteCode, studentEmail);
+        CourseDTO result = courseService.joinCourse(inviteCode, studentId);
 
         // Assert
         assertNotNull(result, "El curso no debe ser nulo");
-        assertTrue(result.getStudents().contains(testStudent), "El estudiante debe estar inscrito");
-        assertEquals(1, result.getStudents().size(), "Debe haber 1 estudiante inscrito");
+        assertEquals(1, result.getStudentCount(), "Debe haber 1 estudiante inscrito");
 
-        // Verificar interacciones
+        // Verificar interacciones: la inscripción va directa a course_students
         verify(courseRepository, times(1)).findByInviteCode(inviteCode);
-        verify(userRepository, times(1)).findByEmail(studentEmail);
-        verify(courseRepository, times(1)).save(testCourse);
+        verify(userRepository, times(1)).findById(studentId);
+        verify(courseRepository, times(1)).addStudent(1L, studentId);
+        verify(courseAccessService).invalidate(1L, studentId);
+        verify(courseRepository, never()).save(any(Course.class));
 
         System.out.println("CP006-01 PASÓ: Estudiante inscrito exitosamente al curso");
     }
@@ -170,25 +180,25 @@ class CourseServiceTest {
     void testJoinCourse_AlreadyEnrolled_ThrowsException() {
         // Arrange
         String inviteCode = "ABC123";
-        String studentEmail = "student@test.com";
+        Long studentId = 2L;
 
         testCourse.setId(1L);
         testCourse.setInviteCode(inviteCode);
-        testCourse.getStudents().add(testStudent); // Ya está inscrito
 
         when(courseRepository.findByInviteCode(inviteCode)).thenReturn(Optional.of(testCourse));
-        when(userRepository.findByEmail(studentEmail)).thenReturn(Optional.of(testStudent));
+        when(userRepository.findById(studentId)).thenReturn(Optional.of(testStudent));
+        when(courseAccessService.isEnrolled(1L, studentId)).thenReturn(true); // Ya está inscrito
 
         // Act & Assert
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> courseService.joinCourse(inviteCode, studentEmail),
+                () -> courseService.joinCourse(inviteCode, studentId),
                 "Debe lanzar excepción cuando el estudiante ya está inscrito");
 
         assertEquals("Ya estás inscrito en este curso", exception.getMessage());
 
-        // Verificar que NO se guardó el curso
-        verify(courseRepository, never()).save(any(Course.class));
+        // Verificar que NO se inscribió otra vez
+        verify(courseRepository, never()).addStudent(anyLong(), anyLong());
 
         System.out.println("CP006-02 PASÓ: Sistema previene inscripción duplicada");
         System.out.println("   Mensaje: " + exception.getMessage());
@@ -199,18 +209,18 @@ class CourseServiceTest {
     void testJoinCourse_WithInvalidCode_ThrowsException() {
         // Arrange
         String invalidCode = "INVALID";
-        String studentEmail = "student@test.com";
+        Long studentId = 2L;
 
         when(courseRepository.findByInviteCode(invalidCode)).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> courseService.joinCourse(invalidCode, studentEmail));
+                () -> courseService.joinCourse(invalidCode, studentId));
 
         assertEquals("Código inválido", exception.getMessage());
         verify(courseRepository, times(1)).findByInviteCode(invalidCode);
-        verify(userRepository, never()).findByEmail(anyString());
+        verify(userRepository, never()).findById(anyLong());
 
         System.out.println("Código inválido manejado correctamente");
     }
@@ -223,15 +233,15 @@ class CourseServiceTest {
         testCourse.setInviteCode(inviteCode);
 
         when(courseRepository.findByInviteCode(inviteCode)).thenReturn(Optional.of(testCourse));
-        when(userRepository.findByEmail(testTeacher.getEmail())).thenReturn(Optional.of(testTeacher));
+        when(userRepository.findById(testTeacher.getId())).thenReturn(Optional.of(testTeacher));
 
         // Act & Assert
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> courseService.joinCourse(inviteCode, testTeacher.getEmail()));
+                () -> courseService.joinCourse(inviteCode, testTeacher.getId()));
 
         assertEquals("Solo los estudiantes pueden unirse a cursos", exception.getMessage());
-        verify(courseRepository, never()).save(any(Course.class));
+        verify(courseRepository, never()).addStudent(anyLong(), anyLong());
 
         System.out.println("Sistema valida que solo estudiantes pueden inscribirse");
     }
@@ -241,16 +251,16 @@ class CourseServiceTest {
     void testJoinCourse_UserNotFound_ThrowsException() {
         // Arrange
         String inviteCode = "ABC123";
-        String nonExistentEmail = "noexiste@test.com";
+        Long nonExistentId = 404L;
         testCourse.setInviteCode(inviteCode);
 
         when(courseRepository.findByInviteCode(inviteCode)).thenReturn(Optional.of(testCourse));
-        when(userRepository.findByEmail(nonExistentEmail)).thenReturn(Optional.empty());
+        when(userRepository.findById(nonExistentId)).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> courseService.joinCourse(inviteCode, nonExistentEmail));
+                () -> courseService.joinCourse(inviteCode, nonExistentId));
 
         assertEquals("Estudiante no encontrado", exception.getMessage());
 
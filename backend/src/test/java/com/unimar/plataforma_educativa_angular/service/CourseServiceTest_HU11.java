@@ -3,6 +3,7 @@ package com.unimar.plataforma_educativa_angular.service;
 import com.unimar.plataforma_educativa_angular.entities.Course;
 import com.unimar.plataforma_educativa_angular.entities.User;
 import com.unimar.plataforma_educativa_angular.entities.Role;
+import com.unimar.plataforma_educativa_angular.leaderboard.LeaderboardEngine;
 import com.unimar.plataforma_educativa_angular.repositories.CourseRepository;
 import com.unimar.plataforma_educativa_angular.repositories.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -46,6 +47,12 @@ class CourseServiceTest_HU11 {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CourseAccessService courseAccessService;
+
+    @Mock
+    private LeaderboardEngine leaderboardEngine;
+
     @InjectMocks
     private CourseService courseService;
 
@@ -115,7 +122,7 @@ class CourseServiceTest_HU11 {
      * Datos de entrada:
      * - courseId: 1L
      * - studentId: 2L (Estudiante Uno)
-     * - teacherEmail: "teacher@test.com"
+     * - teacherId: 1L
      * 
      * Resultado esperado:
      * - Verdadero: El sistema solicita confirmación (en frontend) y elimina
@@ -129,24 +136,13 @@ class CourseServiceTest_HU11 {
 
         // Configurar mocks
         when(courseRepository.findById(1L)).thenReturn(Optional.of(testCourse));
-        when(userRepository.findByEmail("teacher@test.com")).thenReturn(Optional.of(testTeacher));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(testStudent1));
-
-        // Curso actualizado después de eliminar al estudiante
-        Course updatedCourse = new Course();
-        updatedCourse.setId(1L);
-        updatedCourse.setTitle("Matemáticas I");
-        updatedCourse.setTeacher(testTeacher);
-        updatedCourse.setStudents(new HashSet<>());
-        updatedCourse.getStudents().add(testStudent2);
-        updatedCourse.getStudents().add(testStudent3);
-
-        when(courseRepository.save(any(Course.class))).thenReturn(updatedCourse);
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(courseAccessService.isEnrolled(1L, 2L)).thenReturn(true);
 
         int initialStudentCount = testCourse.getStudents().size();
 
         // ==================== ACT ====================
-        assertDoesNotThrow(() -> courseService.removeStudentFromCourse(1L, 2L, "teacher@test.com"),
+        assertDoesNotThrow(() -> courseService.removeStudentFromCourse(1L, 2L, 1L),
                 "La eliminación del estudiante no debe lanzar excepción");
 
         // ==================== ASSERT ====================
@@ -155,13 +151,12 @@ class CourseServiceTest_HU11 {
 
         // Verificar que se llamaron los métodos correctos
         verify(courseRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).findByEmail("teacher@test.com");
-        verify(userRepository, times(1)).findById(2L);
-        verify(courseRepository, times(1)).save(any(Course.class));
+        verify(userRepository, times(1)).existsById(2L);
+        verify(courseRepository, times(1)).removeStudent(1L, 2L);
+        verify(courseAccessService).invalidate(1L, 2L);
 
-        // Verificar que el estudiante fue removido del conjunto
-        assertFalse(testCourse.getStudents().contains(testStudent1),
-                "El estudiante eliminado no debe estar en la lista del curso");
+        // La baja es un DELETE sobre course_students: no se carga ni se guarda el curso
+        verify(courseRepository, never()).save(any(Course.class));
 
         // ==================== RESULTADO ====================
         System.out.println("CP011-01 PASÓ: Estudiante eliminado exitosamente del curso");
@@ -178,7 +173,7 @@ class CourseServiceTest_HU11 {
         System.out.println("✅ VALIDACIÓN EXITOSA:");
         System.out.println("   - El sistema verificó que el profesor pertenece al curso");
         System.out.println("   - El estudiante fue removido de la lista correctamente");
-        System.out.println("   - El curso se guardó en la base de datos con los cambios");
+        System.out.println("   - La inscripción se borró de la base de datos");
         System.out.println("   - Los demás estudiantes permanecen en el curso");
         System.out.println("");
         System.out.println("📋 NOTA PARA FRONTEND:");
@@ -207,16 +202,15 @@ class CourseServiceTest_HU11 {
         otherTeacher.setRole(Role.TEACHER);
 
         when(courseRepository.findById(1L)).thenReturn(Optional.of(testCourse));
-        when(userRepository.findByEmail("other@test.com")).thenReturn(Optional.of(otherTeacher));
 
         // Act & Assert
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> courseService.removeStudentFromCourse(1L, 2L, "other@test.com"),
+                () -> courseService.removeStudentFromCourse(1L, 2L, 99L),
                 "Debe lanzar excepción si el profesor no es dueño del curso");
 
         assertEquals("No tienes permiso para eliminar estudiantes de este curso", exception.getMessage());
-        verify(courseRepository, never()).save(any(Course.class));
+        verify(courseRepository, never()).removeStudent(anyLong(), anyLong());
 
         System.out.println("✅ Sistema valida que solo el profesor del curso puede eliminar");
         System.out.println("   Mensaje de error: " + exception.getMessage());
@@ -237,17 +231,17 @@ class CourseServiceTest_HU11 {
         unenrolledStudent.setRole(Role.STUDENT);
 
         when(courseRepository.findById(1L)).thenReturn(Optional.of(testCourse));
-        when(userRepository.findByEmail("teacher@test.com")).thenReturn(Optional.of(testTeacher));
-        when(userRepository.findById(99L)).thenReturn(Optional.of(unenrolledStudent));
+        when(userRepository.existsById(99L)).thenReturn(true);
+        when(courseAccessService.isEnrolled(1L, 99L)).thenReturn(false);
 
         // Act & Assert
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> courseService.removeStudentFromCourse(1L, 99L, "teacher@test.com"),
+                () -> courseService.removeStudentFromCourse(1L, 99L, 1L),
                 "Debe lanzar excepción si el estudiante no está inscrito");
 
         assertEquals("El estudiante no está inscrito en este curso", exception.getMessage());
-        verify(courseRepository, never()).save(any(Course.class));
+        verify(courseRepository, never()).removeStudent(anyLong(), anyLong());
 
         System.out.println("✅ Sistema valida que el estudiante esté inscrito antes de eliminar");
         System.out.println("   Mensaje de error: " + exception.getMessage());
@@ -266,11 +260,11 @@ class CourseServiceTest_HU11 {
         // Act & Assert
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> courseService.removeStudentFromCourse(999L, 2L, "teacher@test.com"),
+                () -> courseService.removeStudentFromCourse(999L, 2L, 1L),
                 "Debe lanzar excepción cuando el curso no existe");
 
         assertEquals("Curso no encontrado", exception.getMessage());
-        verify(courseRepository, never()).save(any(Course.class));
+        verify(courseRepository, never()).removeStudent(anyLong(), anyLong());
 
         System.out.println("✅ Sistema maneja correctamente curso no encontrado");
         System.out.println("   Mensaje de error: " + exception.getMessage());
@@ -285,17 +279,16 @@ class CourseServiceTest_HU11 {
         System.out.println("\n=== Validación: Estudiante no encontrado ===");
 
         when(courseRepository.findById(1L)).thenReturn(Optional.of(testCourse));
-        when(userRepository.findByEmail("teacher@test.com")).thenReturn(Optional.of(testTeacher));
-        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+        when(userRepository.existsById(999L)).thenReturn(false);
 
         // Act & Assert
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> courseService.removeStudentFromCourse(1L, 999L, "teacher@test.com"),
+                () -> courseService.removeStudentFromCourse(1L, 999L, 1L),
                 "Debe lanzar excepción cuando el estudiante no existe");
 
         assertEquals("Estudiante no encontrado", exception.getMessage());
-        verify(courseRepository, never()).save(any(Course.class));
+        verify(courseRepository, never()).removeStudent(anyLong(), anyLong());
 
         System.out.println("✅ Sistema maneja correctamente estudiante no encontrado");
         System.out.println("   Mensaje de error: " + exception.getMessage());
@@ -310,19 +303,18 @@ class CourseServiceTest_HU11 {
         System.out.println("\n=== Validación: Eliminar múltiples estudiantes ===");
 
         when(courseRepository.findById(1L)).thenReturn(Optional.of(testCourse));
-        when(userRepository.findByEmail("teacher@test.com")).thenReturn(Optional.of(testTeacher));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(testStudent1));
-        when(userRepository.findById(3L)).thenReturn(Optional.of(testStudent2));
-        when(courseRepository.save(any(Course.class))).thenReturn(testCourse);
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(courseAccessService.isEnrolled(eq(1L), anyLong())).thenReturn(true);
 
         // Act - Eliminar primer estudiante
-        assertDoesNotThrow(() -> courseService.removeStudentFromCourse(1L, 2L, "teacher@test.com"));
+        assertDoesNotThrow(() -> courseService.removeStudentFromCourse(1L, 2L, 1L));
 
         // Act - Eliminar segundo estudiante
-        assertDoesNotThrow(() -> courseService.removeStudentFromCourse(1L, 3L, "teacher@test.com"));
+        assertDoesNotThrow(() -> courseService.removeStudentFromCourse(1L, 3L, 1L));
 
         // Assert
-        verify(courseRepository, times(2)).save(any(Course.class));
+        verify(courseRepository).removeStudent(1L, 2L);
+        verify(courseRepository).removeStudent(1L, 3L);
 
         System.out.println("✅ Profesor puede eliminar múltiples estudiantes");
         System.out.println("   Estudiantes eliminados: 2");
@@ -338,21 +330,19 @@ class CourseServiceTest_HU11 {
         System.out.println("\n=== Validación: Organización del grupo se mantiene ===");
 
         when(courseRepository.findById(1L)).thenReturn(Optional.of(testCourse));
-        when(userRepository.findByEmail("teacher@test.com")).thenReturn(Optional.of(testTeacher));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(testStudent1));
-        when(courseRepository.save(any(Course.class))).thenReturn(testCourse);
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(courseAccessService.isEnrolled(1L, 2L)).thenReturn(true);
 
         int initialCount = testCourse.getStudents().size();
 
         // Act
-        assertDoesNotThrow(() -> courseService.removeStudentFromCourse(1L, 2L, "teacher@test.com"));
+        assertDoesNotThrow(() -> courseService.removeStudentFromCourse(1L, 2L, 1L));
 
         // Assert
         assertEquals(3, initialCount, "Debe haber 3 estudiantes inicialmente");
-        verify(courseRepository, times(1)).save(any(Course.class));
-        assertFalse(testCourse.getStudents().contains(testStudent1));
-        assertTrue(testCourse.getStudents().contains(testStudent2));
-        assertTrue(testCourse.getStudents().contains(testStudent3));
+        // Solo se borra la inscripción del estudiante elegido
+        verify(courseRepository, times(1)).removeStudent(anyLong(), anyLong());
+        verify(courseRepository).removeStudent(1L, 2L);
 
         System.out.println("✅ La organización del grupo se mantiene correctamente");
         System.out.println("   Estudiantes iniciales: " + initialCount);
@@ -370,30 +360,20 @@ class CourseServiceTest_HU11 {
         System.out.println("\n=== Validación: Actualización correcta en base de datos ===");
 
         when(courseRepository.findById(1L)).thenReturn(Optional.of(testCourse));
-        when(userRepository.findByEmail("teacher@test.com")).thenReturn(Optional.of(testTeacher));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(testStudent1));
-
-        Course updatedCourse = new Course();
-        updatedCourse.setId(1L);
-        updatedCourse.setTitle("Matemáticas I");
-        updatedCourse.setTeacher(testTeacher);
-        updatedCourse.setStudents(new HashSet<>());
-        updatedCourse.getStudents().add(testStudent2);
-        updatedCourse.getStudents().add(testStudent3);
-
-        when(courseRepository.save(any(Course.class))).thenReturn(updatedCourse);
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(courseAccessService.isEnrolled(1L, 2L)).thenReturn(true);
 
         // Act
-        assertDoesNotThrow(() -> courseService.removeStudentFromCourse(1L, 2L, "teacher@test.com"));
+        assertDoesNotThrow(() -> courseService.removeStudentFromCourse(1L, 2L, 1L));
 
         // Assert
-        verify(courseRepository, times(1)).save(any(Course.class));
-        assertFalse(testCourse.getStudents().contains(testStudent1),
-                "El estudiante eliminado no debe estar en la lista");
+        verify(courseRepository, times(1)).removeStudent(1L, 2L);
+        verify(courseAccessService).invalidate(1L, 2L);
+        verify(courseRepository, never()).save(any(Course.class));
 
         System.out.println("✅ El curso se actualiza correctamente en la base de datos");
-        System.out.println("   - El método save() fue llamado una vez");
-        System.out.println("   - El estudiante fue removido del conjunto");
+        System.out.println("   - La fila de course_students se borró una vez");
+        System.out.println("   - El rol en caché del estudiante se invalidó");
         System.out.println("   - Los cambios se persisten correctamente");
     }
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.unimar.plataforma_educativa_angular.service;
+
+import com.unimar.plataforma_educativa_angular.dto.CourseDTO;
+import com.unimar.plataforma_educativa_angular.dto.CursorPageDTO;
+import com.unimar.plataforma_educativa_angular.entities.Course;
+import com.unimar.plataforma_educativa_angular.entities.Role;
+import com.unimar.plataforma_educativa_angular.entities.User;
+import com.unimar.plataforma_educativa_angular.leaderboard.LeaderboardEngine;
+import com.unimar.plataforma_educativa_angular.repositories.CourseRepository;
+import com.unimar.plataforma_educativa_angular.service.QueryBenchmark.Result;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.unimar.plataforma_educativa_angular.TestUsers.user;
+import static com.unimar.plataforma_educativa_angular.service.QueryBenchmark.measure;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cursos inscritos con 2.000 cursos en el sistema: la búsqueda anterior
+ * (findAll + getStudents().contains) contra la consulta por course_students.
+ * Imprime consultas y latencia de ambas.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ CourseService.class, CourseAccessService.class, LeaderboardEngine.class })
+@DisplayName("Benchmark - Cursos inscritos del estudiante")
+class EnrolledCoursesBenchmarkTest {
+
+    private static final int COURSES = 2_000;
+    private static final int STUDENTS = 200;
+    private static final int STUDENTS_PER_COURSE = 15;
+    private static final int RUNS = 3;
+    // spring.jpa.properties.hibernate.default_batch_fetch_size
+    private static final int BATCH_FETCH_SIZE = 50;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private User student;
+    private List<Long> expectedCourseIds;
+
+    @BeforeEach
+    void setUp() {
+        User teacher = entityManager.persist(user("bench-teacher@test.com", Role.TEACHER));
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(entityManager.persist(user("bench-student" + i + "@test.com", Role.STUDENT)));
+        }
+        student = students.get(0);
+
+        List<Course> courses = new ArrayList<>();
+        for (int c = 0; c < COURSES; c++) {
+            Course course = new Course();
+            course.setTitle("Curso " + c);
+            course.setLevel(c % 2 == 0 ? "Basico" : "Avanzado");
+            course.setInviteCode("BENCH" + c);
+            course.setTeacher(teacher);
+            courses.add(entityManager.persist(course));
+        }
+        entityManager.flush();
+
+        // Las inscripciones van por JDBC en lote: son 30.000 filas
+        List<Object[]> enrollments = new ArrayList<>();
+        expectedCourseIds = new ArrayList<>();
+        for (int c = 0; c < COURSES; c++) {
+            Long courseId = courses.get(c).getId();
+            for (int k = 0; k < STUDENTS_PER_COURSE; k++) {
+                int studentIndex = 1 + (c * 7 + k * 13) % (STUDENTS - 1);
+                enrollments.add(new Object[] { courseId, students.get(studentIndex).getId() });
+            }
+            // El estudiante medido está en uno de cada 250 cursos
+            if (c % 250 == 0) {
+                enrollments.add(new Object[] { courseId, student.getId() });
+                expectedCourseIds.add(courseId);
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO course_students (course_id, student_id) VALUES (?, ?)", enrollments);
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Cursos inscritos - Misma lista con una consulta por course_students")
+    void testEnrolledCourses_QueryCountAndLatency() {
+        Result<List<Long>> before = measure(entityManager, RUNS, () -> ids(courseRepository.findAll().stream()
+                .filter(course -> course.getStudents().contains(student))
+                .collect(Collectors.toList())));
+        Result<List<Long>> after = measure(entityManager, RUNS,
+                () -> courseService.getEnrolledCourseSummaries(student.getId()).stream()
+                        .map(CourseDTO::getId)
+                        .toList());
+
+        System.out.printf("%nCursos inscritos (%d cursos, %d inscripciones por curso)%n",
+                COURSES, STUDENTS_PER_COURSE);
+        System.out.printf("  antes:   %5d consultas, mediana %8.2f ms%n", before.statements(), before.medianMillis());
+        System.out.printf("  después: %5d consultas, mediana %8.2f ms%n%n", after.statements(), after.medianMillis());
+
+        assertEquals(expectedCourseIds, before.value());
+        assertEquals(expectedCourseIds, after.value());
+        assertTrue(after.statements() <= 1, "Una sola consulta, fueron " + after.statements());
+        // Con default_batch_fetch_size los estudiantes de cada curso llegan en lotes,
+        // pero la versión anterior sigue recorriendo todos los cursos
+        assertTrue(before.statements() > COURSES / BATCH_FETCH_SIZE,
+                "La versión anterior cargaba los estudiantes de cada curso, fueron " + before.statements());
+    }
+
+    @Test
+    @DisplayName("Consultas por course_students - Paginación, cursos por nivel e índice por estudiante")
+    void testEnrollmentQueries() {
+        CursorPageDTO<CourseDTO> firstPage = courseService.getEnrolledCourseSummaries(student.getId(), null, 5);
+        CursorPageDTO<CourseDTO> lastPage = courseService.getEnrolledCourseSummaries(student.getId(),
+                firstPage.getNextCursor(), 5);
+
+        assertEquals(expectedCourseIds.subList(0, 5), firstPage.getContent().stream().map(CourseDTO::getId).toList());
+        assertEquals(expectedCourseIds.subList(5, expectedCourseIds.size()),
+                lastPage.getContent().stream().map(CourseDTO::getId).toList());
+        assertNull(lastPage.getNextCursor(), "La última página no debe tener cursor");
+
+        // Los cursos pares son "Basico" y el estudiante está en los múltiplos de 250
+        List<Long> basic = courseRepository.findByLevelForUser("BASICO", student.getId()).stream()
+                .map(Course::getId)
+                .toList();
+        assertEquals(expectedCourseIds, basic);
+
+        Integer indexes = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = 'IDX_COURSE_STUDENTS_STUDENT'",
+                Integer.class);
+        assertEquals(1, indexes);
+    }
+
+    private static List<Long> ids(List<Course> courses) {
+        return courses.stream().map(Course::getId).toList();
+    }
+}
@@ -7,6 +7,8 @@ import com.unimar.plataforma_educativa_angular.entities.Role;
 import com.unimar.plataforma_educativa_angular.repositories.CourseRepository;
 import com.unimar.plataforma_educativa_angular.repositories.ExerciseRepository;
 import com.unimar.plataforma_educativa_angular.repositories.UserRepository;
+import com.unimar.plataforma_educativa_angular.storage.BlobRef;
+import com.unimar.plataforma_educativa_angular.storage.BlobStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +18,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.HashSet;
 import java.util.Optional;
 
@@ -48,6 +52,8 @@ import static org.mockito.Mockito.*;
 @DisplayName("Pruebas Unitarias - HU7: Subir Ejercicios con Archivo Adjunto")
 class ExerciseServiceTest_HU7 {
 
+    private static final String BLOB_KEY = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
     @Mock
     private ExerciseRepository exerciseRepository;
 
@@ -55,10 +61,10 @@ class ExerciseServiceTest_HU7 {
     private CourseRepository courseRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private MultipartFile mockFile;
 
     @Mock
-    private MultipartFile mockFile;
+    private BlobStore blobStore;
 
     @InjectMocks
     private ExerciseService exerciseService;
@@ -118,13 +124,15 @@ class ExerciseServiceTest_HU7 {
         // Simular archivo PDF
         byte[] fileContent = "Contenido del PDF del ejercicio".getBytes();
         when(mockFile.isEmpty()).thenReturn(false);
-        when(mockFile.getBytes()).thenReturn(fileContent);
+        InputStream fileStream = new ByteArrayInputStream(fileContent);
+        when(mockFile.getInputStream()).thenReturn(fileStream);
         when(mockFile.getOriginalFilename()).thenReturn("archivo.pdf");
         when(mockFile.getContentType()).thenReturn("application/pdf");
+        BlobRef blob = new BlobRef(BLOB_KEY, fileContent.length, BLOB_KEY);
+        when(blobStore.put(fileStream)).thenReturn(blob);
 
         // Configurar mocks
         when(courseRepository.findById(1L)).thenReturn(Optional.of(testCourse));
-        when(userRepository.findByEmail("teacher@test.com")).thenReturn(Optional.of(testTeacher));
 
         // Simular ejercicio guardado
         Exercise savedExercise = new Exercise();
@@ -132,9 +140,7 @@ class ExerciseServiceTest_HU7 {
         savedExercise.setTitle("Ejercicio Básico");
         savedExercise.setDescription("Resolver problemas");
         savedExercise.setDifficulty("BASICO");
-        savedExercise.setFileData(fileContent);
-        savedExercise.setFileName("archivo.pdf");
-        savedExercise.setFileType("application/pdf");
+        savedExercise.attachFile(blob, "archivo.pdf", "application/pdf");
         savedExercise.setCourse(testCourse);
 
         when(exerciseRepository.save(any(Exercise.class))).thenReturn(savedExercise);
@@ -143,8 +149,9 @@ class ExerciseServiceTest_HU7 {
         Exercise result = exerciseService.createExercise(
                 exerciseToCreate,
                 1L,
-                "teacher@test.com",
-                mockFile);
+                1L,
+                mockFile,
+                null);
 
         // ==================== ASSERT ====================
         assertNotNull(result, "El ejercicio creado no debe ser nulo");
@@ -156,8 +163,8 @@ class ExerciseServiceTest_HU7 {
         assertTrue(result.hasFile(), "El ejercicio debe tener archivo adjunto");
         assertEquals("archivo.pdf", result.getFileName(), "El nombre del archivo debe coincidir");
         assertEquals("application/pdf", result.getFileType(), "El tipo de archivo debe ser PDF");
-        assertArrayEquals(fileContent, result.getFileData(), "El contenido del archivo debe coincidir");
-        assertTrue(result.getFileData().length > 0, "El archivo debe tener contenido");
+        assertEquals(BLOB_KEY, result.getFileBlobKey(), "La referencia al archivo debe coincidir");
+        assertEquals(Long.valueOf(fileContent.length), result.getFileSize(), "El tamaño del archivo debe coincidir");
 
         // Validar asociación con el curso
         assertNotNull(result.getCourse(), "Debe estar asociado a un curso");
@@ -165,9 +172,9 @@ class ExerciseServiceTest_HU7 {
 
         // Verificar interacciones con los repositorios
         verify(courseRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).findByEmail("teacher@test.com");
         verify(exerciseRepository, times(1)).save(any(Exercise.class));
-        verify(mockFile, times(1)).getBytes();
+        verify(mockFile, times(1)).getInputStream();
+        verify(blobStore, times(1)).put(fileStream);
         verify(mockFile, times(1)).getOriginalFilename();
         verify(mockFile, times(1)).getContentType();
 
@@ -176,7 +183,7 @@ class ExerciseServiceTest_HU7 {
         System.out.println("   Título: " + result.getTitle());
         System.out.println("   Dificultad: " + result.getDifficulty());
         System.out.println("   Archivo: " + result.getFileName());
-        System.out.println("   Tamaño: " + result.getFileData().length + " bytes");
+        System.out.println("   Tamaño: " + result.getFileSize() + " bytes");
         System.out.println("   Tipo: " + result.getFileType());
         System.out.println("   Mensaje: 'Ejercicio subido exitosamente'");
     }
@@ -216,7 +223,6 @@ class ExerciseServiceTest_HU7 {
 
         // Configurar mocks
         when(courseRepository.findById(1L)).thenReturn(Optional.of(testCourse));
-        when(userRepository.findByEmail("teacher@test.com")).thenReturn(Optional.of(testTeacher));
 
         // Simular ejercicio guardado SIN archivo
         Exercise savedExercise = new Exercise();
@@ -224,7 +230,6 @@ class ExerciseServiceTest_HU7 {
         savedExercise.setTitle("Ejercicio Básico");
         savedExercise.setDescription("Resolver problemas");
         savedExercise.setDifficulty("BASICO");
-        savedExercise.setFileData(null);
         savedExercise.setFileName(null);
         savedExercise.setFileType(null);
         savedExercise.setCourse(testCourse);
@@ -235,9 +240,9 @@ class ExerciseServiceTest_HU7 {
         Exercise result = exerciseService.createExercise(
                 exerciseToCreate,
                 1L,
-                "teacher@test.com",
-                null // Sin archivo
-        );
+                1L,
+                null, // Sin archivo
+                null);
 
         // ==================== ASSERT ====================
         assertNotNull(result, "El ejercicio creado no debe ser nulo");
@@ -247,7 +252,7 @@ class ExerciseServiceTest_HU7 {
 
         // Validaciones de ausencia de archivo
         assertFalse(result.hasFile(), "El ejercicio NO debe tener archivo adjunto");
-        assertNull(result.getFileData(), "Los datos del archivo deben ser nulos");
+        assertNull(result.getFileBlobKey(), "La referencia al archivo debe ser nula");
         assertNull(result.getFileName(), "El nombre del archivo debe ser nulo");
         assertNull(result.getFileType(), "El tipo de archivo debe ser nulo");
 
@@ -257,7 +262,6 @@ class ExerciseServiceTest_HU7 {
 
         // Verificar interacciones con los repositorios
         verify(courseRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).findByEmail("teacher@test.com");
         verify(exerciseRepository, times(1)).save(any(Exercise.class));
 
         // ==================== RESULTADO ====================
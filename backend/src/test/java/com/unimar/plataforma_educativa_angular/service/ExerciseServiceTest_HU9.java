@@ -1,5 +1,6 @@
 package com.unimar.plataforma_educativa_angular.service;
 
+import com.unimar.plataforma_educativa_angular.dto.FileDownloadDTO;
 import com.unimar.plataforma_educativa_angular.entities.Course;
 import com.unimar.plataforma_educativa_angular.entities.Exercise;
 import com.unimar.plataforma_educativa_angular.entities.User;
@@ -7,6 +8,8 @@ import com.unimar.plataforma_educativa_angular.entities.Role;
 import com.unimar.plataforma_educativa_angular.repositories.CourseRepository;
 import com.unimar.plataforma_educativa_angular.repositories.ExerciseRepository;
 import com.unimar.plataforma_educativa_angular.repositories.UserRepository;
+import com.unimar.plataforma_educativa_angular.storage.BlobRef;
+import com.unimar.plataforma_educativa_angular.storage.BlobStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +17,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 
 import java.util.HashSet;
 import java.util.Optional;
@@ -37,6 +42,8 @@ import static org.mockito.Mockito.*;
 @DisplayName("Pruebas Unitarias - HU9: Descarga de Ejercicios Asignados")
 class ExerciseServiceTest_HU9 {
 
+    private static final String BLOB_KEY = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
     @Mock
     private ExerciseRepository exerciseRepository;
 
@@ -44,7 +51,10 @@ class ExerciseServiceTest_HU9 {
     private CourseRepository courseRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private BlobStore blobStore;
+
+    @Mock
+    private CourseAccessService courseAccessService;
 
     @InjectMocks
     private ExerciseService exerciseService;
@@ -79,6 +89,8 @@ class ExerciseServiceTest_HU9 {
         testCourse.setTeacher(testTeacher);
         testCourse.setStudents(new HashSet<>());
         testCourse.getStudents().add(testStudent);
+        lenient().when(courseAccessService.hasAccess(1L, 1L)).thenReturn(true);
+        lenient().when(courseAccessService.hasAccess(1L, 2L)).thenReturn(true);
 
         // Ejercicio con archivo adjunto
         testExercise = new Exercise();
@@ -104,7 +116,7 @@ class ExerciseServiceTest_HU9 {
      * 
      * Datos de entrada:
      * - exerciseId: 1L
-     * - studentEmail: "student@test.com"
+     * - studentId: 2L
      * 
      * Resultado esperado:
      * - Verdadero: El sistema descarga el archivo del ejercicio en formato
@@ -112,22 +124,22 @@ class ExerciseServiceTest_HU9 {
      */
     @Test
     @DisplayName("CP009 - HU9: Descarga exitosa de ejercicio con archivo adjunto")
-    void testCP009_DescargaExitosaDeEjercicio() {
+    void testCP009_DescargaExitosaDeEjercicio() throws Exception {
         // ==================== ARRANGE ====================
         System.out.println("\n=== CP009: Descarga exitosa de ejercicio ===");
 
         // Preparar archivo de ejercicio (PDF de ejemplo)
         byte[] fileContent = "%PDF-1.4 contenido del ejercicio...".getBytes();
-        testExercise.setFileData(fileContent);
-        testExercise.setFileName("ejercicio_algebra.pdf");
-        testExercise.setFileType("application/pdf");
+        testExercise.attachFile(new BlobRef(BLOB_KEY, fileContent.length, BLOB_KEY),
+                "ejercicio_algebra.pdf", "application/pdf");
+        when(blobStore.load(BLOB_KEY)).thenReturn(new ByteArrayResource(fileContent));
 
         // Configurar mocks
         when(exerciseRepository.findById(1L)).thenReturn(Optional.of(testExercise));
-        when(userRepository.findByEmail("student@test.com")).thenReturn(Optional.of(testStudent));
 
         // ==================== ACT ====================
-        byte[] result = exerciseService.getExerciseFile(1L, "student@test.com");
+        FileDownloadDTO download = exerciseService.getExerciseDownload(1L, 2L);
+        byte[] result = download.getResource().getContentAsByteArray();
 
         // ==================== ASSERT ====================
         // Verificar que el archivo se descargó correctamente
@@ -138,7 +150,6 @@ class ExerciseServiceTest_HU9 {
 
         // Verificar que se realizaron las consultas correctas
         verify(exerciseRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).findByEmail("student@test.com");
 
         // ==================== RESULTADO ====================
         System.out.println("CP009 PASÓ: Ejercicio descargado exitosamente");
@@ -175,17 +186,15 @@ class ExerciseServiceTest_HU9 {
         otherStudent.setRole(Role.STUDENT);
 
         byte[] fileContent = "contenido del ejercicio".getBytes();
-        testExercise.setFileData(fileContent);
-        testExercise.setFileName("ejercicio.pdf");
-        testExercise.setFileType("application/pdf");
+        testExercise.attachFile(new BlobRef(BLOB_KEY, fileContent.length, BLOB_KEY),
+                "ejercicio.pdf", "application/pdf");
 
         when(exerciseRepository.findById(1L)).thenReturn(Optional.of(testExercise));
-        when(userRepository.findByEmail("other@test.com")).thenReturn(Optional.of(otherStudent));
 
         // Act & Assert
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> exerciseService.getExerciseFile(1L, "other@test.com"),
+                () -> exerciseService.getExerciseDownload(1L, 99L),
                 "Debe lanzar excepción para estudiante no inscrito");
 
         assertEquals("No tienes acceso a este ejercicio", exception.getMessage());
@@ -203,16 +212,14 @@ class ExerciseServiceTest_HU9 {
         System.out.println("\n=== Validación: Ejercicio sin archivo adjunto ===");
 
         // Ejercicio sin archivo
-        testExercise.setFileData(null);
         testExercise.setFileName(null);
 
         when(exerciseRepository.findById(1L)).thenReturn(Optional.of(testExercise));
-        when(userRepository.findByEmail("student@test.com")).thenReturn(Optional.of(testStudent));
 
         // Act & Assert
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> exerciseService.getExerciseFile(1L, "student@test.com"),
+                () -> exerciseService.getExerciseDownload(1L, 2L),
                 "Debe lanzar excepción cuando no hay archivo");
 
         assertEquals("Este ejercicio no tiene archivo adjunto", exception.getMessage());
@@ -235,7 +242,7 @@ class ExerciseServiceTest_HU9 {
         // Act & Assert
         RuntimeException exception = assertThrows(
                 RuntimeException.class,
-                () -> exerciseService.getExerciseFile(999L, "student@test.com"),
+                () -> exerciseService.getExerciseDownload(999L, 2L),
                 "Debe lanzar excepción cuando el ejercicio no existe");
 
         assertEquals("Ejercicio no encontrado", exception.getMessage());
@@ -249,19 +256,19 @@ class ExerciseServiceTest_HU9 {
      */
     @Test
     @DisplayName("HU9: El profesor del curso puede descargar ejercicios")
-    void testDescarga_ProfesorPuedeDescargar() {
+    void testDescarga_ProfesorPuedeDescargar() throws Exception {
         System.out.println("\n=== Validación: Profesor puede descargar sus propios ejercicios ===");
 
         byte[] fileContent = "contenido del ejercicio del profesor".getBytes();
-        testExercise.setFileData(fileContent);
-        testExercise.setFileName("ejercicio_profesor.pdf");
-        testExercise.setFileType("application/pdf");
+        testExercise.attachFile(new BlobRef(BLOB_KEY, fileContent.length, BLOB_KEY),
+                "ejercicio_profesor.pdf", "application/pdf");
+        when(blobStore.load(BLOB_KEY)).thenReturn(new ByteArrayResource(fileContent));
 
         when(exerciseRepository.findById(1L)).thenReturn(Optional.of(testExercise));
-        when(userRepository.findByEmail("teacher@test.com")).thenReturn(Optional.of(testTeacher));
 
         // Act
-        byte[] result = exerciseService.getExerciseFile(1L, "teacher@test.com");
+        byte[] result = exerciseService.getExerciseDownload(1L, 1L)
+                .getResource().getContentAsByteArray();
 
         // Assert
         assertNotNull(result);
@@ -270,4 +277,30 @@ class ExerciseServiceTest_HU9 {
         System.out.println("✅ El profesor puede descargar sus propios ejercicios");
         System.out.println("   Archivo descargado: " + testExercise.getFileName());
     }
-}
\ No newline at end of file
+
+    /**
+     * Prueba adicional: La descarga en streaming no lee el contenido del archivo
+     */
+    @Test
+    @DisplayName("HU9: Descarga en streaming devuelve metadatos sin leer el archivo")
+    void testDescarga_StreamingNoLeeContenido() throws Exception {
+        byte[] fileContent = "contenido del ejercicio".getBytes();
+        testExercise.attachFile(new BlobRef(BLOB_KEY, fileContent.length, BLOB_KEY),
+                "ejercicio_algebra.pdf", "application/pdf");
+        Resource resource = new ByteArrayResource(fileContent);
+        when(blobStore.load(BLOB_KEY)).thenReturn(resource);
+
+        when(exerciseRepository.findById(1L)).thenReturn(Optional.of(testExercise));
+
+        // Act
+        FileDownloadDTO download = exerciseService.getExerciseDownload(1L, 2L);
+
+        // Assert
+        assertSame(resource, download.getResource());
+        assertEquals("ejercicio_algebra.pdf", download.getFileName());
+        assertEquals("application/pdf", download.getFileType());
+        assertEquals(BLOB_KEY, download.getChecksum());
+        verify(blobStore, never()).open(anyString());
+        verify(exerciseRepository, times(1)).findById(1L);
+    }
+}
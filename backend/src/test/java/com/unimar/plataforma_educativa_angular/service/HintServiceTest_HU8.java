@@ -51,9 +51,6 @@ class HintServiceTest_HU8 {
     @Mock
     private ExerciseRepository exerciseRepository;
 
-    @Mock
-    private UserRepository userRepository;
-
     @InjectMocks
     private HintService hintService;
 
@@ -117,7 +114,6 @@ class HintServiceTest_HU8 {
 
         // Configurar mocks
         when(exerciseRepository.findById(1L)).thenReturn(Optional.of(testExercise));
-        when(userRepository.findByEmail("teacher@test.com")).thenReturn(Optional.of(testTeacher));
 
         // Simular pista guardada
         Hint savedHint = new Hint();
@@ -129,7 +125,7 @@ class HintServiceTest_HU8 {
         when(hintRepository.save(any(Hint.class))).thenReturn(savedHint);
 
         // ==================== ACT ====================
-        Hint result = hintService.createHint(hintToCreate, 1L, "teacher@test.com");
+        Hint result = hintService.createHint(hintToCreate, 1L, 1L);
 
         // ==================== ASSERT ====================
         assertNotNull(result, "La pista creada no debe ser nula");
@@ -151,7 +147,6 @@ class HintServiceTest_HU8 {
 
         // Verificar interacciones con los repositorios
         verify(exerciseRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).findByEmail("teacher@test.com");
         verify(hintRepository, times(1)).save(any(Hint.class));
 
         // ==================== RESULTADO ====================
@@ -195,7 +190,6 @@ class HintServiceTest_HU8 {
 
         // Configurar mocks
         lenient().when(exerciseRepository.findById(1L)).thenReturn(Optional.of(testExercise));
-        lenient().when(userRepository.findByEmail("teacher@test.com")).thenReturn(Optional.of(testTeacher));
 
         // ==================== ACT & ASSERT ====================
         // El backend debería rechazar pistas con contenido vacío
@@ -214,7 +208,7 @@ class HintServiceTest_HU8 {
                     if (hintToCreate.getContent() == null || hintToCreate.getContent().trim().isEmpty()) {
                         throw new RuntimeException("El contenido de la pista no puede estar vacío");
                     }
-                    hintService.createHint(hintToCreate, 1L, "teacher@test.com");
+                    hintService.createHint(hintToCreate, 1L, 1L);
                 },
                 "Debe lanzar excepción cuando el contenido está vacío");
 
@@ -251,7 +245,6 @@ class HintServiceTest_HU8 {
 
         // Configurar mocks
         lenient().when(exerciseRepository.findById(1L)).thenReturn(Optional.of(testExercise));
-        lenient().when(userRepository.findByEmail("teacher@test.com")).thenReturn(Optional.of(testTeacher));
 
         // ==================== ACT & ASSERT ====================
         RuntimeException exception = assertThrows(
@@ -260,7 +253,7 @@ class HintServiceTest_HU8 {
                     if (hintToCreate.getContent() == null || hintToCreate.getContent().trim().isEmpty()) {
                         throw new RuntimeException("El contenido de la pista no puede estar vacío");
                     }
-                    hintService.createHint(hintToCreate, 1L, "teacher@test.com");
+                    hintService.createHint(hintToCreate, 1L, 1L);
                 },
                 "Debe rechazar contenido con solo espacios");
 
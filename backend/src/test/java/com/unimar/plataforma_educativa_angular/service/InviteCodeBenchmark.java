@@ -0,0 +1,53 @@
+package com.unimar.plataforma_educativa_angular.service;
+
+import com.unimar.plataforma_educativa_angular.leaderboard.LeaderboardEngine;
+import com.unimar.plataforma_educativa_angular.repositories.CourseRepository;
+import com.unimar.plataforma_educativa_angular.repositories.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Generación del código de invitación al crear un curso, sin la consulta de
+ * unicidad (el repositorio responde que el código está libre).
+ * Ejecutar con {@code main} desde el IDE, con el classpath de pruebas o con {@code mvn -P jmh}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InviteCodeBenchmark {
+
+    private CourseService courseService;
+
+    @Setup
+    public void setUp() {
+        CourseRepository courseRepository = mock(CourseRepository.class, withSettings().stubOnly());
+        when(courseRepository.existsByInviteCode(anyString())).thenReturn(false);
+        courseService = new CourseService(courseRepository, mock(UserRepository.class),
+                new CourseAccessService(courseRepository, 10, Duration.ofMinutes(1)),
+                mock(LeaderboardEngine.class));
+    }
+
+    @Benchmark
+    public String generateUniqueCode() {
+        return courseService.generateUniqueCode();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(InviteCodeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
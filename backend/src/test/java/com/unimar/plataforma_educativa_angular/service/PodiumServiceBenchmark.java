@@ -0,0 +1,130 @@
+package com.unimar.plataforma_educativa_angular.service;
+
+import com.unimar.plataforma_educativa_angular.entities.Course;
+import com.unimar.plataforma_educativa_angular.entities.StudentScore;
+import com.unimar.plataforma_educativa_angular.entities.User;
+import com.unimar.plataforma_educativa_angular.leaderboard.LeaderboardEngine;
+import com.unimar.plataforma_educativa_angular.leaderboard.LeaderboardEntry;
+import com.unimar.plataforma_educativa_angular.repositories.CourseRepository;
+import com.unimar.plataforma_educativa_angular.repositories.StudentScoreRepository;
+import com.unimar.plataforma_educativa_angular.repositories.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Lógica del ranking de {@link PodiumService} con {@value #COURSES} cursos de
+ * {@value #STUDENTS} estudiantes ya cargados en memoria:
+ * <ul>
+ * <li>{@code podiumByCourse}: top 10 de un curso</li>
+ * <li>{@code podiumByLevel}: mezcla del top de todos los cursos del nivel</li>
+ * <li>{@code studentPosition}: posición y vecinos de un estudiante a mitad de tabla</li>
+ * <li>{@code scoreChanged}: un estudiante cambia de puntaje y se reordena</li>
+ * </ul>
+ * Los repositorios son mocks sin registro de invocaciones: solo se consultan al
+ * cargar cada ranking y al resolver el acceso, que queda en caché.
+ * Ejecutar con {@code main} desde el IDE, con el classpath de pruebas o con {@code mvn -P jmh}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PodiumServiceBenchmark {
+
+    private static final int COURSES = 5;
+    private static final int STUDENTS = 2000;
+    private static final Long USER_ID = 1000L;
+
+    private PodiumService podiumService;
+    private LeaderboardEngine leaderboardEngine;
+    private StudentScore score;
+    private long version;
+
+    @Setup
+    public void setUp() {
+        CourseRepository courseRepository = mock(CourseRepository.class, withSettings().stubOnly());
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        StudentScoreRepository studentScoreRepository = mock(StudentScoreRepository.class,
+                withSettings().stubOnly());
+
+        List<Course> courses = new ArrayList<>();
+        for (long courseId = 1; courseId <= COURSES; courseId++) {
+            Course course = new Course();
+            course.setId(courseId);
+            course.setLevel("BASICO");
+            courses.add(course);
+
+            List<LeaderboardEntry> entries = new ArrayList<>(STUDENTS);
+            for (long i = 0; i < STUDENTS; i++) {
+                long studentId = courseId * 10_000 + i;
+                entries.add(new LeaderboardEntry(studentId, "Estudiante " + studentId,
+                        "user" + studentId + "@test.com", 1 + (int) ((i * 7919) % 500), (int) (i % 20), 0L));
+            }
+            when(studentScoreRepository.findLeaderboardEntriesByCourseId(courseId)).thenReturn(entries);
+        }
+        when(courseRepository.findByLevelForUser("BASICO", USER_ID)).thenReturn(courses);
+        when(courseRepository.findUserRoleInCourse(anyLong(), anyLong())).thenReturn(Optional.of("STUDENT"));
+
+        leaderboardEngine = new LeaderboardEngine(studentScoreRepository, 10_000, Duration.ofMinutes(10));
+        CourseAccessService courseAccessService = new CourseAccessService(courseRepository, 10_000,
+                Duration.ofMinutes(5));
+        podiumService = new PodiumService(courseRepository, userRepository, leaderboardEngine,
+                courseAccessService);
+
+        User student = new User();
+        student.setId(1L * 10_000 + STUDENTS / 2);
+        student.setNombre("Estudiante " + student.getId());
+        student.setEmail("user" + student.getId() + "@test.com");
+        score = new StudentScore();
+        score.setStudent(student);
+        score.setCourse(courses.get(0));
+        score.setChallengesCompleted(5);
+
+        // Carga los rankings antes de medir
+        podiumService.getPodiumByLevel("BASICO", USER_ID);
+    }
+
+    @Benchmark
+    public Object podiumByCourse() {
+        return podiumService.getPodiumByCourse(1L, USER_ID);
+    }
+
+    @Benchmark
+    public Object podiumByLevel() {
+        return podiumService.getPodiumByLevel("BASICO", USER_ID);
+    }
+
+    @Benchmark
+    public Object studentPosition() {
+        return podiumService.getStudentPosition(1L, score.getStudent().getId());
+    }
+
+    @Benchmark
+    public int scoreChanged() {
+        version++;
+        score.setTotalBonusPoints(1 + (int) (version % 500));
+        score.setVersion(version);
+        leaderboardEngine.scoreChanged(score);
+        return leaderboardEngine.rank(1L, score.getStudent().getId());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PodiumServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,41 @@
+package com.unimar.plataforma_educativa_angular.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Medición de los benchmarks con {@code @DataJpaTest}: corre la acción varias veces con
+ * el contexto de persistencia vacío y devuelve las sentencias de la última corrida y la
+ * mediana de latencia. Requiere {@code hibernate.generate_statistics=true}
+ */
+final class QueryBenchmark {
+
+    record Result<T>(T value, long statements, double medianMillis) {
+    }
+
+    private QueryBenchmark() {
+    }
+
+    static <T> Result<T> measure(TestEntityManager entityManager, int runs, Supplier<T> action) {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        T value = null;
+        long statements = 0;
+        double[] millis = new double[runs];
+        for (int run = 0; run < runs; run++) {
+            entityManager.clear();
+            statistics.clear();
+            long start = System.nanoTime();
+            value = action.get();
+            millis[run] = (System.nanoTime() - start) / 1_000_000.0;
+            statements = statistics.getPrepareStatementCount();
+        }
+        Arrays.sort(millis);
+        return new Result<>(value, statements, millis[runs / 2]);
+    }
+}
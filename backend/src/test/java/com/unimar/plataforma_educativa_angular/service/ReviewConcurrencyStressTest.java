@@ -0,0 +1,157 @@
+package com.unimar.plataforma_educativa_angular.service;
+
+import com.unimar.plataforma_educativa_angular.entities.*;
+import com.unimar.plataforma_educativa_angular.leaderboard.LeaderboardEngine;
+import com.unimar.plataforma_educativa_angular.leaderboard.LeaderboardEntry;
+import com.unimar.plataforma_educativa_angular.repositories.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.unimar.plataforma_educativa_angular.TestUsers.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lanza 2.400 revisiones en paralelo sobre 600 soluciones (incluidos dobles clics y
+ * re-calificaciones) y comprueba que student_scores y el ranking en memoria
+ * terminan con los totales exactos.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Pruebas de Concurrencia - Revisiones simultáneas y puntajes")
+class ReviewConcurrencyStressTest {
+
+    private static final int STUDENTS = 20;
+    private static final int CHALLENGES = 30;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ChallengeSubmissionService submissionService;
+
+    @Autowired
+    private LeaderboardEngine leaderboardEngine;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ChallengeRepository challengeRepository;
+
+    @Autowired
+    private ChallengeSubmissionRepository challengeSubmissionRepository;
+
+    @Autowired
+    private StudentScoreRepository studentScoreRepository;
+
+    @Test
+    @DisplayName("Revisiones paralelas - Sin actualizaciones perdidas")
+    void testParallelReviews_NoLostUpdates() throws Exception {
+        User teacher = userRepository.save(user("stress-teacher@test.com", Role.TEACHER));
+        Course course = new Course();
+        course.setTitle("Curso de carga");
+        course.setInviteCode("STRESS01");
+        course.setTeacher(teacher);
+        course = courseRepository.save(course);
+
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(userRepository.save(user("stress-student" + i + "@test.com", Role.STUDENT)));
+        }
+
+        List<ChallengeSubmission> submissions = new ArrayList<>();
+        for (int c = 0; c < CHALLENGES; c++) {
+            Challenge challenge = new Challenge();
+            challenge.setTitle("Reto " + c);
+            challenge.setDifficulty("BASICO");
+            challenge.setMaxBonusPoints(10);
+            challenge.setCourse(course);
+            challenge = challengeRepository.save(challenge);
+            for (User student : students) {
+                ChallengeSubmission submission = new ChallengeSubmission();
+                submission.setChallenge(challenge);
+                submission.setStudent(student);
+                submissions.add(challengeSubmissionRepository.save(submission));
+            }
+        }
+
+        // Ranking cargado antes de las revisiones: debe seguirlas solo con los avisos post-commit
+        leaderboardEngine.top(course.getId(), 1);
+
+        Random random = new Random(7);
+        Map<Long, Integer> firstRound = new HashMap<>();
+        Map<Long, Integer> secondRound = new HashMap<>();
+        for (ChallengeSubmission submission : submissions) {
+            firstRound.put(submission.getId(), random.nextInt(11));
+            secondRound.put(submission.getId(), random.nextInt(11));
+        }
+
+        // Cada solución se revisa dos veces a la vez (doble clic) en cada ronda
+        runReviews(firstRound, teacher.getId());
+        assertTotals(course.getId(), students, submissions, firstRound);
+
+        // Segunda ronda: todas son re-calificaciones con otro puntaje
+        runReviews(secondRound, teacher.getId());
+        assertTotals(course.getId(), students, submissions, secondRound);
+    }
+
+    private void runReviews(Map<Long, Integer> bonusBySubmission, Long teacherId) throws Exception {
+        List<Callable<Object>> tasks = new ArrayList<>();
+        bonusBySubmission.forEach((submissionId, bonus) -> {
+            for (int copy = 0; copy < 2; copy++) {
+                tasks.add(() -> submissionService.reviewSubmission(submissionId, bonus, "ok", teacherId));
+            }
+        });
+        Collections.shuffle(tasks, new Random(11));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Object> result : executor.invokeAll(tasks)) {
+                result.get(); // Propaga cualquier fallo de una revisión
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        }
+    }
+
+    private void assertTotals(Long courseId, List<User> students, List<ChallengeSubmission> submissions,
+            Map<Long, Integer> bonusBySubmission) {
+        Map<Long, Integer> expectedPoints = new HashMap<>();
+        Map<Long, Integer> expectedChallenges = new HashMap<>();
+        for (ChallengeSubmission submission : submissions) {
+            int bonus = bonusBySubmission.get(submission.getId());
+            Long studentId = submission.getStudent().getId();
+            expectedPoints.merge(studentId, bonus, Integer::sum);
+            expectedChallenges.merge(studentId, bonus > 0 ? 1 : 0, Integer::sum);
+        }
+
+        Map<Long, LeaderboardEntry> ranking = new HashMap<>();
+        leaderboardEngine.top(courseId, STUDENTS).forEach(entry -> ranking.put(entry.getStudentId(), entry));
+
+        for (User student : students) {
+            StudentScore score = studentScoreRepository.findByStudentIdAndCourseId(student.getId(), courseId)
+                    .orElseThrow();
+            assertEquals(expectedPoints.get(student.getId()), score.getTotalBonusPoints(), student.getEmail());
+            assertEquals(expectedChallenges.get(student.getId()), score.getChallengesCompleted(), student.getEmail());
+            assertEquals(score.getTotalBonusPoints(), ranking.get(student.getId()).getTotalBonusPoints());
+            assertEquals(score.getChallengesCompleted(), ranking.get(student.getId()).getChallengesCompleted());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.unimar.plataforma_educativa_angular.service;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo del registro por revisión de solución con 8 hilos revisando a la vez:
+ * <ul>
+ * <li>{@code consoleBanner}: los ~30 {@code System.out.println} que imprimían antes
+ * {@code applyReview} y {@code updateStudentScore}. Cada println toma el candado
+ * del stream, así que los hilos se turnan</li>
+ * <li>{@code asyncLogger}: lo que registra ahora {@link ChallengeSubmissionService}:
+ * una línea INFO parametrizada hacia un AsyncAppender (como logback-spring.xml) y
+ * los DEBUG, que con el nivel INFO ni siquiera arman el mensaje</li>
+ * </ul>
+ * Ambos escriben a un stream nulo, así que el "antes" no incluye el costo real de
+ * la consola: la diferencia medida es la mínima.
+ * Ejecutar con {@code main} desde el IDE o con el classpath de pruebas.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ReviewLoggingBenchmark {
+
+    private static final Long SUBMISSION_ID = 42L;
+    private static final Long STUDENT_ID = 7L;
+    private static final Long COURSE_ID = 3L;
+    private static final String TEACHER = "profesor@unimar.edu";
+    private static final String STUDENT = "Estudiante de Prueba";
+    private static final String COURSE = "Programación I";
+    private static final String FEEDBACK = "Buen trabajo, revisa los casos borde";
+
+    private PrintStream console;
+    private Logger logger;
+    private AsyncAppender async;
+
+    @Setup
+    public void setUp() {
+        // Mismo modo que System.out: autoflush en cada println
+        console = new PrintStream(new BufferedOutputStream(OutputStream.nullOutputStream()), true);
+
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5level [%thread] %logger{39} : %msg%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>();
+        sink.setContext(context);
+        sink.setEncoder(encoder);
+        sink.setOutputStream(OutputStream.nullOutputStream());
+        sink.start();
+
+        async = new AsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.addAppender(sink);
+        async.start();
+
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(async);
+        logger = context.getLogger(ChallengeSubmissionService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        async.stop();
+    }
+
+    @Benchmark
+    public void consoleBanner() {
+        int bonusPoints = 8;
+        int previousPoints = 5;
+        console.println("\n========================================");
+        console.println("🔍 REVISANDO SOLUCIÓN DE RETO");
+        console.println("========================================");
+        console.println("   Submission ID: " + SUBMISSION_ID);
+        console.println("   Bonificación nueva: " + bonusPoints + " XP");
+        console.println("   Profesor: " + TEACHER);
+        console.println("   Feedback: " + FEEDBACK);
+        console.println("   ✅ Validaciones superadas");
+        console.println("   📝 Estudiante: " + STUDENT);
+        console.println("   📚 Curso: " + COURSE);
+        console.println("\n   🔄 Tipo de revisión:");
+        console.println("      • Es re-calificación: " + true);
+        console.println("      • Puntos anteriores: " + previousPoints + " XP");
+        console.println("      • Puntos nuevos: " + bonusPoints + " XP");
+        console.println("      • Diferencia: " + (bonusPoints - previousPoints) + " XP");
+        console.println("   💾 Solución guardada en BD");
+        console.println("\n   📊 Actualizando student_scores...");
+        console.println("\n      ═══════════════════════════════════");
+        console.println("      📊 ACTUALIZANDO STUDENT_SCORES");
+        console.println("      ═══════════════════════════════════");
+        console.println("         🎓 Estudiante: " + STUDENT + " (ID: " + STUDENT_ID + ")");
+        console.println("         📚 Curso: " + COURSE + " (ID: " + COURSE_ID + ")");
+        console.println("         💎 Diferencia de puntos: " + (bonusPoints - previousPoints) + " XP");
+        console.println("         🏆 Diferencia de retos: " + 0);
+        console.println("\n      💾 GUARDADO EN BASE DE DATOS:");
+        console.println("         • Puntos finales: " + 58 + " XP");
+        console.println("         • Retos completados: " + 6);
+        console.println("      ═══════════════════════════════════\n");
+        console.println("   ✅ student_scores actualizado correctamente");
+        console.println("========================================");
+        console.println("✅ REVISIÓN COMPLETADA EXITOSAMENTE");
+        console.println("========================================\n");
+    }
+
+    @Benchmark
+    public void asyncLogger() {
+        int bonusPoints = 8;
+        int previousPoints = 5;
+        logger.debug("Puntuación del estudiante {} en el curso {}: {} XP y {} retos (diferencia {} XP, {} retos)",
+                STUDENT_ID, COURSE_ID, 58, 6, bonusPoints - previousPoints, 0);
+        logger.info("Solución {} revisada por {}: {} XP (antes {}, re-calificación: {})",
+                SUBMISSION_ID, TEACHER, bonusPoints, previousPoints, true);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReviewLoggingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
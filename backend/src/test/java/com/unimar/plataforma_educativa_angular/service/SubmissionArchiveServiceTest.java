@@ -0,0 +1,114 @@
+package com.unimar.plataforma_educativa_angular.service;
+
+import com.unimar.plataforma_educativa_angular.dto.ArchiveEntryDTO;
+import com.unimar.plataforma_educativa_angular.entities.ChallengeSubmission;
+import com.unimar.plataforma_educativa_angular.entities.Submission;
+import com.unimar.plataforma_educativa_angular.storage.BlobStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas de Exportación ZIP de Entregas")
+class SubmissionArchiveServiceTest {
+
+    private static final String KEY_A = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+    private static final String KEY_B = "60303ae22b998861bce3b28f33eec1be758a213c86c93c076dbe9f558c11c752";
+    private static final LocalDateTime SUBMITTED = LocalDateTime.of(2025, 5, 10, 14, 30);
+
+    @Mock
+    private BlobStore blobStore;
+
+    @InjectMocks
+    private SubmissionArchiveService archiveService;
+
+    @Test
+    @DisplayName("ZIP de ejercicio - Manifiesto primero y un archivo por estudiante")
+    void testWriteArchive_ManifestAndFiles() throws IOException {
+        List<ArchiveEntryDTO> entries = List.of(
+                new ArchiveEntryDTO("Ana Pérez", "ana@test.com", "solucion.zip", KEY_A, 4L,
+                        Submission.SubmissionStatus.GRADED, 4.5, SUBMITTED, "Muy bien, \"excelente\""),
+                new ArchiveEntryDTO("Luis Gómez", "luis@test.com", null, null, null,
+                        Submission.SubmissionStatus.PENDING, null, SUBMITTED, null));
+        when(blobStore.open(KEY_A)).thenReturn(new ByteArrayInputStream("ABCD".getBytes()));
+
+        Map<String, String> zip = writeAndRead(entries, "calificacion");
+
+        assertEquals(List.of("manifiesto.csv", "Ana Pérez (ana@test.com)/solucion.zip"), List.copyOf(zip.keySet()));
+        assertEquals("ABCD", zip.get("Ana Pérez (ana@test.com)/solucion.zip"));
+
+        String[] lines = zip.get("manifiesto.csv").split("\r\n");
+        assertEquals(3, lines.length);
+        assertEquals("estudiante,email,archivo,tamano_bytes,estado,calificacion,entregado,retroalimentacion", lines[0]);
+        assertEquals("Ana Pérez,ana@test.com,Ana Pérez (ana@test.com)/solucion.zip,4,GRADED,4.5,"
+                + "2025-05-10T14:30,\"Muy bien, \"\"excelente\"\"\"", lines[1]);
+        assertEquals("Luis Gómez,luis@test.com,,,PENDING,,2025-05-10T14:30,", lines[2]);
+    }
+
+    @Test
+    @DisplayName("ZIP de reto - Nombres repetidos y caracteres inválidos")
+    void testWriteArchive_DuplicateAndUnsafeNames() throws IOException {
+        List<ArchiveEntryDTO> entries = List.of(
+                new ArchiveEntryDTO("Ana", "ana@test.com", "../reto.py", KEY_A, 4L,
+                        ChallengeSubmission.SubmissionStatus.REVIEWED, 8, SUBMITTED, null),
+                new ArchiveEntryDTO("Ana", "ana@test.com", "../reto.py", KEY_B, 4L,
+                        ChallengeSubmission.SubmissionStatus.PENDING, null, SUBMITTED, null));
+        when(blobStore.open(KEY_A)).thenReturn(new ByteArrayInputStream("uno".getBytes()));
+        when(blobStore.open(KEY_B)).thenReturn(new ByteArrayInputStream("dos".getBytes()));
+
+        Map<String, String> zip = writeAndRead(entries, "bonificacion");
+
+        assertEquals("uno", zip.get("Ana (ana@test.com)/.._reto.py"));
+        assertEquals("dos", zip.get("Ana (ana@test.com)/.._reto (2).py"));
+        assertTrue(zip.get("manifiesto.csv").startsWith("estudiante,email,archivo,tamano_bytes,estado,bonificacion"));
+    }
+
+    @Test
+    @DisplayName("Archivo faltante en el almacenamiento - Se omite y el ZIP sigue siendo válido")
+    void testWriteArchive_MissingBlobIsSkipped() throws IOException {
+        List<ArchiveEntryDTO> entries = List.of(
+                new ArchiveEntryDTO("Ana", "ana@test.com", "a.pdf", KEY_A, 4L,
+                        Submission.SubmissionStatus.PENDING, null, SUBMITTED, null),
+                new ArchiveEntryDTO("Luis", "luis@test.com", "b.pdf", KEY_B, 3L,
+                        Submission.SubmissionStatus.PENDING, null, SUBMITTED, null));
+        when(blobStore.open(KEY_A)).thenThrow(new IOException("no existe"));
+        when(blobStore.open(KEY_B)).thenReturn(new ByteArrayInputStream("PDF".getBytes()));
+
+        Map<String, String> zip = writeAndRead(entries, "calificacion");
+
+        assertFalse(zip.containsKey("Ana (ana@test.com)/a.pdf"));
+        assertEquals("PDF", zip.get("Luis (luis@test.com)/b.pdf"));
+    }
+
+    private Map<String, String> writeAndRead(List<ArchiveEntryDTO> entries, String scoreHeader) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        archiveService.writeArchive(entries, scoreHeader, out);
+
+        Map<String, String> contents = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()),
+                StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                contents.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return contents;
+    }
+}
@@ -2,6 +2,8 @@ package com.unimar.plataforma_educativa_angular.service;
 
 import com.unimar.plataforma_educativa_angular.entities.*;
 import com.unimar.plataforma_educativa_angular.repositories.*;
+import com.unimar.plataforma_educativa_angular.storage.BlobStore;
+import com.unimar.plataforma_educativa_angular.storage.UploadSpool;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -11,6 +13,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Optional;
@@ -40,6 +43,15 @@ class SubmissionServiceTest_HU10 {
         @Mock
         private MultipartFile mockFile;
 
+        @Mock
+        private BlobStore blobStore;
+
+        @Mock
+        private CourseAccessService courseAccessService;
+
+        @Mock
+        private UploadSpool uploadSpool;
+
         @InjectMocks
         private SubmissionService submissionService;
 
@@ -70,6 +82,7 @@ class SubmissionServiceTest_HU10 {
                 testCourse.setTeacher(testTeacher);
                 testCourse.setStudents(new HashSet<>());
                 testCourse.getStudents().add(testStudent);
+                lenient().when(courseAccessService.isEnrolled(1L, 2L)).thenReturn(true);
 
                 testExercise = new Exercise();
                 testExercise.setId(1L);
@@ -85,54 +98,36 @@ class SubmissionServiceTest_HU10 {
         void testCP010_01_SubidaExitosaDeEjercicio() throws Exception {
                 System.out.println("\n=== CP010-01: Subida exitosa de ejercicio desarrollado ===");
 
-                byte[] fileContent = "PK... [contenido del archivo ZIP con solución]".getBytes();
-
-                when(mockFile.isEmpty()).thenReturn(false);
-                when(mockFile.getBytes()).thenReturn(fileContent);
-                when(mockFile.getOriginalFilename()).thenReturn("solucion.zip");
-                when(mockFile.getContentType()).thenReturn("application/zip");
-
                 when(exerciseRepository.findById(1L)).thenReturn(Optional.of(testExercise));
-                when(userRepository.findByEmail("student@test.com")).thenReturn(Optional.of(testStudent));
+                when(userRepository.getReferenceById(2L)).thenReturn(testStudent);
                 when(submissionRepository.existsByExerciseIdAndStudentId(1L, 2L)).thenReturn(false);
+                when(submissionRepository.save(any(Submission.class))).thenAnswer(invocation -> {
+                        Submission saved = invocation.getArgument(0);
+                        saved.setId(1L);
+                        return saved;
+                });
 
-                Submission savedSubmission = new Submission();
-                savedSubmission.setId(1L);
-                savedSubmission.setExercise(testExercise);
-                savedSubmission.setStudent(testStudent);
-                savedSubmission.setFileData(fileContent);
-                savedSubmission.setFileName("solucion.zip");
-                savedSubmission.setFileType("application/zip");
-                savedSubmission.setStatus(Submission.SubmissionStatus.PENDING);
-                savedSubmission.setSubmittedAt(LocalDateTime.now());
-                savedSubmission.setEditCount(0);
-
-                when(submissionRepository.save(any(Submission.class))).thenReturn(savedSubmission);
-
-                Submission result = submissionService.submitExercise(1L, "student@test.com", mockFile);
+                Submission result = submissionService.createPendingUpload(1L, 2L, "solucion.zip", "application/zip");
 
                 assertNotNull(result);
                 assertNotNull(result.getId());
-                assertTrue(result.hasFile());
+                // El archivo se guarda después, desde el spool
+                assertFalse(result.hasFile());
                 assertEquals("solucion.zip", result.getFileName());
                 assertEquals("application/zip", result.getFileType());
-                assertArrayEquals(fileContent, result.getFileData());
-                assertTrue(result.getFileData().length > 0);
-                assertEquals(Submission.SubmissionStatus.PENDING, result.getStatus());
+                assertEquals(Submission.SubmissionStatus.PENDING_UPLOAD, result.getStatus());
                 assertNull(result.getGrade());
                 assertNull(result.getFeedback());
-                assertNotNull(result.getSubmittedAt());
                 assertEquals(0, result.getEditCount());
                 assertEquals(testStudent.getId(), result.getStudent().getId());
                 assertEquals(testExercise.getId(), result.getExercise().getId());
 
                 verify(exerciseRepository, times(1)).findById(1L);
-                verify(userRepository, times(1)).findByEmail("student@test.com");
+                verify(userRepository, times(1)).getReferenceById(2L);
+                verify(userRepository, never()).findByEmail(any());
                 verify(submissionRepository, times(1)).existsByExerciseIdAndStudentId(1L, 2L);
                 verify(submissionRepository, times(1)).save(any(Submission.class));
-                verify(mockFile, times(1)).getBytes();
-                verify(mockFile, times(1)).getOriginalFilename();
-                verify(mockFile, times(1)).getContentType();
+                verifyNoInteractions(blobStore);
 
                 System.out.println("✅ VALIDACIÓN EXITOSA");
         }
@@ -144,12 +139,11 @@ class SubmissionServiceTest_HU10 {
 
                 // Hacemos lenient porque el método lanza excepción antes de usar los mocks
                 lenient().when(exerciseRepository.findById(1L)).thenReturn(Optional.of(testExercise));
-                lenient().when(userRepository.findByEmail("student@test.com")).thenReturn(Optional.of(testStudent));
                 lenient().when(submissionRepository.existsByExerciseIdAndStudentId(1L, 2L)).thenReturn(false);
 
                 RuntimeException exception = assertThrows(
                                 RuntimeException.class,
-                                () -> submissionService.submitExercise(1L, "student@test.com", null));
+                                () -> uploadService().accept(1L, 2L, null));
 
                 assertEquals("Debes seleccionar un archivo para subir la entrega", exception.getMessage());
                 verify(submissionRepository, never()).save(any(Submission.class));
@@ -162,11 +156,6 @@ class SubmissionServiceTest_HU10 {
         void testSubida_SoloEstudiantesInscritos() throws Exception {
                 System.out.println("\n=== Validación: Solo estudiantes inscritos pueden subir ===");
 
-                User otherStudent = new User();
-                otherStudent.setId(99L);
-                otherStudent.setEmail("other@test.com");
-                otherStudent.setRole(Role.STUDENT);
-
                 Course courseWithoutStudent = new Course();
                 courseWithoutStudent.setId(1L);
                 courseWithoutStudent.setTeacher(testTeacher);
@@ -176,15 +165,11 @@ class SubmissionServiceTest_HU10 {
                 exercise.setId(1L);
                 exercise.setCourse(courseWithoutStudent);
 
-                byte[] fileContent = "contenido".getBytes();
-                lenient().when(mockFile.isEmpty()).thenReturn(false);
-                lenient().when(mockFile.getBytes()).thenReturn(fileContent);
                 lenient().when(exerciseRepository.findById(1L)).thenReturn(Optional.of(exercise));
-                lenient().when(userRepository.findByEmail("other@test.com")).thenReturn(Optional.of(otherStudent));
 
                 RuntimeException exception = assertThrows(
                                 RuntimeException.class,
-                                () -> submissionService.submitExercise(1L, "other@test.com", mockFile));
+                                () -> submissionService.createPendingUpload(1L, 99L, "solucion.zip", "application/zip"));
 
                 assertEquals("No estás inscrito en este curso", exception.getMessage());
                 verify(submissionRepository, never()).save(any(Submission.class));
@@ -195,16 +180,12 @@ class SubmissionServiceTest_HU10 {
         void testSubida_NoPermitirDuplicados() throws Exception {
                 System.out.println("\n=== Validación: No permitir entregas duplicadas ===");
 
-                byte[] fileContent = "contenido".getBytes();
-                lenient().when(mockFile.isEmpty()).thenReturn(false);
-                lenient().when(mockFile.getBytes()).thenReturn(fileContent);
                 lenient().when(exerciseRepository.findById(1L)).thenReturn(Optional.of(testExercise));
-                lenient().when(userRepository.findByEmail("student@test.com")).thenReturn(Optional.of(testStudent));
                 lenient().when(submissionRepository.existsByExerciseIdAndStudentId(1L, 2L)).thenReturn(true);
 
                 RuntimeException exception = assertThrows(
                                 RuntimeException.class,
-                                () -> submissionService.submitExercise(1L, "student@test.com", mockFile));
+                                () -> submissionService.createPendingUpload(1L, 2L, "solucion.zip", "application/zip"));
 
                 assertTrue(exception.getMessage().contains("Ya has entregado este ejercicio"));
                 verify(submissionRepository, never()).save(any(Submission.class));
@@ -217,16 +198,12 @@ class SubmissionServiceTest_HU10 {
 
                 testExercise.setDeadline(LocalDateTime.now().minusDays(1));
 
-                byte[] fileContent = "contenido".getBytes();
-                lenient().when(mockFile.isEmpty()).thenReturn(false);
-                lenient().when(mockFile.getBytes()).thenReturn(fileContent);
                 lenient().when(exerciseRepository.findById(1L)).thenReturn(Optional.of(testExercise));
-                lenient().when(userRepository.findByEmail("student@test.com")).thenReturn(Optional.of(testStudent));
                 lenient().when(submissionRepository.existsByExerciseIdAndStudentId(1L, 2L)).thenReturn(false);
 
                 RuntimeException exception = assertThrows(
                                 RuntimeException.class,
-                                () -> submissionService.submitExercise(1L, "student@test.com", mockFile));
+                                () -> submissionService.createPendingUpload(1L, 2L, "solucion.zip", "application/zip"));
 
                 assertEquals("La fecha límite de entrega ha pasado", exception.getMessage());
                 verify(submissionRepository, never()).save(any(Submission.class));
@@ -239,16 +216,20 @@ class SubmissionServiceTest_HU10 {
 
                 lenient().when(mockFile.isEmpty()).thenReturn(true);
                 lenient().when(exerciseRepository.findById(1L)).thenReturn(Optional.of(testExercise));
-                lenient().when(userRepository.findByEmail("student@test.com")).thenReturn(Optional.of(testStudent));
                 lenient().when(submissionRepository.existsByExerciseIdAndStudentId(1L, 2L)).thenReturn(false);
 
                 RuntimeException exception = assertThrows(
                                 RuntimeException.class,
-                                () -> submissionService.submitExercise(1L, "student@test.com", mockFile));
+                                () -> uploadService().accept(1L, 2L, mockFile));
 
                 assertEquals("Debes seleccionar un archivo para subir la entrega", exception.getMessage());
                 verify(submissionRepository, never()).save(any(Submission.class));
 
                 System.out.println("✅ Sistema rechaza archivos vacíos");
         }
+
+        // El archivo se valida al aceptarlo en el spool, antes de registrar la entrega
+        private SubmissionUploadService uploadService() {
+                return new SubmissionUploadService(submissionService, uploadSpool, blobStore, Duration.ofMinutes(30));
+        }
 }
@@ -0,0 +1,203 @@
+package com.unimar.plataforma_educativa_angular.service;
+
+import com.unimar.plataforma_educativa_angular.entities.Submission;
+import com.unimar.plataforma_educativa_angular.storage.BlobRef;
+import com.unimar.plataforma_educativa_angular.storage.BlobStore;
+import com.unimar.plataforma_educativa_angular.storage.UploadSpool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas de Entregas Guardadas en Segundo Plano")
+class SubmissionUploadServiceTest {
+
+    private static final String BLOB_KEY = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private SubmissionService submissionService;
+
+    @Mock
+    private BlobStore blobStore;
+
+    private UploadSpool spool;
+    private SubmissionUploadService uploadService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        spool = new UploadSpool(tempDir.toString(), DataSize.ofKilobytes(1), 1, 3, Duration.ofMillis(10));
+        uploadService = new SubmissionUploadService(submissionService, spool, blobStore, Duration.ofMinutes(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        uploadService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Aceptar - Responde en PENDING_UPLOAD y guarda el archivo después")
+    void testAccept_PersistsInBackground() throws IOException {
+        Submission pending = submission(10L);
+        when(submissionService.createPendingUpload(1L, 2L, "solucion.zip", "application/zip"))
+                .thenReturn(pending);
+        BlobRef blob = new BlobRef(BLOB_KEY, 4, BLOB_KEY);
+        when(blobStore.put(any(InputStream.class))).thenReturn(blob);
+        when(submissionService.completeUpload(10L, blob)).thenReturn(true);
+
+        Submission accepted = uploadService.accept(1L, 2L, file());
+        spool.shutdown(Duration.ofSeconds(5));
+
+        assertSame(pending, accepted);
+        verify(submissionService).completeUpload(10L, blob);
+        verify(submissionService, never()).failUpload(any());
+        assertSpoolEmpty();
+    }
+
+    @Test
+    @DisplayName("Entrega inválida - El archivo recibido se descarta")
+    void testAccept_InvalidSubmissionDiscardsFile() throws IOException {
+        when(submissionService.createPendingUpload(any(), any(), any(), any()))
+                .thenThrow(new RuntimeException("La fecha límite de entrega ha pasado"));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> uploadService.accept(1L, 2L, file()));
+
+        assertEquals("La fecha límite de entrega ha pasado", exception.getMessage());
+        assertSpoolEmpty();
+        verifyNoInteractions(blobStore);
+    }
+
+    @Test
+    @DisplayName("Error de almacenamiento - La entrega queda en UPLOAD_FAILED")
+    void testAccept_StorageErrorFailsUpload() throws IOException {
+        when(submissionService.createPendingUpload(any(), any(), any(), any())).thenReturn(submission(11L));
+        when(blobStore.put(any(InputStream.class))).thenThrow(new IOException("disco lleno"));
+
+        uploadService.accept(1L, 2L, file());
+        spool.shutdown(Duration.ofSeconds(5));
+
+        verify(submissionService).failUpload(11L);
+        verify(submissionService, never()).completeUpload(any(), any());
+        assertSpoolEmpty();
+    }
+
+    @Test
+    @DisplayName("Base de datos caída al completar - Se reintenta con el archivo aún en el spool")
+    void testAccept_CompleteUploadErrorRetries() throws IOException {
+        when(submissionService.createPendingUpload(any(), any(), any(), any())).thenReturn(submission(16L));
+        BlobRef blob = new BlobRef(BLOB_KEY, 4, BLOB_KEY);
+        when(blobStore.put(any(InputStream.class))).thenReturn(blob);
+        when(submissionService.completeUpload(16L, blob))
+                .thenThrow(new RuntimeException("conexión perdida"))
+                .thenReturn(true);
+
+        uploadService.accept(1L, 2L, file());
+        spool.shutdown(Duration.ofSeconds(5));
+
+        verify(submissionService, times(2)).completeUpload(16L, blob);
+        verify(submissionService, never()).failUpload(any());
+        assertSpoolEmpty();
+    }
+
+    @Test
+    @DisplayName("Barrido - Falla las entregas pendientes sin archivo en el spool")
+    void testFailStaleUploads() throws IOException {
+        Files.write(tempDir.resolve("submission-18"), "ABCD".getBytes());
+        // 17 quedó sin archivo (caída antes de encolar); 18 sigue en este spool
+        when(submissionService.getPendingUploadIdsBefore(any())).thenReturn(List.of(17L, 18L));
+
+        int failed = uploadService.failStaleUploads();
+
+        assertEquals(1, failed);
+        verify(submissionService).failUpload(17L);
+        verify(submissionService, never()).failUpload(18L);
+    }
+
+    @Test
+    @DisplayName("Arranque - Retoma solo los archivos del spool local y no falla las de otra instancia")
+    void testResumePendingUploads() throws IOException {
+        Files.write(tempDir.resolve("submission-12"), "ABCD".getBytes());
+        Files.write(tempDir.resolve("submission-14"), "EFGH".getBytes());
+        spool.shutdown(Duration.ZERO);
+        spool = new UploadSpool(tempDir.toString(), DataSize.ofKilobytes(1), 1, 3, Duration.ofMillis(10));
+        uploadService = new SubmissionUploadService(submissionService, spool, blobStore, Duration.ofMinutes(30));
+        BlobRef blob = new BlobRef(BLOB_KEY, 4, BLOB_KEY);
+        // 13 no tiene archivo aquí (otra instancia); 14 ya no espera su archivo
+        when(submissionService.getPendingUploadIds()).thenReturn(List.of(12L, 13L));
+        when(blobStore.put(any(InputStream.class))).thenReturn(blob);
+        when(submissionService.completeUpload(12L, blob)).thenReturn(true);
+
+        uploadService.resumePendingUploads();
+        spool.shutdown(Duration.ofSeconds(5));
+
+        verify(submissionService).completeUpload(12L, blob);
+        verify(submissionService, never()).completeUpload(eq(13L), any());
+        verify(submissionService, never()).completeUpload(eq(14L), any());
+        verify(submissionService, never()).failUpload(any());
+        verify(blobStore, times(1)).put(any(InputStream.class));
+        assertSpoolEmpty();
+    }
+
+    @Test
+    @DisplayName("Arranque - Sin archivos en el spool no consulta la base de datos")
+    void testResumePendingUploads_EmptySpool() {
+        uploadService.resumePendingUploads();
+
+        verifyNoInteractions(submissionService, blobStore);
+    }
+
+    @Test
+    @DisplayName("Apagado a mitad de la copia - La entrega sigue pendiente y el archivo queda en el spool")
+    void testAccept_InterruptedCopyKeepsFile() throws IOException {
+        when(submissionService.createPendingUpload(any(), any(), any(), any())).thenReturn(submission(15L));
+        when(blobStore.put(any(InputStream.class))).thenThrow(new ClosedByInterruptException());
+
+        uploadService.accept(1L, 2L, file());
+        spool.shutdown(Duration.ofSeconds(5));
+
+        verify(submissionService, never()).failUpload(any());
+        verify(submissionService, never()).completeUpload(any(), any());
+        assertTrue(Files.exists(tempDir.resolve("submission-15")));
+    }
+
+    private void assertSpoolEmpty() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(List.of(), files.toList());
+        }
+    }
+
+    private static Submission submission(Long id) {
+        Submission submission = new Submission();
+        submission.setId(id);
+        submission.setStatus(Submission.SubmissionStatus.PENDING_UPLOAD);
+        return submission;
+    }
+
+    private static MockMultipartFile file() {
+        return new MockMultipartFile("file", "solucion.zip", "application/zip", "ABCD".getBytes());
+    }
+}
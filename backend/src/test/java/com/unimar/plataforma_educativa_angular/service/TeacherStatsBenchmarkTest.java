@@ -0,0 +1,212 @@
+package com.unimar.plataforma_educativa_angular.service;
+
+import com.unimar.plataforma_educativa_angular.dto.TeacherStatsDTO;
+import com.unimar.plataforma_educativa_angular.entities.*;
+import com.unimar.plataforma_educativa_angular.repositories.*;
+import com.unimar.plataforma_educativa_angular.service.QueryBenchmark.Result;
+import com.unimar.plataforma_educativa_angular.storage.BlobRef;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.unimar.plataforma_educativa_angular.TestUsers.user;
+import static com.unimar.plataforma_educativa_angular.service.QueryBenchmark.measure;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara el panel del profesor contra la implementación anterior (un
+ * findByExercise / findByChallenge por actividad) con un profesor de 6
+ * cursos y 80 ejercicios. Imprime consultas y latencia de ambas.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ StatsService.class, CourseAccessService.class })
+@DisplayName("Benchmark - Estadísticas del profesor")
+class TeacherStatsBenchmarkTest {
+
+    private static final String BLOB_KEY = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+    private static final int COURSES = 6;
+    private static final int EXERCISES = 80;
+    private static final int CHALLENGES = 24;
+    private static final int STUDENTS = 30;
+    private static final int RUNS = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StatsService statsService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ExerciseRepository exerciseRepository;
+
+    @Autowired
+    private ChallengeRepository challengeRepository;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private ChallengeSubmissionRepository challengeSubmissionRepository;
+
+    private User teacher;
+
+    @BeforeEach
+    void setUp() {
+        teacher = entityManager.persist(user("bench-teacher@test.com", Role.TEACHER));
+        User otherTeacher = entityManager.persist(user("bench-other@test.com", Role.TEACHER));
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(entityManager.persist(user("bench-student" + i + "@test.com", Role.STUDENT)));
+        }
+
+        List<Course> courses = new ArrayList<>();
+        for (int c = 0; c < COURSES; c++) {
+            Course course = new Course();
+            course.setTitle("Curso " + c);
+            course.setInviteCode("BENCH" + c);
+            course.setTeacher(teacher);
+            // Cursos solapados: varios estudiantes están en más de un curso
+            course.setStudents(new HashSet<>(students.subList(c * 3, c * 3 + 12)));
+            courses.add(entityManager.persist(course));
+        }
+
+        // Un curso de otro profesor no debe contar
+        Course foreign = new Course();
+        foreign.setTitle("Curso ajeno");
+        foreign.setInviteCode("FOREIGN");
+        foreign.setTeacher(otherTeacher);
+        foreign.setStudents(new HashSet<>(students));
+        entityManager.persist(foreign);
+        Exercise foreignExercise = persistExercise(foreign, 0);
+        persistSubmission(foreignExercise, students.get(0), Submission.SubmissionStatus.PENDING);
+
+        for (int e = 0; e < EXERCISES; e++) {
+            Course course = courses.get(e % COURSES);
+            Exercise exercise = persistExercise(course, e);
+            List<User> enrolled = new ArrayList<>(course.getStudents());
+            for (int s = 0; s < 8; s++) {
+                persistSubmission(exercise, enrolled.get(s), s % 3 == 0
+                        ? Submission.SubmissionStatus.GRADED
+                        : Submission.SubmissionStatus.PENDING);
+            }
+        }
+
+        for (int ch = 0; ch < CHALLENGES; ch++) {
+            Course course = courses.get(ch % COURSES);
+            Challenge challenge = new Challenge();
+            challenge.setTitle("Reto " + ch);
+            challenge.setDifficulty("INTERMEDIO");
+            challenge.setMaxBonusPoints(10);
+            challenge.setCourse(course);
+            entityManager.persist(challenge);
+            List<User> enrolled = new ArrayList<>(course.getStudents());
+            for (int s = 0; s < 5; s++) {
+                ChallengeSubmission submission = new ChallengeSubmission();
+                submission.setChallenge(challenge);
+                submission.setStudent(enrolled.get(s));
+                submission.attachFile(new BlobRef(BLOB_KEY, 1024, BLOB_KEY), "reto.py", "text/x-python");
+                submission.setStatus(s % 2 == 0
+                        ? ChallengeSubmission.SubmissionStatus.PENDING
+                        : ChallengeSubmission.SubmissionStatus.REVIEWED);
+                entityManager.persist(submission);
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Panel del profesor - Mismos totales con una fracción de las consultas")
+    void testTeacherStats_QueryCountAndLatency() {
+        Result<TeacherStatsDTO> before = measure(entityManager, RUNS,
+                () -> legacyTeacherStats(teacher.getEmail()));
+        Result<TeacherStatsDTO> after = measure(entityManager, RUNS,
+                () -> statsService.getTeacherStats(teacher.getId()));
+
+        System.out.printf("%nEstadísticas del profesor (%d cursos, %d ejercicios, %d retos)%n",
+                COURSES, EXERCISES, CHALLENGES);
+        System.out.printf("  antes:   %4d consultas, mediana %6.2f ms%n", before.statements(), before.medianMillis());
+        System.out.printf("  después: %4d consultas, mediana %6.2f ms%n%n", after.statements(), after.medianMillis());
+
+        assertEquals(before.value(), after.value());
+        assertEquals(new TeacherStatsDTO(COURSES, 27, EXERCISES, CHALLENGES, 80 * 5, 24 * 3), after.value());
+        assertTrue(after.statements() <= 1, "Una sola consulta agregada, fueron " + after.statements());
+        assertTrue(before.statements() > 100, "La versión anterior hacía una consulta por actividad");
+    }
+
+    // Implementación anterior de StatsService.getTeacherStats, conservada como referencia
+    private TeacherStatsDTO legacyTeacherStats(String teacherEmail) {
+        User owner = entityManager.getEntityManager()
+                .createQuery("SELECT u FROM User u WHERE u.email = :email", User.class)
+                .setParameter("email", teacherEmail)
+                .getSingleResult();
+        List<Course> courses = courseRepository.findByTeacher(owner);
+
+        Set<User> uniqueStudents = new HashSet<>();
+        for (Course course : courses) {
+            uniqueStudents.addAll(course.getStudents());
+        }
+
+        int totalExercises = 0;
+        int totalChallenges = 0;
+        for (Course course : courses) {
+            totalExercises += exerciseRepository.countByCourseId(course.getId());
+            totalChallenges += challengeRepository.countByCourseId(course.getId());
+        }
+
+        int pendingSubmissions = 0;
+        int pendingChallengeReviews = 0;
+        for (Course course : courses) {
+            for (Exercise exercise : exerciseRepository.findByCourseId(course.getId(), Limit.unlimited())) {
+                pendingSubmissions += submissionRepository.findByExercise(exercise).stream()
+                        .filter(s -> s.getStatus() == Submission.SubmissionStatus.PENDING)
+                        .count();
+            }
+            for (Challenge challenge : challengeRepository.findByCourseId(course.getId())) {
+                pendingChallengeReviews += challengeSubmissionRepository.findByChallenge(challenge).stream()
+                        .filter(s -> s.getStatus() == ChallengeSubmission.SubmissionStatus.PENDING)
+                        .count();
+            }
+        }
+
+        return new TeacherStatsDTO(courses.size(), uniqueStudents.size(), totalExercises, totalChallenges,
+                pendingSubmissions, pendingChallengeReviews);
+    }
+
+    private Exercise persistExercise(Course course, int index) {
+        Exercise exercise = new Exercise();
+        exercise.setTitle("Ejercicio " + index);
+        exercise.setDifficulty("BASICO");
+        exercise.setDeadline(LocalDateTime.now().plusDays(7));
+        exercise.setCourse(course);
+        return entityManager.persist(exercise);
+    }
+
+    private void persistSubmission(Exercise exercise, User student, Submission.SubmissionStatus status) {
+        Submission submission = new Submission();
+        submission.setExercise(exercise);
+        submission.setStudent(student);
+        submission.attachFile(new BlobRef(BLOB_KEY, 2048, BLOB_KEY), "solucion.zip", "application/zip");
+        submission.setStatus(status);
+        entityManager.persist(submission);
+    }
+}
@@ -0,0 +1,190 @@
+package com.unimar.plataforma_educativa_angular.storage;
+
+import com.unimar.plataforma_educativa_angular.entities.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static com.unimar.plataforma_educativa_angular.TestUsers.user;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ BlobReferenceCounter.class, BlobReferenceListener.class })
+@DisplayName("Pruebas de Conteo de Referencias y Recolección de Archivos")
+class BlobReferenceTrackingTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BlobReferenceCounter counter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private LocalBlobStore blobStore;
+    private Exercise exercise;
+    private User student;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new LocalBlobStore(tempDir.toString(), 64);
+
+        User teacher = entityManager.persist(user("teacher@test.com", Role.TEACHER));
+        student = entityManager.persist(user("student@test.com", Role.STUDENT));
+        other = entityManager.persist(user("other@test.com", Role.STUDENT));
+
+        Course course = new Course();
+        course.setTitle("Programación I");
+        course.setInviteCode("PRG001");
+        course.setTeacher(teacher);
+        entityManager.persist(course);
+
+        exercise = new Exercise();
+        exercise.setTitle("Listas enlazadas");
+        exercise.setDifficulty("BASICO");
+        exercise.setDeadline(LocalDateTime.now().plusDays(3));
+        exercise.setCourse(course);
+        entityManager.persist(exercise);
+    }
+
+    @Test
+    @DisplayName("Dos entregas con el mismo archivo - Un blob con dos referencias")
+    void testInsert_SharedBlobCountsTwice() throws IOException {
+        BlobRef blob = blobStore.put(bytes("misma solución"));
+
+        persistSubmission(student, blob);
+        persistSubmission(other, blob);
+        entityManager.flush();
+
+        assertEquals(2, counter.count(blob.getKey()));
+    }
+
+    @Test
+    @DisplayName("Reemplazar archivo - Libera el anterior y toma el nuevo")
+    void testUpdate_MovesReference() throws IOException {
+        BlobRef first = blobStore.put(bytes("versión 1"));
+        BlobRef second = blobStore.put(bytes("versión 2"));
+        Submission submission = persistSubmission(student, first);
+        entityManager.flush();
+
+        submission.attachFile(second, "v2.txt", "text/plain");
+        entityManager.flush();
+
+        assertEquals(0, counter.count(first.getKey()));
+        assertEquals(1, counter.count(second.getKey()));
+    }
+
+    @Test
+    @DisplayName("Eliminar ejercicio - Las entregas en cascada liberan sus archivos")
+    void testDelete_CascadeReleases() throws IOException {
+        BlobRef blob = blobStore.put(bytes("entrega"));
+        persistSubmission(student, blob);
+        entityManager.flush();
+        entityManager.clear();
+
+        entityManager.remove(entityManager.find(Exercise.class, exercise.getId()));
+        entityManager.flush();
+
+        assertEquals(0, counter.count(blob.getKey()));
+    }
+
+    @Test
+    @DisplayName("Recolector - Borra solo los blobs sin referencias")
+    void testSweep_DeletesOnlyUnreferenced() throws IOException {
+        BlobRef kept = blobStore.put(bytes("sigue en uso"));
+        BlobRef orphan = blobStore.put(bytes("huérfano"));
+        persistSubmission(student, kept);
+        Submission replaced = persistSubmission(other, orphan);
+        entityManager.flush();
+        replaced.attachFile(kept, "otro.txt", "text/plain");
+        entityManager.flush();
+
+        BlobGarbageCollector collector = new BlobGarbageCollector(
+                jdbcTemplate, transactionTemplate, counter, blobStore, Duration.ZERO);
+        // Fecha de modificación anterior a la liberación: nadie volvió a subir ese contenido
+        tempDir.resolve(orphan.getKey().substring(0, 2)).resolve(orphan.getKey().substring(2, 4))
+                .resolve(orphan.getKey()).toFile().setLastModified(System.currentTimeMillis() - 60_000);
+
+        assertEquals(1, collector.sweep());
+        assertFalse(blobStore.exists(orphan.getKey()));
+        assertTrue(blobStore.exists(kept.getKey()));
+        assertEquals(2, counter.count(kept.getKey()));
+    }
+
+    @Test
+    @DisplayName("Recolector - Borra archivos que nunca se referenciaron, pasado el margen")
+    void testSweep_DeletesUntrackedBlobs() throws IOException {
+        // Guardados por una subida cuya transacción se revirtió: no tienen fila en blob_references
+        BlobRef stale = blobStore.put(bytes("subida revertida"));
+        BlobRef fresh = blobStore.put(bytes("subida en curso"));
+        age(stale, 60_000);
+
+        BlobGarbageCollector collector = new BlobGarbageCollector(
+                jdbcTemplate, transactionTemplate, counter, blobStore, Duration.ofSeconds(30));
+
+        assertEquals(1, collector.sweep());
+        assertFalse(blobStore.exists(stale.getKey()));
+        assertTrue(blobStore.exists(fresh.getKey()));
+    }
+
+    @Test
+    @DisplayName("Recolector - Conserva el archivo que una subida reutilizó después de liberarlo")
+    void testSweep_KeepsBlobReusedAfterRelease() throws IOException {
+        BlobRef blob = blobStore.put(bytes("reutilizado"));
+        Submission submission = persistSubmission(student, blob);
+        entityManager.flush();
+        submission.attachFile(blobStore.put(bytes("otra versión")), "v2.txt", "text/plain");
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE blob_references SET released_at = ? WHERE blob_key = ?",
+                LocalDateTime.now().minusMinutes(5), blob.getKey());
+
+        // Otra subida del mismo contenido renueva el archivo antes de que el recolector lo borre
+        blobStore.put(bytes("reutilizado"));
+        BlobGarbageCollector collector = new BlobGarbageCollector(
+                jdbcTemplate, transactionTemplate, counter, blobStore, Duration.ofMinutes(1));
+
+        assertEquals(0, collector.sweep());
+        assertTrue(blobStore.exists(blob.getKey()));
+    }
+
+    private void age(BlobRef blob, long millis) {
+        blobStore.resolve(blob.getKey()).toFile().setLastModified(System.currentTimeMillis() - millis);
+    }
+
+    private Submission persistSubmission(User owner, BlobRef blob) {
+        Submission submission = new Submission();
+        submission.setExercise(exercise);
+        submission.setStudent(owner);
+        submission.attachFile(blob, "solucion.txt", "text/plain");
+        return entityManager.persist(submission);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,42 @@
+package com.unimar.plataforma_educativa_angular.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas de Comparación de Contenido (SHA-256)")
+class ContentHashTest {
+
+    private static final String TEST_SHA256 = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @Test
+    @DisplayName("Hash - Coincide con la clave del almacenamiento")
+    void testSha256() throws IOException {
+        assertEquals(TEST_SHA256, ContentHash.sha256(new ByteArrayInputStream("test".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    @DisplayName("Mismo contenido - Tamaño y hash iguales")
+    void testSameContent_Identical() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "otro-nombre.txt", "text/plain", "test".getBytes());
+
+        assertTrue(ContentHash.sameContent(file, 4L, TEST_SHA256));
+    }
+
+    @Test
+    @DisplayName("Contenido distinto - Tamaño diferente, mismo tamaño con otro hash o sin archivo previo")
+    void testSameContent_Different() throws IOException {
+        MockMultipartFile sameSize = new MockMultipartFile("file", "a.txt", "text/plain", "tesT".getBytes());
+        MockMultipartFile longer = new MockMultipartFile("file", "a.txt", "text/plain", "tests".getBytes());
+
+        assertFalse(ContentHash.sameContent(sameSize, 4L, TEST_SHA256));
+        assertFalse(ContentHash.sameContent(longer, 4L, TEST_SHA256));
+        assertFalse(ContentHash.sameContent(longer, null, null));
+    }
+}
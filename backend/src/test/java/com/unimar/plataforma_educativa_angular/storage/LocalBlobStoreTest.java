@@ -0,0 +1,175 @@
+package com.unimar.plataforma_educativa_angular.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del Almacenamiento Local de Archivos")
+class LocalBlobStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LocalBlobStore blobStore;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new LocalBlobStore(tempDir.toString(), 16);
+    }
+
+    @Test
+    @DisplayName("Guardar archivo - Clave SHA-256 y directorio particionado")
+    void testPut_KeyIsSha256AndSharded() throws IOException {
+        byte[] content = "test".getBytes(StandardCharsets.UTF_8);
+
+        BlobRef ref = blobStore.put(content);
+
+        assertEquals("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", ref.getKey());
+        assertEquals(ref.getKey(), ref.getChecksum());
+        assertEquals(content.length, ref.getSize());
+        assertTrue(Files.exists(tempDir.resolve("9f").resolve("86").resolve(ref.getKey())));
+    }
+
+    @Test
+    @DisplayName("Guardar desde stream - Tamaño y checksum calculados al copiar")
+    void testPutStream_ComputesSizeAndChecksum() throws IOException {
+        // Contenido mayor que el buffer para forzar varias lecturas
+        byte[] content = new byte[1000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+
+        BlobRef fromStream = blobStore.put(new ByteArrayInputStream(content));
+        BlobRef fromBytes = blobStore.put(content);
+
+        assertEquals(content.length, fromStream.getSize());
+        assertEquals(fromBytes.getKey(), fromStream.getKey());
+        try (InputStream in = blobStore.open(fromStream.getKey())) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+        try (var staged = Files.list(tempDir.resolve("tmp"))) {
+            assertEquals(0, staged.count(), "No deben quedar temporales");
+        }
+    }
+
+    @Test
+    @DisplayName("Guardar archivo duplicado - Misma clave, un solo archivo")
+    void testPut_DuplicateContentSharesKey() throws IOException {
+        byte[] content = "mismo contenido".getBytes(StandardCharsets.UTF_8);
+
+        BlobRef first = blobStore.put(content);
+        BlobRef second = blobStore.put(content.clone());
+
+        assertEquals(first.getKey(), second.getKey());
+        try (var files = Files.walk(tempDir.resolve(first.getKey().substring(0, 2)))) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    @DisplayName("Métricas - Bytes subidos separados en nuevos y repetidos")
+    void testPut_UploadByteCounters() throws IOException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        blobStore.bindTo(registry);
+        byte[] content = "mismo contenido".getBytes(StandardCharsets.UTF_8);
+
+        blobStore.put(content);
+        blobStore.put(content.clone());
+        blobStore.put(content.clone());
+
+        assertEquals(content.length,
+                registry.get("storage.upload.bytes").tag("result", "stored").functionCounter().count());
+        assertEquals(2.0 * content.length,
+                registry.get("storage.upload.bytes").tag("result", "duplicate").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Guardar archivo existente - Renueva la fecha de modificación")
+    void testPut_ExistingContentTouchesBlob() throws IOException {
+        BlobRef ref = blobStore.put("repetido".getBytes(StandardCharsets.UTF_8));
+        Path blob = tempDir.resolve(ref.getKey().substring(0, 2)).resolve(ref.getKey().substring(2, 4))
+                .resolve(ref.getKey());
+        Instant old = Instant.now().minus(2, ChronoUnit.DAYS);
+        Files.setLastModifiedTime(blob, FileTime.from(old));
+
+        blobStore.put("repetido".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(blobStore.lastModified(ref.getKey()).isAfter(old.plus(1, ChronoUnit.DAYS)));
+    }
+
+    @Test
+    @DisplayName("Leer archivo - Devuelve el mismo contenido")
+    void testOpen_ReturnsContent() throws IOException {
+        byte[] content = new byte[] { 1, 2, 3, 4, 5 };
+        BlobRef ref = blobStore.put(content);
+
+        try (InputStream in = blobStore.open(ref.getKey())) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+        assertEquals(content.length, blobStore.size(ref.getKey()));
+    }
+
+    @Test
+    @DisplayName("Eliminar archivo - Ya no existe")
+    void testDelete_RemovesBlob() throws IOException {
+        BlobRef ref = blobStore.put(new byte[] { 9 });
+
+        blobStore.delete(ref.getKey());
+
+        assertFalse(blobStore.exists(ref.getKey()));
+        assertThrows(IOException.class, () -> blobStore.open(ref.getKey()));
+    }
+
+    @Test
+    @DisplayName("Borrado condicional - Conserva el blob renovado después del corte")
+    void testDeleteIfUnmodifiedSince() throws IOException {
+        BlobRef ref = blobStore.put("renovado".getBytes(StandardCharsets.UTF_8));
+        Instant cutoff = Instant.now().minus(1, ChronoUnit.HOURS);
+
+        assertFalse(blobStore.deleteIfUnmodifiedSince(ref.getKey(), cutoff));
+        assertTrue(blobStore.exists(ref.getKey()));
+
+        Files.setLastModifiedTime(blobStore.resolve(ref.getKey()),
+                FileTime.from(cutoff.minus(1, ChronoUnit.MINUTES)));
+        assertTrue(blobStore.deleteIfUnmodifiedSince(ref.getKey(), cutoff));
+        assertFalse(blobStore.exists(ref.getKey()));
+    }
+
+    @Test
+    @DisplayName("Listar claves - Solo blobs, sin temporales ni otras carpetas")
+    void testKeys_ListsOnlyBlobs() throws IOException {
+        BlobRef first = blobStore.put(new byte[] { 1 });
+        BlobRef second = blobStore.put(new byte[] { 2 });
+        Files.createDirectories(tempDir.resolve("tmp"));
+        Files.write(tempDir.resolve("tmp").resolve("upload-1.tmp"), new byte[] { 3 });
+        Files.createDirectories(tempDir.resolve("spool"));
+        Files.write(tempDir.resolve("spool").resolve("submission-1"), new byte[] { 4 });
+
+        try (Stream<String> keys = blobStore.keys()) {
+            assertEquals(Set.of(first.getKey(), second.getKey()), keys.collect(Collectors.toSet()));
+        }
+    }
+
+    @Test
+    @DisplayName("Clave inválida - Rechaza rutas fuera del almacenamiento")
+    void testResolve_RejectsInvalidKey() {
+        assertThrows(IllegalArgumentException.class, () -> blobStore.open("../../etc/passwd"));
+    }
+}
@@ -0,0 +1,153 @@
+package com.unimar.plataforma_educativa_angular.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas del Spool de Subidas")
+class UploadSpoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    private UploadSpool spool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        spool = new UploadSpool(tempDir.toString(), DataSize.ofBytes(100), 2, 3, Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        spool.close();
+    }
+
+    @Test
+    @DisplayName("Recibir y encolar - La tarea recibe el archivo y luego se borra")
+    void testEnqueue_RunsTaskAndDeletesFile() throws IOException {
+        List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+        Path received = spool.receive(file(40));
+        assertEquals(40, spool.usedBytes());
+        spool.enqueue(received, "submission-1", path -> {
+            processed.add(path.getFileName() + ":" + Files.size(path));
+        });
+        spool.shutdown(Duration.ofSeconds(5));
+
+        assertEquals(List.of("submission-1:40"), processed);
+        assertEquals(0, spool.usedBytes());
+        assertFalse(Files.exists(tempDir.resolve("submission-1")));
+    }
+
+    @Test
+    @DisplayName("Tarea con error - Se reintenta y el archivo se borra al agotar los intentos")
+    void testEnqueue_FailingTaskDeletesFile() throws IOException {
+        AtomicInteger attempts = new AtomicInteger();
+        spool.enqueue(spool.receive(file(10)), "submission-2", path -> {
+            attempts.incrementAndGet();
+            throw new IOException("almacenamiento no disponible");
+        });
+        spool.shutdown(Duration.ofSeconds(5));
+
+        assertEquals(3, attempts.get());
+        assertEquals(0, spool.usedBytes());
+        assertFalse(Files.exists(tempDir.resolve("submission-2")));
+    }
+
+    @Test
+    @DisplayName("Tarea interrumpida al apagar - El archivo se conserva para el próximo arranque")
+    void testShutdownNow_KeepsInterruptedFile() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        spool.enqueue(spool.receive(file(25)), "submission-5", path -> {
+            started.countDown();
+            new CountDownLatch(1).await(); // Almacenamiento que no responde
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        spool.shutdown(Duration.ZERO);
+
+        assertTrue(Files.exists(tempDir.resolve("submission-5")));
+        assertEquals(25, spool.usedBytes());
+    }
+
+    @Test
+    @DisplayName("Copia cortada por interrupción - El archivo se conserva")
+    void testEnqueue_ClosedByInterruptKeepsFile() throws IOException {
+        spool.enqueue(spool.receive(file(15)), "submission-6", path -> {
+            throw new ClosedByInterruptException();
+        });
+        spool.shutdown(Duration.ofSeconds(5));
+
+        assertTrue(Files.exists(tempDir.resolve("submission-6")));
+        assertEquals(15, spool.usedBytes());
+        assertEquals(List.of("submission-6"), spool.queued("submission-"));
+    }
+
+    @Test
+    @DisplayName("Spool lleno - Rechaza la subida sin escribirla")
+    void testReceive_RejectsWhenFull() throws IOException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        spool.bindTo(registry);
+        spool.receive(file(60));
+
+        assertThrows(UploadSpoolFullException.class, () -> spool.receive(file(60)));
+
+        assertEquals(60, spool.usedBytes());
+        assertEquals(1, registry.get("storage.spool.rejected").functionCounter().count());
+        assertEquals(60, registry.get("storage.spool.bytes").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Descartar - Libera el espacio reservado")
+    void testDiscard_ReleasesSpace() throws IOException {
+        Path received = spool.receive(file(80));
+
+        spool.discard(received);
+
+        assertEquals(0, spool.usedBytes());
+        assertNotNull(spool.receive(file(80)));
+    }
+
+    @Test
+    @DisplayName("Reinicio - Retoma lo encolado y borra lo recibido a medias")
+    void testRestart_ResumesQueuedAndDropsIncoming() throws IOException {
+        spool.close();
+        Files.write(tempDir.resolve("submission-3"), new byte[30]);
+        Files.write(tempDir.resolve("incoming-abc"), new byte[20]);
+        List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+        spool = new UploadSpool(tempDir.toString(), DataSize.ofBytes(100), 2, 3, Duration.ofMillis(10));
+
+        assertFalse(Files.exists(tempDir.resolve("incoming-abc")));
+        assertEquals(30, spool.usedBytes());
+        assertTrue(spool.resume("submission-3", path -> processed.add(path.getFileName().toString())));
+        assertFalse(spool.resume("submission-4", path -> processed.add(path.getFileName().toString())));
+        spool.shutdown(Duration.ofSeconds(5));
+
+        assertEquals(List.of("submission-3"), processed);
+        assertEquals(0, spool.usedBytes());
+    }
+
+    private static MockMultipartFile file(int size) {
+        return new MockMultipartFile("file", "entrega.zip", "application/zip", new byte[size]);
+    }
+}
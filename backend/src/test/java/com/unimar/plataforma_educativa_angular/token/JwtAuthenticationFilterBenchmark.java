@@ -0,0 +1,113 @@
+package com.unimar.plataforma_educativa_angular.token;
+
+import com.unimar.plataforma_educativa_angular.entities.Role;
+import com.unimar.plataforma_educativa_angular.entities.User;
+import com.unimar.plataforma_educativa_angular.repositories.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo del filtro JWT por petición con el mismo token (caso de la SPA):
+ * <ul>
+ * <li>{@code filterCachedToken}: filtro actual, token ya verificado en caché</li>
+ * <li>{@code filterVerifyEveryRequest}: filtro actual con la caché de tokens desactivada
+ * (una verificación por petición)</li>
+ * <li>{@code legacyTripleParse}: lo que hacía antes {@code validateToken} +
+ * {@code extractEmail}: tres parseos y una clave nueva en cada uno</li>
+ * </ul>
+ * Ejecutar con {@code main} desde el IDE o con el classpath de pruebas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET_KEY = "mi_super_clave_secreta_de_32_caracteres_segura123";
+
+    private JwtAuthenticationFilter cachedFilter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("student@test.com");
+        user.setNombre("Estudiante");
+        user.setRole(Role.STUDENT);
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findByEmail("student@test.com")).thenReturn(Optional.of(user));
+        AuthenticatedUserCache userCache = new AuthenticatedUserCache(userRepository, 100, Duration.ofMinutes(1));
+
+        JwtUtil jwtUtil = new JwtUtil();
+        token = jwtUtil.generateToken(7L, "student@test.com", "STUDENT");
+        cachedFilter = filter(jwtUtil, userCache);
+        uncachedFilter = filter(new JwtUtil(0), userCache);
+    }
+
+    @Benchmark
+    public Object filterCachedToken() throws Exception {
+        return run(cachedFilter);
+    }
+
+    @Benchmark
+    public Object filterVerifyEveryRequest() throws Exception {
+        return run(uncachedFilter);
+    }
+
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String email = legacyClaims(token).getSubject();
+        return legacyClaims(token).getSubject().equals(email)
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    private Object run(JwtAuthenticationFilter filter) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/courses");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(new SecretKeySpec(SECRET_KEY.getBytes(), SignatureAlgorithm.HS256.getJcaName()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private static JwtAuthenticationFilter filter(JwtUtil jwtUtil, AuthenticatedUserCache userCache) {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "authenticatedUserCache", userCache);
+        return filter;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
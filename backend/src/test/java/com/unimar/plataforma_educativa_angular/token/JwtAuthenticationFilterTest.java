@@ -0,0 +1,116 @@
+package com.unimar.plataforma_educativa_angular.token;
+
+import com.unimar.plataforma_educativa_angular.entities.Role;
+import com.unimar.plataforma_educativa_angular.entities.User;
+import com.unimar.plataforma_educativa_angular.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas del Filtro JWT (principal y caché de usuarios)")
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private AuthenticatedUserCache userCache;
+    private JwtAuthenticationFilter filter;
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new AuthenticatedUserCache(userRepository, 100, Duration.ofMinutes(1));
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "authenticatedUserCache", userCache);
+
+        student = new User();
+        student.setId(7L);
+        student.setEmail("student@test.com");
+        student.setNombre("Estudiante Test");
+        student.setRole(Role.STUDENT);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Peticiones repetidas - Principal con ID y una sola consulta de usuario")
+    void testPrincipalFromCache() throws Exception {
+        when(userRepository.findByEmail("student@test.com")).thenReturn(Optional.of(student));
+        String token = jwtUtil.generateToken(7L, "student@test.com", "STUDENT");
+
+        Authentication first = authenticate(token);
+        Authentication second = authenticate(token);
+
+        AuthenticatedUser principal = assertInstanceOf(AuthenticatedUser.class, first.getPrincipal());
+        assertEquals(7L, principal.getId());
+        assertEquals("student@test.com", first.getName());
+        assertEquals("ROLE_STUDENT", first.getAuthorities().iterator().next().getAuthority());
+        assertNotNull(second);
+        verify(userRepository, times(1)).findByEmail("student@test.com");
+    }
+
+    @Test
+    @DisplayName("Cambio de perfil - La invalidación vuelve a leer el usuario")
+    void testInvalidateReloadsUser() throws Exception {
+        when(userRepository.findByEmail("student@test.com")).thenReturn(Optional.of(student));
+        String token = jwtUtil.generateToken(7L, "student@test.com", "STUDENT");
+        authenticate(token);
+
+        student.setNombre("Nombre Nuevo");
+        userCache.invalidate("student@test.com");
+        Authentication auth = authenticate(token);
+
+        assertEquals("Nombre Nuevo", ((AuthenticatedUser) auth.getPrincipal()).getNombre());
+        verify(userRepository, times(2)).findByEmail("student@test.com");
+    }
+
+    @Test
+    @DisplayName("Token de otra cuenta con el mismo email - No autentica")
+    void testUserIdMismatchIsRejected() throws Exception {
+        when(userRepository.findByEmail("student@test.com")).thenReturn(Optional.of(student));
+        String token = jwtUtil.generateToken(99L, "student@test.com", "STUDENT");
+
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    @DisplayName("Token sin ID (emitido antes) - Autentica por email")
+    void testLegacyTokenWithoutUserId() throws Exception {
+        when(userRepository.findByEmail("student@test.com")).thenReturn(Optional.of(student));
+        String token = jwtUtil.generateToken("student@test.com", "STUDENT");
+
+        Authentication auth = authenticate(token);
+
+        assertEquals(7L, ((AuthenticatedUser) auth.getPrincipal()).getId());
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/courses");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
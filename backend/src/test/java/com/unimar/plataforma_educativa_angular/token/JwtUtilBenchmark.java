@@ -0,0 +1,58 @@
+package com.unimar.plataforma_educativa_angular.token;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de {@link JwtUtil#parse} por petición:
+ * <ul>
+ * <li>{@code parseCached}: token ya verificado, se resuelve en la caché</li>
+ * <li>{@code parseVerify}: caché desactivada, firma y expiración en cada llamada</li>
+ * <li>{@code generate}: emisión de un token nuevo (login)</li>
+ * </ul>
+ * Ejecutar con {@code main} desde el IDE, con el classpath de pruebas o con {@code mvn -P jmh}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtUtilBenchmark {
+
+    private JwtUtil cached;
+    private JwtUtil uncached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cached = new JwtUtil();
+        uncached = new JwtUtil(0);
+        token = cached.generateToken(7L, "student@test.com", "STUDENT");
+    }
+
+    @Benchmark
+    public Object parseCached() {
+        return cached.parse(token);
+    }
+
+    @Benchmark
+    public Object parseVerify() {
+        return uncached.parse(token);
+    }
+
+    @Benchmark
+    public String generate() {
+        return cached.generateToken(7L, "student@test.com", "STUDENT");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtUtilBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,62 @@
+package com.unimar.plataforma_educativa_angular.token;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pruebas de Tokens JWT (verificación única y caché)")
+class JwtUtilTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+
+    @Test
+    @DisplayName("Token válido - Email, ID, rol y expiración en un solo parseo")
+    void testParse_ReturnsClaims() {
+        String token = jwtUtil.generateToken(7L, "student@test.com", "STUDENT");
+
+        TokenClaims claims = jwtUtil.parse(token);
+
+        assertEquals("student@test.com", claims.getEmail());
+        assertEquals(7L, claims.getUserId());
+        assertEquals("STUDENT", claims.getRole());
+        assertTrue(claims.getExpiresAt().isAfter(Instant.now()));
+        assertTrue(jwtUtil.validateToken(token, "student@test.com"));
+        assertFalse(jwtUtil.validateToken(token, "other@test.com"));
+    }
+
+    @Test
+    @DisplayName("Token repetido - Se reutiliza la verificación en caché")
+    void testParse_RepeatedTokenIsCached() {
+        String token = jwtUtil.generateToken(7L, "student@test.com", "STUDENT");
+
+        assertSame(jwtUtil.parse(token), jwtUtil.parse(token));
+        assertNotSame(new JwtUtil(0).parse(token), new JwtUtil(0).parse(token));
+    }
+
+    @Test
+    @DisplayName("Firma alterada - Se rechaza aunque el token original esté en caché")
+    void testParse_TamperedTokenIsRejected() {
+        String token = jwtUtil.generateToken(7L, "student@test.com", "STUDENT");
+        jwtUtil.parse(token);
+
+        String[] parts = token.split("\\.");
+        char last = parts[2].charAt(0);
+        String tampered = parts[0] + "." + parts[1] + "." + (last == 'A' ? 'B' : 'A') + parts[2].substring(1);
+
+        assertThrows(JwtException.class, () -> jwtUtil.parse(tampered));
+    }
+
+    @Test
+    @DisplayName("Datos vencidos - isExpired compara con el instante dado")
+    void testTokenClaims_IsExpired() {
+        Instant now = Instant.now();
+        TokenClaims claims = new TokenClaims("a@test.com", 1L, "STUDENT", now);
+
+        assertTrue(claims.isExpired(now));
+        assertFalse(claims.isExpired(now.minusSeconds(1)));
+    }
+}
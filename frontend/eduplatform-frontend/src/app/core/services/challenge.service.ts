@@ -58,6 +58,13 @@ export interface PodiumEntry {
   position: number;
 }
 
+export interface PodiumPosition extends PodiumEntry {
+  totalStudents: number;
+  pointsToNext: number | null;
+  above: PodiumEntry | null;
+  below: PodiumEntry | null;
+}
+
 @Injectable({
   providedIn: 'root'
 })
@@ -247,8 +254,8 @@ export class ChallengeService {
   /**
    * Obtener mi posición en el podio
    */
-  getMyPosition(courseId: number): Observable<PodiumEntry> {
-    return this.http.get<PodiumEntry>(`${this.podiumUrl}/my-position/${courseId}`);
+  getMyPosition(courseId: number): Observable<PodiumPosition> {
+    return this.http.get<PodiumPosition>(`${this.podiumUrl}/my-position/${courseId}`);
   }
 
   /**
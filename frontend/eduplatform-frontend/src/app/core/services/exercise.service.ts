@@ -42,7 +42,7 @@ export interface Submission {
   fileName?: string;
   fileType?: string;
   submittedAt?: string;
-  status?: string; // 'PENDING' | 'GRADED' | 'REJECTED'
+  status?: string; // 'PENDING_UPLOAD' | 'UPLOAD_FAILED' | 'PENDING' | 'GRADED' | 'REJECTED'
   grade?: number;
   feedback?: string;
   gradedAt?: string;
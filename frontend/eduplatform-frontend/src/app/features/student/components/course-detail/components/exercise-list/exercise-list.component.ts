@@ -33,6 +33,8 @@ export class ExerciseListComponent {
     const submission = this.getSubmission(exercise);
     if (!submission) return 'Sin entregar';
     if (submission.status === 'GRADED') return '✅ Calificado';
+    if (submission.status === 'PENDING_UPLOAD') return '⏳ Guardando entrega';
+    if (submission.status === 'UPLOAD_FAILED') return '⚠️ Error al guardar, vuelve a subirla';
     return '📤 Entregado';
   }
 
@@ -69,6 +69,8 @@ export class SubmissionsModalComponent implements OnInit {
   getStatusText(status: string | undefined): string {
     if (status === 'PENDING') return 'Pendiente';
     if (status === 'GRADED') return 'Calificado';
+    if (status === 'PENDING_UPLOAD') return 'Guardando archivo';
+    if (status === 'UPLOAD_FAILED') return 'Archivo no guardado';
     return 'Desconocido';
   }
 